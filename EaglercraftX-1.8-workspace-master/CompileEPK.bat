@@ -1,6 +1,6 @@
 @echo off
-title epkcompiler
+title gradlew compileEPK
 echo compiling, please wait...
-java -jar "desktopRuntime/CompileEPK.jar" "desktopRuntime/resources" "javascript/assets.epk"
+call gradlew compileEPK
 echo finished compiling epk
 pause
\ No newline at end of file
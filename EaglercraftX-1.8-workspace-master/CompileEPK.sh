@@ -1,2 +1,3 @@
 #!/bin/sh
-java -jar "desktopRuntime/CompileEPK.jar" "desktopRuntime/resources" "javascript/assets.epk"
\ No newline at end of file
+chmod +x gradlew
+./gradlew compileEPK
\ No newline at end of file
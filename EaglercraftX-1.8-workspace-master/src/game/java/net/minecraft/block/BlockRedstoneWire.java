@@ -3,6 +3,7 @@ package net.minecraft.block;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import net.lax1dude.eaglercraft.v1_8.EaglercraftRandom;
+import net.lax1dude.eaglercraft.v1_8.sp.server.RedstoneWireEngine;
 import java.util.Set;
 
 import com.google.common.collect.Lists;
@@ -139,6 +140,10 @@ public class BlockRedstoneWire extends Block {
 	}
 
 	private IBlockState updateSurroundingRedstone(World worldIn, BlockPos pos, IBlockState state) {
+		RedstoneWireEngine engine = worldIn.getRedstoneWireEngine();
+		if (engine != null) {
+			return engine.updateSurroundingRedstone(this, pos, state);
+		}
 		state = this.calculateCurrentChanges(worldIn, pos, pos, state);
 		ArrayList<BlockPos> arraylist = Lists.newArrayList(this.blocksNeedingUpdate);
 		this.blocksNeedingUpdate.clear();
@@ -155,9 +160,7 @@ public class BlockRedstoneWire extends Block {
 		int i = ((Integer) state.getValue(POWER)).intValue();
 		int j = 0;
 		j = this.getMaxCurrentStrength(worldIn, pos2, j);
-		this.canProvidePower = false;
-		int k = worldIn.isBlockIndirectlyGettingPowered(pos1);
-		this.canProvidePower = true;
+		int k = this.getPowerFromNonWires(worldIn, pos1);
 		if (k > 0 && k > j - 1) {
 			j = k;
 		}
@@ -216,6 +219,17 @@ public class BlockRedstoneWire extends Block {
 		return state;
 	}
 
+	/**+
+	 * Returns the power the position gets from blocks other than
+	 * redstone wire
+	 */
+	public int getPowerFromNonWires(World worldIn, BlockPos pos) {
+		this.canProvidePower = false;
+		int i = worldIn.isBlockIndirectlyGettingPowered(pos);
+		this.canProvidePower = true;
+		return i;
+	}
+
 	/**+
 	 * Calls World.notifyNeighborsOfStateChange() for all
 	 * neighboring blocks, but only if the given block is a redstone
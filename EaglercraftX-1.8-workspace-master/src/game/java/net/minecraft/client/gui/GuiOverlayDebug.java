@@ -375,7 +375,7 @@ public class GuiOverlayDebug extends Gui {
 				s = "Towards positive X";
 			}
 
-			ArrayList arraylist = Lists.newArrayList(new String[] {
+			ArrayList<String> arraylist = Lists.newArrayList(new String[] {
 					"Minecraft 1.8.8 (" + this.mc.getVersion() + "/" + ClientBrandRetriever.getClientModName() + ")",
 					this.mc.debug, this.mc.renderGlobal.getDebugInfoRenders(),
 					this.mc.renderGlobal.getDebugInfoEntities(), "P: " + this.mc.effectRenderer.getStatistics()
@@ -419,6 +419,10 @@ public class GuiOverlayDebug extends Gui {
 						Integer.valueOf(blockpos1.getY()), Integer.valueOf(blockpos1.getZ()) }));
 			}
 
+			if (this.mc.getNetHandler() != null) {
+				this.mc.getNetHandler().getNetworkManager().appendDebugInfo(arraylist);
+			}
+
 			return arraylist;
 		}
 	}
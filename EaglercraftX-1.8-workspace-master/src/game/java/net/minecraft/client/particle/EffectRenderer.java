@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 import net.lax1dude.eaglercraft.v1_8.EaglercraftRandom;
 import net.lax1dude.eaglercraft.v1_8.minecraft.AcceleratedEffectRenderer;
+import net.lax1dude.eaglercraft.v1_8.minecraft.BatchedParticleEngine;
 import net.lax1dude.eaglercraft.v1_8.minecraft.IAcceleratedParticleEngine;
 
 import java.util.concurrent.Callable;
@@ -74,6 +75,12 @@ public class EffectRenderer {
 	public static final AcceleratedEffectRenderer vanillaAcceleratedParticleRenderer = new AcceleratedEffectRenderer();
 	public IAcceleratedParticleEngine acceleratedParticleRenderer = null;
 
+	/**+
+	 * Simulates smoke, redstone dust, rain, explosion and block crack
+	 * particles without an EntityFX for each one
+	 */
+	private final BatchedParticleEngine batchedParticles = new BatchedParticleEngine();
+
 	public EffectRenderer(World worldIn, TextureManager rendererIn) {
 		this.worldObj = worldIn;
 		this.renderer = rendererIn;
@@ -87,6 +94,7 @@ public class EffectRenderer {
 		}
 
 		this.registerVanillaParticles();
+		this.batchedParticles.enableVanillaTypes();
 		this.acceleratedParticleRenderer = EaglercraftGPU.checkInstancingCapable() ? vanillaAcceleratedParticleRenderer
 				: null;
 	}
@@ -142,6 +150,7 @@ public class EffectRenderer {
 
 	public void registerParticle(int id, IParticleFactory particleFactory) {
 		this.particleTypes.put(id, particleFactory);
+		this.batchedParticles.setTypeEnabled(id, false);
 	}
 
 	public void emitParticleAtEntity(Entity entityIn, EnumParticleTypes particleTypes) {
@@ -150,9 +159,15 @@ public class EffectRenderer {
 
 	/**+
 	 * Spawns the relevant particle according to the particle id.
+	 * Returns null for particles simulated by the batched engine
 	 */
 	public EntityFX spawnEffectParticle(int particleId, double parDouble1, double parDouble2, double parDouble3,
 			double parDouble4, double parDouble5, double parDouble6, int... parArrayOfInt) {
+		if (this.batchedParticles.spawn(this.worldObj, particleId, parDouble1, parDouble2, parDouble3, parDouble4,
+				parDouble5, parDouble6, parArrayOfInt)) {
+			return null;
+		}
+
 		IParticleFactory iparticlefactory = this.particleTypes.get(particleId);
 		if (iparticlefactory != null) {
 			EntityFX entityfx = iparticlefactory.getEntityFX(particleId, this.worldObj, parDouble1, parDouble2,
@@ -181,6 +196,8 @@ public class EffectRenderer {
 			this.updateEffectLayer(i);
 		}
 
+		this.batchedParticles.update(this.worldObj);
+
 		ArrayList arraylist = Lists.newArrayList();
 
 		for (int i = 0, l = this.particleEmitters.size(); i < l; ++i) {
@@ -239,7 +256,7 @@ public class EffectRenderer {
 
 	public boolean hasParticlesInAlphaLayer() {
 		for (int i = 0; i < 3; ++i) {
-			if (!this.fxLayers[i][0].isEmpty()) {
+			if (!this.fxLayers[i][0].isEmpty() || this.batchedParticles.hasParticles(i, 0)) {
 				return true;
 			}
 		}
@@ -269,7 +286,7 @@ public class EffectRenderer {
 				if (pass != 2 && j != pass) {
 					continue;
 				}
-				if (!this.fxLayers[i][j].isEmpty()) {
+				if (!this.fxLayers[i][j].isEmpty() || this.batchedParticles.hasParticles(i, j)) {
 //					switch (j) {
 //					case 0:
 //						GlStateManager.depthMask(false);
@@ -342,6 +359,11 @@ public class EffectRenderer {
 						}
 					}
 
+					if (this.batchedParticles.render(i, j, acceleratedParticleRenderer, worldrenderer, partialTicks, f,
+							f4, f1, f2, f3)) {
+						legacyRenderingHasOccured = true;
+					}
+
 					if (legacyRenderingHasOccured) {
 						tessellator.draw();
 					} else {
@@ -393,6 +415,7 @@ public class EffectRenderer {
 		}
 
 		this.particleEmitters.clear();
+		this.batchedParticles.clear();
 	}
 
 	public void addBlockDestroyEffects(BlockPos pos, IBlockState state) {
@@ -406,9 +429,9 @@ public class EffectRenderer {
 						double d0 = (double) pos.getX() + ((double) i + 0.5D) / (double) b0;
 						double d1 = (double) pos.getY() + ((double) j + 0.5D) / (double) b0;
 						double d2 = (double) pos.getZ() + ((double) k + 0.5D) / (double) b0;
-						this.addEffect((new EntityDiggingFX(this.worldObj, d0, d1, d2, d0 - (double) pos.getX() - 0.5D,
-								d1 - (double) pos.getY() - 0.5D, d2 - (double) pos.getZ() - 0.5D, state))
-										.func_174846_a(pos));
+						this.batchedParticles.spawnDigging(this.worldObj, d0, d1, d2, d0 - (double) pos.getX() - 0.5D,
+								d1 - (double) pos.getY() - 0.5D, d2 - (double) pos.getZ() - 0.5D, state, pos, 1.0F,
+								1.0F);
 					}
 				}
 			}
@@ -463,8 +486,8 @@ public class EffectRenderer {
 				d0 = (double) i + block.getBlockBoundsMaxX() + (double) f;
 			}
 
-			this.addEffect((new EntityDiggingFX(this.worldObj, d0, d1, d2, 0.0D, 0.0D, 0.0D, iblockstate))
-					.func_174846_a(pos).multiplyVelocity(0.2F).multipleParticleScaleBy(0.6F));
+			this.batchedParticles.spawnDigging(this.worldObj, d0, d1, d2, 0.0D, 0.0D, 0.0D, iblockstate, pos, 0.2F,
+					0.6F);
 		}
 	}
 
@@ -495,6 +518,6 @@ public class EffectRenderer {
 			}
 		}
 
-		return "" + i;
+		return "" + (i + this.batchedParticles.size());
 	}
 }
\ No newline at end of file
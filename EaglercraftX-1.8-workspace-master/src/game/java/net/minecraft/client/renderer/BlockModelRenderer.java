@@ -357,13 +357,6 @@ public class BlockModelRenderer {
 
 	}
 
-	private final BlockPos blockpos0 = new BlockPos(0, 0, 0);
-	private final BlockPos blockpos1 = new BlockPos(0, 0, 0);
-	private final BlockPos blockpos2 = new BlockPos(0, 0, 0);
-	private final BlockPos blockpos3 = new BlockPos(0, 0, 0);
-	private final BlockPos blockpos4 = new BlockPos(0, 0, 0);
-	private final BlockPos blockpos5 = new BlockPos(0, 0, 0);
-
 	private void renderModelStandardQuads(IBlockAccess blockAccessIn, Block blockIn, BlockPos blockPosIn,
 			EnumFacing faceIn, int brightnessIn, boolean ownBrightness, WorldRenderer worldRendererIn,
 			List<BakedQuad> listQuadsIn, RenderEnv renderenv) {
@@ -371,6 +364,13 @@ public class BlockModelRenderer {
 		boolean isDynamicLights = isDeferred || DynamicLightsStateManager.isDynamicLightsRender();
 		BitSet boundsFlags = renderenv.getBoundsFlags();
 		float[] quadBounds = renderenv.getQuadBounds();
+		BlockPos[] quadBlockPos = renderenv.getQuadBlockPos();
+		BlockPos blockpos0 = quadBlockPos[0];
+		BlockPos blockpos1 = quadBlockPos[1];
+		BlockPos blockpos2 = quadBlockPos[2];
+		BlockPos blockpos3 = quadBlockPos[3];
+		BlockPos blockpos4 = quadBlockPos[4];
+		BlockPos blockpos5 = quadBlockPos[5];
 		double d0 = (double) blockPosIn.getX();
 		double d1 = (double) blockPosIn.getY();
 		double d2 = (double) blockPosIn.getZ();
@@ -47,12 +47,23 @@ public abstract class ChunkRenderContainer {
 		this.viewEntityZ = viewEntityZIn;
 	}
 
+	/**+
+	 * Translates to the origin of the chunk's render region, chunk
+	 * display lists are uploaded relative to their region
+	 */
+	public void preRenderRegion(RenderChunk renderChunkIn) {
+		GlStateManager.translate((float) ((double) renderChunkIn.regionX - this.viewEntityX),
+				(float) ((double) renderChunkIn.regionY - this.viewEntityY),
+				(float) ((double) renderChunkIn.regionZ - this.viewEntityZ));
+	}
+
+	/**+
+	 * Reports the chunk's position to the forward and dynamic lights
+	 * passes, which pick the light sources for each chunk they draw
+	 */
 	public void preRenderChunk(RenderChunk renderChunkIn, EnumWorldBlockLayer enumworldblocklayer) {
 		BlockPos blockpos = renderChunkIn.getPosition();
-		float posX = (float) ((double) blockpos.getX() - this.viewEntityX);
-		float posY = (float) ((double) blockpos.getY() - this.viewEntityY);
-		float posZ = (float) ((double) blockpos.getZ() - this.viewEntityZ);
-		GlStateManager.translate(posX, posY, posZ);
+		float posX, posY, posZ;
 		if (DeferredStateManager.isInForwardPass()) {
 			posX = (float) (blockpos.getX() - (MathHelper.floor_double(this.viewEntityX / 16.0) << 4));
 			posY = (float) (blockpos.getY() - (MathHelper.floor_double(this.viewEntityY / 16.0) << 4));
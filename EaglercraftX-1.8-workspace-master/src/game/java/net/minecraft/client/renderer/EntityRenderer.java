@@ -1250,6 +1250,15 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 		this.mc.getTextureManager().getTexture(TextureMap.locationBlocksTexture).setBlurMipmap(false, false);
 		renderglobal.renderBlockLayer(EnumWorldBlockLayer.CUTOUT, (double) partialTicks, pass, entity);
 		this.mc.getTextureManager().getTexture(TextureMap.locationBlocksTexture).restoreLastBlurMipmap();
+		if (pass == 0 || pass == 2) {
+			if (isDynamicLights) {
+				GlStateManager.disableExtensionPipeline();
+			}
+			renderglobal.renderOcclusionQueries(entity, (double) partialTicks);
+			if (isDynamicLights) {
+				GlStateManager.enableExtensionPipeline();
+			}
+		}
 		GlStateManager.alphaFunc(GL_GREATER, 0.1F);
 		GlStateManager.shadeModel(GL_FLAT);
 		if (!this.debugView) {
@@ -8,6 +8,7 @@ import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.BlockPos;
 import net.minecraft.util.Vec3i;
 import net.minecraft.world.ChunkCache;
+import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.BiomeGenBase;
 import net.minecraft.world.chunk.Chunk;
@@ -36,24 +37,60 @@ public class RegionRenderCache extends ChunkCache {
 	private final IBlockState DEFAULT_STATE = Blocks.air.getDefaultState();
 	private final BlockPos position;
 	private final BlockPos tmpStupid = new BlockPos();
-	private static final int[] combinedLights = new int[8000];
-	private static final IBlockState[] blockStates = new IBlockState[8000];
-	private static final int[] biomeColors = new int[1200];
-	private static final int[] biomeColorsBlended = new int[768];
+	private int[] combinedLights;
+	private IBlockState[] blockStates;
+	private int[] biomeColors;
+	private int[] biomeColorsBlended;
+	private Chunk.EnumCreateEntityType tileEntityCreateType = Chunk.EnumCreateEntityType.QUEUED;
 
 	public RegionRenderCache(World worldIn, BlockPos posFromIn, BlockPos posToIn, int subIn) {
 		super(worldIn, posFromIn, posToIn, subIn);
 		this.position = posFromIn.subtract(new Vec3i(subIn, subIn, subIn));
+	}
+
+	/**
+	 * Binds the lookup caches of the builder compiling this region, must be called
+	 * before any block is read. The caches used to be static, they live in the
+	 * builder now so the desktop runtime can compile more than one chunk at once
+	 */
+	public void bindCaches(RegionRenderCacheBuilder builder) {
+		this.combinedLights = builder.combinedLights;
+		this.blockStates = builder.blockStates;
+		this.biomeColors = builder.biomeColors;
+		this.biomeColorsBlended = builder.biomeColorsBlended;
 		Arrays.fill(combinedLights, -1);
 		Arrays.fill(blockStates, null);
 		Arrays.fill(biomeColors, 0);
 		Arrays.fill(biomeColorsBlended, 0);
 	}
 
+	/**
+	 * Chunk.tileEntityPosQueue is not thread safe, regions compiled off the main
+	 * thread only look up tile entities that already exist
+	 */
+	public void setCompiledOffThread() {
+		this.tileEntityCreateType = Chunk.EnumCreateEntityType.CHECK;
+	}
+
 	public TileEntity getTileEntity(BlockPos blockpos) {
 		int i = (blockpos.getX() >> 4) - this.chunkX;
 		int j = (blockpos.getZ() >> 4) - this.chunkZ;
-		return this.chunkArray[i][j].getTileEntity(blockpos, Chunk.EnumCreateEntityType.QUEUED);
+		return this.chunkArray[i][j].getTileEntity(blockpos, tileEntityCreateType);
+	}
+
+	/**
+	 * Pending light updates are processed by RenderChunk before the region is
+	 * created, this reads the stored light without running the lighting engine
+	 * which is not safe to call from a chunk build thread
+	 */
+	public int getLightFor(EnumSkyBlock pos, BlockPos parBlockPos) {
+		if (parBlockPos.getY() >= 0 && parBlockPos.getY() < 256) {
+			int i = (parBlockPos.getX() >> 4) - this.chunkX;
+			int j = (parBlockPos.getZ() >> 4) - this.chunkZ;
+			return this.chunkArray[i][j].alfheim$getCachedLightFor(pos, parBlockPos);
+		} else {
+			return pos.defaultLightValue;
+		}
 	}
 
 	public int getCombinedLight(BlockPos blockpos, int i) {
@@ -1,6 +1,7 @@
 package net.minecraft.client.renderer;
 
 import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.EnumWorldBlockLayer;
 
 /**+
@@ -25,6 +26,10 @@ import net.minecraft.util.EnumWorldBlockLayer;
  */
 public class RegionRenderCacheBuilder {
 	private final WorldRenderer[] worldRenderers = new WorldRenderer[EnumWorldBlockLayer._VALUES.length];
+	final int[] combinedLights = new int[8000];
+	final IBlockState[] blockStates = new IBlockState[8000];
+	final int[] biomeColors = new int[1200];
+	final int[] biomeColorsBlended = new int[768];
 
 	public RegionRenderCacheBuilder() {
 		this.worldRenderers[EnumWorldBlockLayer.SOLID.ordinal()] = new WorldRenderer(2097152);
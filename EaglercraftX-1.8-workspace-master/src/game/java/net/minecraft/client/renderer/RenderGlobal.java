@@ -1,11 +1,11 @@
 package net.minecraft.client.renderer;
 
+import static net.lax1dude.eaglercraft.v1_8.internal.PlatformOpenGL.*;
 import static net.lax1dude.eaglercraft.v1_8.opengl.RealOpenGLEnums.*;
 
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -138,6 +138,14 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 	 * List of OpenGL lists for the current render pass
 	 */
 	private List<RenderGlobal.ContainerLocalRenderInformation> renderInfos = Lists.newArrayListWithCapacity(69696);
+	private final List<RenderGlobal.ContainerLocalRenderInformation> renderInfosPool = Lists
+			.newArrayListWithCapacity(69696);
+	private int renderInfosPoolUsed = 0;
+	private long visibleFacingsCachePos = Long.MIN_VALUE;
+	private CompiledChunk visibleFacingsCacheChunk = null;
+	private Set<EnumFacing> visibleFacingsCache = null;
+	private boolean occlusionCulling = false;
+	private int occlusionFrame = 0;
 	private final Set<TileEntity> field_181024_n = Sets.newHashSet();
 	private ViewFrustum viewFrustum;
 	private int glSunList = -1;
@@ -935,12 +943,20 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 		RenderChunk renderchunk = this.viewFrustum.getRenderChunk(blockpos1);
 		BlockPos blockpos = new BlockPos(MathHelper.floor_double(d3 / 16.0D) * 16,
 				MathHelper.floor_double(d4 / 16.0D) * 16, MathHelper.floor_double(d5 / 16.0D) * 16);
-		this.displayListEntitiesDirty = this.displayListEntitiesDirty || !this.chunksToUpdate.isEmpty()
-				|| viewEntity.posX != this.lastViewEntityX || viewEntity.posY != this.lastViewEntityY
+		boolean viewChanged = viewEntity.posX != this.lastViewEntityX || viewEntity.posY != this.lastViewEntityY
 				|| viewEntity.posZ != this.lastViewEntityZ
 				|| (double) viewEntity.rotationPitch != this.lastViewEntityPitch
 				|| (double) viewEntity.rotationYaw != this.lastViewEntityYaw
 				|| this.mc.entityRenderer.currentProjMatrixFOV != this.lastViewProjMatrixFOV;
+		if (viewChanged) {
+			this.renderDispatcher.setViewPosition(d3, d4 + (double) viewEntity.getEyeHeight(), d5, camera);
+		}
+		this.displayListEntitiesDirty = this.displayListEntitiesDirty || viewChanged;
+		this.occlusionCulling = this.mc.gameSettings.occlusionCulling && !this.mc.gameSettings.shaders
+				&& EaglercraftGPU.checkOpenGLESVersion() >= 300;
+		if (!this.occlusionCulling) {
+			++this.occlusionFrame;
+		}
 		this.lastViewEntityX = viewEntity.posX;
 		this.lastViewEntityY = viewEntity.posY;
 		this.lastViewEntityZ = viewEntity.posZ;
@@ -950,14 +966,15 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 		boolean flag = this.debugFixedClippingHelper != null;
 		if (!flag && this.displayListEntitiesDirty) {
 			this.displayListEntitiesDirty = false;
-			this.renderInfos = Lists.newArrayList();
-			LinkedList linkedlist = Lists.newLinkedList();
+			this.renderInfos.clear();
+			this.renderInfosPoolUsed = 0;
+			int bfsStart = 0;
 			boolean flag1 = this.mc.renderChunksMany;
 			if (renderchunk != null) {
 				boolean flag2 = false;
-				RenderGlobal.ContainerLocalRenderInformation renderglobal$containerlocalrenderinformation3 = new RenderGlobal.ContainerLocalRenderInformation(
-						renderchunk, (EnumFacing) null, 0);
-				Set set1 = this.getVisibleFacings(blockpos1);
+				RenderGlobal.ContainerLocalRenderInformation renderglobal$containerlocalrenderinformation3 = this
+						.obtainRenderInfo(renderchunk, (EnumFacing) null, 0);
+				Set set1 = this.getVisibleFacingsCached(blockpos1, renderchunk);
 				if (set1.size() == 1) {
 					Vector3f vector3f = this.getViewVector(viewEntity, partialTicks);
 					EnumFacing enumfacing = EnumFacing.getFacingFromVector(vector3f.x, vector3f.y, vector3f.z)
@@ -971,55 +988,58 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 
 				if (flag2 && !playerSpectator) {
 					this.renderInfos.add(renderglobal$containerlocalrenderinformation3);
+					bfsStart = 1;
 				} else {
 					if (playerSpectator && this.theWorld.getBlockState(blockpos1).getBlock().isOpaqueCube()) {
 						flag1 = false;
 					}
 
 					renderchunk.setFrameIndex(frameCount);
-					linkedlist.add(renderglobal$containerlocalrenderinformation3);
+					this.renderInfos.add(renderglobal$containerlocalrenderinformation3);
 				}
 			} else {
 				int i = blockpos1.getY() > 0 ? 248 : 8;
+				BlockPos seedPos = new BlockPos(0, 0, 0);
 
 				for (int j = -this.renderDistanceChunks; j <= this.renderDistanceChunks; ++j) {
 					for (int k = -this.renderDistanceChunks; k <= this.renderDistanceChunks; ++k) {
 						RenderChunk renderchunk1 = this.viewFrustum
-								.getRenderChunk(new BlockPos((j << 4) + 8, i, (k << 4) + 8));
+								.getRenderChunk(seedPos.func_181079_c((j << 4) + 8, i, (k << 4) + 8));
 						if (renderchunk1 != null
 								&& ((ICamera) camera).isBoundingBoxInFrustum(renderchunk1.boundingBox)) {
 							renderchunk1.setFrameIndex(frameCount);
-							linkedlist.add(new RenderGlobal.ContainerLocalRenderInformation(renderchunk1,
-									(EnumFacing) null, 0));
+							this.renderInfos.add(this.obtainRenderInfo(renderchunk1, (EnumFacing) null, 0));
 						}
 					}
 				}
 			}
 
-			while (!linkedlist.isEmpty()) {
-				RenderGlobal.ContainerLocalRenderInformation renderglobal$containerlocalrenderinformation1 = (RenderGlobal.ContainerLocalRenderInformation) linkedlist
-						.poll();
+			/**+
+			 * renderInfos doubles as the BFS queue, every chunk is appended in
+			 * the order it is reached and expanded once the cursor gets to it
+			 */
+			for (int head = bfsStart; head < this.renderInfos.size(); ++head) {
+				RenderGlobal.ContainerLocalRenderInformation renderglobal$containerlocalrenderinformation1 = this.renderInfos
+						.get(head);
 				RenderChunk renderchunk3 = renderglobal$containerlocalrenderinformation1.renderChunk;
 				EnumFacing enumfacing2 = renderglobal$containerlocalrenderinformation1.facing;
-				BlockPos blockpos2 = renderchunk3.getPosition();
-				this.renderInfos.add(renderglobal$containerlocalrenderinformation1);
 				EnumFacing[] facings = EnumFacing._VALUES;
 				for (int i = 0; i < facings.length; ++i) {
 					EnumFacing enumfacing1 = facings[i];
 					RenderChunk renderchunk2 = this.func_181562_a(blockpos, renderchunk3, enumfacing1);
-					if ((!flag1 || !renderglobal$containerlocalrenderinformation1.setFacing // TODO:
-							.contains(enumfacing1.getOpposite()))
+					if ((!flag1 || (renderglobal$containerlocalrenderinformation1.setFacing
+							& (1 << enumfacing1.getOpposite().ordinal())) == 0)
 							&& (!flag1 || enumfacing2 == null
 									|| renderchunk3.getCompiledChunk().isVisible(enumfacing2.getOpposite(),
 											enumfacing1))
 							&& renderchunk2 != null && renderchunk2.setFrameIndex(frameCount)
 							&& ((ICamera) camera).isBoundingBoxInFrustum(renderchunk2.boundingBox)) {
-						RenderGlobal.ContainerLocalRenderInformation renderglobal$containerlocalrenderinformation = new RenderGlobal.ContainerLocalRenderInformation(
-								renderchunk2, enumfacing1, renderglobal$containerlocalrenderinformation1.counter + 1);
-						renderglobal$containerlocalrenderinformation.setFacing
-								.addAll(renderglobal$containerlocalrenderinformation1.setFacing);
-						renderglobal$containerlocalrenderinformation.setFacing.add(enumfacing1);
-						linkedlist.add(renderglobal$containerlocalrenderinformation);
+						RenderGlobal.ContainerLocalRenderInformation renderglobal$containerlocalrenderinformation = this
+								.obtainRenderInfo(renderchunk2, enumfacing1,
+										renderglobal$containerlocalrenderinformation1.counter + 1);
+						renderglobal$containerlocalrenderinformation.setFacing = renderglobal$containerlocalrenderinformation1.setFacing
+								| (1 << enumfacing1.ordinal());
+						this.renderInfos.add(renderglobal$containerlocalrenderinformation);
 					}
 				}
 			}
@@ -1038,9 +1058,9 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 					.get(ii);
 			RenderChunk renderchunk4 = renderglobal$containerlocalrenderinformation2.renderChunk;
 			if (renderchunk4.isNeedsUpdate() || set.contains(renderchunk4)) {
-				this.displayListEntitiesDirty = true;
 				if (this.mc.gameSettings.chunkFix ? this.isPositionInRenderChunkHack(blockpos1, renderchunk4)
 						: this.isPositionInRenderChunk(blockpos, renderchunk4)) {
+					this.displayListEntitiesDirty = true;
 					this.renderDispatcher.updateChunkNow(renderchunk4);
 					renderchunk4.setNeedsUpdate(false);
 				} else {
@@ -1069,6 +1089,24 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 						: MathHelper.abs_int(pos.getZ() - blockpos.getZ() - 8) <= 11);
 	}
 
+	/**+
+	 * The flood fill of the camera's chunk only changes when the camera
+	 * moves to another block or the chunk is recompiled, so its result is
+	 * kept across visibility updates
+	 */
+	private Set<EnumFacing> getVisibleFacingsCached(BlockPos pos, RenderChunk renderChunkIn) {
+		long l = pos.toLong();
+		CompiledChunk compiledchunk = renderChunkIn.getCompiledChunk();
+		if (this.visibleFacingsCache == null || this.visibleFacingsCachePos != l
+				|| this.visibleFacingsCacheChunk != compiledchunk || compiledchunk == CompiledChunk.DUMMY) {
+			this.visibleFacingsCache = this.getVisibleFacings(pos);
+			this.visibleFacingsCachePos = l;
+			this.visibleFacingsCacheChunk = compiledchunk;
+		}
+		return this.visibleFacingsCache.isEmpty() ? EnumSet.noneOf(EnumFacing.class)
+				: EnumSet.copyOf(this.visibleFacingsCache);
+	}
+
 	private Set<EnumFacing> getVisibleFacings(BlockPos pos) {
 		VisGraph visgraph = new VisGraph();
 		BlockPos blockpos = new BlockPos(pos.getX() >> 4 << 4, pos.getY() >> 4 << 4, pos.getZ() >> 4 << 4);
@@ -1176,7 +1214,9 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 		for (int j = i1; j != i; j += j1) {
 			RenderChunk renderchunk = ((RenderGlobal.ContainerLocalRenderInformation) this.renderInfos
 					.get(j)).renderChunk;
-			if (!renderchunk.getCompiledChunk().isLayerEmpty(blockLayerIn)) {
+			if (!renderchunk.getCompiledChunk().isLayerEmpty(blockLayerIn)
+					&& !(this.occlusionCulling && renderchunk.occluded
+							&& renderchunk.occlusionQueryFrame == this.occlusionFrame)) {
 				++l;
 				this.renderContainer.addRenderChunk(renderchunk, blockLayerIn);
 			}
@@ -1186,6 +1226,99 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 		return l;
 	}
 
+	/**+
+	 * Draws the bounding box of every chunk that survived the visibility
+	 * walk against the opaque terrain depth inside an occlusion query. The
+	 * results are read back without stalling on later frames, chunks that
+	 * passed no samples are skipped by renderBlockLayer until a query says
+	 * otherwise. Chunks that just came back into view are always drawn
+	 */
+	public void renderOcclusionQueries(Entity viewEntity, double partialTicks) {
+		if (!this.occlusionCulling) {
+			return;
+		}
+		int frame = ++this.occlusionFrame;
+		double d0 = viewEntity.lastTickPosX + (viewEntity.posX - viewEntity.lastTickPosX) * partialTicks;
+		double d1 = viewEntity.lastTickPosY + (viewEntity.posY - viewEntity.lastTickPosY) * partialTicks;
+		double d2 = viewEntity.lastTickPosZ + (viewEntity.posZ - viewEntity.lastTickPosZ) * partialTicks;
+		Tessellator tessellator = Tessellator.getInstance();
+		WorldRenderer worldrenderer = tessellator.getWorldRenderer();
+		GlStateManager.disableTexture2D();
+		GlStateManager.disableAlpha();
+		GlStateManager.disableCull();
+		GlStateManager.depthMask(false);
+		GlStateManager.colorMask(false, false, false, false);
+
+		for (int ii = 0, ll = this.renderInfos.size(); ii < ll; ++ii) {
+			RenderGlobal.ContainerLocalRenderInformation renderglobal$containerlocalrenderinformation = this.renderInfos
+					.get(ii);
+			RenderChunk renderchunk = renderglobal$containerlocalrenderinformation.renderChunk;
+			if (renderchunk.occlusionQueryFrame != frame - 1) {
+				renderchunk.occluded = false;
+				renderchunk.occlusionQueryValid = false;
+			}
+			renderchunk.occlusionQueryFrame = frame;
+			if (renderchunk.occlusionQueryPending) {
+				if (_wglGetQueryObjecti(renderchunk.occlusionQuery, GL_QUERY_RESULT_AVAILABLE) == 0) {
+					continue;
+				}
+				renderchunk.occlusionQueryPending = false;
+				if (renderchunk.occlusionQueryValid) {
+					renderchunk.occluded = _wglGetQueryObjecti(renderchunk.occlusionQuery, GL_QUERY_RESULT) == 0;
+				}
+			}
+
+			if (renderglobal$containerlocalrenderinformation.counter < 2 || renderchunk.getCompiledChunk().isEmpty()) {
+				renderchunk.occluded = false;
+				renderchunk.occlusionQueryValid = false;
+				continue;
+			}
+
+			if (renderchunk.occlusionQuery == null) {
+				renderchunk.occlusionQuery = _wglGenQueries();
+			}
+			AxisAlignedBB aabb = renderchunk.boundingBox;
+			double x0 = aabb.minX - d0, y0 = aabb.minY - d1, z0 = aabb.minZ - d2;
+			double x1 = aabb.maxX - d0, y1 = aabb.maxY - d1, z1 = aabb.maxZ - d2;
+			_wglBeginQuery(GL_ANY_SAMPLES_PASSED_CONSERVATIVE, renderchunk.occlusionQuery);
+			worldrenderer.begin(7, DefaultVertexFormats.POSITION);
+			worldrenderer.pos(x0, y0, z0).endVertex();
+			worldrenderer.pos(x1, y0, z0).endVertex();
+			worldrenderer.pos(x1, y0, z1).endVertex();
+			worldrenderer.pos(x0, y0, z1).endVertex();
+			worldrenderer.pos(x0, y1, z0).endVertex();
+			worldrenderer.pos(x0, y1, z1).endVertex();
+			worldrenderer.pos(x1, y1, z1).endVertex();
+			worldrenderer.pos(x1, y1, z0).endVertex();
+			worldrenderer.pos(x0, y0, z0).endVertex();
+			worldrenderer.pos(x0, y1, z0).endVertex();
+			worldrenderer.pos(x1, y1, z0).endVertex();
+			worldrenderer.pos(x1, y0, z0).endVertex();
+			worldrenderer.pos(x0, y0, z1).endVertex();
+			worldrenderer.pos(x1, y0, z1).endVertex();
+			worldrenderer.pos(x1, y1, z1).endVertex();
+			worldrenderer.pos(x0, y1, z1).endVertex();
+			worldrenderer.pos(x0, y0, z0).endVertex();
+			worldrenderer.pos(x0, y0, z1).endVertex();
+			worldrenderer.pos(x0, y1, z1).endVertex();
+			worldrenderer.pos(x0, y1, z0).endVertex();
+			worldrenderer.pos(x1, y0, z0).endVertex();
+			worldrenderer.pos(x1, y1, z0).endVertex();
+			worldrenderer.pos(x1, y1, z1).endVertex();
+			worldrenderer.pos(x1, y0, z1).endVertex();
+			tessellator.draw();
+			_wglEndQuery(GL_ANY_SAMPLES_PASSED_CONSERVATIVE);
+			renderchunk.occlusionQueryPending = true;
+			renderchunk.occlusionQueryValid = true;
+		}
+
+		GlStateManager.colorMask(true, true, true, true);
+		GlStateManager.depthMask(true);
+		GlStateManager.enableCull();
+		GlStateManager.enableAlpha();
+		GlStateManager.enableTexture2D();
+	}
+
 	public static interface ChunkCullAdapter {
 		boolean shouldCull(RenderChunk chunk);
 	}
@@ -2204,18 +2337,35 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 		}
 	}
 
+	/**+
+	 * Pooled, these are recycled every time the visibility graph is
+	 * walked again so the walk itself does not allocate
+	 */
 	class ContainerLocalRenderInformation {
-		final RenderChunk renderChunk;
-		final EnumFacing facing;
-		final Set<EnumFacing> setFacing;
-		final int counter;
-
-		private ContainerLocalRenderInformation(RenderChunk renderChunkIn, EnumFacing facingIn, int counterIn) {
-			this.setFacing = EnumSet.noneOf(EnumFacing.class);
-			this.renderChunk = renderChunkIn;
-			this.facing = facingIn;
-			this.counter = counterIn;
+		RenderChunk renderChunk;
+		EnumFacing facing;
+		int setFacing;
+		int counter;
+
+		private ContainerLocalRenderInformation() {
+		}
+	}
+
+	private RenderGlobal.ContainerLocalRenderInformation obtainRenderInfo(RenderChunk renderChunkIn,
+			EnumFacing facingIn, int counterIn) {
+		RenderGlobal.ContainerLocalRenderInformation ret;
+		if (this.renderInfosPoolUsed < this.renderInfosPool.size()) {
+			ret = this.renderInfosPool.get(this.renderInfosPoolUsed);
+		} else {
+			ret = new RenderGlobal.ContainerLocalRenderInformation();
+			this.renderInfosPool.add(ret);
 		}
+		++this.renderInfosPoolUsed;
+		ret.renderChunk = renderChunkIn;
+		ret.facing = facingIn;
+		ret.setFacing = 0;
+		ret.counter = counterIn;
+		return ret;
 	}
 
 	public String getDebugInfoShort() {
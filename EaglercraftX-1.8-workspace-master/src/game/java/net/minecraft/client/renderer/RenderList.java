@@ -1,8 +1,14 @@
 package net.minecraft.client.renderer;
 
+import java.util.Comparator;
+import java.util.List;
+
 import net.lax1dude.eaglercraft.v1_8.opengl.EaglercraftGPU;
 import net.lax1dude.eaglercraft.v1_8.opengl.GlStateManager;
+import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.DeferredStateManager;
+import net.lax1dude.eaglercraft.v1_8.opengl.ext.dynamiclights.DynamicLightsStateManager;
 import net.minecraft.client.renderer.chunk.ListedRenderChunk;
+import net.minecraft.client.renderer.chunk.RenderChunk;
 import net.minecraft.util.EnumWorldBlockLayer;
 
 /**+
@@ -26,19 +32,69 @@ import net.minecraft.util.EnumWorldBlockLayer;
  * 
  */
 public class RenderList extends ChunkRenderContainer {
+	private static final Comparator<RenderChunk> regionOrder = (a, b) -> a.regionX != b.regionX
+			? Integer.compare(a.regionX, b.regionX)
+			: (a.regionZ != b.regionZ ? Integer.compare(a.regionZ, b.regionZ) : Integer.compare(a.regionY, b.regionY));
+
+	private int[] regionLists = new int[64];
+
+	/**+
+	 * Draws the chunks region by region with one modelview per region.
+	 * The opaque layers are grouped by region first and glCallLists may
+	 * merge their ranges in any order, the other layers keep the order
+	 * they were added in and only consecutive chunks of the same region
+	 * are batched. The forward and dynamic lights passes still need one
+	 * draw per chunk to bind each chunk's light sources
+	 */
 	public void renderChunkLayer(EnumWorldBlockLayer enumworldblocklayer) {
 		if (this.initialized) {
-			for (int i = 0, l = this.renderChunks.size(); i < l; ++i) {
-				ListedRenderChunk listedrenderchunk = (ListedRenderChunk) this.renderChunks.get(i);
+			boolean anyOrder = enumworldblocklayer == EnumWorldBlockLayer.SOLID
+					|| enumworldblocklayer == EnumWorldBlockLayer.CUTOUT_MIPPED
+					|| enumworldblocklayer == EnumWorldBlockLayer.CUTOUT;
+			boolean perChunk = DeferredStateManager.isInForwardPass()
+					|| DynamicLightsStateManager.isInDynamicLightsPass();
+			List<RenderChunk> chunks = this.renderChunks;
+			if (anyOrder) {
+				chunks.sort(regionOrder);
+			}
+
+			for (int i = 0, l = chunks.size(); i < l;) {
+				RenderChunk first = chunks.get(i);
+				int j = i + 1;
+				while (j < l && isSameRegion(first, chunks.get(j))) {
+					++j;
+				}
+
 				GlStateManager.pushMatrix();
-				this.preRenderChunk(listedrenderchunk, enumworldblocklayer);
-				EaglercraftGPU.glCallList(
-						listedrenderchunk.getDisplayList(enumworldblocklayer, listedrenderchunk.getCompiledChunk()));
+				this.preRenderRegion(first);
+				if (perChunk) {
+					for (int k = i; k < j; ++k) {
+						ListedRenderChunk listedrenderchunk = (ListedRenderChunk) chunks.get(k);
+						this.preRenderChunk(listedrenderchunk, enumworldblocklayer);
+						EaglercraftGPU.glCallList(listedrenderchunk.getDisplayList(enumworldblocklayer,
+								listedrenderchunk.getCompiledChunk()));
+					}
+				} else {
+					if (this.regionLists.length < j - i) {
+						this.regionLists = new int[(j - i + 63) & -64];
+					}
+					for (int k = i; k < j; ++k) {
+						ListedRenderChunk listedrenderchunk = (ListedRenderChunk) chunks.get(k);
+						this.regionLists[k - i] = listedrenderchunk.getDisplayList(enumworldblocklayer,
+								listedrenderchunk.getCompiledChunk());
+					}
+					EaglercraftGPU.glCallLists(this.regionLists, j - i, anyOrder);
+				}
 				GlStateManager.popMatrix();
+				i = j;
 			}
 
 			GlStateManager.resetColor();
 			this.renderChunks.clear();
 		}
 	}
+
+	private static boolean isSameRegion(RenderChunk a, RenderChunk b) {
+		return a.regionX == b.regionX && a.regionY == b.regionY && a.regionZ == b.regionZ;
+	}
 }
\ No newline at end of file
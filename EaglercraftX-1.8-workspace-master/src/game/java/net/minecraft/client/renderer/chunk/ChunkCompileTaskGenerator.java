@@ -1,11 +1,15 @@
 package net.minecraft.client.renderer.chunk;
 
 import java.util.List;
+import java.util.Set;
 
 import com.google.common.collect.Lists;
 
 import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.DeferredStateManager;
+import net.minecraft.client.renderer.RegionRenderCache;
 import net.minecraft.client.renderer.RegionRenderCacheBuilder;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.BlockPos;
 import net.minecraft.util.EnumWorldBlockLayer;
 
 /**+
@@ -32,16 +36,25 @@ public class ChunkCompileTaskGenerator {
 	private final RenderChunk renderChunk;
 	private final List<Runnable> listFinishRunnables = Lists.newArrayList();
 	private final ChunkCompileTaskGenerator.Type type;
+	private final BlockPos position;
 	private RegionRenderCacheBuilder regionRenderCacheBuilder;
+	private RegionRenderCache regionRenderCache;
 	private CompiledChunk compiledChunk;
+	private Set<TileEntity> globalTileEntities;
+	private float viewX;
+	private float viewY;
+	private float viewZ;
 	private ChunkCompileTaskGenerator.Status status = ChunkCompileTaskGenerator.Status.PENDING;
 	private boolean finished;
 	public long goddamnFuckingTimeout = 0l;
 	public long time = 0;
+	public double queuePriority = 0.0;
+	public int queueIndex = -1;
 
 	public ChunkCompileTaskGenerator(RenderChunk renderChunkIn, ChunkCompileTaskGenerator.Type typeIn) {
 		this.renderChunk = renderChunkIn;
 		this.type = typeIn;
+		this.position = renderChunkIn.getPosition();
 	}
 
 	public ChunkCompileTaskGenerator.Status getStatus() {
@@ -52,6 +65,10 @@ public class ChunkCompileTaskGenerator {
 		return this.renderChunk;
 	}
 
+	public BlockPos getPosition() {
+		return this.position;
+	}
+
 	public CompiledChunk getCompiledChunk() {
 		return this.compiledChunk;
 	}
@@ -68,6 +85,40 @@ public class ChunkCompileTaskGenerator {
 		this.regionRenderCacheBuilder = regionRenderCacheBuilderIn;
 	}
 
+	public RegionRenderCache getRegionRenderCache() {
+		return this.regionRenderCache;
+	}
+
+	public void setRegionRenderCache(RegionRenderCache regionRenderCacheIn) {
+		this.regionRenderCache = regionRenderCacheIn;
+	}
+
+	public Set<TileEntity> getGlobalTileEntities() {
+		return this.globalTileEntities;
+	}
+
+	public void setGlobalTileEntities(Set<TileEntity> globalTileEntitiesIn) {
+		this.globalTileEntities = globalTileEntitiesIn;
+	}
+
+	public void setViewPosition(float x, float y, float z) {
+		this.viewX = x;
+		this.viewY = y;
+		this.viewZ = z;
+	}
+
+	public float getViewX() {
+		return this.viewX;
+	}
+
+	public float getViewY() {
+		return this.viewY;
+	}
+
+	public float getViewZ() {
+		return this.viewZ;
+	}
+
 	public void setStatus(ChunkCompileTaskGenerator.Status statusIn) {
 		this.status = statusIn;
 	}
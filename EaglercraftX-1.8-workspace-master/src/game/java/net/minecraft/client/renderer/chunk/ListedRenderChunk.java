@@ -49,11 +49,10 @@ public class ListedRenderChunk extends RenderChunk {
 		}
 	}
 
-	public void rebuildChunk(float x, float y, float z, ChunkCompileTaskGenerator generator) {
-		super.rebuildChunk(x, y, z, generator);
+	public void flushEmptyDisplayLists(CompiledChunk parCompiledChunk) {
 		EnumWorldBlockLayer[] layers = EnumWorldBlockLayer._VALUES;
 		for (int i = 0; i < layers.length; ++i) {
-			if (generator.getCompiledChunk().isLayerEmpty(layers[i])) {
+			if (parCompiledChunk.isLayerEmpty(layers[i])) {
 				EaglercraftGPU.flushDisplayList(this.baseDisplayList[i]);
 			}
 		}
@@ -7,6 +7,8 @@ import java.util.Set;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
+import net.lax1dude.eaglercraft.v1_8.internal.IQueryGL;
+import net.lax1dude.eaglercraft.v1_8.internal.PlatformOpenGL;
 import net.lax1dude.eaglercraft.v1_8.opengl.VertexFormat;
 import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
 import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.DeferredStateManager;
@@ -70,6 +72,21 @@ public class RenderChunk {
 	public ShadowFrustumState shadowLOD1InFrustum = ShadowFrustumState.OUTSIDE;
 	public ShadowFrustumState shadowLOD2InFrustum = ShadowFrustumState.OUTSIDE;
 	private EnumMap<EnumFacing, BlockPos> field_181702_p = Maps.newEnumMap(EnumFacing.class);
+	public IQueryGL occlusionQuery = null;
+	public boolean occlusionQueryPending = false;
+	public boolean occlusionQueryValid = false;
+	public int occlusionQueryFrame = -1;
+	public boolean occluded = false;
+	/**+
+	 * Origin of the 8x8x8 chunk region this chunk is in, the display
+	 * lists are uploaded relative to it so RenderList can draw a whole
+	 * region under one modelview. regionKey only picks the arena pages
+	 * the lists go in, regions with the same key just share pages
+	 */
+	public int regionX;
+	public int regionY;
+	public int regionZ;
+	public int regionKey;
 
 	public RenderChunk(World worldIn, RenderGlobal renderGlobalIn, BlockPos blockPosIn, int indexIn) {
 		this.world = worldIn;
@@ -94,6 +111,12 @@ public class RenderChunk {
 		this.stopCompileTask();
 		this.position = pos;
 		this.boundingBox = new AxisAlignedBB(pos, pos.add(16, 16, 16));
+		this.regionX = pos.getX() & -128;
+		this.regionY = pos.getY() & -128;
+		this.regionZ = pos.getZ() & -128;
+		this.regionKey = ((this.regionX >> 7) * 31 + (this.regionY >> 7)) * 8191 + (this.regionZ >> 7);
+		this.occluded = false;
+		this.occlusionQueryValid = false;
 
 		EnumFacing[] facings = EnumFacing._VALUES;
 		for (int i = 0; i < facings.length; ++i) {
@@ -130,20 +153,62 @@ public class RenderChunk {
 		} else {
 			compiledChunk.reset();
 		}
-		boolean flag = true;
-		BlockPos blockpos = this.position;
-		BlockPos blockpos1 = blockpos.add(15, 15, 15);
 
-		RegionRenderCache regionrendercache;
 		if (generator.getStatus() != ChunkCompileTaskGenerator.Status.COMPILING) {
 			return;
 		}
 
-		regionrendercache = new RegionRenderCache(this.world, blockpos.add(-1, -1, -1), blockpos1.add(1, 1, 1), 1);
+		generator.setRegionRenderCache(this.makeRegionRenderCache());
 		generator.setCompiledChunk(compiledChunk);
+		this.compileChunk(x, y, z, generator);
+		this.updateGlobalTileEntities(generator.getGlobalTileEntities());
+	}
+
+	/**
+	 * Called on the main thread before a rebuild is handed to a chunk build
+	 * thread, the task gets its own CompiledChunk so the current one can still be
+	 * rendered until the new one has been uploaded
+	 */
+	public void prepareRebuildTask(ChunkCompileTaskGenerator generator) {
+		RegionRenderCache regionrendercache = this.makeRegionRenderCache();
+		regionrendercache.setCompiledOffThread();
+		generator.setRegionRenderCache(regionrendercache);
+		generator.setCompiledChunk(new CompiledChunk(this));
+	}
+
+	/**
+	 * Called on the main thread once the layers of a rebuild compiled on a chunk
+	 * build thread have been uploaded
+	 */
+	public void finishRebuildTask(ChunkCompileTaskGenerator generator) {
+		if (this.compiledChunk != CompiledChunk.DUMMY) {
+			this.compiledChunk.setState(null);
+			this.compiledChunk.setStateRealisticWater(null);
+		}
+		this.compiledChunk = generator.getCompiledChunk();
+		this.updateGlobalTileEntities(generator.getGlobalTileEntities());
+	}
+
+	private RegionRenderCache makeRegionRenderCache() {
+		BlockPos blockpos = this.position;
+		this.world.alfheim$getLightingEngine().processLightUpdatesForChunk(blockpos.getX() >> 4, blockpos.getZ() >> 4);
+		return new RegionRenderCache(this.world, blockpos.add(-1, -1, -1), blockpos.add(16, 16, 16), 1);
+	}
+
+	/**
+	 * Builds the geometry of the task into its CompiledChunk and
+	 * RegionRenderCacheBuilder, only reads from the task so it can run on a chunk
+	 * build thread
+	 */
+	public void compileChunk(float x, float y, float z, ChunkCompileTaskGenerator generator) {
+		CompiledChunk compiledchunk = generator.getCompiledChunk();
+		RegionRenderCache regionrendercache = generator.getRegionRenderCache();
+		regionrendercache.bindCaches(generator.getRegionRenderCacheBuilder());
+		BlockPos blockpos = generator.getPosition();
+		BlockPos blockpos1 = blockpos.add(15, 15, 15);
 
 		VisGraph visgraph = new VisGraph();
-		HashSet hashset = Sets.newHashSet();
+		Set<TileEntity> hashset = Sets.newHashSet();
 		if (!regionrendercache.extendedLevelsInChunkCache()) {
 			++renderChunksUpdated;
 			boolean[] aboolean = new boolean[EnumWorldBlockLayer._VALUES.length];
@@ -161,7 +226,7 @@ public class RenderChunk {
 					TileEntitySpecialRenderer tileentityspecialrenderer = TileEntityRendererDispatcher.instance
 							.getSpecialRenderer(tileentity);
 					if (tileentity != null && tileentityspecialrenderer != null) {
-						compiledChunk.addTileEntity(tileentity);
+						compiledchunk.addTileEntity(tileentity);
 						if (tileentityspecialrenderer.func_181055_a()) {
 							hashset.add(tileentity);
 						}
@@ -172,8 +237,8 @@ public class RenderChunk {
 				int i = enumworldblocklayer1.ordinal();
 				if (block.getRenderType() != -1) {
 					WorldRenderer worldrenderer = generator.getRegionRenderCacheBuilder().getWorldRendererByLayerId(i);
-					if (!compiledChunk.isLayerStarted(enumworldblocklayer1)) {
-						compiledChunk.setLayerStarted(enumworldblocklayer1);
+					if (!compiledchunk.isLayerStarted(enumworldblocklayer1)) {
+						compiledchunk.setLayerStarted(enumworldblocklayer1);
 						this.preRenderBlocks(worldrenderer, blockpos);
 					}
 
@@ -184,8 +249,8 @@ public class RenderChunk {
 						enumworldblocklayer1 = EnumWorldBlockLayer.GLASS_HIGHLIGHTS;
 						worldrenderer = generator.getRegionRenderCacheBuilder()
 								.getWorldRendererByLayerId(enumworldblocklayer1.ordinal());
-						if (!compiledChunk.isLayerStarted(enumworldblocklayer1)) {
-							compiledChunk.setLayerStarted(enumworldblocklayer1);
+						if (!compiledchunk.isLayerStarted(enumworldblocklayer1)) {
+							compiledchunk.setLayerStarted(enumworldblocklayer1);
 							this.preRenderBlocks(worldrenderer, blockpos);
 						}
 
@@ -199,19 +264,22 @@ public class RenderChunk {
 			for (int i = 0; i < layers.length; ++i) {
 				EnumWorldBlockLayer enumworldblocklayer = layers[i];
 				if (aboolean[enumworldblocklayer.ordinal()]) {
-					compiledChunk.setLayerUsed(enumworldblocklayer);
+					compiledchunk.setLayerUsed(enumworldblocklayer);
 				}
 
-				if (compiledChunk.isLayerStarted(enumworldblocklayer)) {
+				if (compiledchunk.isLayerStarted(enumworldblocklayer)) {
 					this.postRenderBlocks(enumworldblocklayer, x, y, z,
 							generator.getRegionRenderCacheBuilder().getWorldRendererByLayer(enumworldblocklayer),
-							compiledChunk);
+							compiledchunk);
 				}
 			}
 		}
 
-		compiledChunk.setVisibility(visgraph.computeVisibility());
+		compiledchunk.setVisibility(visgraph.computeVisibility());
+		generator.setGlobalTileEntities(hashset);
+	}
 
+	private void updateGlobalTileEntities(Set<TileEntity> hashset) {
 		HashSet hashset1 = Sets.newHashSet(hashset);
 		HashSet hashset2 = Sets.newHashSet(this.field_181056_j);
 		hashset1.removeAll(this.field_181056_j);
@@ -219,7 +287,6 @@ public class RenderChunk {
 		this.field_181056_j.clear();
 		this.field_181056_j.addAll(hashset);
 		this.renderGlobal.func_181023_a(hashset2, hashset1);
-
 	}
 
 	protected void finishCompileTask() {
@@ -282,6 +349,11 @@ public class RenderChunk {
 	public void deleteGlResources() {
 		this.stopCompileTask();
 		this.world = null;
+		if (this.occlusionQuery != null) {
+			PlatformOpenGL._wglDeleteQueries(this.occlusionQuery);
+			this.occlusionQuery = null;
+			this.occlusionQueryPending = false;
+		}
 	}
 
 	public BlockPos getPosition() {
@@ -20,6 +20,7 @@ import net.lax1dude.eaglercraft.v1_8.internal.IFramebufferGL;
 import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
 import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
 import net.lax1dude.eaglercraft.v1_8.minecraft.EaglerTextureAtlasSprite;
+import net.lax1dude.eaglercraft.v1_8.minecraft.TextureAtlasCache;
 import net.lax1dude.eaglercraft.v1_8.opengl.EaglercraftGPU;
 import net.lax1dude.eaglercraft.v1_8.opengl.GlStateManager;
 import net.lax1dude.eaglercraft.v1_8.opengl.ImageData;
@@ -216,6 +217,21 @@ public class TextureMap extends AbstractTexture implements ITickableTextureObjec
 			}
 		}
 
+		byte[] cacheKey = null;
+		if (!isEaglerPBRMode && TextureAtlasCache.isSupported()) {
+			cacheKey = TextureAtlasCache.computeKey(resourceManager, this.basePath, this.mapRegisteredSprites,
+					(sprite, level) -> this.completeResourceLocation(new ResourceLocation(sprite.getIconName()),
+							level),
+					this.mipmapLevels, i);
+			TextureAtlasCache cache = TextureAtlasCache.load(this.basePath, cacheKey);
+			if (cache != null) {
+				if (this.loadCachedTextureAtlas(resourceManager, cache)) {
+					return;
+				}
+				TextureAtlasCache.invalidate(this.basePath);
+			}
+		}
+
 		for (Entry entry : this.mapRegisteredSprites.entrySet()) {
 			EaglerTextureAtlasSprite textureatlassprite = (EaglerTextureAtlasSprite) entry.getValue();
 			textureatlassprite.updateIndexInMap(this.counterIndexInMap);
@@ -325,50 +341,7 @@ public class TextureMap extends AbstractTexture implements ITickableTextureObjec
 				continue;
 			}
 
-			try {
-				IResource iresource = resourceManager.getResource(resourcelocation1);
-				ImageData[] abufferedimage = new ImageData[1 + this.mipmapLevels];
-				abufferedimage[0] = TextureUtil.readBufferedImage(iresource.getInputStream());
-				TextureMetadataSection texturemetadatasection = (TextureMetadataSection) iresource
-						.getMetadata("texture");
-				if (texturemetadatasection != null) {
-					IntIndexedContainer list = texturemetadatasection.getListMipmaps();
-					if (!list.isEmpty()) {
-						int l = abufferedimage[0].width;
-						int i1 = abufferedimage[0].height;
-						if (MathHelper.roundUpToPowerOfTwo(l) != l || MathHelper.roundUpToPowerOfTwo(i1) != i1) {
-							throw new RuntimeException(
-									"Unable to load extra miplevels, source-texture is not power of two");
-						}
-					}
-
-					for (IntCursor cur : list) {
-						int i2 = cur.value;
-						if (i2 > 0 && i2 < abufferedimage.length - 1 && abufferedimage[i2] == null) {
-							ResourceLocation resourcelocation2 = this.completeResourceLocation(resourcelocation, i2);
-
-							try {
-								abufferedimage[i2] = TextureUtil.readBufferedImage(
-										resourceManager.getResource(resourcelocation2).getInputStream());
-							} catch (IOException ioexception) {
-								logger.error("Unable to load miplevel {} from: {}",
-										new Object[] { Integer.valueOf(i2), resourcelocation2 });
-								logger.error(ioexception);
-							}
-						}
-					}
-				}
-
-				AnimationMetadataSection animationmetadatasection = (AnimationMetadataSection) iresource
-						.getMetadata("animation");
-				textureatlassprite.loadSprite(abufferedimage, animationmetadatasection);
-			} catch (RuntimeException runtimeexception) {
-				logger.error("Unable to parse metadata from " + resourcelocation1);
-				logger.error(runtimeexception);
-				continue;
-			} catch (IOException ioexception1) {
-				logger.error("Using missing texture, unable to load " + resourcelocation1);
-				logger.error(ioexception1);
+			if (!this.loadSpriteImages(resourceManager, textureatlassprite, resourcelocation, resourcelocation1)) {
 				continue;
 			}
 
@@ -451,16 +424,7 @@ public class TextureMap extends AbstractTexture implements ITickableTextureObjec
 		}
 
 		TextureUtil.bindTexture(this.glTextureId);
-
-		copyColorFramebuffer = new IFramebufferGL[this.mipmapLevels + 1];
-		for (int l = 0; l < copyColorFramebuffer.length; ++l) {
-			copyColorFramebuffer[l] = _wglCreateFramebuffer();
-			_wglBindFramebuffer(_GL_FRAMEBUFFER, copyColorFramebuffer[l]);
-			_wglFramebufferTexture2D(_GL_FRAMEBUFFER, _GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D,
-					EaglercraftGPU.getNativeTexture(this.glTextureId), l);
-		}
-
-		_wglBindFramebuffer(_GL_FRAMEBUFFER, null);
+		this.createCopyFramebuffers();
 
 		HashMap hashmap = Maps.newHashMap(this.mapRegisteredSprites);
 
@@ -507,6 +471,147 @@ public class TextureMap extends AbstractTexture implements ITickableTextureObjec
 		}
 
 		_wglBindFramebuffer(_GL_FRAMEBUFFER, null);
+
+		if (cacheKey != null) {
+			TextureAtlasCache.save(this.basePath, cacheKey, width, height, this.mipmapLevels, spriteList);
+		}
+	}
+
+	private boolean loadSpriteImages(IResourceManager resourceManager, EaglerTextureAtlasSprite textureatlassprite,
+			ResourceLocation resourcelocation, ResourceLocation resourcelocation1) {
+		try {
+			IResource iresource = resourceManager.getResource(resourcelocation1);
+			ImageData[] abufferedimage = new ImageData[1 + this.mipmapLevels];
+			abufferedimage[0] = TextureUtil.readBufferedImage(iresource.getInputStream());
+			TextureMetadataSection texturemetadatasection = (TextureMetadataSection) iresource
+					.getMetadata("texture");
+			if (texturemetadatasection != null) {
+				IntIndexedContainer list = texturemetadatasection.getListMipmaps();
+				if (!list.isEmpty()) {
+					int l = abufferedimage[0].width;
+					int i1 = abufferedimage[0].height;
+					if (MathHelper.roundUpToPowerOfTwo(l) != l || MathHelper.roundUpToPowerOfTwo(i1) != i1) {
+						throw new RuntimeException(
+								"Unable to load extra miplevels, source-texture is not power of two");
+					}
+				}
+
+				for (IntCursor cur : list) {
+					int i2 = cur.value;
+					if (i2 > 0 && i2 < abufferedimage.length - 1 && abufferedimage[i2] == null) {
+						ResourceLocation resourcelocation2 = this.completeResourceLocation(resourcelocation, i2);
+
+						try {
+							abufferedimage[i2] = TextureUtil.readBufferedImage(
+									resourceManager.getResource(resourcelocation2).getInputStream());
+						} catch (IOException ioexception) {
+							logger.error("Unable to load miplevel {} from: {}",
+									new Object[] { Integer.valueOf(i2), resourcelocation2 });
+							logger.error(ioexception);
+						}
+					}
+				}
+			}
+
+			AnimationMetadataSection animationmetadatasection = (AnimationMetadataSection) iresource
+					.getMetadata("animation");
+			textureatlassprite.loadSprite(abufferedimage, animationmetadatasection);
+		} catch (RuntimeException runtimeexception) {
+			logger.error("Unable to parse metadata from " + resourcelocation1);
+			logger.error(runtimeexception);
+			return false;
+		} catch (IOException ioexception1) {
+			logger.error("Using missing texture, unable to load " + resourcelocation1);
+			logger.error(ioexception1);
+			return false;
+		}
+		return true;
+	}
+
+	/**+
+	 * Restores the atlas from a persisted cache entry, only
+	 * animated sprites still have to be decoded for their frames
+	 */
+	private boolean loadCachedTextureAtlas(IResourceManager resourceManager, TextureAtlasCache cache) {
+		int cnt = cache.sprites.size();
+		EaglerTextureAtlasSprite[] sprites = new EaglerTextureAtlasSprite[cnt];
+		for (int l = 0; l < cnt; ++l) {
+			String s = cache.sprites.get(l).name;
+			sprites[l] = this.missingImage.getIconName().equals(s) ? this.missingImage
+					: this.mapRegisteredSprites.get(s);
+			if (sprites[l] == null) {
+				return false;
+			}
+		}
+
+		for (EaglerTextureAtlasSprite textureatlassprite : this.mapRegisteredSprites.values()) {
+			textureatlassprite.updateIndexInMap(this.counterIndexInMap);
+		}
+
+		for (int l = 0; l < cnt; ++l) {
+			TextureAtlasCache.SpriteEntry entry = cache.sprites.get(l);
+			EaglerTextureAtlasSprite textureatlassprite = sprites[l];
+			if (entry.animated) {
+				ResourceLocation resourcelocation = new ResourceLocation(textureatlassprite.getIconName());
+				if (!this.loadSpriteImages(resourceManager, textureatlassprite, resourcelocation,
+						this.completeResourceLocation(resourcelocation, 0))) {
+					return false;
+				}
+				textureatlassprite.generateMipmaps(cache.mipmapLevels);
+				if (textureatlassprite.getIconWidth() != entry.width
+						|| textureatlassprite.getIconHeight() != entry.height) {
+					return false;
+				}
+			}
+		}
+
+		this.mipmapLevels = cache.mipmapLevels;
+		width = cache.width;
+		height = cache.height;
+		HashMap<String, EaglerTextureAtlasSprite> hashmap = Maps.newHashMap(this.mapRegisteredSprites);
+
+		for (int l = 0; l < cnt; ++l) {
+			TextureAtlasCache.SpriteEntry entry = cache.sprites.get(l);
+			EaglerTextureAtlasSprite textureatlassprite = sprites[l];
+			if (!entry.animated) {
+				textureatlassprite.setIconWidth(entry.width);
+				textureatlassprite.setIconHeight(entry.height);
+				textureatlassprite.setFramesTextureData(
+						Lists.newArrayList(new int[][][] { { cache.extractSpritePixels(entry) } }));
+			} else if (textureatlassprite.hasAnimationMetadata()) {
+				this.listAnimatedSprites.add(textureatlassprite);
+			}
+			textureatlassprite.initSprite(width, height, entry.originX, entry.originY, entry.rotated);
+			hashmap.remove(entry.name);
+			this.mapUploadedSprites.put(entry.name, textureatlassprite);
+		}
+
+		logger.info("Loaded: {}x{} {}-atlas from cache", new Object[] { Integer.valueOf(width),
+				Integer.valueOf(height), this.basePath });
+		regenerateIfNotAllocated();
+		TextureUtil.allocateTextureImpl(this.getGlTextureId(), this.mipmapLevels, width, height);
+		TextureUtil.bindTexture(this.glTextureId);
+		TextureUtil.uploadTextureMipmap(cache.levels, width, height, 0, 0, false, false);
+		cache.levels = null;
+		this.createCopyFramebuffers();
+
+		for (EaglerTextureAtlasSprite textureatlassprite3 : hashmap.values()) {
+			textureatlassprite3.copyFrom(this.missingImage);
+		}
+
+		return true;
+	}
+
+	private void createCopyFramebuffers() {
+		copyColorFramebuffer = new IFramebufferGL[this.mipmapLevels + 1];
+		for (int l = 0; l < copyColorFramebuffer.length; ++l) {
+			copyColorFramebuffer[l] = _wglCreateFramebuffer();
+			_wglBindFramebuffer(_GL_FRAMEBUFFER, copyColorFramebuffer[l]);
+			_wglFramebufferTexture2D(_GL_FRAMEBUFFER, _GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D,
+					EaglercraftGPU.getNativeTexture(this.glTextureId), l);
+		}
+
+		_wglBindFramebuffer(_GL_FRAMEBUFFER, null);
 	}
 
 	private ResourceLocation completeResourceLocation(ResourceLocation location, int parInt1) {
@@ -1,5 +1,6 @@
 package net.minecraft.client.resources;
 
+import java.io.IOException;
 import java.io.InputStream;
 
 import net.minecraft.client.resources.data.IMetadataSection;
@@ -34,5 +35,10 @@ public interface IResource {
 
 	<T extends IMetadataSection> T getMetadata(String var1);
 
+	/**+
+	 * Raw bytes of the resource's .mcmeta file, or null if it has none
+	 */
+	byte[] getMetadataBytes() throws IOException;
+
 	String getResourcePackName();
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import org.json.JSONObject;
 
 import com.google.common.collect.Maps;
 
+import net.lax1dude.eaglercraft.v1_8.EaglerInputStream;
 import net.lax1dude.eaglercraft.v1_8.IOUtils;
 import net.minecraft.client.resources.data.IMetadataSection;
 import net.minecraft.client.resources.data.IMetadataSerializer;
@@ -44,6 +45,7 @@ public class SimpleResource implements IResource {
 	private final IMetadataSerializer srMetadataSerializer;
 	private boolean mcmetaJsonChecked;
 	private JSONObject mcmetaJson;
+	private byte[] mcmetaBytes;
 
 	public SimpleResource(String resourcePackNameIn, ResourceLocation srResourceLocationIn,
 			InputStream resourceInputStreamIn, InputStream mcmetaInputStreamIn,
@@ -75,12 +77,9 @@ public class SimpleResource implements IResource {
 				this.mcmetaJsonChecked = true;
 
 				try {
-					this.mcmetaJson = new JSONObject(
-							IOUtils.inputStreamToString(this.mcmetaInputStream, StandardCharsets.UTF_8));
+					this.mcmetaJson = new JSONObject(new String(this.getMetadataBytes(), StandardCharsets.UTF_8));
 				} catch (IOException e) {
 					throw new JSONException(e);
-				} finally {
-					IOUtils.closeQuietly(this.mcmetaInputStream);
 				}
 			}
 
@@ -93,6 +92,17 @@ public class SimpleResource implements IResource {
 		}
 	}
 
+	public byte[] getMetadataBytes() throws IOException {
+		if (this.mcmetaBytes == null && this.mcmetaInputStream != null) {
+			try {
+				this.mcmetaBytes = EaglerInputStream.inputStreamToBytesNoClose(this.mcmetaInputStream);
+			} finally {
+				IOUtils.closeQuietly(this.mcmetaInputStream);
+			}
+		}
+		return this.mcmetaBytes;
+	}
+
 	public String getResourcePackName() {
 		return this.resourcePackName;
 	}
@@ -202,6 +202,7 @@ public class GameSettings {
 	public boolean hudStats = false;
 	public boolean hud24h = false;
 	public boolean chunkFix = true;
+	public boolean occlusionCulling = false;
 	public boolean fog = true;
 	public int fxaa = 0;
 	public boolean shaders = false;
@@ -472,6 +473,10 @@ public class GameSettings {
 			this.chunkFix = !this.chunkFix;
 		}
 
+		if (parOptions == GameSettings.Options.OCCLUSION_CULLING) {
+			this.occlusionCulling = !this.occlusionCulling;
+		}
+
 		if (parOptions == GameSettings.Options.FOG) {
 			this.fog = !this.fog;
 		}
@@ -595,6 +600,8 @@ public class GameSettings {
 			return this.hud24h;
 		case CHUNK_FIX:
 			return this.chunkFix;
+		case OCCLUSION_CULLING:
+			return this.occlusionCulling;
 		case FOG:
 			return this.fog;
 		case FULLSCREEN:
@@ -1024,6 +1031,10 @@ public class GameSettings {
 						this.chunkFix = astring[1].equals("true");
 					}
 
+					if (astring[0].equals("occlusionCulling")) {
+						this.occlusionCulling = astring[1].equals("true");
+					}
+
 					if (astring[0].equals("fog")) {
 						this.fog = astring[1].equals("true");
 					}
@@ -1281,6 +1292,7 @@ public class GameSettings {
 			printwriter.println("hudStats:" + this.hudStats);
 			printwriter.println("hud24h:" + this.hud24h);
 			printwriter.println("chunkFix:" + this.chunkFix);
+			printwriter.println("occlusionCulling:" + this.occlusionCulling);
 			printwriter.println("fog:" + this.fog);
 			printwriter.println("fxaa:" + this.fxaa);
 			printwriter.println("shaders:" + this.shaders);
@@ -1458,6 +1470,7 @@ public class GameSettings {
 		HUD_COORDS("options.hud.coords", false, true), HUD_STATS("options.hud.stats", false, true),
 		HUD_WORLD("options.hud.world", false, true), HUD_PLAYER("options.hud.player", false, true),
 		HUD_24H("options.hud.24h", false, true), CHUNK_FIX("options.chunkFix", false, true),
+		OCCLUSION_CULLING("options.occlusionCulling", false, true),
 		FOG("options.fog", false, true), FXAA("options.fxaa", false, false),
 		FULLSCREEN("options.fullscreen", false, true),
 		FNAW_SKINS("options.skinCustomisation.enableFNAWSkins", false, true),
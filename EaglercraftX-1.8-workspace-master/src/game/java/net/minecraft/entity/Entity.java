@@ -84,6 +84,11 @@ public abstract class Entity implements ICommandSender {
 	public Entity riddenByEntity;
 	public Entity ridingEntity;
 	public boolean forceSpawn;
+	/**+
+	 * Creature types this entity is counted as by the world it was
+	 * added to, see World.countEntities
+	 */
+	public int creatureTypeFlags;
 	public World worldObj;
 	public double prevPosX;
 	public double prevPosY;
@@ -359,6 +359,7 @@ public abstract class EntityLiving extends EntityLivingBase {
 		}
 
 		this.persistenceRequired = nbttagcompound.getBoolean("PersistenceRequired");
+		this.worldObj.updateCreatureTypeCount(this);
 		if (nbttagcompound.hasKey("Equipment", 9)) {
 			NBTTagList nbttaglist = nbttagcompound.getTagList("Equipment", 10);
 
@@ -475,6 +476,7 @@ public abstract class EntityLiving extends EntityLivingBase {
 				this.setCurrentItemOrArmor(i, itemstack);
 				this.equipmentDropChances[i] = 2.0F;
 				this.persistenceRequired = true;
+				this.worldObj.updateCreatureTypeCount(this);
 				this.onItemPickup(itemEntity, 1);
 				itemEntity.setDead();
 			}
@@ -864,6 +866,7 @@ public abstract class EntityLiving extends EntityLivingBase {
 	 */
 	public void enablePersistence() {
 		this.persistenceRequired = true;
+		this.worldObj.updateCreatureTypeCount(this);
 	}
 
 	public void setEquipmentDropChance(int slotIn, float chance) {
@@ -1684,21 +1684,25 @@ public abstract class EntityLivingBase extends Entity {
 	protected void updateEntityActionState() {
 	}
 
+	private static final Predicate<Entity> PUSHABLE_NOT_SPECTATING = Predicates.and(EntitySelectors.NOT_SPECTATING,
+			new Predicate<Entity>() {
+				public boolean apply(Entity entity1) {
+					return entity1.canBePushed();
+				}
+			});
+
 	protected void collideWithNearbyEntities() {
-		List list = this.worldObj.getEntitiesInAABBexcluding(this,
+		List<Entity> list = this.worldObj.getEntitiesInAABBexcluding(this,
 				this.getEntityBoundingBox().expand(0.20000000298023224D, 0.0D, 0.20000000298023224D),
-				Predicates.and(EntitySelectors.NOT_SPECTATING, new Predicate<Entity>() {
-					public boolean apply(Entity entity1) {
-						return entity1.canBePushed();
-					}
-				}));
+				PUSHABLE_NOT_SPECTATING, this.worldObj.<Entity>acquireEntityQueryBuffer());
 		if (!list.isEmpty()) {
 			for (int i = 0; i < list.size(); ++i) {
-				Entity entity = (Entity) list.get(i);
+				Entity entity = list.get(i);
 				this.collideWithEntity(entity);
 			}
 		}
 
+		this.worldObj.releaseEntityQueryBuffer(list);
 	}
 
 	protected void collideWithEntity(Entity parEntity) {
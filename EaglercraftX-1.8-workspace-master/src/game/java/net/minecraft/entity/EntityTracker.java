@@ -2,9 +2,12 @@ package net.minecraft.entity;
 
 import com.carrotsearch.hppc.IntObjectHashMap;
 import com.carrotsearch.hppc.IntObjectMap;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.LongObjectMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import net.minecraft.crash.CrashReport;
@@ -35,7 +38,10 @@ import net.minecraft.entity.projectile.EntityPotion;
 import net.minecraft.entity.projectile.EntitySmallFireball;
 import net.minecraft.entity.projectile.EntitySnowball;
 import net.minecraft.network.Packet;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.MathHelper;
 import net.minecraft.util.ReportedException;
+import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
 import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
@@ -73,6 +79,13 @@ public class EntityTracker {
 	 * Used for identity lookup of tracked entities.
 	 */
 	private IntObjectMap<EntityTrackerEntry> trackedEntityHashTable = new IntObjectHashMap<>();
+	/**+
+	 * Tracked entities bucketed by the chunk column of their encoded
+	 * position, so a player only has to be checked against the entries
+	 * that can be within the tracking distance of it
+	 */
+	private final LongObjectMap<List<EntityTrackerEntry>> trackedEntityCells = new LongObjectHashMap<>();
+	private final List<EntityTrackerEntry> nearbyEntries = Lists.newArrayList();
 	private int maxTrackingDistanceThreshold;
 
 	public EntityTracker(WorldServer theWorldIn) {
@@ -88,13 +101,7 @@ public class EntityTracker {
 	public void trackEntity(Entity parEntity) {
 		if (parEntity instanceof EntityPlayerMP) {
 			this.trackEntity(parEntity, 512, 2);
-			EntityPlayerMP entityplayermp = (EntityPlayerMP) parEntity;
-
-			for (EntityTrackerEntry entitytrackerentry : this.trackedEntities) {
-				if (entitytrackerentry.trackedEntity != entityplayermp) {
-					entitytrackerentry.updatePlayerEntity(entityplayermp, maxTrackingDistanceThreshold);
-				}
-			}
+			this.updatePlayerEntityNearby((EntityPlayerMP) parEntity);
 		} else if (parEntity instanceof EntityFishHook) {
 			this.addEntityToTracker(parEntity, 64, 5, true);
 		} else if (parEntity instanceof EntityArrow) {
@@ -168,6 +175,7 @@ public class EntityTracker {
 					sendVelocityUpdates);
 			this.trackedEntities.add(entitytrackerentry);
 			this.trackedEntityHashTable.put(entityIn.getEntityId(), entitytrackerentry);
+			this.addToCell(entitytrackerentry);
 			entitytrackerentry.updatePlayerEntities(this.theWorld.playerEntities, maxTrackingDistanceThreshold);
 		} catch (Throwable throwable) {
 			CrashReport crashreport = CrashReport.makeCrashReport(throwable, "Adding entity to track");
@@ -200,15 +208,19 @@ public class EntityTracker {
 	public void untrackEntity(Entity entityIn) {
 		if (entityIn instanceof EntityPlayerMP) {
 			EntityPlayerMP entityplayermp = (EntityPlayerMP) entityIn;
+			this.nearbyEntries.addAll(entityplayermp.trackedEntityEntries);
 
-			for (EntityTrackerEntry entitytrackerentry : this.trackedEntities) {
-				entitytrackerentry.removeFromTrackedPlayers(entityplayermp);
+			for (int i = 0, l = this.nearbyEntries.size(); i < l; ++i) {
+				this.nearbyEntries.get(i).removeFromTrackedPlayers(entityplayermp);
 			}
+
+			this.nearbyEntries.clear();
 		}
 
 		EntityTrackerEntry entitytrackerentry1 = this.trackedEntityHashTable.remove(entityIn.getEntityId());
 		if (entitytrackerentry1 != null) {
 			this.trackedEntities.remove(entitytrackerentry1);
+			this.removeFromCell(entitytrackerentry1);
 			entitytrackerentry1.sendDestroyEntityPacketToTrackedPlayers();
 		}
 
@@ -219,6 +231,7 @@ public class EntityTracker {
 
 		for (EntityTrackerEntry entitytrackerentry : this.trackedEntities) {
 			entitytrackerentry.updatePlayerList(this.theWorld.playerEntities, maxTrackingDistanceThreshold);
+			this.updateCell(entitytrackerentry);
 			if (entitytrackerentry.playerEntitiesUpdated
 					&& entitytrackerentry.trackedEntity instanceof EntityPlayerMP) {
 				arraylist.add((EntityPlayerMP) entitytrackerentry.trackedEntity);
@@ -226,26 +239,91 @@ public class EntityTracker {
 		}
 
 		for (int i = 0; i < arraylist.size(); ++i) {
-			EntityPlayerMP entityplayermp = (EntityPlayerMP) arraylist.get(i);
+			this.updatePlayerEntityNearby((EntityPlayerMP) arraylist.get(i));
+		}
+
+	}
+
+	public void func_180245_a(EntityPlayerMP parEntityPlayerMP) {
+		EntityTrackerEntry entitytrackerentry = this.trackedEntityHashTable.get(parEntityPlayerMP.getEntityId());
+		if (entitytrackerentry != null && entitytrackerentry.trackedEntity == parEntityPlayerMP) {
+			entitytrackerentry.updatePlayerEntities(this.theWorld.playerEntities, maxTrackingDistanceThreshold);
+		}
+
+		this.updatePlayerEntityNearby(parEntityPlayerMP);
+	}
 
-			for (EntityTrackerEntry entitytrackerentry1 : this.trackedEntities) {
-				if (entitytrackerentry1.trackedEntity != entityplayermp) {
-					entitytrackerentry1.updatePlayerEntity(entityplayermp, maxTrackingDistanceThreshold);
+	/**+
+	 * Runs updatePlayerEntity for the player on every entry that is
+	 * tracking it or is in a cell within the tracking distance of it,
+	 * the others can't start tracking the player
+	 */
+	private void updatePlayerEntityNearby(EntityPlayerMP parEntityPlayerMP) {
+		List<EntityTrackerEntry> list = this.nearbyEntries;
+		list.addAll(parEntityPlayerMP.trackedEntityEntries);
+
+		int r = maxTrackingDistanceThreshold;
+		int minX = MathHelper.floor_double(parEntityPlayerMP.posX - r) >> 4;
+		int maxX = MathHelper.floor_double(parEntityPlayerMP.posX + r) >> 4;
+		int minZ = MathHelper.floor_double(parEntityPlayerMP.posZ - r) >> 4;
+		int maxZ = MathHelper.floor_double(parEntityPlayerMP.posZ + r) >> 4;
+		if ((maxX - minX + 1) * (maxZ - minZ + 1) < this.trackedEntityCells.size()) {
+			for (int cx = minX; cx <= maxX; ++cx) {
+				for (int cz = minZ; cz <= maxZ; ++cz) {
+					List<EntityTrackerEntry> cell = this.trackedEntityCells.get(ChunkCoordIntPair.chunkXZ2Int(cx, cz));
+					if (cell != null) {
+						list.addAll(cell);
+					}
 				}
 			}
+		} else {
+			list.addAll(this.trackedEntities);
 		}
 
+		for (int i = 0, l = list.size(); i < l; ++i) {
+			EntityTrackerEntry entitytrackerentry = list.get(i);
+			if (entitytrackerentry.trackedEntity != parEntityPlayerMP) {
+				entitytrackerentry.updatePlayerEntity(parEntityPlayerMP, maxTrackingDistanceThreshold);
+			}
+		}
+
+		list.clear();
 	}
 
-	public void func_180245_a(EntityPlayerMP parEntityPlayerMP) {
-		for (EntityTrackerEntry entitytrackerentry : this.trackedEntities) {
-			if (entitytrackerentry.trackedEntity == parEntityPlayerMP) {
-				entitytrackerentry.updatePlayerEntities(this.theWorld.playerEntities, maxTrackingDistanceThreshold);
-			} else {
-				entitytrackerentry.updatePlayerEntity(parEntityPlayerMP, maxTrackingDistanceThreshold);
+	private void addToCell(EntityTrackerEntry entry) {
+		long key = ChunkCoordIntPair.chunkXZ2Int(entry.getTrackerCellX(), entry.getTrackerCellZ());
+		List<EntityTrackerEntry> cell = this.trackedEntityCells.get(key);
+		if (cell == null) {
+			cell = Lists.newArrayList();
+			this.trackedEntityCells.put(key, cell);
+		}
+		entry.trackerCellKey = key;
+		entry.trackerCellIndex = cell.size();
+		cell.add(entry);
+	}
+
+	private void removeFromCell(EntityTrackerEntry entry) {
+		if (entry.trackerCellIndex != -1) {
+			List<EntityTrackerEntry> cell = this.trackedEntityCells.get(entry.trackerCellKey);
+			int last = cell.size() - 1;
+			if (entry.trackerCellIndex != last) {
+				EntityTrackerEntry moved = cell.get(last);
+				cell.set(entry.trackerCellIndex, moved);
+				moved.trackerCellIndex = entry.trackerCellIndex;
 			}
+			cell.remove(last);
+			if (cell.isEmpty()) {
+				this.trackedEntityCells.remove(entry.trackerCellKey);
+			}
+			entry.trackerCellIndex = -1;
 		}
+	}
 
+	private void updateCell(EntityTrackerEntry entry) {
+		if (entry.trackerCellKey != ChunkCoordIntPair.chunkXZ2Int(entry.getTrackerCellX(), entry.getTrackerCellZ())) {
+			this.removeFromCell(entry);
+			this.addToCell(entry);
+		}
 	}
 
 	public void sendToAllTrackingEntity(Entity entityIn, Packet parPacket) {
@@ -265,20 +343,34 @@ public class EntityTracker {
 	}
 
 	public void removePlayerFromTrackers(EntityPlayerMP parEntityPlayerMP) {
-		for (EntityTrackerEntry entitytrackerentry : this.trackedEntities) {
-			entitytrackerentry.removeTrackedPlayerSymmetric(parEntityPlayerMP);
+		this.nearbyEntries.addAll(parEntityPlayerMP.trackedEntityEntries);
+
+		for (int i = 0, l = this.nearbyEntries.size(); i < l; ++i) {
+			this.nearbyEntries.get(i).removeTrackedPlayerSymmetric(parEntityPlayerMP);
 		}
 
+		this.nearbyEntries.clear();
 	}
 
 	public void func_85172_a(EntityPlayerMP parEntityPlayerMP, Chunk parChunk) {
-		for (EntityTrackerEntry entitytrackerentry : this.trackedEntities) {
-			if (entitytrackerentry.trackedEntity != parEntityPlayerMP
-					&& entitytrackerentry.trackedEntity.chunkCoordX == parChunk.xPosition
-					&& entitytrackerentry.trackedEntity.chunkCoordZ == parChunk.zPosition) {
-				entitytrackerentry.updatePlayerEntity(parEntityPlayerMP, maxTrackingDistanceThreshold);
+		List<EntityTrackerEntry> list = this.nearbyEntries;
+		ClassInheritanceMultiMap<Entity>[] entityLists = parChunk.getEntityLists();
+		for (int i = 0; i < entityLists.length; ++i) {
+			for (Entity entity : entityLists[i]) {
+				if (entity != parEntityPlayerMP && entity.chunkCoordX == parChunk.xPosition
+						&& entity.chunkCoordZ == parChunk.zPosition) {
+					EntityTrackerEntry entitytrackerentry = this.trackedEntityHashTable.get(entity.getEntityId());
+					if (entitytrackerentry != null && entitytrackerentry.trackedEntity == entity) {
+						list.add(entitytrackerentry);
+					}
+				}
 			}
 		}
 
+		for (int i = 0, l = list.size(); i < l; ++i) {
+			list.get(i).updatePlayerEntity(parEntityPlayerMP, maxTrackingDistanceThreshold);
+		}
+
+		list.clear();
 	}
 }
\ No newline at end of file
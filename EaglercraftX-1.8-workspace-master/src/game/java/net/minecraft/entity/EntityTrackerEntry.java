@@ -110,6 +110,12 @@ public class EntityTrackerEntry {
 	 * receiving position updates for this entity.
 	 */
 	public Set<EntityPlayerMP> trackingPlayers = Sets.newHashSet();
+	/**+
+	 * Key and index of this entry in the cell list of the
+	 * EntityTracker's spatial index
+	 */
+	long trackerCellKey;
+	int trackerCellIndex = -1;
 
 	public EntityTrackerEntry(Entity trackedEntityIn, int trackingDistanceThresholdIn, int updateFrequencyIn,
 			boolean sendVelocityUpdatesIn) {
@@ -330,6 +336,7 @@ public class EntityTrackerEntry {
 	public void sendDestroyEntityPacketToTrackedPlayers() {
 		for (EntityPlayerMP entityplayermp : this.trackingPlayers) {
 			entityplayermp.removeEntity(this.trackedEntity);
+			entityplayermp.trackedEntityEntries.remove(this);
 		}
 
 	}
@@ -338,6 +345,7 @@ public class EntityTrackerEntry {
 		if (this.trackingPlayers.contains(playerMP)) {
 			playerMP.removeEntity(this.trackedEntity);
 			this.trackingPlayers.remove(playerMP);
+			playerMP.trackedEntityEntries.remove(this);
 		}
 
 	}
@@ -348,6 +356,7 @@ public class EntityTrackerEntry {
 				if (!this.trackingPlayers.contains(playerMP)
 						&& (this.isPlayerWatchingThisChunk(playerMP) || this.trackedEntity.forceSpawn)) {
 					this.trackingPlayers.add(playerMP);
+					playerMP.trackedEntityEntries.add(this);
 					Packet packet = this.func_151260_c();
 					playerMP.playerNetServerHandler.sendPacket(packet);
 					if (!this.trackedEntity.getDataWatcher().getIsBlank()) {
@@ -425,12 +434,25 @@ public class EntityTrackerEntry {
 				}
 			} else if (this.trackingPlayers.contains(playerMP)) {
 				this.trackingPlayers.remove(playerMP);
+				playerMP.trackedEntityEntries.remove(this);
 				playerMP.removeEntity(this.trackedEntity);
 			}
 
 		}
 	}
 
+	/**+
+	 * Returns the chunk column of the position func_180233_c measures
+	 * the distance from, the cell of the EntityTracker's spatial index
+	 */
+	public int getTrackerCellX() {
+		return (this.encodedPosX / 32) >> 4;
+	}
+
+	public int getTrackerCellZ() {
+		return (this.encodedPosZ / 32) >> 4;
+	}
+
 	public boolean func_180233_c(EntityPlayerMP playerMP, int trackingDistanceMax) {
 		int i = trackingDistanceThreshold > trackingDistanceMax ? trackingDistanceMax : trackingDistanceThreshold;
 		double d0 = playerMP.posX - (double) (this.encodedPosX / 32);
@@ -555,6 +577,7 @@ public class EntityTrackerEntry {
 	public void removeTrackedPlayerSymmetric(EntityPlayerMP playerMP) {
 		if (this.trackingPlayers.contains(playerMP)) {
 			this.trackingPlayers.remove(playerMP);
+			playerMP.trackedEntityEntries.remove(this);
 			playerMP.removeEntity(this.trackedEntity);
 		}
 
@@ -1,8 +1,6 @@
 package net.minecraft.entity.ai;
 
 import com.google.common.base.Predicate;
-import com.google.common.base.Predicates;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import net.minecraft.entity.Entity;
@@ -10,6 +8,7 @@ import net.minecraft.entity.EntityCreature;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.EntitySelectors;
+import net.minecraft.world.World;
 
 /**+
  * This portion of EaglercraftX contains deobfuscated Minecraft 1.8 source code.
@@ -94,14 +93,23 @@ public class EntityAINearestAttackableTarget<T extends EntityLivingBase> extends
 			return false;
 		} else {
 			double d0 = this.getTargetDistance();
-			List list = this.taskOwner.worldObj.getEntitiesWithinAABB(this.targetClass,
-					this.taskOwner.getEntityBoundingBox().expand(d0, 4.0D, d0),
-					Predicates.and(this.targetEntitySelector, EntitySelectors.NOT_SPECTATING));
-			Collections.sort(list, this.theNearestAttackableTargetSorter);
-			if (list.isEmpty()) {
+			World world = this.taskOwner.worldObj;
+			List<T> list = world.getEntitiesWithinAABB(this.targetClass,
+					this.taskOwner.getEntityBoundingBox().expand(d0, 4.0D, d0), this.targetEntitySelector,
+					world.<T>acquireEntityQueryBuffer());
+			T nearest = null;
+			for (int i = 0, l = list.size(); i < l; ++i) {
+				T entity = list.get(i);
+				if (EntitySelectors.NOT_SPECTATING.apply(entity) && (nearest == null
+						|| this.theNearestAttackableTargetSorter.compare(entity, nearest) < 0)) {
+					nearest = entity;
+				}
+			}
+			world.releaseEntityQueryBuffer(list);
+			if (nearest == null) {
 				return false;
 			} else {
-				this.targetEntity = (EntityLivingBase) list.get(0);
+				this.targetEntity = nearest;
 				return true;
 			}
 		}
@@ -65,6 +65,7 @@ import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.util.BlockPos;
 import net.minecraft.util.ChatComponentText;
 import net.minecraft.util.DamageSource;
+import net.minecraft.util.EntitySelectors;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumParticleTypes;
 import net.minecraft.util.FoodStats;
@@ -559,14 +560,17 @@ public abstract class EntityPlayer extends EntityLivingBase implements ICommandS
 				axisalignedbb = this.getEntityBoundingBox().expand(1.0D, 0.5D, 1.0D);
 			}
 
-			List list = this.worldObj.getEntitiesWithinAABBExcludingEntity(this, axisalignedbb);
+			List<Entity> list = this.worldObj.getEntitiesInAABBexcluding(this, axisalignedbb,
+					EntitySelectors.NOT_SPECTATING, this.worldObj.<Entity>acquireEntityQueryBuffer());
 
 			for (int i = 0; i < list.size(); ++i) {
-				Entity entity = (Entity) list.get(i);
+				Entity entity = list.get(i);
 				if (!entity.isDead) {
 					this.collideWithPlayer(entity);
 				}
 			}
+
+			this.worldObj.releaseEntityQueryBuffer(list);
 		}
 
 	}
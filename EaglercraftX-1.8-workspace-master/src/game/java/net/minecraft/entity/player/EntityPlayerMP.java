@@ -15,6 +15,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockFence;
 import net.minecraft.block.BlockFenceGate;
@@ -25,6 +26,7 @@ import net.minecraft.crash.CrashReportCategory;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.EntityTrackerEntry;
 import net.minecraft.entity.IMerchant;
 import net.minecraft.entity.passive.EntityHorse;
 import net.minecraft.entity.projectile.EntityArrow;
@@ -78,6 +80,7 @@ import net.minecraft.scoreboard.ScoreObjective;
 import net.minecraft.scoreboard.Team;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.ItemInWorldManager;
+import net.minecraft.server.management.PlayerManager;
 import net.minecraft.stats.AchievementList;
 import net.minecraft.stats.StatBase;
 import net.minecraft.stats.StatList;
@@ -141,6 +144,11 @@ public class EntityPlayerMP extends EntityPlayer implements ICrafting {
 	 * entities added to this list will be packet29'd to the player
 	 */
 	private final IntDeque destroyedItemsNetCache = new IntArrayDeque();
+	/**+
+	 * The EntityTrackerEntries that have this player in their
+	 * trackingPlayers set, maintained by EntityTrackerEntry
+	 */
+	public final Set<EntityTrackerEntry> trackedEntityEntries = Sets.newHashSet();
 	private final StatisticsFile statsFile;
 	/**+
 	 * the total health of the player, includes actual health and
@@ -321,10 +329,17 @@ public class EntityPlayerMP extends EntityPlayer implements ICrafting {
 			}
 
 			if (!arraylist.isEmpty()) {
-				if (arraylist.size() == 1) {
-					this.playerNetServerHandler.sendPacket(new S21PacketChunkData(arraylist.get(0), true, '\uffff'));
+				PlayerManager playermanager = this.getServerForPlayer().getPlayerManager();
+				if (arraylist.size() == 1 || this.playerNetServerHandler.netManager.isSendCompressed()) {
+					for (int i = 0, l = arraylist.size(); i < l; ++i) {
+						this.playerNetServerHandler.sendPacket(playermanager.getChunkDataPacket(arraylist.get(i)));
+					}
 				} else {
-					this.playerNetServerHandler.sendPacket(new S26PacketMapChunkBulk(arraylist));
+					S21PacketChunkData.Extracted[] extracted = new S21PacketChunkData.Extracted[arraylist.size()];
+					for (int i = 0; i < extracted.length; ++i) {
+						extracted[i] = playermanager.getChunkDataPacket(arraylist.get(i)).getExtractedData();
+					}
+					this.playerNetServerHandler.sendPacket(new S26PacketMapChunkBulk(arraylist, extracted));
 				}
 
 				for (int i = 0, l = arraylist1.size(); i < l; ++i) {
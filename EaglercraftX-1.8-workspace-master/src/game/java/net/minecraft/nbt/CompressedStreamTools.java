@@ -97,6 +97,29 @@ public class CompressedStreamTools {
 		writeTag(parNBTTagCompound, parDataOutput);
 	}
 
+	/**+
+	 * Writes only the payload of the tag, without its type and
+	 * name, for writers that emit the enclosing structure
+	 * themselves
+	 */
+	public static void writeTagPayload(NBTBase parNBTBase, DataOutput parDataOutput) throws IOException {
+		parNBTBase.write(parDataOutput);
+	}
+
+	/**+
+	 * Reads only the payload of a tag of the given type, for
+	 * readers that parse the enclosing structure themselves
+	 */
+	public static NBTBase readTagPayload(byte type, DataInput parDataInput) throws IOException {
+		NBTBase nbtbase = NBTBase.createNewByType(type);
+		if (nbtbase == null) {
+			throw new IOException("Unknown NBT tag type: " + type);
+		} else {
+			nbtbase.read(parDataInput, 0, NBTSizeTracker.INFINITE);
+			return nbtbase;
+		}
+	}
+
 	private static void writeTag(NBTBase parNBTBase, DataOutput parDataOutput) throws IOException {
 		parDataOutput.writeByte(parNBTBase.getId());
 		if (parNBTBase.getId() != 0) {
@@ -36,6 +36,7 @@ public class S21PacketChunkData implements Packet<INetHandlerPlayClient> {
 	private int chunkZ;
 	private S21PacketChunkData.Extracted extractedData;
 	private boolean field_149279_g;
+	private byte[] compressedEncodingCache;
 
 	public S21PacketChunkData() {
 	}
@@ -44,7 +45,7 @@ public class S21PacketChunkData implements Packet<INetHandlerPlayClient> {
 		this.chunkX = chunkIn.xPosition;
 		this.chunkZ = chunkIn.zPosition;
 		this.field_149279_g = parFlag;
-		chunkIn.alfheim$getLightingEngine().processLightUpdates();
+		chunkIn.alfheim$getLightingEngine().processLightUpdatesForChunk(this.chunkX, this.chunkZ);
 		this.extractedData = func_179756_a(chunkIn, parFlag, !chunkIn.getWorld().provider.getHasNoSky(), parInt1);
 	}
 
@@ -157,6 +158,23 @@ public class S21PacketChunkData implements Packet<INetHandlerPlayClient> {
 		return this.field_149279_g;
 	}
 
+	public S21PacketChunkData.Extracted getExtractedData() {
+		return this.extractedData;
+	}
+
+	/**+
+	 * Compressed encoding of this packet, kept by the integrated server
+	 * network manager so a packet shared between several LAN players
+	 * is only deflated once. Must not be modified by the caller
+	 */
+	public byte[] getCompressedEncodingCache() {
+		return this.compressedEncodingCache;
+	}
+
+	public void setCompressedEncodingCache(byte[] data) {
+		this.compressedEncodingCache = data;
+	}
+
 	public static class Extracted {
 		public byte[] data;
 		public int dataSize;
@@ -46,6 +46,7 @@ public class S26PacketMapChunkBulk implements Packet<INetHandlerPlayClient> {
 
 		for (int j = 0; j < i; ++j) {
 			Chunk chunk = (Chunk) chunks.get(j);
+			chunk.alfheim$getLightingEngine().processLightUpdatesForChunk(chunk.xPosition, chunk.zPosition);
 			S21PacketChunkData.Extracted s21packetchunkdata$extracted = S21PacketChunkData.func_179756_a(chunk, true,
 					this.isOverworld, '\uffff');
 			this.xPositions[j] = chunk.xPosition;
@@ -55,6 +56,21 @@ public class S26PacketMapChunkBulk implements Packet<INetHandlerPlayClient> {
 
 	}
 
+	public S26PacketMapChunkBulk(List<Chunk> chunks, S21PacketChunkData.Extracted[] extracted) {
+		int i = chunks.size();
+		this.xPositions = new int[i];
+		this.zPositions = new int[i];
+		this.chunksData = extracted;
+		this.isOverworld = !chunks.get(0).getWorld().provider.getHasNoSky();
+
+		for (int j = 0; j < i; ++j) {
+			Chunk chunk = chunks.get(j);
+			this.xPositions[j] = chunk.xPosition;
+			this.zPositions[j] = chunk.zPosition;
+		}
+
+	}
+
 	/**+
 	 * Reads the raw packet data from the data stream.
 	 */
@@ -33,6 +33,14 @@ public class PathEntity {
 		this.pathLength = pathpoints.length;
 	}
 
+	/**+
+	 * Returns a new PathEntity over the same points, starting from
+	 * the beginning
+	 */
+	public PathEntity copyPath() {
+		return new PathEntity(this.points);
+	}
+
 	/**+
 	 * Directs this path to the next point in its array
 	 */
@@ -2,6 +2,7 @@ package net.minecraft.pathfinding;
 
 import net.minecraft.entity.Entity;
 import net.minecraft.util.BlockPos;
+import net.minecraft.util.MathHelper;
 import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.pathfinder.NodeProcessor;
 
@@ -35,6 +36,13 @@ public class PathFinder {
 	 */
 	private PathPoint[] pathOptions = new PathPoint[32];
 	private NodeProcessor nodeProcessor;
+	private boolean searching;
+	private Entity searchEntity;
+	private PathPoint searchStart;
+	private PathPoint searchEnd;
+	private PathPoint searchClosest;
+	private float searchDistance;
+	private int nodesExpanded;
 
 	public PathFinder(NodeProcessor nodeProcessorIn) {
 		this.nodeProcessor = nodeProcessorIn;
@@ -64,27 +72,115 @@ public class PathFinder {
 	 */
 	private PathEntity createEntityPathTo(IBlockAccess blockaccess, Entity entityIn, double x, double y, double z,
 			float distance) {
+		this.beginSearch(blockaccess, entityIn, x, y, z, distance);
+		return this.continueSearch(Integer.MAX_VALUE);
+	}
+
+	/**+
+	 * Starts a search that is advanced by continueSearch, any
+	 * search that is still in progress is dropped
+	 */
+	public void beginSearch(IBlockAccess blockaccess, Entity entityIn, double x, double y, double z,
+			float distance) {
+		this.cancelSearch();
 		this.path.clearPath();
 		this.nodeProcessor.initProcessor(blockaccess, entityIn);
 		PathPoint pathpoint = this.nodeProcessor.getPathPointTo(entityIn);
 		PathPoint pathpoint1 = this.nodeProcessor.getPathPointToCoords(entityIn, x, y, z);
-		PathEntity pathentity = this.addToPath(entityIn, pathpoint, pathpoint1, distance);
-		this.nodeProcessor.postProcess();
+		pathpoint.totalPathDistance = 0.0F;
+		pathpoint.distanceToNext = pathpoint.distanceToSquared(pathpoint1);
+		pathpoint.distanceToTarget = pathpoint.distanceToNext;
+		this.path.addPoint(pathpoint);
+		this.searchEntity = entityIn;
+		this.searchStart = pathpoint;
+		this.searchEnd = pathpoint1;
+		this.searchClosest = pathpoint;
+		this.searchDistance = distance;
+		this.searching = true;
+	}
+
+	/**+
+	 * Expands up to maxNodes points of the current search. Returns
+	 * the path once the search is done, or null if there is no path
+	 * or if isSearching is still true afterwards
+	 */
+	public PathEntity continueSearch(int maxNodes) {
+		this.nodesExpanded = 0;
+		if (!this.searching) {
+			return null;
+		}
+
+		PathEntity pathentity = this.addToPath(maxNodes);
+		if (pathentity != null || this.path.isPathEmpty()) {
+			this.cancelSearch();
+		}
+
 		return pathentity;
 	}
 
+	/**+
+	 * Drops the search in progress, if any
+	 */
+	public void cancelSearch() {
+		if (this.searching) {
+			this.searching = false;
+			this.searchEntity = null;
+			this.searchStart = null;
+			this.searchEnd = null;
+			this.searchClosest = null;
+			this.path.clearPath();
+			this.nodeProcessor.postProcess();
+		}
+	}
+
+	public boolean isSearching() {
+		return this.searching;
+	}
+
+	/**+
+	 * Returns the number of points expanded by the last call to
+	 * continueSearch
+	 */
+	public int getNodesExpanded() {
+		return this.nodesExpanded;
+	}
+
+	/**+
+	 * Returns everything that makes this pathfinder produce
+	 * different paths for the given entity, besides the start and
+	 * end point and the search distance
+	 */
+	public int getSearchSettings(Entity entityIn) {
+		int i = this.nodeProcessor.getSearchFlags() & 255;
+		i |= (MathHelper.floor_float(entityIn.width + 1.0F) & 15) << 8;
+		i |= (MathHelper.floor_float(entityIn.height + 1.0F) & 15) << 12;
+		i |= (Math.min(entityIn.getMaxFallHeight(), 255) & 255) << 16;
+		i |= (entityIn.isInWater() ? 1 : 0) << 24;
+		i |= (entityIn.isInLava() ? 1 : 0) << 25;
+		return i;
+	}
+
+	public Class<? extends NodeProcessor> getNodeProcessorType() {
+		return this.nodeProcessor.getClass();
+	}
+
 	/**+
 	 * Adds a path from start to end and returns the whole path
 	 */
-	private PathEntity addToPath(Entity entityIn, PathPoint pathpointStart, PathPoint pathpointEnd, float maxDistance) {
-		pathpointStart.totalPathDistance = 0.0F;
-		pathpointStart.distanceToNext = pathpointStart.distanceToSquared(pathpointEnd);
-		pathpointStart.distanceToTarget = pathpointStart.distanceToNext;
-		this.path.clearPath();
-		this.path.addPoint(pathpointStart);
-		PathPoint pathpoint = pathpointStart;
+	private PathEntity addToPath(int maxNodes) {
+		Entity entityIn = this.searchEntity;
+		PathPoint pathpointStart = this.searchStart;
+		PathPoint pathpointEnd = this.searchEnd;
+		float maxDistance = this.searchDistance;
+		PathPoint pathpoint = this.searchClosest;
 
 		while (!this.path.isPathEmpty()) {
+			if (this.nodesExpanded >= maxNodes) {
+				this.searchClosest = pathpoint;
+				return null;
+			}
+
+			++this.nodesExpanded;
 			PathPoint pathpoint1 = this.path.dequeue();
 			if (pathpoint1.equals(pathpointEnd)) {
 				return this.createEntityPath(pathpointStart, pathpointEnd);
@@ -123,7 +219,8 @@ public class PathFinder {
 	}
 
 	/**+
-	 * Returns a new PathEntity for a given start and end point
+	 * Returns a new PathEntity for a given start and end point, the
+	 * points are copied because the node processor reuses its own
 	 */
 	private PathEntity createEntityPath(PathPoint start, PathPoint end) {
 		int i = 1;
@@ -134,11 +231,10 @@ public class PathFinder {
 
 		PathPoint[] apathpoint = new PathPoint[i];
 		PathPoint pathpoint1 = end;
-		--i;
 
-		for (apathpoint[i] = end; pathpoint1.previous != null; apathpoint[i] = pathpoint1) {
+		while (--i >= 0) {
+			apathpoint[i] = new PathPoint(pathpoint1.xCoord, pathpoint1.yCoord, pathpoint1.zCoord);
 			pathpoint1 = pathpoint1.previous;
-			--i;
 		}
 
 		return new PathEntity(apathpoint);
@@ -5,6 +5,7 @@ import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.SharedMonsterAttributes;
 import net.minecraft.entity.ai.attributes.IAttributeInstance;
+import net.lax1dude.eaglercraft.v1_8.sp.server.PathSearchScheduler;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.util.BlockPos;
@@ -50,6 +51,27 @@ public abstract class PathNavigate {
 	private Vec3 lastPosCheck = new Vec3(0.0D, 0.0D, 0.0D);
 	private float heightRequirement = 1.0F;
 	private final PathFinder pathFinder;
+	private ChunkCache chunkCache;
+	private int searchGoalX;
+	private int searchGoalY;
+	private int searchGoalZ;
+	private float searchDistance;
+	private Class<?> searchProcessorType;
+	private int searchSettings;
+	private int searchStartX;
+	private int searchStartY;
+	private int searchStartZ;
+	/**+
+	 * Speed to follow the path at once the pending search finishes,
+	 * or -1 if it was not started by tryMoveTo
+	 */
+	private double searchMoveSpeed = -1.0D;
+	private boolean searchQueued;
+	/**+
+	 * Path found by a pending search that finished on a scheduler
+	 * tick, returned when the same goal is asked for again
+	 */
+	private PathEntity finishedPath;
 
 	public PathNavigate(EntityLiving entitylivingIn, World worldIn) {
 		this.theEntity = entitylivingIn;
@@ -90,11 +112,8 @@ public abstract class PathNavigate {
 			return null;
 		} else {
 			float f = this.getPathSearchRange();
-			BlockPos blockpos = new BlockPos(this.theEntity);
-			int i = (int) (f + 8.0F);
-			ChunkCache chunkcache = new ChunkCache(this.worldObj, blockpos.add(-i, -i, -i), blockpos.add(i, i, i), 0);
-			PathEntity pathentity = this.pathFinder.createEntityPathTo(chunkcache, this.theEntity, (BlockPos) pos, f);
-			return pathentity;
+			return this.findPath(new BlockPos(this.theEntity), (int) (f + 8.0F), (double) ((float) pos.getX() + 0.5F),
+					(double) ((float) pos.getY() + 0.5F), (double) ((float) pos.getZ() + 0.5F), f);
 		}
 	}
 
@@ -105,6 +124,11 @@ public abstract class PathNavigate {
 	public boolean tryMoveToXYZ(double x, double y, double z, double speedIn) {
 		PathEntity pathentity = this.getPathToXYZ((double) MathHelper.floor_double(x), (double) ((int) y),
 				(double) MathHelper.floor_double(z));
+		if (pathentity == null && this.pathFinder.isSearching()) {
+			this.searchMoveSpeed = speedIn;
+			return true;
+		}
+
 		return this.setPath(pathentity, speedIn);
 	}
 
@@ -123,13 +147,148 @@ public abstract class PathNavigate {
 			return null;
 		} else {
 			float f = this.getPathSearchRange();
-			BlockPos blockpos = (new BlockPos(this.theEntity)).up();
-			int i = (int) (f + 16.0F);
-			ChunkCache chunkcache = new ChunkCache(this.worldObj, blockpos.add(-i, -i, -i), blockpos.add(i, i, i), 0);
-			PathEntity pathentity = this.pathFinder.createEntityPathTo(chunkcache, this.theEntity, (Entity) entityIn,
-					f);
+			return this.findPath((new BlockPos(this.theEntity)).up(), (int) (f + 16.0F), entityIn.posX,
+					entityIn.getEntityBoundingBox().minY, entityIn.posZ, f);
+		}
+	}
+
+	/**+
+	 * Searches for a path to the given point within range blocks of
+	 * center. On a server the search may be spread over several
+	 * ticks, it returns null until then and isSearchPending is true.
+	 * The scheduler of the world continues the search on every tick
+	 * and asking for the same goal again returns the path once it is
+	 * done
+	 */
+	private PathEntity findPath(BlockPos center, int range, double x, double y, double z, float distance) {
+		PathSearchScheduler scheduler = this.worldObj.getPathSearchScheduler();
+		if (this.chunkCache == null) {
+			this.chunkCache = new ChunkCache(this.worldObj, center.add(-range, -range, -range),
+					center.add(range, range, range), 0);
+		}
+
+		if (scheduler == null) {
+			this.chunkCache.setRegion(this.worldObj, center.add(-range, -range, -range),
+					center.add(range, range, range), 0);
+			this.pathFinder.beginSearch(this.chunkCache, this.theEntity, x, y, z, distance);
+			PathEntity pathentity = this.pathFinder.continueSearch(Integer.MAX_VALUE);
+			this.chunkCache.releaseChunks();
+			return pathentity;
+		}
+
+		int i = MathHelper.floor_double(x - (double) (this.theEntity.width / 2.0F));
+		int j = MathHelper.floor_double(y * 2.0D);
+		int k = MathHelper.floor_double(z - (double) (this.theEntity.width / 2.0F));
+		boolean flag = j == this.searchGoalY && distance == this.searchDistance
+				&& Math.abs(i - this.searchGoalX) <= 1 && Math.abs(k - this.searchGoalZ) <= 1;
+		if (flag && this.finishedPath != null) {
+			PathEntity pathentity = this.finishedPath;
+			this.finishedPath = null;
+			return pathentity;
+		}
+
+		if (flag && this.pathFinder.isSearching()) {
+			return null;
+		}
+
+		this.finishedPath = null;
+		this.searchMoveSpeed = -1.0D;
+		Class<?> oclass = this.pathFinder.getNodeProcessorType();
+		int i1 = this.pathFinder.getSearchSettings(this.theEntity);
+		int j1 = MathHelper.floor_double(this.theEntity.getEntityBoundingBox().minX);
+		int k1 = MathHelper.floor_double(this.theEntity.getEntityBoundingBox().minY + 0.5D);
+		int l1 = MathHelper.floor_double(this.theEntity.getEntityBoundingBox().minZ);
+		PathEntity pathentity = scheduler.getCachedPath(oclass, i1, distance, j1, k1, l1, i, j, k);
+		if (pathentity != null) {
+			this.cancelSearch();
 			return pathentity;
 		}
+
+		this.chunkCache.setRegion(this.worldObj, center.add(-range, -range, -range), center.add(range, range, range),
+				0);
+		this.pathFinder.beginSearch(this.chunkCache, this.theEntity, x, y, z, distance);
+		this.searchGoalX = i;
+		this.searchGoalY = j;
+		this.searchGoalZ = k;
+		this.searchDistance = distance;
+		this.searchProcessorType = oclass;
+		this.searchSettings = i1;
+		this.searchStartX = j1;
+		this.searchStartY = k1;
+		this.searchStartZ = l1;
+		pathentity = this.pathFinder.continueSearch(scheduler.getNodeAllowance());
+		scheduler.consumeNodes(this.pathFinder.getNodesExpanded());
+		if (this.pathFinder.isSearching()) {
+			if (!this.searchQueued) {
+				this.searchQueued = true;
+				scheduler.queueSearch(this);
+			}
+			return null;
+		}
+
+		this.chunkCache.releaseChunks();
+		if (pathentity != null) {
+			scheduler.cachePath(oclass, i1, distance, j1, k1, l1, i, j, k, pathentity);
+		}
+
+		return pathentity;
+	}
+
+	/**+
+	 * Called by the scheduler on every tick while this navigator is
+	 * queued, continues the pending search and returns true if it
+	 * needs to stay queued. A path found for tryMoveTo is set right
+	 * away, any other is kept until its goal is asked for again
+	 */
+	public boolean continuePendingSearch(PathSearchScheduler scheduler) {
+		if (!this.pathFinder.isSearching() || this.theEntity.isDead || this.theEntity.worldObj != this.worldObj) {
+			this.searchQueued = false;
+			this.cancelSearch();
+			return false;
+		}
+
+		PathEntity pathentity = this.pathFinder.continueSearch(scheduler.getNodeAllowance());
+		scheduler.consumeNodes(this.pathFinder.getNodesExpanded());
+		if (this.pathFinder.isSearching()) {
+			return true;
+		}
+
+		this.searchQueued = false;
+		this.chunkCache.releaseChunks();
+		double d0 = this.searchMoveSpeed;
+		this.searchMoveSpeed = -1.0D;
+		if (pathentity != null) {
+			scheduler.cachePath(this.searchProcessorType, this.searchSettings, this.searchDistance,
+					this.searchStartX, this.searchStartY, this.searchStartZ, this.searchGoalX, this.searchGoalY,
+					this.searchGoalZ, pathentity);
+			if (d0 >= 0.0D) {
+				this.setPath(pathentity, d0);
+			} else {
+				this.finishedPath = pathentity;
+			}
+		}
+
+		return false;
+	}
+
+	/**+
+	 * Drops the pending search and the chunks it was looking at
+	 */
+	private void cancelSearch() {
+		this.pathFinder.cancelSearch();
+		this.searchMoveSpeed = -1.0D;
+		if (this.chunkCache != null) {
+			this.chunkCache.releaseChunks();
+		}
+	}
+
+	/**+
+	 * Returns true if the last path requested is still being
+	 * searched for, the world's PathSearchScheduler continues it on
+	 * every tick
+	 */
+	public boolean isSearchPending() {
+		return this.pathFinder.isSearching();
 	}
 
 	/**+
@@ -149,6 +308,9 @@ public abstract class PathNavigate {
 			this.lastFailure = 0;
 			this.pathfindFailures = 0;
 			return true;
+		} else if (pathentity == null && this.pathFinder.isSearching()) {
+			this.searchMoveSpeed = speedIn;
+			return true;
 		} else {
 			this.pathfindFailures++;
 			this.lastFailure = i == -1 ? (int) (MinecraftServer.getCurrentTimeMillis() / 50l) : i;
@@ -162,6 +324,7 @@ public abstract class PathNavigate {
 	 * Args : path, speed
 	 */
 	public boolean setPath(PathEntity pathentityIn, double speedIn) {
+		this.searchMoveSpeed = -1.0D;
 		if (pathentityIn == null) {
 			this.currentPath = null;
 			return false;
@@ -294,6 +457,8 @@ public abstract class PathNavigate {
 		this.pathfindFailures = 0;
 		this.lastFailure = 0;
 		this.currentPath = null;
+		this.finishedPath = null;
+		this.cancelSearch();
 	}
 
 	protected abstract Vec3 getEntityPosition();
@@ -16,6 +16,7 @@ import net.lax1dude.eaglercraft.v1_8.EaglercraftRandom;
 import net.lax1dude.eaglercraft.v1_8.EaglercraftUUID;
 import net.lax1dude.eaglercraft.v1_8.futures.FutureTask;
 import net.lax1dude.eaglercraft.v1_8.sp.server.EaglerIntegratedServerWorker;
+import net.lax1dude.eaglercraft.v1_8.sp.server.ServerTickProfiler;
 import net.minecraft.command.CommandBase;
 import net.minecraft.command.CommandResultStats;
 import net.minecraft.command.ICommandManager;
@@ -313,6 +314,23 @@ public abstract class MinecraftServer implements Runnable, ICommandSender, IThre
 		}
 	}
 
+	/**+
+	 * Saves the level data of every world and starts an incremental
+	 * chunk save, which the worlds continue a slice at a time every
+	 * tick instead of writing every loaded chunk at once
+	 */
+	protected void autosaveAllWorlds() {
+		if (!this.worldIsBeingDeleted) {
+			for (int i = 0; i < this.worldServers.length; ++i) {
+				WorldServer worldserver = this.worldServers[i];
+				if (worldserver != null) {
+					worldserver.saveAllChunks(false, (IProgressUpdate) null);
+				}
+			}
+
+		}
+	}
+
 	/**+
 	 * Saves all necessary data as preparation for stopping the
 	 * server.
@@ -471,11 +489,14 @@ public abstract class MinecraftServer implements Runnable, ICommandSender, IThre
 		}
 
 		if (this.tickCounter % 900 == 0) {
+			long l = ServerTickProfiler.begin();
 			this.serverConfigManager.saveAllPlayerData();
-			this.saveAllWorlds(true);
+			this.autosaveAllWorlds();
+			ServerTickProfiler.end(ServerTickProfiler.SECTION_SAVING, l);
 		}
 
 		this.tickTimeArray[this.tickCounter % 100] = EagRuntime.nanoTime() - i;
+		ServerTickProfiler.endTick();
 	}
 
 	public void updateTimeLightAndEntities() {
@@ -513,13 +534,17 @@ public abstract class MinecraftServer implements Runnable, ICommandSender, IThre
 					throw new ReportedException(crashreport1);
 				}
 
+				long l = ServerTickProfiler.begin();
 				worldserver.getEntityTracker().updateTrackedEntities();
+				ServerTickProfiler.end(ServerTickProfiler.SECTION_TRACKER, l);
 			}
 
 			this.timeOfLastDimensionTick[j][this.tickCounter % 100] = EagRuntime.nanoTime() - i;
 		}
 
+		long l = ServerTickProfiler.begin();
 		EaglerIntegratedServerWorker.tick();
+		ServerTickProfiler.end(ServerTickProfiler.SECTION_NETWORK, l);
 		this.serverConfigManager.onTick();
 
 		for (int k = 0; k < this.playersOnline.size(); ++k) {
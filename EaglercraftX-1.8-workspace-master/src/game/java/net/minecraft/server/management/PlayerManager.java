@@ -143,6 +143,37 @@ public class PlayerManager {
 
 	}
 
+	/**+
+	 * Drops the cached chunk data packet of the chunk containing pos,
+	 * called when light changes without a block update being sent
+	 */
+	public void markChunkDataDirty(BlockPos pos) {
+		PlayerManager.PlayerInstance playermanager$playerinstance = this.getPlayerInstance(pos.getX() >> 4,
+				pos.getZ() >> 4, false);
+		if (playermanager$playerinstance != null) {
+			playermanager$playerinstance.cachedChunkData = null;
+		}
+	}
+
+	/**+
+	 * Returns a full chunk data packet for the chunk, shared between all
+	 * players watching it until the chunk changes so that it is only
+	 * extracted (and compressed, on LAN) once. Chunks with a single
+	 * watcher aren't cached, there would be no one to share it with
+	 */
+	public S21PacketChunkData getChunkDataPacket(Chunk chunk) {
+		chunk.alfheim$getLightingEngine().processLightUpdatesForChunk(chunk.xPosition, chunk.zPosition);
+		PlayerManager.PlayerInstance playermanager$playerinstance = this.getPlayerInstance(chunk.xPosition,
+				chunk.zPosition, false);
+		if (playermanager$playerinstance == null || playermanager$playerinstance.playersWatchingChunk.size() < 2) {
+			return new S21PacketChunkData(chunk, true, '\uffff');
+		}
+		if (playermanager$playerinstance.cachedChunkData == null) {
+			playermanager$playerinstance.cachedChunkData = new S21PacketChunkData(chunk, true, '\uffff');
+		}
+		return playermanager$playerinstance.cachedChunkData;
+	}
+
 	/**+
 	 * Adds an EntityPlayerMP to the PlayerManager and to all player
 	 * instances within player visibility
@@ -336,6 +367,7 @@ public class PlayerManager {
 		private int numBlocksToUpdate;
 		private int flagsYAreasToUpdate;
 		private long previousWorldTime;
+		private S21PacketChunkData cachedChunkData;
 
 		public PlayerInstance(int chunkX, int chunkZ) {
 			this.chunkCoords = new ChunkCoordIntPair(chunkX, chunkZ);
@@ -375,6 +407,9 @@ public class PlayerManager {
 
 				this.playersWatchingChunk.remove(player);
 				player.loadedChunks.removeAll(this.chunkCoordsHash);
+				if (this.playersWatchingChunk.size() < 2) {
+					this.cachedChunkData = null;
+				}
 				if (this.playersWatchingChunk.isEmpty()) {
 					long i = (long) this.chunkCoords.chunkXPos + 2147483647L
 							| (long) this.chunkCoords.chunkZPos + 2147483647L << 32;
@@ -404,6 +439,7 @@ public class PlayerManager {
 		}
 
 		public void flagChunkForUpdate(int x, int y, int z) {
+			this.cachedChunkData = null;
 			if (this.numBlocksToUpdate == 0) {
 				PlayerManager.this.playerInstancesToUpdate.add(this);
 			}
@@ -1,5 +1,6 @@
 package net.minecraft.tileentity;
 
+import com.google.common.collect.Lists;
 import java.util.List;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockChest;
@@ -380,13 +381,16 @@ public class TileEntityHopper extends TileEntityLockable implements IHopper, ITi
 				}
 			}
 		} else {
-			List<EntityItem> list = func_181556_a(parIHopper.getWorld(), parIHopper.getXPos(),
-					parIHopper.getYPos() + 1.0D, parIHopper.getZPos());
+			World world = parIHopper.getWorld();
+			List<EntityItem> list = func_181556_a(world, parIHopper.getXPos(), parIHopper.getYPos() + 1.0D,
+					parIHopper.getZPos(), world.<EntityItem>acquireEntityQueryBuffer());
 			for (int i = 0, l = list.size(); i < l; ++i) {
 				if (putDropInInventoryAllSlots(parIHopper, list.get(i))) {
+					world.releaseEntityQueryBuffer(list);
 					return true;
 				}
 			}
+			world.releaseEntityQueryBuffer(list);
 		}
 
 		return false;
@@ -547,11 +551,16 @@ public class TileEntityHopper extends TileEntityLockable implements IHopper, ITi
 
 	public static List<EntityItem> func_181556_a(World parWorld, double parDouble1, double parDouble2,
 			double parDouble3) {
+		return func_181556_a(parWorld, parDouble1, parDouble2, parDouble3, Lists.<EntityItem>newArrayList());
+	}
+
+	public static List<EntityItem> func_181556_a(World parWorld, double parDouble1, double parDouble2,
+			double parDouble3, List<EntityItem> list) {
 		return parWorld
 				.<EntityItem>getEntitiesWithinAABB(
 						EntityItem.class, new AxisAlignedBB(parDouble1 - 0.5D, parDouble2 - 0.5D, parDouble3 - 0.5D,
 								parDouble1 + 0.5D, parDouble2 + 0.5D, parDouble3 + 0.5D),
-						EntitySelectors.selectAnything);
+						EntitySelectors.selectAnything, list);
 	}
 
 	/**+
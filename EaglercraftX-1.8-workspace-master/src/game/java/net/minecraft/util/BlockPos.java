@@ -315,8 +315,15 @@ public class BlockPos extends Vec3i {
 	 * Serialize this BlockPos into a long value
 	 */
 	public long toLong() {
-		return ((long) this.x & X_MASK) << X_SHIFT | ((long) this.y & Y_MASK) << Y_SHIFT
-				| ((long) this.z & Z_MASK) << 0;
+		return toLong(this.x, this.y, this.z);
+	}
+
+	/**+
+	 * Serialize the coordinates into a long value the same way
+	 * toLong does without creating a BlockPos
+	 */
+	public static long toLong(int x, int y, int z) {
+		return ((long) x & X_MASK) << X_SHIFT | ((long) y & Y_MASK) << Y_SHIFT | ((long) z & Z_MASK) << 0;
 	}
 
 	/**+
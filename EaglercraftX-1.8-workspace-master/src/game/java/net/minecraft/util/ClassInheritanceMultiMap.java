@@ -1,6 +1,7 @@
 package net.minecraft.util;
 
 import java.util.AbstractSet;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -129,6 +130,24 @@ public class ClassInheritanceMultiMap<T> extends AbstractSet<T> {
 		};
 	}
 
+	/**+
+	 * Direct, unfiltered view of the entries assignable to the given
+	 * class. Must not be modified and is only valid until the next add or
+	 * remove, but can be walked by index without allocating
+	 */
+	@SuppressWarnings("unchecked")
+	public <S> List<S> getListByClass(Class<S> clazz) {
+		List<T> list = this.map.get(this.func_181157_b(clazz));
+		return list == null ? Collections.<S>emptyList() : (List<S>) (List<?>) list;
+	}
+
+	/**+
+	 * Direct view of every entry, the same rules as getListByClass apply
+	 */
+	public List<T> getAllEntries() {
+		return this.field_181745_e;
+	}
+
 	public Iterator<T> iterator() {
 		return this.field_181745_e.isEmpty() ? Iterators.emptyIterator()
 				: Iterators.unmodifiableIterator(this.field_181745_e.iterator());
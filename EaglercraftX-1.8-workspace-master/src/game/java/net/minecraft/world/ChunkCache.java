@@ -1,5 +1,7 @@
 package net.minecraft.world;
 
+import java.util.Arrays;
+
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
@@ -38,12 +40,34 @@ public class ChunkCache implements IBlockAccess {
 	protected World worldObj;
 
 	public ChunkCache(World worldIn, BlockPos posFromIn, BlockPos posToIn, int subIn) {
+		this.setRegion(worldIn, posFromIn, posToIn, subIn);
+	}
+
+	/**+
+	 * Drops the references to the chunks of the region so a cache
+	 * that is kept around does not hold on to unloaded chunks, the
+	 * array itself is kept for the next setRegion
+	 */
+	public void releaseChunks() {
+		for (int i = 0; i < this.chunkArray.length; ++i) {
+			Arrays.fill(this.chunkArray[i], null);
+		}
+	}
+
+	/**+
+	 * Points this cache at a new region, the chunk array is only
+	 * reallocated if the size of the region changed
+	 */
+	public void setRegion(World worldIn, BlockPos posFromIn, BlockPos posToIn, int subIn) {
 		this.worldObj = worldIn;
 		this.chunkX = posFromIn.getX() - subIn >> 4;
 		this.chunkZ = posFromIn.getZ() - subIn >> 4;
 		int i = posToIn.getX() + subIn >> 4;
 		int j = posToIn.getZ() + subIn >> 4;
-		this.chunkArray = new Chunk[i - this.chunkX + 1][j - this.chunkZ + 1];
+		if (this.chunkArray == null || this.chunkArray.length != i - this.chunkX + 1
+				|| this.chunkArray[0].length != j - this.chunkZ + 1) {
+			this.chunkArray = new Chunk[i - this.chunkX + 1][j - this.chunkZ + 1];
+		}
 		this.hasExtendedLevels = true;
 
 		for (int k = this.chunkX; k <= i; ++k) {
@@ -51,6 +51,7 @@ public class GameRules {
 		this.addGameRule("colorCodes", "true", GameRules.ValueType.BOOLEAN_VALUE);
 		this.addGameRule("doSignEditing", "true", GameRules.ValueType.BOOLEAN_VALUE);
 		this.addGameRule("doWeatherCycle", "true", GameRules.ValueType.BOOLEAN_VALUE);
+		this.addGameRule("fastRedstoneWire", "false", GameRules.ValueType.BOOLEAN_VALUE);
 	}
 
 	public void addGameRule(String key, String value, GameRules.ValueType type) {
@@ -30,6 +30,11 @@ public class NextTickListEntry implements Comparable<NextTickListEntry> {
 	public long scheduledTime;
 	public int priority;
 	private long tickEntryID;
+	/**+
+	 * Position of this entry in its chunk's list in ScheduledTickWheel,
+	 * so it can be removed without searching, -1 if not scheduled
+	 */
+	public int chunkListIndex = -1;
 
 	public NextTickListEntry(BlockPos parBlockPos, Block parBlock) {
 		this.tickEntryID = (long) (nextTickEntryID++);
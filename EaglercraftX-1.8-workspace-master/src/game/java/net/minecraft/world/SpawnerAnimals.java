@@ -1,9 +1,11 @@
 package net.minecraft.world;
 
-import com.carrotsearch.hppc.LongHashSet;
-import com.carrotsearch.hppc.LongSet;
+import com.carrotsearch.hppc.LongIntHashMap;
 import com.carrotsearch.hppc.cursors.LongCursor;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import java.util.List;
+import java.util.Map;
 
 import net.lax1dude.eaglercraft.v1_8.EagRuntime;
 import net.lax1dude.eaglercraft.v1_8.EaglercraftRandom;
@@ -19,7 +21,9 @@ import net.minecraft.util.BlockPos;
 import net.minecraft.util.MathHelper;
 import net.minecraft.util.WeightedRandom;
 import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.border.WorldBorder;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.ChunkProviderServer;
 
 /**+
  * This portion of EaglercraftX contains deobfuscated Minecraft 1.8 source code.
@@ -44,48 +48,168 @@ import net.minecraft.world.chunk.Chunk;
 public final class SpawnerAnimals {
 	private static final int MOB_COUNT_DIV = (int) Math.pow(17.0D, 2.0D);
 	/**+
-	 * The 17x17 area around the player where mobs can spawn
+	 * Maximum number of eligible chunks each creature type attempts
+	 * a spawn pack in per tick, the rest are visited on the following
+	 * ticks in round robin order
 	 */
-	private final LongSet eligibleChunksForSpawning = new LongHashSet();
+	private static final int MAX_SPAWN_CHUNKS_PER_TICK = 256;
+	/**+
+	 * Number of players whose spawn area contains each chunk, shifted
+	 * left by one, the low bit is set if the chunk is loaded
+	 */
+	private final LongIntHashMap spawnAreaChunks = new LongIntHashMap();
+	/**+
+	 * Number of players whose spawn area contains each chunk without
+	 * it being on the edge of the area, these are the chunks eligible
+	 * for spawning
+	 */
+	private final LongIntHashMap eligibleChunkRefs = new LongIntHashMap();
+	private final Map<EntityPlayer, PlayerSpawnArea> playerSpawnAreas = Maps.newIdentityHashMap();
+	private final List<PlayerSpawnArea> playerSpawnAreaList = Lists.newArrayList();
+	private long[] eligibleChunksForSpawning = new long[256];
+	private int eligibleChunkCount = 0;
+	private boolean eligibleChunksDirty = false;
+	/**+
+	 * Number of chunks in the spawn areas that are loaded, used to
+	 * scale the mob cap
+	 */
+	private int loadedSpawnAreaChunks = 0;
+	private final int[] spawnCursors = new int[EnumCreatureType._VALUES.length];
+	private int areaUpdateCounter = 0;
 
 	/**+
-	 * adds all chunks within the spawn radius of the players to
-	 * eligibleChunksForSpawning. pars: the world, hostileCreatures,
-	 * passiveCreatures. returns number of eligible chunks.
+	 * Moves the tracked spawn areas to the chunks the players are
+	 * currently in, the reference counts are only touched for the
+	 * players that crossed a chunk boundary since the last tick
 	 */
-	public int findChunksForSpawning(WorldServer spawnHostileMobs, boolean spawnPeacefulMobs, boolean parFlag2,
-			boolean parFlag3) {
-		if (!spawnPeacefulMobs && !parFlag2) {
-			return 0;
-		} else {
-			this.eligibleChunksForSpawning.clear();
-			int i = 0;
+	private void updatePlayerSpawnAreas(WorldServer worldIn) {
+		int stamp = ++this.areaUpdateCounter;
+		int radius = worldIn.getMinecraftServer().getConfigurationManager().getViewDistance();
+		List<EntityPlayer> lst = worldIn.playerEntities;
+		for (int m = 0, n = lst.size(); m < n; ++m) {
+			EntityPlayer entityplayer = lst.get(m);
+			if (!entityplayer.isSpectator()) {
+				int j = MathHelper.floor_double(entityplayer.posX / 16.0D);
+				int k = MathHelper.floor_double(entityplayer.posZ / 16.0D);
+				PlayerSpawnArea area = this.playerSpawnAreas.get(entityplayer);
+				if (area == null) {
+					area = new PlayerSpawnArea();
+					this.playerSpawnAreas.put(entityplayer, area);
+					this.playerSpawnAreaList.add(area);
+					area.player = entityplayer;
+					this.addSpawnArea(worldIn, j, k, radius, 1);
+				} else if (area.chunkX != j || area.chunkZ != k || area.radius != radius) {
+					this.addSpawnArea(worldIn, area.chunkX, area.chunkZ, area.radius, -1);
+					this.addSpawnArea(worldIn, j, k, radius, 1);
+				}
+				area.chunkX = j;
+				area.chunkZ = k;
+				area.radius = radius;
+				area.stamp = stamp;
+			}
+		}
 
-			List<EntityPlayer> lst = spawnHostileMobs.playerEntities;
-			for (int m = 0, n = lst.size(); m < n; ++m) {
-				EntityPlayer entityplayer = lst.get(m);
-				if (!entityplayer.isSpectator()) {
-					int j = MathHelper.floor_double(entityplayer.posX / 16.0D);
-					int k = MathHelper.floor_double(entityplayer.posZ / 16.0D);
-					byte b0 = (byte) spawnHostileMobs.getMinecraftServer().getConfigurationManager().getViewDistance();
+		for (int m = this.playerSpawnAreaList.size() - 1; m >= 0; --m) {
+			PlayerSpawnArea area = this.playerSpawnAreaList.get(m);
+			if (area.stamp != stamp) {
+				this.addSpawnArea(worldIn, area.chunkX, area.chunkZ, area.radius, -1);
+				this.playerSpawnAreas.remove(area.player);
+				int last = this.playerSpawnAreaList.size() - 1;
+				this.playerSpawnAreaList.set(m, this.playerSpawnAreaList.get(last));
+				this.playerSpawnAreaList.remove(last);
+			}
+		}
 
-					for (int l = -b0; l <= b0; ++l) {
-						for (int i1 = -b0; i1 <= b0; ++i1) {
-							boolean flag = l == -b0 || l == b0 || i1 == -b0 || i1 == b0;
-							int cx = l + j;
-							int cz = i1 + k;
-							long chunkcoordintpair = ChunkCoordIntPair.chunkXZ2Int(cx, cz);
-							if (!this.eligibleChunksForSpawning.contains(chunkcoordintpair)
-									&& spawnHostileMobs.theChunkProviderServer.chunkExists(cx, cz)) {
-								++i;
-								if (!flag && spawnHostileMobs.getWorldBorder().contains(chunkcoordintpair)) {
-									this.eligibleChunksForSpawning.add(chunkcoordintpair);
-								}
-							}
-						}
+		if (this.eligibleChunksDirty) {
+			this.eligibleChunksDirty = false;
+			int n = this.eligibleChunkRefs.size();
+			if (this.eligibleChunksForSpawning.length < n) {
+				this.eligibleChunksForSpawning = new long[n + (n >> 1)];
+			}
+			int i = 0;
+			for (LongCursor cur : this.eligibleChunkRefs.keys()) {
+				this.eligibleChunksForSpawning[i++] = cur.value;
+			}
+			this.eligibleChunkCount = i;
+		}
+	}
+
+	private void addSpawnArea(WorldServer worldIn, int chunkX, int chunkZ, int radius, int delta) {
+		ChunkProviderServer provider = worldIn.theChunkProviderServer;
+		for (int l = -radius; l <= radius; ++l) {
+			for (int i1 = -radius; i1 <= radius; ++i1) {
+				int cx = l + chunkX;
+				int cz = i1 + chunkZ;
+				long chunkcoordintpair = ChunkCoordIntPair.chunkXZ2Int(cx, cz);
+				int refs = this.spawnAreaChunks.get(chunkcoordintpair);
+				if (refs == 0) {
+					if (provider.chunkExists(cx, cz)) {
+						refs = 1;
+						++this.loadedSpawnAreaChunks;
+					}
+				}
+				refs += delta << 1;
+				if ((refs >> 1) > 0) {
+					this.spawnAreaChunks.put(chunkcoordintpair, refs);
+				} else {
+					this.spawnAreaChunks.remove(chunkcoordintpair);
+					if ((refs & 1) != 0) {
+						--this.loadedSpawnAreaChunks;
+					}
+				}
+				if (l != -radius && l != radius && i1 != -radius && i1 != radius) {
+					int j = this.eligibleChunkRefs.addTo(chunkcoordintpair, delta);
+					if (j <= 0) {
+						this.eligibleChunkRefs.remove(chunkcoordintpair);
+						this.eligibleChunksDirty = true;
+					} else if (j == 1 && delta > 0) {
+						this.eligibleChunksDirty = true;
 					}
 				}
 			}
+		}
+	}
+
+	/**+
+	 * Called by the chunk provider when a chunk is loaded, keeps the
+	 * loaded chunk count of the spawn areas current
+	 */
+	public void onChunkLoaded(long chunkcoordintpair) {
+		int refs = this.spawnAreaChunks.get(chunkcoordintpair);
+		if (refs != 0 && (refs & 1) == 0) {
+			this.spawnAreaChunks.put(chunkcoordintpair, refs | 1);
+			++this.loadedSpawnAreaChunks;
+		}
+	}
+
+	/**+
+	 * Called by the chunk provider when a chunk is unloaded
+	 */
+	public void onChunkUnloaded(long chunkcoordintpair) {
+		int refs = this.spawnAreaChunks.get(chunkcoordintpair);
+		if ((refs & 1) != 0) {
+			this.spawnAreaChunks.put(chunkcoordintpair, refs & ~1);
+			--this.loadedSpawnAreaChunks;
+		}
+	}
+
+	/**+
+	 * updates the chunks within the spawn radius of the players and
+	 * attempts to spawn packs of mobs in up to
+	 * MAX_SPAWN_CHUNKS_PER_TICK of them for each creature type. pars:
+	 * the world, hostileCreatures, passiveCreatures. returns number of
+	 * spawned entities.
+	 */
+	public int findChunksForSpawning(WorldServer spawnHostileMobs, boolean spawnPeacefulMobs, boolean parFlag2,
+			boolean parFlag3) {
+		if (!spawnPeacefulMobs && !parFlag2) {
+			return 0;
+		} else {
+			this.updatePlayerSpawnAreas(spawnHostileMobs);
+			int i = this.loadedSpawnAreaChunks;
+			int n = this.eligibleChunkCount;
+			long[] eligible = this.eligibleChunksForSpawning;
+			WorldBorder worldborder = spawnHostileMobs.getWorldBorder();
 
 			int k3 = 0;
 			BlockPos blockpos2 = spawnHostileMobs.getSpawnPoint();
@@ -96,13 +220,27 @@ public final class SpawnerAnimals {
 				if ((!enumcreaturetype.getPeacefulCreature() || parFlag2)
 						&& (enumcreaturetype.getPeacefulCreature() || spawnPeacefulMobs)
 						&& (!enumcreaturetype.getAnimal() || parFlag3)) {
-					int l3 = spawnHostileMobs.countEntities(enumcreaturetype.getCreatureClass());
+					int l3 = spawnHostileMobs.countEntities(enumcreaturetype);
 					int i4 = enumcreaturetype.getMaxNumberOfCreature() * i / MOB_COUNT_DIV;
 					if (l3 <= i4) {
-						label374: for (LongCursor chunkcoordintpair1 : this.eligibleChunksForSpawning) {
-							long chunkcoordintpair1l = chunkcoordintpair1.value;
+						// animals are only attempted every 400 ticks, they always visit every chunk
+						int budget = enumcreaturetype.getAnimal() ? n : Math.min(n, MAX_SPAWN_CHUNKS_PER_TICK);
+						int ord = enumcreaturetype.ordinal();
+						label374: for (int c = 0; c < budget; ++c) {
+							int idx = this.spawnCursors[ord];
+							if (idx >= n) {
+								idx = 0;
+							}
+							this.spawnCursors[ord] = idx + 1;
+							long chunkcoordintpair1l = eligible[idx];
+							if (!worldborder.contains(chunkcoordintpair1l)) {
+								continue;
+							}
 							int chunkXPos = (int) (chunkcoordintpair1l & 4294967295L);
 							int chunkZPos = (int) (chunkcoordintpair1l >>> 32);
+							if (!spawnHostileMobs.theChunkProviderServer.chunkExists(chunkXPos, chunkZPos)) {
+								continue;
+							}
 							BlockPos blockpos = getRandomChunkPosition(spawnHostileMobs, chunkXPos, chunkZPos);
 							int j1 = blockpos.getX();
 							int k1 = blockpos.getY();
@@ -186,6 +324,14 @@ public final class SpawnerAnimals {
 		}
 	}
 
+	private static class PlayerSpawnArea {
+		private EntityPlayer player;
+		private int chunkX;
+		private int chunkZ;
+		private int radius;
+		private int stamp;
+	}
+
 	protected static BlockPos getRandomChunkPosition(World worldIn, int x, int z) {
 		Chunk chunk = worldIn.getChunkFromChunkCoords(x, z);
 		int i = x * 16 + worldIn.rand.nextInt(16);
@@ -20,6 +20,9 @@ import java.util.Set;
 import net.lax1dude.eaglercraft.v1_8.EaglercraftRandom;
 import net.lax1dude.eaglercraft.v1_8.EaglercraftUUID;
 import net.lax1dude.eaglercraft.v1_8.HString;
+import net.lax1dude.eaglercraft.v1_8.sp.server.PathSearchScheduler;
+import net.lax1dude.eaglercraft.v1_8.sp.server.RedstoneWireEngine;
+import net.lax1dude.eaglercraft.v1_8.sp.server.ServerTickProfiler;
 
 import java.util.concurrent.Callable;
 
@@ -35,6 +38,7 @@ import net.minecraft.crash.CrashReport;
 import net.minecraft.crash.CrashReportCategory;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.EnumCreatureType;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemStack;
@@ -91,6 +95,12 @@ public abstract class World implements IBlockAccess {
 	 * A list of all Entities in all currently-loaded chunks
 	 */
 	public final List<Entity> loadedEntityList = Lists.newArrayList();
+	/**+
+	 * Number of entities of each EnumCreatureType that count towards
+	 * the mob cap, kept up to date as entities are added and removed
+	 */
+	private final int[] creatureTypeCounts = new int[EnumCreatureType._VALUES.length];
+	private static final int CREATURE_TYPES_TRACKED = 0x100;
 	protected final List<Entity> unloadedEntityList = Lists.newArrayList();
 	/**+
 	 * A list of the loaded tile entities in the world
@@ -153,6 +163,8 @@ public abstract class World implements IBlockAccess {
 	public final boolean isRemote;
 
 	private LightingEngine alfheim$lightingEngine;
+	private final List<?>[] entityQueryBufferPool = new List<?>[8];
+	private int entityQueryBufferPoolSize = 0;
 
 	protected World(ISaveHandler saveHandlerIn, WorldInfo info, WorldProvider providerIn, boolean client) {
 		this.ambientTickCountdown = this.rand.nextInt(12000);
@@ -436,6 +448,23 @@ public abstract class World implements IBlockAccess {
 
 	}
 
+	/**+
+	 * Returns the scheduler that spreads the path searches of the
+	 * mobs in this world over several ticks, or null to search
+	 * synchronously
+	 */
+	public PathSearchScheduler getPathSearchScheduler() {
+		return null;
+	}
+
+	/**+
+	 * Returns the engine redstone wire should use to update its
+	 * power, or null to use the vanilla recursive update
+	 */
+	public RedstoneWireEngine getRedstoneWireEngine() {
+		return null;
+	}
+
 	public void notifyNeighborsOfStateChange(BlockPos pos, Block blockType) {
 		this.notifyBlockOfStateChange(pos.west(), blockType);
 		this.notifyBlockOfStateChange(pos.east(), blockType);
@@ -941,6 +970,12 @@ public abstract class World implements IBlockAccess {
 	}
 
 	protected void onEntityAdded(Entity entityIn) {
+		if ((entityIn.creatureTypeFlags & CREATURE_TYPES_TRACKED) == 0) {
+			int flags = getCreatureTypeFlags(entityIn);
+			this.addCreatureTypeCounts(flags, 1);
+			entityIn.creatureTypeFlags = flags | CREATURE_TYPES_TRACKED;
+		}
+
 		for (int i = 0; i < this.worldAccesses.size(); ++i) {
 			((IWorldAccess) this.worldAccesses.get(i)).onEntityAdded(entityIn);
 		}
@@ -948,6 +983,11 @@ public abstract class World implements IBlockAccess {
 	}
 
 	protected void onEntityRemoved(Entity entityIn) {
+		if ((entityIn.creatureTypeFlags & CREATURE_TYPES_TRACKED) != 0) {
+			this.addCreatureTypeCounts(entityIn.creatureTypeFlags, -1);
+			entityIn.creatureTypeFlags = 0;
+		}
+
 		for (int i = 0; i < this.worldAccesses.size(); ++i) {
 			((IWorldAccess) this.worldAccesses.get(i)).onEntityRemoved(entityIn);
 		}
@@ -1054,22 +1094,24 @@ public abstract class World implements IBlockAccess {
 		}
 
 		double d0 = 0.25D;
-		List list = this.getEntitiesWithinAABBExcludingEntity(entityIn, bb.expand(d0, d0, d0));
+		List<Entity> list = this.getEntitiesInAABBexcluding(entityIn, bb.expand(d0, d0, d0),
+				EntitySelectors.NOT_SPECTATING, this.<Entity>acquireEntityQueryBuffer());
 
 		for (int j2 = 0; j2 < list.size(); ++j2) {
 			if (entityIn.riddenByEntity != list && entityIn.ridingEntity != list) {
-				AxisAlignedBB axisalignedbb = ((Entity) list.get(j2)).getCollisionBoundingBox();
+				AxisAlignedBB axisalignedbb = list.get(j2).getCollisionBoundingBox();
 				if (axisalignedbb != null && axisalignedbb.intersectsWith(bb)) {
 					arraylist.add(axisalignedbb);
 				}
 
-				axisalignedbb = entityIn.getCollisionBox((Entity) list.get(j2));
+				axisalignedbb = entityIn.getCollisionBox(list.get(j2));
 				if (axisalignedbb != null && axisalignedbb.intersectsWith(bb)) {
 					arraylist.add(axisalignedbb);
 				}
 			}
 		}
 
+		this.releaseEntityQueryBuffer(list);
 		return arraylist;
 	}
 
@@ -1321,6 +1363,7 @@ public abstract class World implements IBlockAccess {
 	 * Updates (and cleans up) entities and tile entities
 	 */
 	public void updateEntities() {
+		long profilerStart = !this.isRemote ? ServerTickProfiler.begin() : 0l;
 		for (int i = 0; i < this.weatherEffects.size(); ++i) {
 			Entity entity = (Entity) this.weatherEffects.get(i);
 
@@ -1396,6 +1439,11 @@ public abstract class World implements IBlockAccess {
 
 		}
 
+		if (!this.isRemote) {
+			ServerTickProfiler.end(ServerTickProfiler.SECTION_ENTITIES, profilerStart);
+			profilerStart = ServerTickProfiler.begin();
+		}
+
 		this.processingLoadedTiles = true;
 		Iterator iterator = this.tickableTileEntities.iterator();
 
@@ -1452,6 +1500,9 @@ public abstract class World implements IBlockAccess {
 			this.addedTileEntityList.clear();
 		}
 
+		if (!this.isRemote) {
+			ServerTickProfiler.end(ServerTickProfiler.SECTION_TILE_ENTITIES, profilerStart);
+		}
 	}
 
 	public boolean addTileEntity(TileEntity tile) {
@@ -2309,7 +2360,15 @@ public abstract class World implements IBlockAccess {
 	 */
 	public List<Entity> getEntitiesInAABBexcluding(Entity entityIn, AxisAlignedBB boundingBox,
 			Predicate<? super Entity> predicate) {
-		ArrayList arraylist = Lists.newArrayList();
+		return this.getEntitiesInAABBexcluding(entityIn, boundingBox, predicate, Lists.newArrayList());
+	}
+
+	/**+
+	 * Same as getEntitiesInAABBexcluding but appends the results to
+	 * the given list instead of allocating one, which is returned
+	 */
+	public List<Entity> getEntitiesInAABBexcluding(Entity entityIn, AxisAlignedBB boundingBox,
+			Predicate<? super Entity> predicate, List<Entity> arraylist) {
 		int i = MathHelper.floor_double((boundingBox.minX - 2.0D) / 16.0D);
 		int j = MathHelper.floor_double((boundingBox.maxX + 2.0D) / 16.0D);
 		int k = MathHelper.floor_double((boundingBox.minZ - 2.0D) / 16.0D);
@@ -2327,6 +2386,25 @@ public abstract class World implements IBlockAccess {
 		return arraylist;
 	}
 
+	/**+
+	 * Borrows an empty list for a short lived entity query, it must be
+	 * handed back with releaseEntityQueryBuffer once the results have
+	 * been consumed. Nested queries each get their own list
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends Entity> List<T> acquireEntityQueryBuffer() {
+		return this.entityQueryBufferPoolSize > 0
+				? (List<T>) this.entityQueryBufferPool[--this.entityQueryBufferPoolSize]
+				: Lists.<T>newArrayList();
+	}
+
+	public void releaseEntityQueryBuffer(List<? extends Entity> list) {
+		list.clear();
+		if (this.entityQueryBufferPoolSize < this.entityQueryBufferPool.length) {
+			this.entityQueryBufferPool[this.entityQueryBufferPoolSize++] = list;
+		}
+	}
+
 	public <T extends Entity> List<T> getEntities(Class<? extends T> entityType, Predicate<? super T> filter) {
 		ArrayList arraylist = Lists.newArrayList();
 
@@ -2359,11 +2437,19 @@ public abstract class World implements IBlockAccess {
 
 	public <T extends Entity> List<T> getEntitiesWithinAABB(Class<? extends T> clazz, AxisAlignedBB aabb,
 			Predicate<? super T> filter) {
+		return this.getEntitiesWithinAABB(clazz, aabb, filter, Lists.<T>newArrayList());
+	}
+
+	/**+
+	 * Same as getEntitiesWithinAABB but appends the results to the
+	 * given list instead of allocating one, which is returned
+	 */
+	public <T extends Entity> List<T> getEntitiesWithinAABB(Class<? extends T> clazz, AxisAlignedBB aabb,
+			Predicate<? super T> filter, List<T> arraylist) {
 		int i = MathHelper.floor_double((aabb.minX - 2.0D) / 16.0D);
 		int j = MathHelper.floor_double((aabb.maxX + 2.0D) / 16.0D);
 		int k = MathHelper.floor_double((aabb.minZ - 2.0D) / 16.0D);
 		int l = MathHelper.floor_double((aabb.maxZ + 2.0D) / 16.0D);
-		ArrayList arraylist = Lists.newArrayList();
 
 		for (int i1 = i; i1 <= j; ++i1) {
 			for (int j1 = k; j1 <= l; ++j1) {
@@ -2436,6 +2522,51 @@ public abstract class World implements IBlockAccess {
 		return i;
 	}
 
+	/**+
+	 * Returns the number of entities of the creature type that count
+	 * towards the mob cap, the same as countEntities with the
+	 * creature class of the type but without scanning the entity list
+	 */
+	public int countEntities(EnumCreatureType type) {
+		return this.creatureTypeCounts[type.ordinal()];
+	}
+
+	/**+
+	 * Called when the persistence of an entity changes, moves it in
+	 * or out of the creature type counts if it is in this world
+	 */
+	public void updateCreatureTypeCount(Entity entityIn) {
+		int flags = entityIn.creatureTypeFlags;
+		if ((flags & CREATURE_TYPES_TRACKED) != 0) {
+			int newFlags = getCreatureTypeFlags(entityIn);
+			this.addCreatureTypeCounts(flags, -1);
+			this.addCreatureTypeCounts(newFlags, 1);
+			entityIn.creatureTypeFlags = newFlags | CREATURE_TYPES_TRACKED;
+		}
+	}
+
+	private void addCreatureTypeCounts(int flags, int delta) {
+		for (int i = 0; i < this.creatureTypeCounts.length; ++i) {
+			if ((flags & (1 << i)) != 0) {
+				this.creatureTypeCounts[i] += delta;
+			}
+		}
+	}
+
+	private static int getCreatureTypeFlags(Entity entityIn) {
+		if (entityIn instanceof EntityLiving && ((EntityLiving) entityIn).isNoDespawnRequired()) {
+			return 0;
+		}
+		int flags = 0;
+		EnumCreatureType[] types = EnumCreatureType._VALUES;
+		for (int i = 0; i < types.length; ++i) {
+			if (types[i].getCreatureClass().isAssignableFrom(entityIn.getClass())) {
+				flags |= 1 << i;
+			}
+		}
+		return flags;
+	}
+
 	public void loadEntities(Collection<Entity> entityCollection) {
 		this.loadedEntityList.addAll(entityCollection);
 
@@ -95,7 +95,8 @@ public class WorldManager implements IWorldAccess {
 		this.theWorldServer.getPlayerManager().markBlockForUpdate(blockpos);
 	}
 
-	public void notifyLightSet(BlockPos var1) {
+	public void notifyLightSet(BlockPos blockpos) {
+		this.theWorldServer.getPlayerManager().markChunkDataDirty(blockpos);
 	}
 
 	public void playRecord(String var1, BlockPos var2) {
@@ -6,14 +6,16 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import net.lax1dude.eaglercraft.v1_8.EaglercraftRandom;
 import java.util.Set;
-import java.util.TreeSet;
 import net.lax1dude.eaglercraft.v1_8.EaglercraftUUID;
 import net.lax1dude.eaglercraft.v1_8.sp.server.EaglerMinecraftServer;
+import net.lax1dude.eaglercraft.v1_8.sp.server.PathSearchScheduler;
+import net.lax1dude.eaglercraft.v1_8.sp.server.RedstoneWireEngine;
+import net.lax1dude.eaglercraft.v1_8.sp.server.ScheduledTickWheel;
+import net.lax1dude.eaglercraft.v1_8.sp.server.ServerTickProfiler;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockEventData;
 import net.minecraft.block.material.Material;
@@ -92,21 +94,33 @@ import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
  */
 public class WorldServer extends World implements IThreadListener {
 	private static final Logger logger = LogManager.getLogger();
+	/**+
+	 * Maximum number of queued light updates started per tick, chunks
+	 * that are read, sent or saved are always flushed completely
+	 */
+	private static final int LIGHT_UPDATES_PER_TICK = 4096;
 	private final MinecraftServer mcServer;
 	private final EntityTracker theEntityTracker;
 	private final PlayerManager thePlayerManager;
-	private final Set<NextTickListEntry> pendingTickListEntriesHashSet = Sets.newHashSet();
 	/**+
-	 * All work to do in future ticks.
+	 * All work to do in future ticks, bucketed by the tick it is
+	 * scheduled for and indexed by chunk
 	 */
-	private final TreeSet<NextTickListEntry> pendingTickListEntriesTreeSet = new TreeSet();
+	private final ScheduledTickWheel pendingTickListEntries = new ScheduledTickWheel();
 	private final Map<EaglercraftUUID, Entity> entitiesByUuid = Maps.newHashMap();
 	public ChunkProviderServer theChunkProviderServer;
 	public boolean disableLevelSaving;
+	/**+
+	 * set by an autosave, the chunks are then saved a slice at a time
+	 * every tick until the save pass is complete
+	 */
+	private boolean incrementalSavePending;
 	private boolean allPlayersSleeping;
 	private int updateEntityTick;
 	private final Teleporter worldTeleporter;
 	private final SpawnerAnimals mobSpawner = new SpawnerAnimals();
+	private final PathSearchScheduler pathSearchScheduler = new PathSearchScheduler();
+	private final RedstoneWireEngine redstoneWireEngine = new RedstoneWireEngine(this);
 	protected final VillageSiege villageSiege = new VillageSiege(this);
 	private WorldServer.ServerBlockEventList[] field_147490_S = new WorldServer.ServerBlockEventList[] {
 			new WorldServer.ServerBlockEventList(), new WorldServer.ServerBlockEventList() };
@@ -123,6 +137,11 @@ public class WorldServer extends World implements IThreadListener {
 					new WeightedRandomChestContent(Items.bread, 0, 2, 3, 3),
 					new WeightedRandomChestContent(Item.getItemFromBlock(Blocks.log2), 0, 1, 3, 10) });
 	private List<NextTickListEntry> pendingTickListEntriesThisTick = Lists.newArrayList();
+	/**+
+	 * The entries of pendingTickListEntriesThisTick that have not
+	 * been ticked yet
+	 */
+	private final Set<NextTickListEntry> pendingTickListEntriesThisTickSet = Sets.newHashSet();
 
 	public WorldServer(MinecraftServer server, ISaveHandler saveHandlerIn, WorldInfo info, int dimensionId) {
 		super(saveHandlerIn, info, WorldProvider.getProviderForDimension(dimensionId), false);
@@ -179,6 +198,7 @@ public class WorldServer extends World implements IThreadListener {
 	 */
 	public void tick() {
 		super.tick();
+		this.pathSearchScheduler.tick(this.worldInfo.getWorldTotalTime());
 		if (this.getWorldInfo().isHardcoreModeEnabled() && this.getDifficulty() != EnumDifficulty.HARD) {
 			this.getWorldInfo().setDifficulty(EnumDifficulty.HARD);
 		}
@@ -200,7 +220,15 @@ public class WorldServer extends World implements IThreadListener {
 		}
 
 		this.chunkProvider.unloadQueuedChunks();
-		alfheim$getLightingEngine().processLightUpdates();
+		if (this.incrementalSavePending) {
+			long l = ServerTickProfiler.begin();
+			this.incrementalSavePending = this.chunkProvider.canSave()
+					&& !this.chunkProvider.saveChunks(false, (IProgressUpdate) null);
+			ServerTickProfiler.end(ServerTickProfiler.SECTION_SAVING, l);
+		}
+		long l = ServerTickProfiler.begin();
+		alfheim$getLightingEngine().processLightUpdatesBudgeted(LIGHT_UPDATES_PER_TICK);
+		ServerTickProfiler.end(ServerTickProfiler.SECTION_LIGHTING, l);
 		int j = this.calculateSkylightSubtracted(1.0F);
 		if (j != this.getSkylightSubtracted()) {
 			this.setSkylightSubtracted(j);
@@ -413,9 +441,25 @@ public class WorldServer extends World implements IThreadListener {
 		return !list.isEmpty() ? ((EntityLivingBase) list.get(this.rand.nextInt(list.size()))).getPosition() : blockpos;
 	}
 
+	public SpawnerAnimals getMobSpawner() {
+		return this.mobSpawner;
+	}
+
+	public PathSearchScheduler getPathSearchScheduler() {
+		return this.pathSearchScheduler;
+	}
+
+	/**+
+	 * Returns the breadth-first wire engine if the fastRedstoneWire
+	 * game rule is set in this world
+	 */
+	public RedstoneWireEngine getRedstoneWireEngine() {
+		return this.getGameRules().getBoolean("fastRedstoneWire") ? this.redstoneWireEngine : null;
+	}
+
 	public boolean isBlockTickPending(BlockPos blockpos, Block block) {
 		NextTickListEntry nextticklistentry = new NextTickListEntry(blockpos, block);
-		return this.pendingTickListEntriesThisTick.contains(nextticklistentry);
+		return this.pendingTickListEntriesThisTickSet.contains(nextticklistentry);
 	}
 
 	public void scheduleUpdate(BlockPos blockpos, Block block, int i) {
@@ -450,10 +494,7 @@ public class WorldServer extends World implements IThreadListener {
 				nextticklistentry.setPriority(j);
 			}
 
-			if (!this.pendingTickListEntriesHashSet.contains(nextticklistentry)) {
-				this.pendingTickListEntriesHashSet.add(nextticklistentry);
-				this.pendingTickListEntriesTreeSet.add(nextticklistentry);
-			}
+			this.pendingTickListEntries.add(nextticklistentry, this.worldInfo.getWorldTotalTime());
 		}
 
 	}
@@ -465,11 +506,7 @@ public class WorldServer extends World implements IThreadListener {
 			nextticklistentry.setScheduledTime((long) i + this.worldInfo.getWorldTotalTime());
 		}
 
-		if (!this.pendingTickListEntriesHashSet.contains(nextticklistentry)) {
-			this.pendingTickListEntriesHashSet.add(nextticklistentry);
-			this.pendingTickListEntriesTreeSet.add(nextticklistentry);
-		}
-
+		this.pendingTickListEntries.add(nextticklistentry, this.worldInfo.getWorldTotalTime());
 	}
 
 	/**+
@@ -501,59 +538,43 @@ public class WorldServer extends World implements IThreadListener {
 		if (this.worldInfo.getTerrainType() == WorldType.DEBUG_WORLD) {
 			return false;
 		} else {
-			int i = this.pendingTickListEntriesTreeSet.size();
-			if (i != this.pendingTickListEntriesHashSet.size()) {
-				throw new IllegalStateException("TickNextTick list out of synch");
-			} else {
-				if (i > 1000) {
-					i = 1000;
-				}
+			this.pendingTickListEntries.drain(this.worldInfo.getWorldTotalTime(), 1000, flag,
+					this.pendingTickListEntriesThisTick);
+			this.pendingTickListEntriesThisTickSet.addAll(this.pendingTickListEntriesThisTick);
 
-				for (int j = 0; j < i; ++j) {
-					NextTickListEntry nextticklistentry = (NextTickListEntry) this.pendingTickListEntriesTreeSet
-							.first();
-					if (!flag && nextticklistentry.scheduledTime > this.worldInfo.getWorldTotalTime()) {
-						break;
-					}
-
-					this.pendingTickListEntriesTreeSet.remove(nextticklistentry);
-					this.pendingTickListEntriesHashSet.remove(nextticklistentry);
-					this.pendingTickListEntriesThisTick.add(nextticklistentry);
+			for (int j = 0; j < this.pendingTickListEntriesThisTick.size(); ++j) {
+				NextTickListEntry nextticklistentry1 = this.pendingTickListEntriesThisTick.get(j);
+				if (!this.pendingTickListEntriesThisTickSet.remove(nextticklistentry1)) {
+					continue;
 				}
-
-				Iterator iterator = this.pendingTickListEntriesThisTick.iterator();
-
-				while (iterator.hasNext()) {
-					NextTickListEntry nextticklistentry1 = (NextTickListEntry) iterator.next();
-					iterator.remove();
-					byte b0 = 0;
-					if (this.isAreaLoaded(nextticklistentry1.position.add(-b0, -b0, -b0),
-							nextticklistentry1.position.add(b0, b0, b0))) {
-						IBlockState iblockstate = this.getBlockState(nextticklistentry1.position);
-						if (iblockstate.getBlock().getMaterial() != Material.air
-								&& Block.isEqualTo(iblockstate.getBlock(), nextticklistentry1.getBlock())) {
-							try {
-								iblockstate.getBlock().updateTick(this, nextticklistentry1.position, iblockstate,
-										this.rand);
-								++EaglerMinecraftServer.counterTileUpdate;
-							} catch (Throwable throwable) {
-								CrashReport crashreport = CrashReport.makeCrashReport(throwable,
-										"Exception while ticking a block");
-								CrashReportCategory crashreportcategory = crashreport
-										.makeCategory("Block being ticked");
-								CrashReportCategory.addBlockInfo(crashreportcategory, nextticklistentry1.position,
-										iblockstate);
-								throw new ReportedException(crashreport);
-							}
+				byte b0 = 0;
+				if (this.isAreaLoaded(nextticklistentry1.position.add(-b0, -b0, -b0),
+						nextticklistentry1.position.add(b0, b0, b0))) {
+					IBlockState iblockstate = this.getBlockState(nextticklistentry1.position);
+					if (iblockstate.getBlock().getMaterial() != Material.air
+							&& Block.isEqualTo(iblockstate.getBlock(), nextticklistentry1.getBlock())) {
+						try {
+							iblockstate.getBlock().updateTick(this, nextticklistentry1.position, iblockstate,
+									this.rand);
+							++EaglerMinecraftServer.counterTileUpdate;
+						} catch (Throwable throwable) {
+							CrashReport crashreport = CrashReport.makeCrashReport(throwable,
+									"Exception while ticking a block");
+							CrashReportCategory crashreportcategory = crashreport
+									.makeCategory("Block being ticked");
+							CrashReportCategory.addBlockInfo(crashreportcategory, nextticklistentry1.position,
+									iblockstate);
+							throw new ReportedException(crashreport);
 						}
-					} else {
-						this.scheduleUpdate(nextticklistentry1.position, nextticklistentry1.getBlock(), 0);
 					}
+				} else {
+					this.scheduleUpdate(nextticklistentry1.position, nextticklistentry1.getBlock(), 0);
 				}
-
-				this.pendingTickListEntriesThisTick.clear();
-				return !this.pendingTickListEntriesTreeSet.isEmpty();
 			}
+
+			this.pendingTickListEntriesThisTick.clear();
+			this.pendingTickListEntriesThisTickSet.clear();
+			return !this.pendingTickListEntries.isEmpty();
 		}
 	}
 
@@ -567,29 +588,23 @@ public class WorldServer extends World implements IThreadListener {
 	}
 
 	public List<NextTickListEntry> func_175712_a(StructureBoundingBox structureboundingbox, boolean flag) {
-		ArrayList arraylist = null;
-
-		for (int i = 0; i < 2; ++i) {
-			Iterator iterator;
-			if (i == 0) {
-				iterator = this.pendingTickListEntriesTreeSet.iterator();
-			} else {
-				iterator = this.pendingTickListEntriesThisTick.iterator();
-			}
+		ArrayList<NextTickListEntry> arraylist = Lists.newArrayList();
+		this.pendingTickListEntries.getEntriesInBox(structureboundingbox.minX, structureboundingbox.minZ,
+				structureboundingbox.maxX, structureboundingbox.maxZ, flag, arraylist);
 
-			while (iterator.hasNext()) {
-				NextTickListEntry nextticklistentry = (NextTickListEntry) iterator.next();
+		if (!this.pendingTickListEntriesThisTickSet.isEmpty()) {
+			for (int i = 0, l = this.pendingTickListEntriesThisTick.size(); i < l; ++i) {
+				NextTickListEntry nextticklistentry = this.pendingTickListEntriesThisTick.get(i);
 				BlockPos blockpos = nextticklistentry.position;
 				if (blockpos.getX() >= structureboundingbox.minX && blockpos.getX() < structureboundingbox.maxX
 						&& blockpos.getZ() >= structureboundingbox.minZ
 						&& blockpos.getZ() < structureboundingbox.maxZ) {
 					if (flag) {
-						this.pendingTickListEntriesHashSet.remove(nextticklistentry);
-						iterator.remove();
-					}
-
-					if (arraylist == null) {
-						arraylist = Lists.newArrayList();
+						if (!this.pendingTickListEntriesThisTickSet.remove(nextticklistentry)) {
+							continue;
+						}
+					} else if (!this.pendingTickListEntriesThisTickSet.contains(nextticklistentry)) {
+						continue;
 					}
 
 					arraylist.add(nextticklistentry);
@@ -597,7 +612,7 @@ public class WorldServer extends World implements IThreadListener {
 			}
 		}
 
-		return arraylist;
+		return arraylist.isEmpty() ? null : arraylist;
 	}
 
 	/**+
@@ -789,7 +804,7 @@ public class WorldServer extends World implements IThreadListener {
 				parIProgressUpdate.displayLoadingString("Saving chunks");
 			}
 
-			this.chunkProvider.saveChunks(progressCallback, parIProgressUpdate);
+			this.incrementalSavePending = !this.chunkProvider.saveChunks(progressCallback, parIProgressUpdate);
 
 			List<Chunk> lst = Lists.newArrayList(this.theChunkProviderServer.func_152380_a());
 			for (int i = 0, l = lst.size(); i < l; ++i) {
@@ -803,8 +818,8 @@ public class WorldServer extends World implements IThreadListener {
 	}
 
 	/**+
-	 * saves chunk data - currently only called during execution of
-	 * the Save All command
+	 * saves chunk data - called when a save has to be complete
+	 * before returning, such as a manual autosave or closing the tab
 	 */
 	public void saveChunkData() {
 		if (this.chunkProvider.canSave()) {
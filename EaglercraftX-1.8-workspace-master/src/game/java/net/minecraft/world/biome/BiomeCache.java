@@ -38,6 +38,15 @@ public class BiomeCache {
 	 * The list of cached BiomeCacheBlocks
 	 */
 	private List<BiomeCache.Block> cache = Lists.newArrayList();
+	/**+
+	 * Memoized output of the generation GenLayer in regions of
+	 * 32x32 quarter resolution cells (8x8 chunks), keyed the same
+	 * way as cacheMap. Terrain generation asks for an overlapping
+	 * 10x10 window for every chunk, so evaluating the layer once
+	 * per region avoids redoing the borders every time
+	 */
+	private LongObjectMap<BiomeCache.Region> regionMap = new LongObjectHashMap<>();
+	private List<BiomeCache.Region> regions = Lists.newArrayList();
 
 	public BiomeCache(WorldChunkManager chunkManagerIn) {
 		this.chunkManager = chunkManagerIn;
@@ -61,6 +70,39 @@ public class BiomeCache {
 		return biomecache$block;
 	}
 
+	/**+
+	 * Copies the generation layer's biome IDs for the specified
+	 * quarter resolution area into dest, computing any regions
+	 * that are not cached yet
+	 */
+	public void getGenerationBiomeIds(int[] dest, int x, int z, int width, int height) {
+		long now = MinecraftServer.getCurrentTimeMillis();
+		int rx0 = x >> 5;
+		int rz0 = z >> 5;
+		int rx1 = x + width - 1 >> 5;
+		int rz1 = z + height - 1 >> 5;
+		for (int rz = rz0; rz <= rz1; ++rz) {
+			for (int rx = rx0; rx <= rx1; ++rx) {
+				long i = (long) rx & 4294967295L | ((long) rz & 4294967295L) << 32;
+				BiomeCache.Region biomecache$region = this.regionMap.get(i);
+				if (biomecache$region == null) {
+					biomecache$region = new BiomeCache.Region(rx, rz);
+					this.regionMap.put(i, biomecache$region);
+					this.regions.add(biomecache$region);
+				}
+				biomecache$region.lastAccessTime = now;
+				int minX = Math.max(x, rx << 5);
+				int maxX = Math.min(x + width, (rx << 5) + 32);
+				int minZ = Math.max(z, rz << 5);
+				int maxZ = Math.min(z + height, (rz << 5) + 32);
+				for (int zz = minZ; zz < maxZ; ++zz) {
+					System.arraycopy(biomecache$region.biomeIds, ((zz - (rz << 5)) << 5) + minX - (rx << 5), dest,
+							(zz - z) * width + minX - x, maxX - minX);
+				}
+			}
+		}
+	}
+
 	public BiomeGenBase func_180284_a(int x, int z, BiomeGenBase parBiomeGenBase) {
 		BiomeGenBase biomegenbase = this.getBiomeCacheBlock(x, z).getBiomeGenAt(x, z);
 		return biomegenbase == null ? parBiomeGenBase : biomegenbase;
@@ -86,6 +128,17 @@ public class BiomeCache {
 					this.cacheMap.remove(i1);
 				}
 			}
+
+			for (int k = 0; k < this.regions.size(); ++k) {
+				BiomeCache.Region biomecache$region = this.regions.get(k);
+				long l = i - biomecache$region.lastAccessTime;
+				if (l > 30000L || l < 0L) {
+					this.regions.remove(k--);
+					long i1 = (long) biomecache$region.xPosition & 4294967295L
+							| ((long) biomecache$region.zPosition & 4294967295L) << 32;
+					this.regionMap.remove(i1);
+				}
+			}
 		}
 
 	}
@@ -116,4 +169,18 @@ public class BiomeCache {
 			return this.biomes[x & 15 | (z & 15) << 4];
 		}
 	}
+
+	public class Region {
+		public int[] biomeIds = new int[1024];
+		public int xPosition;
+		public int zPosition;
+		public long lastAccessTime;
+
+		public Region(int x, int z) {
+			this.xPosition = x;
+			this.zPosition = z;
+			int[] aint = BiomeCache.this.chunkManager.getGenerationLayerInts(x << 5, z << 5, 32, 32);
+			System.arraycopy(aint, 0, this.biomeIds, 0, 1024);
+		}
+	}
 }
\ No newline at end of file
@@ -38,8 +38,11 @@ public class WorldChunkManager {
 	private BiomeCache biomeCache;
 	private List<BiomeGenBase> biomesToSpawnIn;
 	private String field_180301_f;
+	private IntCache intCache;
+	private int[] generationBiomeIds = null;
 
 	protected WorldChunkManager() {
+		this.intCache = new IntCache();
 		this.biomeCache = new BiomeCache(this);
 		this.field_180301_f = "";
 		this.biomesToSpawnIn = Lists.newArrayList();
@@ -58,6 +61,7 @@ public class WorldChunkManager {
 		GenLayer[] agenlayer = GenLayer.initializeAllBiomeGenerators(seed, parWorldType, parString1);
 		this.genBiomes = agenlayer[0];
 		this.biomeIndexLayer = agenlayer[1];
+		this.intCache = this.biomeIndexLayer.getIntCache();
 	}
 
 	public WorldChunkManager(World worldIn) {
@@ -97,7 +101,7 @@ public class WorldChunkManager {
 	 * Args: listToReuse, x, z, width, length.
 	 */
 	public float[] getRainfall(float[] listToReuse, int x, int z, int width, int length) {
-		IntCache.resetIntCache();
+		this.intCache.resetIntCache();
 		if (listToReuse == null || listToReuse.length < width * length) {
 			listToReuse = new float[width * length];
 		}
@@ -141,12 +145,12 @@ public class WorldChunkManager {
 	 * Returns an array of biomes for the location input.
 	 */
 	public BiomeGenBase[] getBiomesForGeneration(BiomeGenBase[] biomes, int x, int z, int width, int height) {
-		IntCache.resetIntCache();
+		this.intCache.resetIntCache();
 		if (biomes == null || biomes.length < width * height) {
 			biomes = new BiomeGenBase[width * height];
 		}
 
-		int[] aint = this.genBiomes.getInts(x, z, width, height);
+		int[] aint = this.getCachedGenerationLayerInts(x, z, width, height);
 
 		try {
 			for (int i = 0; i < width * height; ++i) {
@@ -182,7 +186,7 @@ public class WorldChunkManager {
 	 */
 	public BiomeGenBase[] getBiomeGenAt(BiomeGenBase[] listToReuse, int x, int z, int width, int length,
 			boolean cacheFlag) {
-		IntCache.resetIntCache();
+		this.intCache.resetIntCache();
 		if (listToReuse == null || listToReuse.length < width * length) {
 			listToReuse = new BiomeGenBase[width * length];
 		}
@@ -206,14 +210,14 @@ public class WorldChunkManager {
 	 * checks given Chunk's Biomes against List of allowed ones
 	 */
 	public boolean areBiomesViable(int parInt1, int parInt2, int parInt3, List<BiomeGenBase> parList) {
-		IntCache.resetIntCache();
+		this.intCache.resetIntCache();
 		int i = parInt1 - parInt3 >> 2;
 		int j = parInt2 - parInt3 >> 2;
 		int k = parInt1 + parInt3 >> 2;
 		int l = parInt2 + parInt3 >> 2;
 		int i1 = k - i + 1;
 		int j1 = l - j + 1;
-		int[] aint = this.genBiomes.getInts(i, j, i1, j1);
+		int[] aint = this.getCachedGenerationLayerInts(i, j, i1, j1);
 
 		try {
 			for (int k1 = 0; k1 < i1 * j1; ++k1) {
@@ -237,14 +241,14 @@ public class WorldChunkManager {
 	}
 
 	public BlockPos findBiomePosition(int x, int z, int range, List<BiomeGenBase> biomes, EaglercraftRandom random) {
-		IntCache.resetIntCache();
+		this.intCache.resetIntCache();
 		int i = x - range >> 2;
 		int j = z - range >> 2;
 		int k = x + range >> 2;
 		int l = z + range >> 2;
 		int i1 = k - i + 1;
 		int j1 = l - j + 1;
-		int[] aint = this.genBiomes.getInts(i, j, i1, j1);
+		int[] aint = this.getCachedGenerationLayerInts(i, j, i1, j1);
 		BlockPos blockpos = null;
 		int k1 = 0;
 
@@ -261,6 +265,32 @@ public class WorldChunkManager {
 		return blockpos;
 	}
 
+	/**+
+	 * Evaluates the generation layer directly, the returned array
+	 * belongs to the IntCache and is only valid until it is reset
+	 */
+	int[] getGenerationLayerInts(int x, int z, int width, int height) {
+		this.intCache.resetIntCache();
+		return this.genBiomes.getInts(x, z, width, height);
+	}
+
+	/**+
+	 * Returns the generation layer's output for the specified area
+	 * from the BiomeCache's regions, in an array that is reused by
+	 * the next call
+	 */
+	private int[] getCachedGenerationLayerInts(int x, int z, int width, int height) {
+		int i = width * height;
+		if (i > 0x10000) {
+			return this.getGenerationLayerInts(x, z, width, height);
+		}
+		if (this.generationBiomeIds == null || this.generationBiomeIds.length < i) {
+			this.generationBiomeIds = new int[Math.max(i, 256)];
+		}
+		this.biomeCache.getGenerationBiomeIds(this.generationBiomeIds, x, z, width, height);
+		return this.generationBiomeIds;
+	}
+
 	/**+
 	 * Calls the WorldChunkManager's biomeCache.cleanupCache()
 	 */
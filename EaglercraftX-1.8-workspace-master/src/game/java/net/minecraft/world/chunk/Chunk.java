@@ -81,6 +81,11 @@ public class Chunk {
 	private int queuedLightChecks;
 	private List<BlockPos> tileEntityPosQueue;
 	private final ChunkCoordIntPair coordsCache;
+	/**+
+	 * Index of this chunk in the loaded chunk list of the
+	 * ChunkProviderServer, or -1 when it isn't in one
+	 */
+	public int loadedChunkIndex = -1;
 
 	private LightingEngine alfheim$lightingEngine;
 	private boolean alfheim$isLightInitialized;
@@ -497,7 +502,7 @@ public class Chunk {
 	}
 
 	public int getLightFor(EnumSkyBlock enumskyblock, BlockPos blockpos) {
-		alfheim$lightingEngine.processLightUpdatesForType(enumskyblock);
+		alfheim$lightingEngine.processLightUpdatesForChunk(enumskyblock, xPosition, zPosition);
 		return alfheim$getCachedLightFor(enumskyblock, blockpos);
 	}
 
@@ -524,7 +529,7 @@ public class Chunk {
 	}
 
 	public int getLightSubtracted(BlockPos blockpos, int i) {
-		alfheim$lightingEngine.processLightUpdates();
+		alfheim$lightingEngine.processLightUpdatesForChunk(xPosition, zPosition);
 		int j = blockpos.x & 15;
 		int k = blockpos.y;
 		int l = blockpos.z & 15;
@@ -755,7 +760,9 @@ public class Chunk {
 
 		for (int k = i; k <= j; ++k) {
 			if (!this.entityLists[k].isEmpty()) {
-				for (Entity entity1 : this.entityLists[k]) {
+				List<Entity> entities = this.entityLists[k].getAllEntries();
+				for (int m = 0, n = entities.size(); m < n; ++m) {
+					Entity entity1 = entities.get(m);
 					if (entity1.getEntityBoundingBox().intersectsWith(axisalignedbb) && entity1 != entity) {
 						if (predicate == null || predicate.apply(entity1)) {
 							list.add(entity1);
@@ -786,10 +793,14 @@ public class Chunk {
 		j = MathHelper.clamp_int(j, 0, this.entityLists.length - 1);
 
 		for (int k = i; k <= j; ++k) {
-			for (Entity entity : this.entityLists[k].getByClass(oclass)) {
-				if (entity.getEntityBoundingBox().intersectsWith(axisalignedbb)
-						&& (predicate == null || predicate.apply((T) entity))) {
-					list.add((T) entity);
+			if (!this.entityLists[k].isEmpty()) {
+				List<? extends T> entities = this.entityLists[k].getListByClass(oclass);
+				for (int m = 0, n = entities.size(); m < n; ++m) {
+					T entity = entities.get(m);
+					if (entity.getEntityBoundingBox().intersectsWith(axisalignedbb)
+							&& (predicate == null || predicate.apply(entity))) {
+						list.add(entity);
+					}
 				}
 			}
 		}
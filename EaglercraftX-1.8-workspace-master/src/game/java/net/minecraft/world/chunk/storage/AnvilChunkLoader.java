@@ -39,7 +39,7 @@ import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
  */
 public abstract class AnvilChunkLoader implements IChunkLoader {
 	private static final Logger logger = LogManager.getLogger("AnvilChunkLoader");
-	private static final String NEIGHBOR_LIGHT_CHECKS_KEY = "NeighborLightChecks";
+	protected static final String NEIGHBOR_LIGHT_CHECKS_KEY = "NeighborLightChecks";
 
 	/**+
 	 * Wraps readChunkFromNBT. Checks the coordinates and several
@@ -134,6 +134,16 @@ public abstract class AnvilChunkLoader implements IChunkLoader {
 
 		parNBTTagCompound.setTag("Sections", nbttaglist);
 		parNBTTagCompound.setByteArray("Biomes", chunkIn.getBiomeArray());
+		parNBTTagCompound.setTag("Entities", this.writeEntitiesToNBT(chunkIn));
+		parNBTTagCompound.setTag("TileEntities", this.writeTileEntitiesToNBT(chunkIn));
+		NBTTagList nbttaglist3 = this.writeTileTicksToNBT(chunkIn, worldIn);
+		if (nbttaglist3 != null) {
+			parNBTTagCompound.setTag("TileTicks", nbttaglist3);
+		}
+
+	}
+
+	protected NBTTagList writeEntitiesToNBT(Chunk chunkIn) {
 		chunkIn.setHasEntities(false);
 		NBTTagList nbttaglist1 = new NBTTagList();
 
@@ -147,7 +157,10 @@ public abstract class AnvilChunkLoader implements IChunkLoader {
 			}
 		}
 
-		parNBTTagCompound.setTag("Entities", nbttaglist1);
+		return nbttaglist1;
+	}
+
+	protected NBTTagList writeTileEntitiesToNBT(Chunk chunkIn) {
 		NBTTagList nbttaglist2 = new NBTTagList();
 
 		for (TileEntity tileentity : chunkIn.getTileEntityMap().values()) {
@@ -156,7 +169,13 @@ public abstract class AnvilChunkLoader implements IChunkLoader {
 			nbttaglist2.appendTag(nbttagcompound2);
 		}
 
-		parNBTTagCompound.setTag("TileEntities", nbttaglist2);
+		return nbttaglist2;
+	}
+
+	/**+
+	 * Returns null if the chunk has no pending block updates
+	 */
+	protected NBTTagList writeTileTicksToNBT(Chunk chunkIn, World worldIn) {
 		List<NextTickListEntry> list = worldIn.getPendingBlockUpdates(chunkIn, false);
 		if (list != null) {
 			long j1 = worldIn.getTotalWorldTime();
@@ -176,9 +195,10 @@ public abstract class AnvilChunkLoader implements IChunkLoader {
 				nbttaglist3.appendTag(nbttagcompound3);
 			}
 
-			parNBTTagCompound.setTag("TileTicks", nbttaglist3);
+			return nbttaglist3;
+		} else {
+			return null;
 		}
-
 	}
 
 	/**+
@@ -233,7 +253,21 @@ public abstract class AnvilChunkLoader implements IChunkLoader {
 			chunk.setBiomeArray(parNBTTagCompound.getByteArray("Biomes"));
 		}
 
-		NBTTagList nbttaglist1 = parNBTTagCompound.getTagList("Entities", 10);
+		this.readEntitiesFromNBT(chunk, worldIn, parNBTTagCompound.getTagList("Entities", 10));
+		this.readTileEntitiesFromNBT(chunk, parNBTTagCompound.getTagList("TileEntities", 10));
+		if (parNBTTagCompound.hasKey("TileTicks", 9)) {
+			this.readTileTicksFromNBT(worldIn, parNBTTagCompound.getTagList("TileTicks", 10));
+		}
+
+		if (parNBTTagCompound.hasKey(NEIGHBOR_LIGHT_CHECKS_KEY, 9)) {
+			alfheim$readNeighborLightChecks(chunk, parNBTTagCompound.getTagList(NEIGHBOR_LIGHT_CHECKS_KEY, 2));
+		}
+		chunk.alfheim$setLightInitialized(parNBTTagCompound.getBoolean("LightPopulated"));
+
+		return chunk;
+	}
+
+	protected void readEntitiesFromNBT(Chunk chunk, World worldIn, NBTTagList nbttaglist1) {
 		if (nbttaglist1 != null) {
 			for (int i2 = 0; i2 < nbttaglist1.tagCount(); ++i2) {
 				NBTTagCompound nbttagcompound1 = nbttaglist1.getCompoundTagAt(i2);
@@ -258,7 +292,9 @@ public abstract class AnvilChunkLoader implements IChunkLoader {
 			}
 		}
 
-		NBTTagList nbttaglist2 = parNBTTagCompound.getTagList("TileEntities", 10);
+	}
+
+	protected void readTileEntitiesFromNBT(Chunk chunk, NBTTagList nbttaglist2) {
 		if (nbttaglist2 != null) {
 			for (int j2 = 0; j2 < nbttaglist2.tagCount(); ++j2) {
 				NBTTagCompound nbttagcompound2 = nbttaglist2.getCompoundTagAt(j2);
@@ -269,40 +305,29 @@ public abstract class AnvilChunkLoader implements IChunkLoader {
 			}
 		}
 
-		if (parNBTTagCompound.hasKey("TileTicks", 9)) {
-			NBTTagList nbttaglist3 = parNBTTagCompound.getTagList("TileTicks", 10);
-			if (nbttaglist3 != null) {
-				for (int k2 = 0; k2 < nbttaglist3.tagCount(); ++k2) {
-					NBTTagCompound nbttagcompound3 = nbttaglist3.getCompoundTagAt(k2);
-					Block block;
-					if (nbttagcompound3.hasKey("i", 8)) {
-						block = Block.getBlockFromName(nbttagcompound3.getString("i"));
-					} else {
-						block = Block.getBlockById(nbttagcompound3.getInteger("i"));
-					}
+	}
 
-					worldIn.scheduleBlockUpdate(
-							new BlockPos(nbttagcompound3.getInteger("x"), nbttagcompound3.getInteger("y"),
-									nbttagcompound3.getInteger("z")),
-							block, nbttagcompound3.getInteger("t"), nbttagcompound3.getInteger("p"));
+	protected void readTileTicksFromNBT(World worldIn, NBTTagList nbttaglist3) {
+		if (nbttaglist3 != null) {
+			for (int k2 = 0; k2 < nbttaglist3.tagCount(); ++k2) {
+				NBTTagCompound nbttagcompound3 = nbttaglist3.getCompoundTagAt(k2);
+				Block block;
+				if (nbttagcompound3.hasKey("i", 8)) {
+					block = Block.getBlockFromName(nbttagcompound3.getString("i"));
+				} else {
+					block = Block.getBlockById(nbttagcompound3.getInteger("i"));
 				}
+
+				worldIn.scheduleBlockUpdate(
+						new BlockPos(nbttagcompound3.getInteger("x"), nbttagcompound3.getInteger("y"),
+								nbttagcompound3.getInteger("z")),
+						block, nbttagcompound3.getInteger("t"), nbttagcompound3.getInteger("p"));
 			}
 		}
-
-		alfheim$readNeighborLightChecksFromNBT(chunk, parNBTTagCompound);
-		chunk.alfheim$setLightInitialized(parNBTTagCompound.getBoolean("LightPopulated"));
-
-		return chunk;
 	}
 
-	private static void alfheim$readNeighborLightChecksFromNBT(final Chunk chunk, final NBTTagCompound compound) {
-		if (!compound.hasKey(NEIGHBOR_LIGHT_CHECKS_KEY, 9)) {
-			return;
-		}
-
-		final NBTTagList tagList = compound.getTagList(NEIGHBOR_LIGHT_CHECKS_KEY, 2);
-
-		if (tagList.tagCount() != 32) {
+	protected static void alfheim$readNeighborLightChecks(final Chunk chunk, final NBTTagList tagList) {
+		if (tagList.tagCount() != 32 || tagList.getTagType() != 2) {
 			return;
 		}
 
@@ -316,10 +341,21 @@ public abstract class AnvilChunkLoader implements IChunkLoader {
 	}
 
 	private static void alfheim$writeNeighborLightChecksToNBT(final Chunk chunk, final NBTTagCompound compound) {
+		final NBTTagList list = alfheim$writeNeighborLightChecks(chunk);
+
+		if (list != null) {
+			compound.setTag(NEIGHBOR_LIGHT_CHECKS_KEY, list);
+		}
+	}
+
+	/**+
+	 * Returns null if there are no neighbor light checks to save
+	 */
+	protected static NBTTagList alfheim$writeNeighborLightChecks(final Chunk chunk) {
 		final short[] neighborLightChecks = chunk.alfheim$neighborLightChecks;
 
 		if (neighborLightChecks == null) {
-			return;
+			return null;
 		}
 
 		boolean empty = true;
@@ -334,8 +370,6 @@ public abstract class AnvilChunkLoader implements IChunkLoader {
 			}
 		}
 
-		if (!empty) {
-			compound.setTag(NEIGHBOR_LIGHT_CHECKS_KEY, list);
-		}
+		return empty ? null : list;
 	}
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import com.google.common.collect.Lists;
@@ -40,6 +41,7 @@ public class RegionFile {
 	private final int[] chunkTimestamps = new int[1024];
 	private List<Boolean> sectorFree;
 	private int sizeDelta;
+	private byte[] readBuffer;
 
 	public RegionFile(RandomAccessMemoryFile dataFile) {
 		this.sizeDelta = 0;
@@ -142,6 +144,57 @@ public class RegionFile {
 		}
 	}
 
+	/**+
+	 * Returns an uncompressed chunk stream from the region file,
+	 * without buffering. The compressed data is copied into a
+	 * buffer owned by this region that is reused by the next
+	 * call, so the stream must be consumed before then.
+	 */
+	public synchronized InputStream getChunkInputStreamReusable(int x, int z) throws IOException {
+		if (this.outOfBounds(x, z)) {
+			return null;
+		} else {
+			int i = this.getOffset(x, z);
+			if (i == 0) {
+				return null;
+			} else {
+				int j = i >> 8;
+				int k = i & 255;
+				if (j + k > this.sectorFree.size()) {
+					return null;
+				} else {
+					this.dataFile.seek(j * 4096);
+					int l = this.dataFile.readInt();
+					if (l > 4096 * k || l <= 0) {
+						return null;
+					} else {
+						byte b0 = this.dataFile.readByte();
+						if (this.readBuffer == null || this.readBuffer.length < l - 1) {
+							this.readBuffer = new byte[(l - 1) | 0xFFFF];
+						}
+						this.dataFile.readFully(this.readBuffer, 0, l - 1);
+						if (b0 == 1) {
+							return EaglerZLIB.newGZIPInputStream(new EaglerInputStream(this.readBuffer, 0, l - 1));
+						} else if (b0 == 2) {
+							return EaglerZLIB.newInflaterInputStream(new EaglerInputStream(this.readBuffer, 0, l - 1));
+						} else {
+							return null;
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**+
+	 * Writes chunk data that was already compressed with zlib
+	 */
+	public void writeCompressedChunk(int x, int z, byte[] data, int length) {
+		if (!this.outOfBounds(x, z)) {
+			this.write(x, z, data, length);
+		}
+	}
+
 	/**+
 	 * Returns an output stream used to write chunk data. Data is on
 	 * disk when the returned stream is closed.
@@ -6,11 +6,11 @@ import com.carrotsearch.hppc.LongObjectMap;
 import com.carrotsearch.hppc.LongSet;
 import com.google.common.collect.Lists;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import net.minecraft.crash.CrashReport;
 import net.minecraft.crash.CrashReportCategory;
 import net.lax1dude.eaglercraft.v1_8.sp.server.EaglerMinecraftServer;
+import net.lax1dude.eaglercraft.v1_8.sp.server.ServerTickProfiler;
 import net.minecraft.entity.EnumCreatureType;
 import net.minecraft.util.BlockPos;
 import net.minecraft.util.IProgressUpdate;
@@ -52,6 +52,11 @@ public class ChunkProviderServer implements IChunkProvider {
 	private LongSet droppedChunksSet = new LongHashSet();
 	private Chunk dummyChunk;
 	private IChunkProvider serverChunkGenerator;
+	/**+
+	 * Populating a chunk can generate its neighbours, only the
+	 * outermost generation is timed so it isn't counted twice
+	 */
+	private int chunkGenDepth = 0;
 	private IChunkLoader chunkLoader;
 	/**+
 	 * if set, this flag forces a request to load a chunk to load
@@ -62,7 +67,18 @@ public class ChunkProviderServer implements IChunkProvider {
 	 * map of chunk Id's to Chunk instances
 	 */
 	private LongObjectMap<Chunk> id2ChunkMap = new LongObjectHashMap<>();
-	private List<Chunk> loadedChunks = Lists.newLinkedList();
+	/**+
+	 * Loaded chunks in no particular order, each chunk stores its
+	 * index so that it can be swap-removed when it is unloaded
+	 */
+	private List<Chunk> loadedChunks = Lists.newArrayList();
+	/**+
+	 * Position of the incremental save in loadedChunks, the chunks
+	 * before it have been visited in the current save pass
+	 */
+	private int saveCursor = 0;
+	private static final int MAX_CHUNKS_SCANNED_PER_SAVE = 256;
+	private static final int MAX_CHUNKS_SAVED_PER_SAVE = 24;
 	private WorldServer worldObj;
 
 	public ChunkProviderServer(WorldServer parWorldServer, IChunkLoader parIChunkLoader,
@@ -99,12 +115,43 @@ public class ChunkProviderServer implements IChunkProvider {
 	 * marks all chunks for unload, ignoring those near the spawn
 	 */
 	public void unloadAllChunks() {
-		for (Chunk chunk : this.loadedChunks) {
+		for (int i = 0, l = this.loadedChunks.size(); i < l; ++i) {
+			Chunk chunk = this.loadedChunks.get(i);
 			this.dropChunk(chunk.xPosition, chunk.zPosition);
 		}
 
 	}
 
+	private void addLoadedChunk(Chunk chunk) {
+		chunk.loadedChunkIndex = this.loadedChunks.size();
+		this.loadedChunks.add(chunk);
+		this.worldObj.getMobSpawner().onChunkLoaded(ChunkCoordIntPair.chunkXZ2Int(chunk.xPosition, chunk.zPosition));
+	}
+
+	private void removeLoadedChunk(Chunk chunk) {
+		int i = chunk.loadedChunkIndex;
+		if (i < 0 || i >= this.loadedChunks.size() || this.loadedChunks.get(i) != chunk) {
+			return;
+		}
+		if (i < this.saveCursor) {
+			// keep the chunks the current save pass has already visited before the cursor
+			int j = --this.saveCursor;
+			Chunk chunk1 = this.loadedChunks.get(j);
+			this.loadedChunks.set(i, chunk1);
+			chunk1.loadedChunkIndex = i;
+			i = j;
+		}
+		int last = this.loadedChunks.size() - 1;
+		if (i != last) {
+			Chunk chunk1 = this.loadedChunks.get(last);
+			this.loadedChunks.set(i, chunk1);
+			chunk1.loadedChunkIndex = i;
+		}
+		this.loadedChunks.remove(last);
+		chunk.loadedChunkIndex = -1;
+		this.worldObj.getMobSpawner().onChunkUnloaded(ChunkCoordIntPair.chunkXZ2Int(chunk.xPosition, chunk.zPosition));
+	}
+
 	/**+
 	 * loads or generates the chunk at the chunk location specified
 	 */
@@ -118,6 +165,7 @@ public class ChunkProviderServer implements IChunkProvider {
 				if (this.serverChunkGenerator == null) {
 					chunk = this.dummyChunk;
 				} else {
+					long l = this.chunkGenDepth++ == 0 ? ServerTickProfiler.begin() : 0L;
 					try {
 						chunk = this.serverChunkGenerator.provideChunk(i, j);
 						++EaglerMinecraftServer.counterChunkGenerate;
@@ -130,6 +178,10 @@ public class ChunkProviderServer implements IChunkProvider {
 						crashreportcategory.addCrashSection("Position hash", Long.valueOf(k));
 						crashreportcategory.addCrashSection("Generator", this.serverChunkGenerator.makeString());
 						throw new ReportedException(crashreport);
+					} finally {
+						if (--this.chunkGenDepth == 0) {
+							ServerTickProfiler.end(ServerTickProfiler.SECTION_CHUNK_GEN, l);
+						}
 					}
 				}
 			} else {
@@ -137,7 +189,7 @@ public class ChunkProviderServer implements IChunkProvider {
 			}
 
 			this.id2ChunkMap.put(k, chunk);
-			this.loadedChunks.add(chunk);
+			this.addLoadedChunk(chunk);
 			chunk.onChunkLoad();
 			chunk.populateChunk(this, this, i, j);
 		}
@@ -211,7 +263,14 @@ public class ChunkProviderServer implements IChunkProvider {
 		if (!chunk.isTerrainPopulated()) {
 			chunk.func_150809_p();
 			if (this.serverChunkGenerator != null) {
-				this.serverChunkGenerator.populate(ichunkprovider, i, j);
+				long l = this.chunkGenDepth++ == 0 ? ServerTickProfiler.begin() : 0L;
+				try {
+					this.serverChunkGenerator.populate(ichunkprovider, i, j);
+				} finally {
+					if (--this.chunkGenDepth == 0) {
+						ServerTickProfiler.end(ServerTickProfiler.SECTION_CHUNK_GEN, l);
+					}
+				}
 				chunk.setChunkModified();
 			}
 		}
@@ -230,36 +289,50 @@ public class ChunkProviderServer implements IChunkProvider {
 
 	/**+
 	 * Two modes of operation: if passed true, save all Chunks in
-	 * one go. If passed false, save up to two chunks. Return true
-	 * if all chunks have been saved.
+	 * one go. If passed false, continue the incremental save from
+	 * where the last call left off, looking at a bounded number of
+	 * chunks. Return true if all chunks have been saved.
 	 */
 	public boolean saveChunks(boolean flag, IProgressUpdate var2) {
-		int i = 0;
-		ArrayList arraylist = Lists.newArrayList(this.loadedChunks);
-
-		for (int j = 0, l = arraylist.size(); j < l; ++j) {
-			Chunk chunk = (Chunk) arraylist.get(j);
-			if (flag) {
+		if (flag) {
+			for (int j = 0, l = this.loadedChunks.size(); j < l; ++j) {
+				Chunk chunk = this.loadedChunks.get(j);
 				this.saveChunkExtraData(chunk);
+				if (chunk.needsSaving(true)) {
+					this.saveChunkData(chunk);
+					chunk.setModified(false);
+				}
 			}
 
-			if (chunk.needsSaving(flag)) {
+			this.saveCursor = 0;
+			return true;
+		}
+
+		int i = 0;
+		for (int j = 0; j < MAX_CHUNKS_SCANNED_PER_SAVE && this.saveCursor < this.loadedChunks.size(); ++j) {
+			Chunk chunk = this.loadedChunks.get(this.saveCursor++);
+			if (chunk.needsSaving(false)) {
 				this.saveChunkData(chunk);
 				chunk.setModified(false);
 				++i;
-				if (i == 24 && !flag) {
-					return false;
+				if (i == MAX_CHUNKS_SAVED_PER_SAVE) {
+					break;
 				}
 			}
 		}
 
-		return true;
+		if (this.saveCursor >= this.loadedChunks.size()) {
+			this.saveCursor = 0;
+			return true;
+		} else {
+			return false;
+		}
 	}
 
 	/**+
-	 * Save extra data not associated with any Chunk. Not saved
-	 * during autosave, only during world unload. Currently
-	 * unimplemented.
+	 * Save extra data not associated with any Chunk. For the
+	 * integrated server this writes out the chunks still queued by
+	 * the chunk loader and the dirty region files it holds.
 	 */
 	public void saveExtraData() {
 		if (this.chunkLoader != null) {
@@ -283,7 +356,7 @@ public class ChunkProviderServer implements IChunkProvider {
 						this.saveChunkData(chunk);
 						this.saveChunkExtraData(chunk);
 						this.id2ChunkMap.remove(olong);
-						this.loadedChunks.remove(chunk);
+						this.removeLoadedChunk(chunk);
 					}
 
 					this.droppedChunksSet.removeAll(olong);
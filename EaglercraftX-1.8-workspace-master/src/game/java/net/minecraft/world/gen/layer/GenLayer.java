@@ -33,6 +33,7 @@ import net.minecraft.world.gen.ChunkProviderSettings;
 public abstract class GenLayer {
 	protected long worldGenSeed;
 	protected GenLayer parent;
+	protected IntCache intCache;
 	private long chunkSeed;
 	protected long baseSeed;
 
@@ -99,6 +100,7 @@ public abstract class GenLayer {
 		GenLayerVoronoiZoom genlayervoronoizoom = new GenLayerVoronoiZoom(10L, genlayerrivermix);
 		genlayerrivermix.initWorldGenSeed(seed);
 		genlayervoronoizoom.initWorldGenSeed(seed);
+		genlayervoronoizoom.setIntCache(new IntCache());
 		return new GenLayer[] { genlayerrivermix, genlayervoronoizoom, genlayerrivermix };
 	}
 
@@ -112,6 +114,21 @@ public abstract class GenLayer {
 		this.baseSeed += parLong1;
 	}
 
+	/**+
+	 * Makes this layer and all of its parents allocate their
+	 * output arrays from the specified IntCache
+	 */
+	public void setIntCache(IntCache cache) {
+		this.intCache = cache;
+		if (this.parent != null) {
+			this.parent.setIntCache(cache);
+		}
+	}
+
+	public IntCache getIntCache() {
+		return this.intCache;
+	}
+
 	/**+
 	 * Initialize layer's local worldGenSeed based on its own
 	 * baseSeed and the world's global seed (passed in as an
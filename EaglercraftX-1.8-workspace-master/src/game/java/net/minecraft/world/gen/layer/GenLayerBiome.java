@@ -58,7 +58,7 @@ public class GenLayerBiome extends GenLayer {
 	 */
 	public int[] getInts(int i, int j, int k, int l) {
 		int[] aint = this.parent.getInts(i, j, k, l);
-		int[] aint1 = IntCache.getIntCache(k * l);
+		int[] aint1 = this.intCache.getIntCache(k * l);
 
 		for (int i1 = 0; i1 < l; ++i1) {
 			for (int j1 = 0; j1 < k; ++j1) {
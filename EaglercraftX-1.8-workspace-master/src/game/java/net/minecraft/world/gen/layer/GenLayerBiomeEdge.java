@@ -36,7 +36,7 @@ public class GenLayerBiomeEdge extends GenLayer {
 	 */
 	public int[] getInts(int i, int j, int k, int l) {
 		int[] aint = this.parent.getInts(i - 1, j - 1, k + 2, l + 2);
-		int[] aint1 = IntCache.getIntCache(k * l);
+		int[] aint1 = this.intCache.getIntCache(k * l);
 
 		for (int i1 = 0; i1 < l; ++i1) {
 			for (int j1 = 0; j1 < k; ++j1) {
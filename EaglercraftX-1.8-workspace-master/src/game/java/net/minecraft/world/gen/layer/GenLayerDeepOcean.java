@@ -40,7 +40,7 @@ public class GenLayerDeepOcean extends GenLayer {
 		int k = areaWidth + 2;
 		int l = areaHeight + 2;
 		int[] aint = this.parent.getInts(i, j, k, l);
-		int[] aint1 = IntCache.getIntCache(areaWidth * areaHeight);
+		int[] aint1 = this.intCache.getIntCache(areaWidth * areaHeight);
 
 		for (int i1 = 0; i1 < areaHeight; ++i1) {
 			for (int j1 = 0; j1 < areaWidth; ++j1) {
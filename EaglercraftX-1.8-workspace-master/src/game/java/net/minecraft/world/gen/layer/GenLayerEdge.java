@@ -53,7 +53,7 @@ public class GenLayerEdge extends GenLayer {
 		int k = 1 + parInt3 + 1;
 		int l = 1 + parInt4 + 1;
 		int[] aint = this.parent.getInts(i, j, k, l);
-		int[] aint1 = IntCache.getIntCache(parInt3 * parInt4);
+		int[] aint1 = this.intCache.getIntCache(parInt3 * parInt4);
 
 		for (int i1 = 0; i1 < parInt4; ++i1) {
 			for (int j1 = 0; j1 < parInt3; ++j1) {
@@ -84,7 +84,7 @@ public class GenLayerEdge extends GenLayer {
 		int k = 1 + parInt3 + 1;
 		int l = 1 + parInt4 + 1;
 		int[] aint = this.parent.getInts(i, j, k, l);
-		int[] aint1 = IntCache.getIntCache(parInt3 * parInt4);
+		int[] aint1 = this.intCache.getIntCache(parInt3 * parInt4);
 
 		for (int i1 = 0; i1 < parInt4; ++i1) {
 			for (int j1 = 0; j1 < parInt3; ++j1) {
@@ -110,7 +110,7 @@ public class GenLayerEdge extends GenLayer {
 
 	private int[] getIntsSpecial(int parInt1, int parInt2, int parInt3, int parInt4) {
 		int[] aint = this.parent.getInts(parInt1, parInt2, parInt3, parInt4);
-		int[] aint1 = IntCache.getIntCache(parInt3 * parInt4);
+		int[] aint1 = this.intCache.getIntCache(parInt3 * parInt4);
 
 		for (int i = 0; i < parInt4; ++i) {
 			for (int j = 0; j < parInt3; ++j) {
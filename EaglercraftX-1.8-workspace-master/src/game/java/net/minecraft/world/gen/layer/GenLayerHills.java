@@ -34,6 +34,11 @@ public class GenLayerHills extends GenLayer {
 		this.field_151628_d = parGenLayer2;
 	}
 
+	public void setIntCache(IntCache cache) {
+		this.field_151628_d.setIntCache(cache);
+		super.setIntCache(cache);
+	}
+
 	/**+
 	 * Returns a list of integer values generated by this layer.
 	 * These may be interpreted as temperatures, rainfall amounts,
@@ -43,7 +48,7 @@ public class GenLayerHills extends GenLayer {
 	public int[] getInts(int i, int j, int k, int l) {
 		int[] aint = this.parent.getInts(i - 1, j - 1, k + 2, l + 2);
 		int[] aint1 = this.field_151628_d.getInts(i - 1, j - 1, k + 2, l + 2);
-		int[] aint2 = IntCache.getIntCache(k * l);
+		int[] aint2 = this.intCache.getIntCache(k * l);
 
 		for (int i1 = 0; i1 < l; ++i1) {
 			for (int j1 = 0; j1 < k; ++j1) {
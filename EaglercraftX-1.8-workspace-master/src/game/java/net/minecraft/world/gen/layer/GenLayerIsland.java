@@ -32,7 +32,7 @@ public class GenLayerIsland extends GenLayer {
 	 * subclass.
 	 */
 	public int[] getInts(int i, int j, int k, int l) {
-		int[] aint = IntCache.getIntCache(k * l);
+		int[] aint = this.intCache.getIntCache(k * l);
 
 		for (int i1 = 0; i1 < l; ++i1) {
 			for (int j1 = 0; j1 < k; ++j1) {
@@ -38,7 +38,7 @@ public class GenLayerRemoveTooMuchOcean extends GenLayer {
 		int k1 = k + 2;
 		int l1 = l + 2;
 		int[] aint = this.parent.getInts(i1, j1, k1, l1);
-		int[] aint1 = IntCache.getIntCache(k * l);
+		int[] aint1 = this.intCache.getIntCache(k * l);
 
 		for (int i2 = 0; i2 < l; ++i2) {
 			for (int j2 = 0; j2 < k; ++j2) {
@@ -32,6 +32,12 @@ public class GenLayerRiverMix extends GenLayer {
 		this.riverPatternGeneratorChain = parGenLayer2;
 	}
 
+	public void setIntCache(IntCache cache) {
+		this.biomePatternGeneratorChain.setIntCache(cache);
+		this.riverPatternGeneratorChain.setIntCache(cache);
+		super.setIntCache(cache);
+	}
+
 	/**+
 	 * Initialize layer's local worldGenSeed based on its own
 	 * baseSeed and the world's global seed (passed in as an
@@ -52,7 +58,7 @@ public class GenLayerRiverMix extends GenLayer {
 	public int[] getInts(int i, int j, int k, int l) {
 		int[] aint = this.biomePatternGeneratorChain.getInts(i, j, k, l);
 		int[] aint1 = this.riverPatternGeneratorChain.getInts(i, j, k, l);
-		int[] aint2 = IntCache.getIntCache(k * l);
+		int[] aint2 = this.intCache.getIntCache(k * l);
 
 		for (int i1 = 0; i1 < k * l; ++i1) {
 			if (aint[i1] != BiomeGenBase.ocean.biomeID && aint[i1] != BiomeGenBase.deepOcean.biomeID) {
@@ -42,7 +42,7 @@ public class GenLayerVoronoiZoom extends GenLayer {
 		int[] aint = this.parent.getInts(i1, j1, k1, l1);
 		int i2 = k1 - 1 << 2;
 		int j2 = l1 - 1 << 2;
-		int[] aint1 = IntCache.getIntCache(i2 * j2);
+		int[] aint1 = this.intCache.getIntCache(i2 * j2);
 
 		for (int k2 = 0; k2 < l1 - 1; ++k2) {
 			int l2 = 0;
@@ -90,7 +90,7 @@ public class GenLayerVoronoiZoom extends GenLayer {
 			}
 		}
 
-		int[] aint2 = IntCache.getIntCache(k * l);
+		int[] aint2 = this.intCache.getIntCache(k * l);
 
 		for (int l4 = 0; l4 < l; ++l4) {
 			System.arraycopy(aint1, (l4 + (j & 3)) * i2 + (i & 3), aint2, l4 * k, k);
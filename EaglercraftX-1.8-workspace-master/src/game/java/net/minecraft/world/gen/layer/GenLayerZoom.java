@@ -40,7 +40,7 @@ public class GenLayerZoom extends GenLayer {
 		int[] aint = this.parent.getInts(i1, j1, k1, l1);
 		int i2 = k1 - 1 << 1;
 		int j2 = l1 - 1 << 1;
-		int[] aint1 = IntCache.getIntCache(i2 * j2);
+		int[] aint1 = this.intCache.getIntCache(i2 * j2);
 
 		for (int k2 = 0; k2 < l1 - 1; ++k2) {
 			int l2 = (k2 << 1) * i2;
@@ -60,7 +60,7 @@ public class GenLayerZoom extends GenLayer {
 			}
 		}
 
-		int[] aint2 = IntCache.getIntCache(k * l);
+		int[] aint2 = this.intCache.getIntCache(k * l);
 
 		for (int j4 = 0; j4 < l; ++j4) {
 			System.arraycopy(aint1, (j4 + (j & 1)) * i2 + (i & 1), aint2, j4 * k, k);
@@ -24,55 +24,61 @@ import java.util.List;
  * 
  */
 public class IntCache {
-	private static int intCacheSize = 256;
+	/**+
+	 * Every WorldChunkManager owns its own IntCache, which is shared
+	 * by all of the layers in its GenLayer chain, so separate
+	 * generators (and threads) never contend on a global pool or
+	 * reset each other's arrays
+	 */
+	private int intCacheSize = 256;
 	/**+
 	 * A list of pre-allocated int[256] arrays that are currently
 	 * unused and can be returned by getIntCache()
 	 */
-	private static List<int[]> freeSmallArrays = Lists.newArrayList();
+	private final List<int[]> freeSmallArrays = Lists.newArrayList();
 	/**+
 	 * A list of pre-allocated int[256] arrays that were previously
 	 * returned by getIntCache() and which will not be re-used again
 	 * until resetIntCache() is called.
 	 */
-	private static List<int[]> inUseSmallArrays = Lists.newArrayList();
+	private final List<int[]> inUseSmallArrays = Lists.newArrayList();
 	/**+
 	 * A list of pre-allocated int[cacheSize] arrays that are
 	 * currently unused and can be returned by getIntCache()
 	 */
-	private static List<int[]> freeLargeArrays = Lists.newArrayList();
+	private final List<int[]> freeLargeArrays = Lists.newArrayList();
 	/**+
 	 * A list of pre-allocated int[cacheSize] arrays that were
 	 * previously returned by getIntCache() and which will not be
 	 * re-used again until resetIntCache() is called.
 	 */
-	private static List<int[]> inUseLargeArrays = Lists.newArrayList();
+	private final List<int[]> inUseLargeArrays = Lists.newArrayList();
 
-	public static synchronized int[] getIntCache(int parInt1) {
+	public int[] getIntCache(int parInt1) {
 		if (parInt1 <= 256) {
-			if (freeSmallArrays.isEmpty()) {
+			if (this.freeSmallArrays.isEmpty()) {
 				int[] aint4 = new int[256];
-				inUseSmallArrays.add(aint4);
+				this.inUseSmallArrays.add(aint4);
 				return aint4;
 			} else {
-				int[] aint3 = (int[]) freeSmallArrays.remove(freeSmallArrays.size() - 1);
-				inUseSmallArrays.add(aint3);
+				int[] aint3 = (int[]) this.freeSmallArrays.remove(this.freeSmallArrays.size() - 1);
+				this.inUseSmallArrays.add(aint3);
 				return aint3;
 			}
-		} else if (parInt1 > intCacheSize) {
-			intCacheSize = parInt1;
-			freeLargeArrays.clear();
-			inUseLargeArrays.clear();
-			int[] aint2 = new int[intCacheSize];
-			inUseLargeArrays.add(aint2);
+		} else if (parInt1 > this.intCacheSize) {
+			this.intCacheSize = parInt1;
+			this.freeLargeArrays.clear();
+			this.inUseLargeArrays.clear();
+			int[] aint2 = new int[this.intCacheSize];
+			this.inUseLargeArrays.add(aint2);
 			return aint2;
-		} else if (freeLargeArrays.isEmpty()) {
-			int[] aint1 = new int[intCacheSize];
-			inUseLargeArrays.add(aint1);
+		} else if (this.freeLargeArrays.isEmpty()) {
+			int[] aint1 = new int[this.intCacheSize];
+			this.inUseLargeArrays.add(aint1);
 			return aint1;
 		} else {
-			int[] aint = (int[]) freeLargeArrays.remove(freeLargeArrays.size() - 1);
-			inUseLargeArrays.add(aint);
+			int[] aint = (int[]) this.freeLargeArrays.remove(this.freeLargeArrays.size() - 1);
+			this.inUseLargeArrays.add(aint);
 			return aint;
 		}
 	}
@@ -81,27 +87,27 @@ public class IntCache {
 	 * Mark all pre-allocated arrays as available for re-use by
 	 * moving them to the appropriate free lists.
 	 */
-	public static synchronized void resetIntCache() {
-		if (!freeLargeArrays.isEmpty()) {
-			freeLargeArrays.remove(freeLargeArrays.size() - 1);
+	public void resetIntCache() {
+		if (!this.freeLargeArrays.isEmpty()) {
+			this.freeLargeArrays.remove(this.freeLargeArrays.size() - 1);
 		}
 
-		if (!freeSmallArrays.isEmpty()) {
-			freeSmallArrays.remove(freeSmallArrays.size() - 1);
+		if (!this.freeSmallArrays.isEmpty()) {
+			this.freeSmallArrays.remove(this.freeSmallArrays.size() - 1);
 		}
 
-		freeLargeArrays.addAll(inUseLargeArrays);
-		freeSmallArrays.addAll(inUseSmallArrays);
-		inUseLargeArrays.clear();
-		inUseSmallArrays.clear();
+		this.freeLargeArrays.addAll(this.inUseLargeArrays);
+		this.freeSmallArrays.addAll(this.inUseSmallArrays);
+		this.inUseLargeArrays.clear();
+		this.inUseSmallArrays.clear();
 	}
 
 	/**+
 	 * Gets a human-readable string that indicates the sizes of all
-	 * the cache fields. Basically a synchronized static toString.
+	 * the cache fields.
 	 */
-	public static synchronized String getCacheSizes() {
-		return "cache: " + freeLargeArrays.size() + ", tcache: " + freeSmallArrays.size() + ", allocated: "
-				+ inUseLargeArrays.size() + ", tallocated: " + inUseSmallArrays.size();
+	public String getCacheSizes() {
+		return "cache: " + this.freeLargeArrays.size() + ", tcache: " + this.freeSmallArrays.size() + ", allocated: "
+				+ this.inUseLargeArrays.size() + ", tallocated: " + this.inUseSmallArrays.size();
 	}
 }
\ No newline at end of file
@@ -31,6 +31,11 @@ import net.minecraft.world.IBlockAccess;
 public abstract class NodeProcessor {
 	protected IBlockAccess blockaccess;
 	protected IntObjectMap<PathPoint> pointMap = new IntObjectHashMap<>();
+	/**+
+	 * Points handed out by openPoint, reused by every search
+	 */
+	protected PathPoint[] pointPool = new PathPoint[64];
+	protected int pointPoolSize;
 	protected int entitySizeX;
 	protected int entitySizeY;
 	protected int entitySizeZ;
@@ -38,6 +43,7 @@ public abstract class NodeProcessor {
 	public void initProcessor(IBlockAccess iblockaccessIn, Entity entityIn) {
 		this.blockaccess = iblockaccessIn;
 		this.pointMap.clear();
+		this.pointPoolSize = 0;
 		this.entitySizeX = MathHelper.floor_float(entityIn.width + 1.0F);
 		this.entitySizeY = MathHelper.floor_float(entityIn.height + 1.0F);
 		this.entitySizeZ = MathHelper.floor_float(entityIn.width + 1.0F);
@@ -52,6 +58,18 @@ public abstract class NodeProcessor {
 	 * avoidsWater}
 	 */
 	public void postProcess() {
+		if (this.pointPool.length > 1024) {
+			this.pointPool = new PathPoint[64];
+			this.pointMap.release();
+		}
+	}
+
+	/**+
+	 * Returns the settings of this processor that change the paths
+	 * it finds, for comparing cached paths
+	 */
+	public int getSearchFlags() {
+		return 0;
 	}
 
 	/**+
@@ -61,7 +79,21 @@ public abstract class NodeProcessor {
 		int i = PathPoint.makeHash(x, y, z);
 		PathPoint pathpoint = this.pointMap.get(i);
 		if (pathpoint == null) {
-			pathpoint = new PathPoint(x, y, z);
+			if (this.pointPoolSize == this.pointPool.length) {
+				PathPoint[] apathpoint = new PathPoint[this.pointPoolSize << 1];
+				System.arraycopy(this.pointPool, 0, apathpoint, 0, this.pointPoolSize);
+				this.pointPool = apathpoint;
+			}
+
+			pathpoint = this.pointPool[this.pointPoolSize];
+			if (pathpoint == null) {
+				pathpoint = new PathPoint(x, y, z);
+				this.pointPool[this.pointPoolSize] = pathpoint;
+			} else {
+				pathpoint.reset(x, y, z);
+			}
+
+			++this.pointPoolSize;
 			this.pointMap.put(i, pathpoint);
 		}
 
@@ -280,4 +280,9 @@ public class WalkNodeProcessor extends NodeProcessor {
 	public boolean getAvoidsWater() {
 		return this.avoidsWater;
 	}
+
+	public int getSearchFlags() {
+		return (this.canEnterDoors ? 1 : 0) | (this.canBreakDoors ? 2 : 0) | (this.avoidsWater ? 4 : 0)
+				| (this.canSwim ? 8 : 0);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.benchmark;
+
+import java.util.List;
+
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.LongObjectMap;
+
+import net.lax1dude.eaglercraft.v1_8.sp.server.PathSearchScheduler;
+import net.minecraft.entity.EnumCreatureType;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.IProgressUpdate;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProvider;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.EmptyChunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.gen.ChunkProviderGenerate;
+import net.minecraft.world.storage.SaveDataMemoryStorage;
+import net.minecraft.world.storage.SaveHandlerMP;
+import net.minecraft.world.storage.WorldInfo;
+
+/**
+ * Headless overworld for the benchmarks, chunks only exist after they have
+ * been generated with generateArea so a benchmark never pays for terrain
+ * generation it did not ask for. Lookups outside of the generated area return
+ * an empty chunk like the client chunk provider does
+ */
+public class BenchmarkWorld extends World {
+
+	static {
+		Bootstrap.register();
+	}
+
+	private final long seed;
+	private final PathSearchScheduler pathSearchScheduler = new PathSearchScheduler();
+	private BenchmarkChunkProvider benchmarkChunkProvider;
+
+	public BenchmarkWorld(long seed) {
+		super(new SaveHandlerMP(),
+				new WorldInfo(new WorldSettings(seed, WorldSettings.GameType.SURVIVAL, false, false, WorldType.DEFAULT),
+						"Benchmark"),
+				WorldProvider.getProviderForDimension(0), false);
+		this.seed = seed;
+		this.provider.registerWorld(this);
+		this.chunkProvider = this.createChunkProvider();
+		this.mapStorage = new SaveDataMemoryStorage();
+	}
+
+	protected IChunkProvider createChunkProvider() {
+		this.benchmarkChunkProvider = new BenchmarkChunkProvider(this,
+				new ChunkProviderGenerate(this, this.seed, false, ""));
+		return this.benchmarkChunkProvider;
+	}
+
+	/**
+	 * Path searches are scheduled like on a WorldServer, a benchmark that uses
+	 * mob navigators has to tick the scheduler itself
+	 */
+	public PathSearchScheduler getPathSearchScheduler() {
+		return this.pathSearchScheduler;
+	}
+
+	protected int getRenderDistanceChunks() {
+		return 8;
+	}
+
+	/**
+	 * Generates every chunk within radius of the given chunk and populates all
+	 * but the outer ring, which only exists so the populated chunks have their
+	 * neighbors
+	 */
+	public BenchmarkWorld generateArea(int chunkX, int chunkZ, int radius) {
+		for (int x = -radius; x <= radius; ++x) {
+			for (int z = -radius; z <= radius; ++z) {
+				this.benchmarkChunkProvider.generateChunk(chunkX + x, chunkZ + z);
+			}
+		}
+		for (int x = 1 - radius; x < radius; ++x) {
+			for (int z = 1 - radius; z < radius; ++z) {
+				this.benchmarkChunkProvider.populate(this.benchmarkChunkProvider, chunkX + x, chunkZ + z);
+			}
+		}
+		this.alfheim$getLightingEngine().processLightUpdates();
+		return this;
+	}
+
+	private static class BenchmarkChunkProvider implements IChunkProvider {
+
+		private final World world;
+		private final IChunkProvider generator;
+		private final LongObjectMap<Chunk> chunks = new LongObjectHashMap<>();
+		private final Chunk blankChunk;
+
+		private BenchmarkChunkProvider(World world, IChunkProvider generator) {
+			this.world = world;
+			this.generator = generator;
+			this.blankChunk = new EmptyChunk(world, 0, 0);
+		}
+
+		private Chunk generateChunk(int x, int z) {
+			long key = ChunkCoordIntPair.chunkXZ2Int(x, z);
+			Chunk chunk = this.chunks.get(key);
+			if (chunk == null) {
+				chunk = this.generator.provideChunk(x, z);
+				this.chunks.put(key, chunk);
+				chunk.onChunkLoad();
+			}
+			return chunk;
+		}
+
+		public boolean chunkExists(int x, int z) {
+			return this.chunks.containsKey(ChunkCoordIntPair.chunkXZ2Int(x, z));
+		}
+
+		public Chunk provideChunk(int x, int z) {
+			Chunk chunk = this.chunks.get(ChunkCoordIntPair.chunkXZ2Int(x, z));
+			return chunk == null ? this.blankChunk : chunk;
+		}
+
+		public Chunk provideChunk(BlockPos pos) {
+			return this.provideChunk(pos.getX() >> 4, pos.getZ() >> 4);
+		}
+
+		public void populate(IChunkProvider provider, int x, int z) {
+			Chunk chunk = this.provideChunk(x, z);
+			if (!chunk.isTerrainPopulated()) {
+				chunk.func_150809_p();
+				this.generator.populate(provider, x, z);
+			}
+		}
+
+		public boolean func_177460_a(IChunkProvider provider, Chunk chunk, int x, int z) {
+			return false;
+		}
+
+		public boolean saveChunks(boolean all, IProgressUpdate progress) {
+			return true;
+		}
+
+		public boolean unloadQueuedChunks() {
+			return false;
+		}
+
+		public boolean canSave() {
+			return false;
+		}
+
+		public String makeString() {
+			return "BenchmarkChunkCache: " + this.chunks.size();
+		}
+
+		public List<BiomeGenBase.SpawnListEntry> getPossibleCreatures(EnumCreatureType type, BlockPos pos) {
+			return this.generator.getPossibleCreatures(type, pos);
+		}
+
+		public BlockPos getStrongholdGen(World world, String name, BlockPos pos) {
+			return null;
+		}
+
+		public int getLoadedChunkCount() {
+			return this.chunks.size();
+		}
+
+		public void recreateStructures(Chunk chunk, int x, int z) {
+		}
+
+		public void saveExtraData() {
+		}
+
+		public Chunk getLoadedChunk(int x, int z) {
+			return this.chunks.get(ChunkCoordIntPair.chunkXZ2Int(x, z));
+		}
+	}
+}
\ No newline at end of file
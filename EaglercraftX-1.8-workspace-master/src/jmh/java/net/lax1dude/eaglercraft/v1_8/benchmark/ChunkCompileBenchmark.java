@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import net.minecraft.client.renderer.RegionRenderCache;
+import net.minecraft.client.renderer.RegionRenderCacheBuilder;
+import net.minecraft.client.renderer.chunk.SetVisibility;
+import net.minecraft.client.renderer.chunk.VisGraph;
+import net.minecraft.util.BlockPos;
+
+/**
+ * The part of RenderChunk.compileChunk that does not need a GL context or the
+ * baked block models: building the RegionRenderCache for a section, reading
+ * every block through it and computing the section's visibility graph
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChunkCompileBenchmark {
+
+	/**
+	 * 2 is solid underground, 4 is around sea level, 8 is open sky
+	 */
+	@Param({ "2", "4", "8" })
+	public int sectionY;
+
+	private BenchmarkWorld world;
+	private RegionRenderCacheBuilder builder;
+	private BlockPos position;
+
+	@Setup
+	public void setup() {
+		this.world = new BenchmarkWorld(8675309L).generateArea(0, 0, 2);
+		this.builder = new RegionRenderCacheBuilder();
+		this.position = new BlockPos(0, this.sectionY << 4, 0);
+	}
+
+	@Benchmark
+	public SetVisibility compileSection() {
+		BlockPos blockpos = this.position;
+		RegionRenderCache regionrendercache = new RegionRenderCache(this.world, blockpos.add(-1, -1, -1),
+				blockpos.add(16, 16, 16), 1);
+		regionrendercache.bindCaches(this.builder);
+		VisGraph visgraph = new VisGraph();
+		for (BlockPos pos : BlockPos.getAllInBoxMutable(blockpos, blockpos.add(15, 15, 15))) {
+			if (regionrendercache.getBlockStateFaster(pos).getBlock().isOpaqueCube()) {
+				visgraph.func_178606_a(pos);
+			}
+		}
+		return visgraph.computeVisibility();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import net.lax1dude.eaglercraft.v1_8.netty.Unpooled;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.S21PacketChunkData;
+import net.minecraft.world.chunk.Chunk;
+
+/**
+ * Full chunk S21PacketChunkData, encode is extracting the chunk and writing
+ * the packet, decode is reading the packet and filling a client chunk with it
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChunkPacketBenchmark {
+
+	private Chunk chunk;
+	private Chunk clientChunk;
+	private PacketBuffer encodeBuffer;
+	private PacketBuffer decodeBuffer;
+
+	@Setup
+	public void setup() throws IOException {
+		BenchmarkWorld world = new BenchmarkWorld(8675309L).generateArea(0, 0, 2);
+		this.chunk = world.getChunkFromChunkCoords(0, 0);
+		this.clientChunk = new Chunk(world, 0, 0);
+		this.encodeBuffer = new PacketBuffer(Unpooled.buffer(262144));
+		this.decodeBuffer = new PacketBuffer(Unpooled.buffer(262144));
+		(new S21PacketChunkData(this.chunk, true, 65535)).writePacketData(this.decodeBuffer);
+	}
+
+	@Benchmark
+	public int encode() throws IOException {
+		this.encodeBuffer.clear();
+		(new S21PacketChunkData(this.chunk, true, 65535)).writePacketData(this.encodeBuffer);
+		return this.encodeBuffer.writerIndex();
+	}
+
+	@Benchmark
+	public Chunk decode() throws IOException {
+		this.decodeBuffer.readerIndex(0);
+		S21PacketChunkData packet = new S21PacketChunkData();
+		packet.readPacketData(this.decodeBuffer);
+		this.clientChunk.fillChunk(packet.func_149272_d(), packet.getExtractedSize(), packet.func_149274_i());
+		return this.clientChunk;
+	}
+}
\ No newline at end of file
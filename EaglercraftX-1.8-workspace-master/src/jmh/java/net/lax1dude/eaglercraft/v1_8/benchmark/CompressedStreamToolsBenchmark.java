@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.benchmark;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import net.lax1dude.eaglercraft.v1_8.EaglerInputStream;
+import net.lax1dude.eaglercraft.v1_8.EaglerOutputStream;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+
+/**
+ * Round trips of a populated chunk in the same NBT layout the chunk loader
+ * saves, with and without the gzip stream around it
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CompressedStreamToolsBenchmark {
+
+	private NBTTagCompound chunkTag;
+	private byte[] compressed;
+	private byte[] uncompressed;
+	private EaglerOutputStream outputStream;
+
+	@Setup
+	public void setup() throws IOException {
+		BenchmarkWorld world = new BenchmarkWorld(8675309L).generateArea(0, 0, 2);
+		this.chunkTag = ChunkNBTWriter.writeChunk(world.getChunkFromChunkCoords(0, 0), world);
+		this.outputStream = new EaglerOutputStream(262144);
+		CompressedStreamTools.writeCompressed(this.chunkTag, this.outputStream);
+		this.compressed = this.outputStream.toByteArray();
+		this.outputStream.reset();
+		CompressedStreamTools.write(this.chunkTag, new DataOutputStream(this.outputStream));
+		this.uncompressed = this.outputStream.toByteArray();
+	}
+
+	@Benchmark
+	public int writeCompressed() throws IOException {
+		this.outputStream.reset();
+		CompressedStreamTools.writeCompressed(this.chunkTag, this.outputStream);
+		return this.outputStream.size();
+	}
+
+	@Benchmark
+	public NBTTagCompound readCompressed() throws IOException {
+		return CompressedStreamTools.readCompressed(new EaglerInputStream(this.compressed));
+	}
+
+	@Benchmark
+	public int write() throws IOException {
+		this.outputStream.reset();
+		CompressedStreamTools.write(this.chunkTag, new DataOutputStream(this.outputStream));
+		return this.outputStream.size();
+	}
+
+	@Benchmark
+	public NBTTagCompound read() throws IOException {
+		return CompressedStreamTools.read(new DataInputStream(new EaglerInputStream(this.uncompressed)));
+	}
+
+	private static class ChunkNBTWriter extends AnvilChunkLoader {
+
+		private static NBTTagCompound writeChunk(Chunk chunk, World world) {
+			NBTTagCompound root = new NBTTagCompound();
+			NBTTagCompound level = new NBTTagCompound();
+			root.setTag("Level", level);
+			(new ChunkNBTWriter()).writeChunkToNBT(chunk, world, level);
+			return root;
+		}
+
+		public Chunk loadChunk(World world, int x, int z) {
+			return null;
+		}
+
+		public void saveChunk(World world, Chunk chunk) {
+		}
+
+		public void saveExtraChunkData(World world, Chunk chunk) {
+		}
+
+		public void chunkTick() {
+		}
+
+		public void saveExtraData() {
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import dev.redstudio.alfheim.lighting.LightingEngine;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.BlockPos;
+
+/**
+ * Places and removes a block and runs the lighting engine after each change,
+ * so every invocation does one brightening and one darkening pass
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LightingEngineBenchmark {
+
+	private BenchmarkWorld world;
+	private LightingEngine lightingEngine;
+	private BlockPos surface;
+	private BlockPos sky;
+	private IBlockState air;
+	private IBlockState glowstone;
+	private IBlockState stone;
+
+	@Setup
+	public void setup() {
+		this.world = new BenchmarkWorld(8675309L).generateArea(0, 0, 3);
+		this.lightingEngine = this.world.alfheim$getLightingEngine();
+		this.surface = this.world.getHeight(new BlockPos(8, 0, 8));
+		this.sky = this.surface.up(8);
+		this.air = Blocks.air.getDefaultState();
+		this.glowstone = Blocks.glowstone.getDefaultState();
+		this.stone = Blocks.stone.getDefaultState();
+	}
+
+	@Benchmark
+	public void blockLight() {
+		this.world.setBlockState(this.surface, this.glowstone, 2);
+		this.lightingEngine.processLightUpdates();
+		this.world.setBlockState(this.surface, this.air, 2);
+		this.lightingEngine.processLightUpdates();
+	}
+
+	@Benchmark
+	public void skyLight() {
+		this.world.setBlockState(this.sky, this.stone, 2);
+		this.lightingEngine.processLightUpdates();
+		this.world.setBlockState(this.sky, this.air, 2);
+		this.lightingEngine.processLightUpdates();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import net.minecraft.entity.monster.EntityZombie;
+import net.minecraft.pathfinding.PathEntity;
+import net.minecraft.pathfinding.PathFinder;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.ChunkCache;
+import net.minecraft.world.pathfinder.WalkNodeProcessor;
+
+/**
+ * A zombie pathing across generated terrain, set up the same way
+ * PathNavigate.getPathToPos does it
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PathFinderBenchmark {
+
+	@Param({ "8", "24" })
+	public int distance;
+
+	private BenchmarkWorld world;
+	private EntityZombie entity;
+	private PathFinder pathFinder;
+	private BlockPos target;
+
+	@Setup
+	public void setup() {
+		this.world = new BenchmarkWorld(8675309L).generateArea(0, 0, 4);
+		BlockPos start = this.world.getHeight(new BlockPos(0, 0, 0));
+		this.entity = new EntityZombie(this.world);
+		this.entity.setPosition(start.getX() + 0.5D, start.getY(), start.getZ() + 0.5D);
+		this.target = this.world.getHeight(new BlockPos(this.distance, 0, this.distance));
+		WalkNodeProcessor nodeProcessor = new WalkNodeProcessor();
+		nodeProcessor.setEnterDoors(true);
+		this.pathFinder = new PathFinder(nodeProcessor);
+	}
+
+	@Benchmark
+	public PathEntity createEntityPathTo() {
+		float f = (float) this.distance * 2.0F;
+		BlockPos blockpos = new BlockPos(this.entity);
+		int i = (int) (f + 8.0F);
+		ChunkCache chunkcache = new ChunkCache(this.world, blockpos.add(-i, -i, -i), blockpos.add(i, i, i), 0);
+		return this.pathFinder.createEntityPathTo(chunkcache, this.entity, this.target, f);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+
+package net.lax1dude.eaglercraft.v1_8.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import net.lax1dude.eaglercraft.v1_8.EaglercraftUUID;
+import net.lax1dude.eaglercraft.v1_8.mojang.authlib.GameProfile;
+import net.lax1dude.eaglercraft.v1_8.sp.server.PathSearchScheduler;
+import net.minecraft.client.entity.EntityOtherPlayerMP;
+import net.minecraft.entity.monster.EntityZombie;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.pathfinding.PathNavigate;
+import net.minecraft.util.BlockPos;
+
+/**
+ * A crowd of zombies chasing one player through the world's
+ * PathSearchScheduler, each zombie asks for a path every third tick like
+ * EntityAIAttackOnCollide.shouldExecute does. Measures the ticks until every
+ * zombie has a path and fails if one of them never gets one
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PathSiegeBenchmark {
+
+	private static final int MAX_TICKS = 200;
+
+	@Param({ "16", "64", "256" })
+	public int zombies;
+
+	private BenchmarkWorld world;
+	private EntityPlayer player;
+	private EntityZombie[] entities;
+	private long worldTime = 0L;
+
+	@Setup
+	public void setup() {
+		this.world = new BenchmarkWorld(8675309L).generateArea(0, 0, 4);
+		BlockPos start = this.world.getHeight(new BlockPos(0, 0, 0));
+		this.player = new EntityOtherPlayerMP(this.world, new GameProfile(new EaglercraftUUID(0L, 1L), "Benchmark"));
+		this.player.setPosition(start.getX() + 0.5D, start.getY(), start.getZ() + 0.5D);
+		Random random = new Random(1234L);
+		this.entities = new EntityZombie[this.zombies];
+		for (int i = 0; i < this.zombies; ++i) {
+			double a = random.nextDouble() * Math.PI * 2.0D;
+			double d = 8.0D + random.nextDouble() * 16.0D;
+			BlockPos pos = this.world.getHeight(new BlockPos((int) (Math.cos(a) * d), 0, (int) (Math.sin(a) * d)));
+			EntityZombie entity = new EntityZombie(this.world);
+			entity.setPosition(pos.getX() + 0.5D, pos.getY(), pos.getZ() + 0.5D);
+			entity.onGround = true;
+			this.entities[i] = entity;
+		}
+	}
+
+	@Benchmark
+	public int pathAllZombies() {
+		PathSearchScheduler scheduler = this.world.getPathSearchScheduler();
+		// start every invocation with an expired path cache
+		this.worldTime += PathSearchScheduler.CACHE_TICKS;
+		int n = this.entities.length;
+		boolean[] found = new boolean[n];
+		int remaining = n;
+		for (int i = 0; i < n; ++i) {
+			this.entities[i].getNavigator().clearPathEntity();
+		}
+		int tick = 0;
+		while (remaining > 0) {
+			if (tick == MAX_TICKS) {
+				throw new IllegalStateException(remaining + " of " + n + " zombies did not get a path in "
+						+ MAX_TICKS + " ticks, " + scheduler.getPendingSearchCount() + " searches pending");
+			}
+			scheduler.tick(++this.worldTime);
+			for (int i = 0; i < n; ++i) {
+				if (!found[i] && (tick + i) % 3 == 0) {
+					PathNavigate nav = this.entities[i].getNavigator();
+					if (nav.getPathToEntityLiving(this.player) != null) {
+						found[i] = true;
+						--remaining;
+					}
+				}
+			}
+			++tick;
+		}
+		return tick;
+	}
+}
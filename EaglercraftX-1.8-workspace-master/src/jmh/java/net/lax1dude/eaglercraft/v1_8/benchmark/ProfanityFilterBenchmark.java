@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import net.lax1dude.eaglercraft.v1_8.profanity_filter.ProfanityFilter;
+
+/**
+ * Filters a rotating set of chat lines, the word list is loaded from the
+ * resources folder so this has to run with desktopRuntime as the working
+ * directory
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProfanityFilterBenchmark {
+
+	private static final String[] MESSAGES = new String[] { "hello", "anyone want to trade some iron for wheat?",
+			"\u00a7aGreen \u00a7lbold\u00a7r text with color codes in it",
+			"i.n.v.i.t.e y.o.u.r f.r.i.e.n.d.s t.o t.h.e s.e.r.v.e.r",
+			"wh4t 4r3 y0u d01ng 0v3r th3r3 w1th th4t d14m0nd p1ck4x3",
+			"the quick brown fox jumps over the lazy dog, the quick brown fox jumps over the lazy dog, "
+					+ "the quick brown fox jumps over the lazy dog",
+			"\u0430\u0440\u0440\u04cf\u0435 \u0440\u0456\u0435 mixed lookalike unicode",
+			"____----____ lots   of   delimiters ____----____" };
+
+	private ProfanityFilter filter;
+	private int index;
+
+	@Setup
+	public void setup() {
+		this.filter = ProfanityFilter.getInstance();
+		this.index = 0;
+	}
+
+	@Benchmark
+	public String profanityFilterString() {
+		return this.filter.profanityFilterString(MESSAGES[this.index++ % MESSAGES.length]);
+	}
+}
\ No newline at end of file
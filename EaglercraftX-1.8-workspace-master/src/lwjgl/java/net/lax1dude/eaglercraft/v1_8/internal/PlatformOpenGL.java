@@ -24,12 +24,15 @@ import net.lax1dude.eaglercraft.v1_8.internal.buffer.IntBuffer;
 import static org.lwjgl.opengles.GLES30.*;
 import static org.lwjgl.opengles.ANGLEInstancedArrays.*;
 import static org.lwjgl.opengles.EXTInstancedArrays.*;
+import static org.lwjgl.opengles.EXTMultiDrawArrays.*;
 import static org.lwjgl.opengles.EXTTextureStorage.*;
 import static org.lwjgl.opengles.OESVertexArrayObject.*;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import org.lwjgl.BufferUtils;
+import org.lwjgl.PointerBuffer;
 import org.lwjgl.opengles.GLESCapabilities;
 
 public class PlatformOpenGL {
@@ -41,6 +44,7 @@ public class PlatformOpenGL {
 	private static boolean hasEXTColorBufferHalfFloat = false;
 	private static boolean hasEXTGPUShader5 = false;
 	private static boolean hasEXTInstancedArrays = false;
+	private static boolean hasEXTMultiDrawArrays = false;
 	private static boolean hasEXTShaderTextureLOD = false;
 	private static boolean hasEXTTextureStorage = false;
 	private static boolean hasOESFBORenderMipmap = false;
@@ -85,6 +89,7 @@ public class PlatformOpenGL {
 		hasEXTColorBufferHalfFloat = !hasEXTColorBufferFloat
 				&& (glesVersIn == 310 || glesVersIn == 300 || glesVersIn == 200) && caps.GL_EXT_color_buffer_half_float;
 		hasEXTInstancedArrays = !hasANGLEInstancedArrays && glesVersIn == 200 && caps.GL_EXT_instanced_arrays;
+		hasEXTMultiDrawArrays = caps.GL_EXT_multi_draw_arrays;
 		hasEXTShaderTextureLOD = glesVersIn == 200 && caps.GL_EXT_shader_texture_lod;
 		hasEXTTextureStorage = glesVersIn == 200 && caps.GL_EXT_texture_storage;
 		hasOESGPUShader5 = glesVersIn == 310 && caps.GL_OES_gpu_shader5;
@@ -121,6 +126,7 @@ public class PlatformOpenGL {
 		if(hasEXTColorBufferHalfFloat) exts.add("EXT_color_buffer_half_float");
 		if(hasEXTGPUShader5) exts.add("EXT_gpu_shader5");
 		if(hasEXTInstancedArrays) exts.add("EXT_instanced_arrays");
+		if(hasEXTMultiDrawArrays) exts.add("EXT_multi_draw_arrays");
 		if(hasEXTTextureStorage) exts.add("EXT_texture_storage");
 		if(hasOESFBORenderMipmap) exts.add("OES_fbo_render_mipmap");
 		if(hasOESGPUShader5) exts.add("OES_gpu_shader5");
@@ -318,6 +324,18 @@ public class PlatformOpenGL {
 		glDeleteQueries(((OpenGLObjects.QueryGL) obj).ptr);
 	}
 
+	public static void _wglBeginQuery(int target, IQueryGL obj) {
+		glBeginQuery(target, ((OpenGLObjects.QueryGL) obj).ptr);
+	}
+
+	public static void _wglEndQuery(int target) {
+		glEndQuery(target);
+	}
+
+	public static int _wglGetQueryObjecti(IQueryGL obj, int param) {
+		return glGetQueryObjectui(((OpenGLObjects.QueryGL) obj).ptr, param);
+	}
+
 	public static void _wglBindBuffer(int target, IBufferGL obj) {
 		glBindBuffer(target, obj == null ? 0 : ((OpenGLObjects.BufferGL) obj).ptr);
 	}
@@ -341,6 +359,10 @@ public class PlatformOpenGL {
 		glBufferData(target, size, usage);
 	}
 
+	public static void _wglCopyBufferSubData(int readTarget, int writeTarget, int readOffset, int writeOffset, int size) {
+		glCopyBufferSubData(readTarget, writeTarget, readOffset, writeOffset, size);
+	}
+
 	public static void _wglBufferSubData(int target, int offset, ByteBuffer data) {
 		nglBufferSubData(target, offset, data == null ? 0 : data.remaining(),
 				data == null ? 0l : EaglerLWJGLAllocator.getAddress(data));
@@ -573,6 +595,28 @@ public class PlatformOpenGL {
 		glDrawElements(mode, count, type, offset);
 	}
 
+	private static java.nio.IntBuffer multiDrawCounts = null;
+	private static PointerBuffer multiDrawOffsets = null;
+
+	public static void _wglMultiDrawElements(int mode, int[] counts, int type, int[] offsets, int drawCount) {
+		if(!hasEXTMultiDrawArrays) {
+			throw new UnsupportedOperationException();
+		}
+		if(multiDrawCounts == null || multiDrawCounts.capacity() < drawCount) {
+			int newSize = Math.max(drawCount, 256);
+			multiDrawCounts = BufferUtils.createIntBuffer(newSize);
+			multiDrawOffsets = BufferUtils.createPointerBuffer(newSize);
+		}
+		multiDrawCounts.clear();
+		multiDrawOffsets.clear();
+		multiDrawCounts.put(counts, 0, drawCount).flip();
+		for(int i = 0; i < drawCount; ++i) {
+			multiDrawOffsets.put(offsets[i]);
+		}
+		multiDrawOffsets.flip();
+		glMultiDrawElementsEXT(mode, multiDrawCounts, type, multiDrawOffsets);
+	}
+
 	public static void _wglDrawElementsInstanced(int mode, int count, int type, int offset, int instanced) {
 		switch(instancingImpl) {
 		case INSTANCE_IMPL_CORE:
@@ -762,6 +806,10 @@ public class PlatformOpenGL {
 		return texStorageImpl != TEX_STORAGE_IMPL_NONE;
 	}
 
+	public static boolean checkMultiDrawCapable() {
+		return hasEXTMultiDrawArrays;
+	}
+
 	public static boolean checkTextureLODCapable() {
 		return glesVers >= 300 || hasEXTShaderTextureLOD;
 	}
@@ -64,11 +64,13 @@ import net.lax1dude.eaglercraft.v1_8.Filesystem;
 import net.lax1dude.eaglercraft.v1_8.internal.buffer.ByteBuffer;
 import net.lax1dude.eaglercraft.v1_8.internal.buffer.FloatBuffer;
 import net.lax1dude.eaglercraft.v1_8.internal.buffer.IntBuffer;
+import net.lax1dude.eaglercraft.v1_8.internal.lwjgl.DesktopChunkBuildExecutor;
 import net.lax1dude.eaglercraft.v1_8.internal.lwjgl.DesktopClientConfigAdapter;
 import net.lax1dude.eaglercraft.v1_8.internal.vfs2.VFile2;
 import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
 import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
 import net.lax1dude.eaglercraft.v1_8.minecraft.EaglerFolderResourcePack;
+import net.lax1dude.eaglercraft.v1_8.minecraft.IChunkBuildExecutor;
 import net.lax1dude.eaglercraft.v1_8.sp.server.internal.ServerPlatformSingleplayer;
 
 public class PlatformRuntime {
@@ -680,4 +682,9 @@ public class PlatformRuntime {
 		return false;
 	}
 
+	public static IChunkBuildExecutor createChunkBuildExecutor() {
+		int threads = Math.min(Runtime.getRuntime().availableProcessors() - 1, 4);
+		return threads > 0 ? new DesktopChunkBuildExecutor(threads) : null;
+	}
+
 }
\ No newline at end of file
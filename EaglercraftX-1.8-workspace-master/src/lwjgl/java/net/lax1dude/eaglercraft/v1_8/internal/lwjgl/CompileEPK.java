@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.internal.lwjgl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import net.lax1dude.eaglercraft.v1_8.sp.server.export.EPKCompiler;
+
+/**
+ * Packs the client's assets into an EPK v3 file. CompileEPK.sh and
+ * CompileEPK.bat run it through "gradlew compileEPK". It replaces the
+ * prebuilt desktopRuntime/CompileEPK.jar, which only writes EPK v2.
+ * 
+ * The header date is the current time unless SOURCE_DATE_EPOCH is set, in
+ * which case it is used (in UTC) so repeated builds are byte identical.
+ */
+public class CompileEPK {
+
+	public static void main(String[] args) throws IOException {
+		if(args.length != 2) {
+			System.out.println("Usage: CompileEPK <input directories> <output file>");
+			System.out.println("Multiple input directories are separated by \"" + File.pathSeparator + "\"");
+			System.exit(1);
+			return;
+		}
+		
+		List<String[]> files = new ArrayList<>();
+		for(String dir : args[0].split(File.pathSeparator)) {
+			File f = new File(dir);
+			if(!f.isDirectory()) {
+				throw new IOException("Input directory does not exist: " + f.getAbsolutePath());
+			}
+			listDirectory(f, "", files);
+		}
+		Collections.sort(files, (a, b) -> a[0].compareTo(b[0]));
+		
+		File outFile = new File(args[1]);
+		String name = outFile.getName();
+		if(name.endsWith(".epk")) {
+			name = name.substring(0, name.length() - 4);
+		}
+		
+		Date d;
+		TimeZone tz;
+		String sourceDateEpoch = System.getenv("SOURCE_DATE_EPOCH");
+		if(sourceDateEpoch != null && sourceDateEpoch.length() > 0) {
+			try {
+				d = new Date(Long.parseLong(sourceDateEpoch.trim()) * 1000l);
+			}catch(NumberFormatException ex) {
+				throw new IOException("SOURCE_DATE_EPOCH is not a number: " + sourceDateEpoch);
+			}
+			tz = TimeZone.getTimeZone("UTC");
+		}else {
+			d = new Date();
+			tz = TimeZone.getDefault();
+		}
+		String comment = "\n\n #  Eagler EPK v3.0 (c) " + format("yyyy", tz, d) + " lax1dude\n"
+				+ " #  update: on " + format("MM/dd/yyyy", tz, d) + " at " + format("hh:mm:ss aa", tz, d) + "\n\n";
+		
+		EPKCompiler comp = new EPKCompiler(name, null, "epk/resources", false, false, comment, true, d);
+		long totalSize = 0l;
+		for(int i = 0, l = files.size(); i < l; ++i) {
+			String[] e = files.get(i);
+			byte[] dat = Files.readAllBytes(new File(e[1]).toPath());
+			comp.append(e[0], dat);
+			totalSize += dat.length;
+		}
+		
+		byte[] epk = comp.complete();
+		File parent = outFile.getAbsoluteFile().getParentFile();
+		if(parent != null) {
+			parent.mkdirs();
+		}
+		try(OutputStream os = new FileOutputStream(outFile)) {
+			os.write(epk);
+		}
+		
+		System.out.println("Wrote " + files.size() + " files (" + (totalSize / 1024l) + " KiB) to \""
+				+ outFile.getPath() + "\" as EPK v3 (" + (epk.length / 1024) + " KiB)");
+	}
+
+	private static String format(String pattern, TimeZone tz, Date d) {
+		SimpleDateFormat fmt = new SimpleDateFormat(pattern, Locale.US);
+		fmt.setTimeZone(tz);
+		return fmt.format(d);
+	}
+
+	private static void listDirectory(File dir, String prefix, List<String[]> ret) throws IOException {
+		File[] list = dir.listFiles();
+		if(list == null) {
+			throw new IOException("Could not list directory: " + dir.getAbsolutePath());
+		}
+		for(int i = 0; i < list.length; ++i) {
+			File f = list[i];
+			String path = prefix + f.getName();
+			if(f.isDirectory()) {
+				listDirectory(f, path + "/", ret);
+			}else {
+				ret.add(new String[] { path, f.getPath() });
+			}
+		}
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.internal.lwjgl;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
+import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
+import net.lax1dude.eaglercraft.v1_8.minecraft.IChunkBuildExecutor;
+import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
+import net.minecraft.client.renderer.RegionRenderCacheBuilder;
+import net.minecraft.client.renderer.chunk.ChunkCompileTaskGenerator;
+import net.minecraft.util.EnumWorldBlockLayer;
+
+public class DesktopChunkBuildExecutor implements IChunkBuildExecutor {
+
+	private static final Logger logger = LogManager.getLogger("DesktopChunkBuildExecutor");
+
+	private final int threadCount;
+	private final BlockingQueue<ChunkCompileTaskGenerator> pendingTasks = new LinkedBlockingQueue<>();
+	private final Queue<ChunkCompileTaskGenerator> completedTasks = new ConcurrentLinkedQueue<>();
+	private final BlockingQueue<RegionRenderCacheBuilder> freeBuilders;
+
+	public DesktopChunkBuildExecutor(int threadCount) {
+		this.threadCount = threadCount;
+		// one more builder than threads so a worker can start on the next task
+		// while the main thread is still uploading the last one
+		this.freeBuilders = new ArrayBlockingQueue<>(threadCount + 1);
+		for(int i = 0; i <= threadCount; ++i) {
+			freeBuilders.add(new RegionRenderCacheBuilder());
+		}
+		for(int i = 0; i < threadCount; ++i) {
+			Thread t = new Thread(this::runWorker, "Chunk Builder #" + i);
+			t.setDaemon(true);
+			t.setPriority(Thread.NORM_PRIORITY - 1);
+			t.start();
+		}
+		logger.info("Compiling chunks on {} threads", threadCount);
+	}
+
+	private void runWorker() {
+		while(true) {
+			RegionRenderCacheBuilder builder;
+			ChunkCompileTaskGenerator generator;
+			try {
+				builder = freeBuilders.take();
+				generator = pendingTasks.take();
+			}catch(InterruptedException ex) {
+				return;
+			}
+			generator.setRegionRenderCacheBuilder(builder);
+			if(!generator.isFinished()) {
+				try {
+					generator.getRenderChunk().compileChunk(generator.getViewX(), generator.getViewY(),
+							generator.getViewZ(), generator);
+					generator.setStatus(ChunkCompileTaskGenerator.Status.UPLOADING);
+				}catch(Throwable t) {
+					logger.error("Failed to compile chunk at {}", generator.getPosition());
+					logger.error(t);
+					EnumWorldBlockLayer[] layers = EnumWorldBlockLayer._VALUES;
+					for(int i = 0; i < layers.length; ++i) {
+						WorldRenderer worldrenderer = builder.getWorldRendererByLayer(layers[i]);
+						if(worldrenderer.isDrawing()) {
+							worldrenderer.finishDrawing();
+						}
+					}
+				}
+			}
+			completedTasks.add(generator);
+		}
+	}
+
+	@Override
+	public int getThreadCount() {
+		return threadCount;
+	}
+
+	@Override
+	public void submitTask(ChunkCompileTaskGenerator generator) {
+		pendingTasks.add(generator);
+	}
+
+	@Override
+	public ChunkCompileTaskGenerator pollCompletedTask() {
+		return completedTasks.poll();
+	}
+
+	@Override
+	public void freeRenderBuilder(RegionRenderCacheBuilder builder) {
+		freeBuilders.add(builder);
+	}
+
+}
\ No newline at end of file
@@ -23,9 +23,15 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 
@@ -66,6 +72,29 @@ public class JDBCFilesystem implements IEaglerFilesystem {
 
 	private final Object mutex = new Object();
 
+	public static final int DEFAULT_WRITE_BATCH_WINDOW = 100;
+	public static final int MAX_BATCHED_WRITES = 512;
+	public static final int MAX_BATCHED_BYTES = 0x1000000;
+	public static final int READ_CACHE_MAX_FILE_SIZE = 0x10000;
+	public static final int READ_CACHE_MAX_BYTES = 0x800000;
+	public static final int WRITE_RETRY_DELAY = 1000;
+
+	/**
+	 * Writes are held here for up to writeBatchWindow milliseconds and then
+	 * committed together in one transaction, operations that touch a file by
+	 * name are answered from here first so nothing can observe the delay. A
+	 * write only leaves this map once its transaction has been committed, if
+	 * the commit fails it stays here and is retried
+	 */
+	private final int writeBatchWindow;
+	private final Map<String, byte[]> pendingWrites = new LinkedHashMap<>();
+	private int pendingWriteBytes = 0;
+	private long pendingWritesSince = 0l;
+	private Thread writeBatchThread = null;
+
+	private final LinkedHashMap<String, byte[]> readCache = new LinkedHashMap<>(64, 0.75f, true);
+	private int readCacheBytes = 0;
+
 	public static IEaglerFilesystem initialize(String dbName, String jdbcUri, String jdbcDriver) {
 		Class<?> driver;
 		try {
@@ -149,6 +178,12 @@ public class JDBCFilesystem implements IEaglerFilesystem {
 		this.renameStatement = conn.prepareStatement("UPDATE eaglercraft_desktop_runtime_filesystem SET FileName = ? WHERE FileName = ?");
 		this.iterateNonRecursive = conn.prepareStatement("SELECT FileName FROM eaglercraft_desktop_runtime_filesystem WHERE FileName LIKE ? AND NOT FileName LIKE ?");
 		this.iterateRecursive = conn.prepareStatement("SELECT FileName FROM eaglercraft_desktop_runtime_filesystem WHERE FileName LIKE ?");
+		this.writeBatchWindow = Integer.getInteger("eagler.jdbc." + dbName + ".writeBatchWindow", DEFAULT_WRITE_BATCH_WINDOW);
+		if(writeBatchWindow > 0) {
+			writeBatchThread = new Thread(this::writeBatchThreadLoop, "JDBCFilesystemWriter: " + dbName);
+			writeBatchThread.setDaemon(true);
+			writeBatchThread.start();
+		}
 		startCleanupThread();
 		synchronized(jdbcFilesystems) {
 			jdbcFilesystems.add(this);
@@ -187,16 +222,32 @@ public class JDBCFilesystem implements IEaglerFilesystem {
 
 	@Override
 	public void closeHandle() {
-		shutdown0();
+		SQLException ex = shutdown0();
 		synchronized(jdbcFilesystems) {
 			jdbcFilesystems.remove(this);
 		}
+		if(ex != null) {
+			throw new EaglerFileSystemException("Failed to commit pending file writes to database, they were lost: \"" + jdbcUri + "\"", ex);
+		}
 	}
 
-	private void shutdown0() {
+	/**
+	 * Returns the error if the pending writes could not be committed before
+	 * disconnecting, those writes are lost
+	 */
+	private SQLException shutdown0() {
+		SQLException ret = null;
 		synchronized(mutex) {
 			if(!hasClosed) {
 				hasClosed = true;
+				try {
+					flushPendingWrites();
+				}catch(SQLException ex) {
+					logger.error("Failed to commit {} pending file writes to database, they were lost: \"{}\"", pendingWrites.size(), jdbcUri);
+					logger.error(ex);
+					ret = ex;
+				}
+				mutex.notifyAll();
 				logger.info("Disconnecting from database: \"{}\"", jdbcUri);
 				try {
 					shutdown1();
@@ -206,6 +257,7 @@ public class JDBCFilesystem implements IEaglerFilesystem {
 				}
 			}
 		}
+		return ret;
 	}
 
 	private void shutdown1() throws SQLException {
@@ -230,19 +282,197 @@ public class JDBCFilesystem implements IEaglerFilesystem {
 		}
 	}
 
+	private void writeBatchThreadLoop() {
+		synchronized(mutex) {
+			while(!hasClosed) {
+				try {
+					if(pendingWrites.isEmpty()) {
+						mutex.wait();
+					}else {
+						long wait = pendingWritesSince + writeBatchWindow - PlatformRuntime.steadyTimeMillis();
+						if(wait > 0l) {
+							mutex.wait(wait);
+						}else {
+							try {
+								flushPendingWrites();
+							}catch(SQLException ex) {
+								logger.error("Failed to commit {} batched file writes to database, retrying in {}ms: \"{}\"", pendingWrites.size(), WRITE_RETRY_DELAY, jdbcUri);
+								logger.error(ex);
+								pendingWritesSince = PlatformRuntime.steadyTimeMillis() + WRITE_RETRY_DELAY;
+							}
+						}
+					}
+				}catch(InterruptedException ex) {
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Must be called with the mutex held
+	 */
+	private void checkOpen() throws SQLException {
+		if(hasClosed || conn.isClosed()) {
+			throw new SQLException("Filesystem database connection is closed!");
+		}
+	}
+
+	/**
+	 * Must be called with the mutex held, commits all pending writes in one
+	 * transaction. If it throws nothing was committed and the writes are still
+	 * pending, so reads keep returning the new data
+	 */
+	private void flushPendingWrites() throws SQLException {
+		if(pendingWrites.isEmpty()) {
+			return;
+		}
+		List<Entry<String, byte[]>> writes = new ArrayList<>(pendingWrites.size());
+		for(Entry<String, byte[]> etr : pendingWrites.entrySet()) {
+			writes.add(new SimpleImmutableEntry<>(etr.getKey(), etr.getValue()));
+		}
+		boolean autoCommit = conn.getAutoCommit();
+		try {
+			if(autoCommit) {
+				conn.setAutoCommit(false);
+			}
+			upsertBatch(writes);
+			if(autoCommit) {
+				conn.commit();
+			}
+		}catch(SQLException ex) {
+			try {
+				updateStatement.clearBatch();
+				createStatement.clearBatch();
+			}catch(SQLException ex2) {
+			}
+			if(autoCommit) {
+				try {
+					conn.rollback();
+				}catch(SQLException ex2) {
+				}
+			}
+			throw ex;
+		}finally {
+			if(autoCommit) {
+				conn.setAutoCommit(true);
+			}
+		}
+		for(int i = 0, l = writes.size(); i < l; ++i) {
+			Entry<String, byte[]> etr = writes.get(i);
+			String pathName = etr.getKey();
+			byte[] data = etr.getValue();
+			// only drop the entry if it still holds the data that was committed
+			if(pendingWrites.get(pathName) == data) {
+				pendingWrites.remove(pathName);
+				pendingWriteBytes -= data.length;
+				putReadCache(pathName, data);
+			}
+		}
+	}
+
+	/**
+	 * Updates every file in one batch, then inserts the ones that did not exist
+	 * yet in a second batch, instead of an exists query before every write
+	 */
+	private void upsertBatch(List<Entry<String, byte[]>> writes) throws SQLException {
+		int cnt = writes.size();
+		for(int i = 0; i < cnt; ++i) {
+			Entry<String, byte[]> etr = writes.get(i);
+			updateStatement.setInt(1, etr.getValue().length);
+			updateStatement.setBytes(2, etr.getValue());
+			updateStatement.setString(3, etr.getKey());
+			updateStatement.addBatch();
+		}
+		int[] updated = updateStatement.executeBatch();
+		boolean hasInserts = false;
+		for(int i = 0; i < cnt; ++i) {
+			Entry<String, byte[]> etr = writes.get(i);
+			boolean exists;
+			if(i < updated.length && updated[i] != Statement.SUCCESS_NO_INFO) {
+				exists = updated[i] > 0;
+			}else {
+				existsStatement.setString(1, etr.getKey());
+				try(ResultSet resultSet = existsStatement.executeQuery()) {
+					exists = resultSet.next() && resultSet.getInt(1) > 0;
+				}
+			}
+			if(!exists) {
+				createStatement.setString(1, etr.getKey());
+				createStatement.setInt(2, etr.getValue().length);
+				createStatement.setBytes(3, etr.getValue());
+				createStatement.addBatch();
+				hasInserts = true;
+			}
+		}
+		if(hasInserts) {
+			createStatement.executeBatch();
+		}
+	}
+
+	private void upsert(String pathName, byte[] data) throws SQLException {
+		updateStatement.setInt(1, data.length);
+		updateStatement.setBytes(2, data);
+		updateStatement.setString(3, pathName);
+		if(updateStatement.executeUpdate() == 0) {
+			createStatement.setString(1, pathName);
+			createStatement.setInt(2, data.length);
+			createStatement.setBytes(3, data);
+			createStatement.executeUpdate();
+		}
+	}
+
+	private byte[] getPendingOrCached(String pathName) {
+		byte[] ret = pendingWrites.get(pathName);
+		if(ret == null) {
+			ret = readCache.get(pathName);
+		}
+		return ret;
+	}
+
+	private void putReadCache(String pathName, byte[] data) {
+		byte[] old;
+		if(data.length <= READ_CACHE_MAX_FILE_SIZE) {
+			old = readCache.put(pathName, data);
+			readCacheBytes += data.length;
+		}else {
+			old = readCache.remove(pathName);
+		}
+		if(old != null) {
+			readCacheBytes -= old.length;
+		}
+		if(readCacheBytes > READ_CACHE_MAX_BYTES) {
+			Iterator<byte[]> itr = readCache.values().iterator();
+			while(readCacheBytes > READ_CACHE_MAX_BYTES && itr.hasNext()) {
+				readCacheBytes -= itr.next().length;
+				itr.remove();
+			}
+		}
+	}
+
+	private void evictReadCache(String pathName) {
+		byte[] old = readCache.remove(pathName);
+		if(old != null) {
+			readCacheBytes -= old.length;
+		}
+	}
+
 	@Override
 	public boolean eaglerDelete(String pathName) {
 		try {
 			synchronized(mutex) {
-				if(hasClosed || conn.isClosed()) {
-					throw new SQLException("Filesystem database connection is closed!");
+				checkOpen();
+				byte[] pending = pendingWrites.remove(pathName);
+				if(pending != null) {
+					pendingWriteBytes -= pending.length;
 				}
+				evictReadCache(pathName);
 				deleteStatement.setString(1, pathName);
 				int ret = deleteStatement.executeUpdate();
-				if(ret == 0) {
+				if(ret == 0 && pending == null) {
 					PlatformFilesystem.logger.warn("Tried to delete file that doesn't exist: \"{}\"", pathName);
 				}
-				return ret > 0;
+				return ret > 0 || pending != null;
 			}
 		}catch(SQLException ex) {
 			throw new EaglerFileSystemException("JDBC exception thrown while executing delete!", ex);
@@ -253,14 +483,14 @@ public class JDBCFilesystem implements IEaglerFilesystem {
 	public ByteBuffer eaglerRead(String pathName) {
 		try {
 			synchronized(mutex) {
-				if(hasClosed || conn.isClosed()) {
-					throw new SQLException("Filesystem database connection is closed!");
-				}
-				readStatement.setString(1, pathName);
-				byte[] has = null;
-				try(ResultSet resultSet = readStatement.executeQuery()) {
-					if(resultSet.next()) {
-						has = resultSet.getBytes(1);
+				checkOpen();
+				byte[] has = getPendingOrCached(pathName);
+				if(has == null) {
+					readStatement.setString(1, pathName);
+					try(ResultSet resultSet = readStatement.executeQuery()) {
+						if(resultSet.next()) {
+							has = resultSet.getBytes(1);
+						}
 					}
 				}
 				if(has == null) {
@@ -281,32 +511,25 @@ public class JDBCFilesystem implements IEaglerFilesystem {
 	public void eaglerWrite(String pathName, ByteBuffer data) {
 		try {
 			synchronized(mutex) {
-				if(hasClosed || conn.isClosed()) {
-					throw new SQLException("Filesystem database connection is closed!");
-				}
-				existsStatement.setString(1, pathName);
-				boolean exists;
-				try(ResultSet resultSet = existsStatement.executeQuery()) {
-					if(resultSet.next()) {
-						exists = resultSet.getInt(1) > 0;
-					}else {
-						exists = false;
-					}
-				}
+				checkOpen();
 				byte[] cp = new byte[data.remaining()];
 				data.get(cp);
-				if(exists) {
-					updateStatement.setInt(1, cp.length);
-					updateStatement.setBytes(2, cp);
-					updateStatement.setString(3, pathName);
-					if(updateStatement.executeUpdate() == 0) {
-						throw new EaglerFileSystemException("SQL file update query did not update any rows!");
-					}
-				}else {
-					createStatement.setString(1, pathName);
-					createStatement.setInt(2, cp.length);
-					createStatement.setBytes(3, cp);
-					createStatement.executeUpdate();
+				if(writeBatchWindow <= 0) {
+					upsert(pathName, cp);
+					putReadCache(pathName, cp);
+					return;
+				}
+				if(pendingWrites.isEmpty()) {
+					pendingWritesSince = PlatformRuntime.steadyTimeMillis();
+					mutex.notifyAll();
+				}
+				byte[] old = pendingWrites.put(pathName, cp);
+				if(old != null) {
+					pendingWriteBytes -= old.length;
+				}
+				pendingWriteBytes += cp.length;
+				if(pendingWrites.size() >= MAX_BATCHED_WRITES || pendingWriteBytes >= MAX_BATCHED_BYTES) {
+					flushPendingWrites();
 				}
 			}
 		}catch(SQLException ex) {
@@ -318,8 +541,9 @@ public class JDBCFilesystem implements IEaglerFilesystem {
 	public boolean eaglerExists(String pathName) {
 		try {
 			synchronized(mutex) {
-				if(hasClosed || conn.isClosed()) {
-					throw new SQLException("Filesystem database connection is closed!");
+				checkOpen();
+				if(getPendingOrCached(pathName) != null) {
+					return true;
 				}
 				existsStatement.setString(1, pathName);
 				try(ResultSet resultSet = existsStatement.executeQuery()) {
@@ -339,9 +563,10 @@ public class JDBCFilesystem implements IEaglerFilesystem {
 	public boolean eaglerMove(String pathNameOld, String pathNameNew) {
 		try {
 			synchronized(mutex) {
-				if(hasClosed || conn.isClosed()) {
-					throw new SQLException("Filesystem database connection is closed!");
-				}
+				checkOpen();
+				flushPendingWrites();
+				evictReadCache(pathNameOld);
+				evictReadCache(pathNameNew);
 				renameStatement.setString(1, pathNameNew);
 				renameStatement.setString(2, pathNameOld);
 				return renameStatement.executeUpdate() > 0;
@@ -355,42 +580,23 @@ public class JDBCFilesystem implements IEaglerFilesystem {
 	public int eaglerCopy(String pathNameOld, String pathNameNew) {
 		try {
 			synchronized(mutex) {
-				if(hasClosed || conn.isClosed()) {
-					throw new SQLException("Filesystem database connection is closed!");
-				}
-				readStatement.setString(1, pathNameOld);
-				try(ResultSet resultSet = readStatement.executeQuery()) {
-					byte[] has = null;
-					if(resultSet.next()) {
-						has = resultSet.getBytes(1);
+				checkOpen();
+				flushPendingWrites();
+				byte[] has = readCache.get(pathNameOld);
+				if(has == null) {
+					readStatement.setString(1, pathNameOld);
+					try(ResultSet resultSet = readStatement.executeQuery()) {
+						if(resultSet.next()) {
+							has = resultSet.getBytes(1);
+						}
 					}
 					if(has == null) {
 						return -1;
 					}
-					existsStatement.setString(1, pathNameNew);
-					boolean exists;
-					try(ResultSet resultSet2 = existsStatement.executeQuery()) {
-						if(resultSet2.next()) {
-							exists = resultSet2.getInt(1) > 0;
-						}else {
-							exists = false;
-						}
-					}
-					if(exists) {
-						updateStatement.setInt(1, has.length);
-						updateStatement.setBytes(2, has);
-						updateStatement.setString(3, pathNameNew);
-						if(updateStatement.executeUpdate() == 0) {
-							throw new EaglerFileSystemException("SQL file update query did not update any rows!");
-						}
-					}else {
-						createStatement.setString(1, pathNameNew);
-						createStatement.setInt(2, has.length);
-						createStatement.setBytes(3, has);
-						createStatement.executeUpdate();
-					}
-					return has.length;
 				}
+				upsert(pathNameNew, has);
+				putReadCache(pathNameNew, has);
+				return has.length;
 			}
 		}catch(SQLException ex) {
 			throw new EaglerFileSystemException("JDBC exception thrown while executing copy!", ex);
@@ -401,8 +607,10 @@ public class JDBCFilesystem implements IEaglerFilesystem {
 	public int eaglerSize(String pathName) {
 		try {
 			synchronized(mutex) {
-				if(hasClosed || conn.isClosed()) {
-					throw new SQLException("Filesystem database connection is closed!");
+				checkOpen();
+				byte[] has = getPendingOrCached(pathName);
+				if(has != null) {
+					return has.length;
 				}
 				sizeStatement.setString(1, pathName);
 				try(ResultSet resultSet = sizeStatement.executeQuery()) {
@@ -422,9 +630,8 @@ public class JDBCFilesystem implements IEaglerFilesystem {
 	public void eaglerIterate(String pathName, VFSFilenameIterator itr, boolean recursive) {
 		try {
 			synchronized(mutex) {
-				if(hasClosed || conn.isClosed()) {
-					throw new SQLException("Filesystem database connection is closed!");
-				}
+				checkOpen();
+				flushPendingWrites();
 				PreparedStatement stmt;
 				if(recursive) {
 					stmt = iterateRecursive;
@@ -16,7 +16,6 @@
 
 package net.lax1dude.eaglercraft.v1_8.sp.internal;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import net.lax1dude.eaglercraft.v1_8.internal.IPCPacketData;
@@ -34,30 +33,15 @@ public class ClientPlatformSingleplayer {
 	}
 
 	public static void sendPacket(IPCPacketData packet) {
-		synchronized(MemoryConnection.clientToServerQueue) {
-			MemoryConnection.clientToServerQueue.add(packet);
-		}
+		MemoryConnection.clientToServerQueue.add(packet);
 	}
 
 	public static IPCPacketData recievePacket() {
-		synchronized(MemoryConnection.serverToClientQueue) {
-			if(MemoryConnection.serverToClientQueue.size() > 0) {
-				return MemoryConnection.serverToClientQueue.remove(0);
-			}
-		}
-		return null;
+		return MemoryConnection.serverToClientQueue.poll();
 	}
 
 	public static List<IPCPacketData> recieveAllPacket() {
-		synchronized(MemoryConnection.serverToClientQueue) {
-			if(MemoryConnection.serverToClientQueue.size() == 0) {
-				return null;
-			}else {
-				List<IPCPacketData> ret = new ArrayList<>(MemoryConnection.serverToClientQueue);
-				MemoryConnection.serverToClientQueue.clear();
-				return ret;
-			}
-		}
+		return MemoryConnection.drainQueue(MemoryConnection.serverToClientQueue);
 	}
 
 	public static boolean canKillWorker() {
@@ -76,6 +60,10 @@ public class ClientPlatformSingleplayer {
 		return false;
 	}
 
+	public static boolean canRecycleIPCBuffers() {
+		return true;
+	}
+
 	public static void updateSingleThreadMode() {
 		
 	}
@@ -16,7 +16,6 @@
 
 package net.lax1dude.eaglercraft.v1_8.sp.server.internal;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -51,30 +50,15 @@ public class ServerPlatformSingleplayer {
 		if(PlatformWebRTC.serverLANPeerPassIPC(packet)) {
 			return;
 		}
-		synchronized(MemoryConnection.serverToClientQueue) {
-			MemoryConnection.serverToClientQueue.add(packet);
-		}
+		MemoryConnection.serverToClientQueue.add(packet);
 	}
 
 	public static IPCPacketData recievePacket() {
-		synchronized(MemoryConnection.clientToServerQueue) {
-			if(MemoryConnection.clientToServerQueue.size() > 0) {
-				return MemoryConnection.clientToServerQueue.remove(0);
-			}
-		}
-		return null;
+		return MemoryConnection.clientToServerQueue.poll();
 	}
 
 	public static List<IPCPacketData> recieveAllPacket() {
-		synchronized(MemoryConnection.clientToServerQueue) {
-			if(MemoryConnection.clientToServerQueue.size() == 0) {
-				return null;
-			}else {
-				List<IPCPacketData> ret = new ArrayList<>(MemoryConnection.clientToServerQueue);
-				MemoryConnection.clientToServerQueue.clear();
-				return ret;
-			}
-		}
+		return MemoryConnection.drainQueue(MemoryConnection.clientToServerQueue);
 	}
 
 	public static IClientConfigAdapter getClientConfigAdapter() {
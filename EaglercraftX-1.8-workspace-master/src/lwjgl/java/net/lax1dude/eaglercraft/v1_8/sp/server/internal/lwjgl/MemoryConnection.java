@@ -16,14 +16,28 @@
 
 package net.lax1dude.eaglercraft.v1_8.sp.server.internal.lwjgl;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import net.lax1dude.eaglercraft.v1_8.internal.IPCPacketData;
 
 public class MemoryConnection {
 
-	public static final List<IPCPacketData> clientToServerQueue = new LinkedList<>();
-	public static final List<IPCPacketData> serverToClientQueue = new LinkedList<>();
+	public static final Queue<IPCPacketData> clientToServerQueue = new ConcurrentLinkedQueue<>();
+	public static final Queue<IPCPacketData> serverToClientQueue = new ConcurrentLinkedQueue<>();
+
+	public static List<IPCPacketData> drainQueue(Queue<IPCPacketData> queue) {
+		IPCPacketData pkt = queue.poll();
+		if(pkt == null) {
+			return null;
+		}
+		List<IPCPacketData> ret = new ArrayList<>();
+		do {
+			ret.add(pkt);
+		}while((pkt = queue.poll()) != null);
+		return ret;
+	}
 
 }
\ No newline at end of file
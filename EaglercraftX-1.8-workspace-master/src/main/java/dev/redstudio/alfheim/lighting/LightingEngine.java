@@ -1,7 +1,10 @@
 package dev.redstudio.alfheim.lighting;
 
+import com.carrotsearch.hppc.LongIntHashMap;
+
 import dev.redstudio.alfheim.utils.DeduplicatedLongQueue;
 import dev.redstudio.redcore.math.ClampUtil;
+import net.lax1dude.eaglercraft.v1_8.sp.server.EaglerMinecraftServer;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.BlockPos;
 import net.minecraft.util.EnumFacing;
@@ -29,6 +32,13 @@ public final class LightingEngine {
 	// Layout of longs: [padding(4)] [y(8)] [x(26)] [z(26)]
 	private final DeduplicatedLongQueue[] lightUpdateQueues = new DeduplicatedLongQueue[EnumSkyBlock.values().length];
 
+	// Number of queued light updates per chunk (keyed by pos & M_CHUNK), used to
+	// tell in O(1) whether a chunk needs to be flushed before it is read
+	private final LongIntHashMap[] pendingUpdates = new LongIntHashMap[EnumSkyBlock.values().length];
+
+	// Scratch queue for the updates selected by processLightUpdatesForChunk
+	private final DeduplicatedLongQueue selectedUpdates;
+
 	// Layout of longs: see above
 	private final DeduplicatedLongQueue[] darkeningQueues = new DeduplicatedLongQueue[MAX_LIGHT_LEVEL + 1];
 	private final DeduplicatedLongQueue[] brighteningQueues = new DeduplicatedLongQueue[MAX_LIGHT_LEVEL + 1];
@@ -86,8 +96,12 @@ public final class LightingEngine {
 		initialBrightenings = new DeduplicatedLongQueue(16384);
 		initialDarkenings = new DeduplicatedLongQueue(16384);
 
-		for (int i = 0; i < EnumSkyBlock.values().length; ++i)
+		selectedUpdates = new DeduplicatedLongQueue(1024);
+
+		for (int i = 0; i < EnumSkyBlock.values().length; ++i) {
 			lightUpdateQueues[i] = new DeduplicatedLongQueue(16384);
+			pendingUpdates[i] = new LongIntHashMap(256);
+		}
 
 		for (int i = 0; i < darkeningQueues.length; ++i)
 			darkeningQueues[i] = new DeduplicatedLongQueue(16384);
@@ -113,7 +127,10 @@ public final class LightingEngine {
 	 * processed later by {@link LightingEngine#processLightUpdates()}
 	 */
 	private void scheduleLightUpdate(final EnumSkyBlock lightType, final long blockPos) {
-		lightUpdateQueues[lightType.ordinal()].enqueue(blockPos);
+		final int type = lightType.ordinal();
+
+		if (lightUpdateQueues[type].enqueue(blockPos))
+			pendingUpdates[type].addTo(blockPos & M_CHUNK, 1);
 	}
 
 	/**
@@ -135,10 +152,89 @@ public final class LightingEngine {
 		if (queue.isEmpty())
 			return;
 
-		processLightUpdatesForTypeInner(lightType, queue);
+		processLightUpdatesForTypeInner(lightType, queue, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Processes at most {@code maxUpdates} of the queued light updates, the rest
+	 * stay queued for a later call. Used by the server tick so that a burst of
+	 * block changes is spread over several ticks, anything that reads light from
+	 * a chunk still flushes that chunk first via
+	 * {@link LightingEngine#processLightUpdatesForChunk(int, int)}
+	 */
+	public void processLightUpdatesBudgeted(int maxUpdates) {
+		for (int i = 0; i < lightUpdateQueues.length && maxUpdates > 0; ++i) {
+			final DeduplicatedLongQueue queue = lightUpdateQueues[i];
+
+			if (!queue.isEmpty())
+				maxUpdates -= processLightUpdatesForTypeInner(EnumSkyBlock._VALUES[i], queue, maxUpdates);
+		}
+	}
+
+	/**
+	 * Calls {@link LightingEngine#processLightUpdatesForChunk(EnumSkyBlock, int, int)}
+	 * for both light types
+	 */
+	public void processLightUpdatesForChunk(final int chunkX, final int chunkZ) {
+		processLightUpdatesForChunk(EnumSkyBlock.SKY, chunkX, chunkZ);
+		processLightUpdatesForChunk(EnumSkyBlock.BLOCK, chunkX, chunkZ);
+	}
+
+	/**
+	 * Processes the queued light updates of the given light type that can change
+	 * the light values inside the given chunk, which are the ones in the chunk
+	 * itself and its 8 neighbors since light spreads at most 15 blocks. Updates
+	 * elsewhere stay queued
+	 */
+	public void processLightUpdatesForChunk(final EnumSkyBlock lightType, final int chunkX, final int chunkZ) {
+		final int type = lightType.ordinal();
+		final DeduplicatedLongQueue queue = lightUpdateQueues[type];
+
+		if (queue.isEmpty())
+			return;
+
+		final LongIntHashMap pending = pendingUpdates[type];
+		int nearby = 0;
+
+		for (int x = -1; x <= 1; ++x)
+			for (int z = -1; z <= 1; ++z)
+				nearby += pending.get(encodeChunkIdentifier(chunkX + x, chunkZ + z));
+
+		if (nearby == 0)
+			return;
+
+		if (nearby == queue.size()) {
+			processLightUpdatesForTypeInner(lightType, queue, Integer.MAX_VALUE);
+			return;
+		}
+
+		// Rotate the queue once, moving the selected updates out and keeping the
+		// others in their original order
+		final long centerX = chunkX + (1L << L_X - 1 - 4);
+		final long centerZ = chunkZ + (1L << L_Z - 1 - 4);
+
+		for (int i = queue.size(); i > 0; --i) {
+			final long blockPos = queue.dequeueAndForget();
+			final long dx = (blockPos >> (S_X + 4) & (M_X >> 4)) - centerX;
+			final long dz = (blockPos >> (S_Z + 4) & (M_Z >> 4)) - centerZ;
+
+			if (dx >= -1 && dx <= 1 && dz >= -1 && dz <= 1)
+				selectedUpdates.enqueue(blockPos);
+			else
+				queue.enqueue(blockPos);
+		}
+
+		processLightUpdatesForTypeInner(lightType, selectedUpdates, Integer.MAX_VALUE);
 	}
 
-	private void processLightUpdatesForTypeInner(final EnumSkyBlock lightType, final DeduplicatedLongQueue queue) {
+	/**
+	 * Runs the light update algorithm, taking at most {@code maxSeeds} initial
+	 * updates from {@code seedQueue}
+	 *
+	 * @return The number of initial updates taken from the queue
+	 */
+	private int processLightUpdatesForTypeInner(final EnumSkyBlock lightType, final DeduplicatedLongQueue seedQueue,
+			final int maxSeeds) {
 		// Avoid nested calls
 		if (updating)
 			throw new IllegalStateException("Already processing updates!");
@@ -147,13 +243,21 @@ public final class LightingEngine {
 
 		currentChunkIdentifier = -1; // Reset chunk cache
 
-		currentQueue = queue;
-
-		if (currentQueue != null)
-			currentQueue.newDeduplicationSet();
+		final LongIntHashMap pending = pendingUpdates[lightType.ordinal()];
+		int seeds = 0;
 
 		// Process the queued updates and enqueue them for further processing
-		while (nextItem()) {
+		while (seeds < maxSeeds && !seedQueue.isEmpty()) {
+			final long blockPos = seedQueue.dequeueAndForget();
+			final long chunkIdentifier = blockPos & M_CHUNK;
+
+			++seeds;
+
+			if (pending.addTo(chunkIdentifier, -1) <= 0)
+				pending.remove(chunkIdentifier);
+
+			loadCursor(blockPos);
+
 			if (currentChunk == null)
 				continue;
 
@@ -169,6 +273,12 @@ public final class LightingEngine {
 														// scheduling
 		}
 
+		if (seedQueue.isEmpty())
+			seedQueue.newDeduplicationSet();
+
+		if (!world.isRemote)
+			EaglerMinecraftServer.counterLightUpdate += seeds;
+
 		currentQueue = initialBrightenings;
 
 		if (currentQueue != null)
@@ -288,6 +398,8 @@ public final class LightingEngine {
 		}
 
 		updating = false;
+
+		return seeds;
 	}
 
 	/**
@@ -424,6 +536,11 @@ public final class LightingEngine {
 				(int) (longPos >> S_Z & M_Z) - (1 << L_Z - 1));
 	}
 
+	private static long encodeChunkIdentifier(final int chunkX, final int chunkZ) {
+		return (((long) (chunkX << 4) + (1 << L_X - 1) << S_X) | ((long) (chunkZ << 4) + (1 << L_Z - 1) << S_Z))
+				& M_CHUNK;
+	}
+
 	private static long encodeWorldCoord(final BlockPos pos) {
 		return ((long) pos.getY() << S_Y) | ((long) pos.getX() + (1 << L_X - 1) << S_X)
 				| ((long) pos.getZ() + (1 << L_Z - 1) << S_Z);
@@ -441,7 +558,16 @@ public final class LightingEngine {
 			return false;
 		}
 
-		currentData = currentQueue.dequeue();
+		loadCursor(currentQueue.dequeue());
+
+		return true;
+	}
+
+	/**
+	 * Moves the cursor to the given item and fills in state data members
+	 */
+	private void loadCursor(final long data) {
+		currentData = data;
 		isNeighborDataValid = false;
 
 		decodeWorldCoord(currentPos, currentData);
@@ -452,8 +578,6 @@ public final class LightingEngine {
 			currentChunk = getChunk(currentPos);
 			currentChunkIdentifier = chunkIdentifier;
 		}
-
-		return true;
 	}
 
 	private byte getCursorCachedLight(final EnumSkyBlock lightType) {
@@ -34,10 +34,14 @@ public final class DeduplicatedLongQueue {
 	 * Adds a value to the queue.
 	 *
 	 * @param value The value to add to the queue
+	 * @return {@code true} if the value was not already queued
 	 */
-	public void enqueue(final long value) {
-		if (set.add(value))
+	public boolean enqueue(final long value) {
+		if (set.add(value)) {
 			queue.addLast(value);
+			return true;
+		}
+		return false;
 	}
 
 	/**
@@ -49,6 +53,18 @@ public final class DeduplicatedLongQueue {
 		return queue.removeFirst();
 	}
 
+	/**
+	 * Removes and returns the first value in the queue, also removing it from the
+	 * deduplication set so it can be enqueued again right away.
+	 *
+	 * @return The first value in the queue
+	 */
+	public long dequeueAndForget() {
+		final long value = queue.removeFirst();
+		set.remove(value);
+		return value;
+	}
+
 	/**
 	 * Returns whether the queue is empty.
 	 *
@@ -58,6 +74,15 @@ public final class DeduplicatedLongQueue {
 		return queue.isEmpty();
 	}
 
+	/**
+	 * Returns the number of values in the queue.
+	 *
+	 * @return The number of values in the queue
+	 */
+	public int size() {
+		return queue.size();
+	}
+
 	/**
 	 * Creates a new deduplication set.
 	 */
@@ -40,6 +40,7 @@ import net.lax1dude.eaglercraft.v1_8.internal.PlatformAssets;
 import net.lax1dude.eaglercraft.v1_8.internal.PlatformRuntime;
 import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
 import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
+import net.lax1dude.eaglercraft.v1_8.minecraft.IChunkBuildExecutor;
 import net.lax1dude.eaglercraft.v1_8.opengl.EaglercraftGPU;
 import net.lax1dude.eaglercraft.v1_8.recording.ScreenRecordingController;
 import net.lax1dude.eaglercraft.v1_8.update.UpdateService;
@@ -380,4 +381,8 @@ public class EagRuntime {
 		return PlatformRuntime.immediateContinueSupported();
 	}
 
+	public static IChunkBuildExecutor createChunkBuildExecutor() {
+		return PlatformRuntime.createChunkBuildExecutor();
+	}
+
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ import net.lax1dude.eaglercraft.v1_8.internal.PlatformFilesystem;
 import net.lax1dude.eaglercraft.v1_8.internal.RamdiskFilesystemImpl;
 import net.lax1dude.eaglercraft.v1_8.internal.VFSFilenameIterator;
 import net.lax1dude.eaglercraft.v1_8.internal.buffer.ByteBuffer;
+import net.lax1dude.eaglercraft.v1_8.internal.vfs2.EaglerFileSystemException;
 import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
 import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
 
@@ -57,7 +58,12 @@ public class Filesystem {
 	public static void closeAllHandles() {
 		for(FilesystemHandle handle : openFilesystems.values()) {
 			handle.refCount = 0;
-			handle.handle.closeHandle();
+			try {
+				handle.handle.closeHandle();
+			}catch(EaglerFileSystemException ex) {
+				logger.error("Failed to close filesystem \"{}\" cleanly!", handle.handle.getFilesystemName());
+				logger.error(ex);
+			}
 		}
 		openFilesystems.clear();
 	}
@@ -148,8 +154,11 @@ public class Filesystem {
 				--handle.refCount;
 				if(handle.refCount <= 0) {
 					logger.info("Releasing filesystem handle for: \"{}\"", handleImpl.getFilesystemName());
-					handleImpl.closeHandle();
-					openFilesystems.remove(handleImpl.getFilesystemName());
+					try {
+						handleImpl.closeHandle();
+					}finally {
+						openFilesystems.remove(handleImpl.getFilesystemName());
+					}
 				}
 			}
 		}
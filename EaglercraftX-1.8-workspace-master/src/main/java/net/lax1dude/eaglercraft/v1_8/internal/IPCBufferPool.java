@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.internal;
+
+/**
+ * Keeps a few of the large slabs that batched player channel packets are
+ * written into, so that a chunk-heavy join doesn't allocate a new one every
+ * tick. Slabs are only handed back here when the receiving side shares memory
+ * with the sender (desktop, or a single thread worker in the browser), the
+ * worker transfers its slabs to the main thread instead
+ */
+public class IPCBufferPool {
+
+	public static final int DEFAULT_SLAB_SIZE = 0x10000;
+	public static final int MAX_POOLED_SLAB_SIZE = 0x400000;
+	public static final int MAX_POOLED_SLABS = 4;
+
+	private static final byte[][] pool = new byte[MAX_POOLED_SLABS][];
+	private static int poolSize = 0;
+
+	public static byte[] acquire(int minSize) {
+		synchronized(pool) {
+			for(int i = poolSize - 1; i >= 0; --i) {
+				byte[] slab = pool[i];
+				if(slab.length >= minSize) {
+					pool[i] = pool[--poolSize];
+					pool[poolSize] = null;
+					return slab;
+				}
+			}
+		}
+		return new byte[Math.max(minSize, DEFAULT_SLAB_SIZE)];
+	}
+
+	public static void release(byte[] slab) {
+		if(slab.length > MAX_POOLED_SLAB_SIZE) {
+			return;
+		}
+		synchronized(pool) {
+			if(poolSize < MAX_POOLED_SLABS) {
+				pool[poolSize++] = slab;
+			}else {
+				int smallest = 0;
+				for(int i = 1; i < poolSize; ++i) {
+					if(pool[i].length < pool[smallest].length) {
+						smallest = i;
+					}
+				}
+				if(pool[smallest].length < slab.length) {
+					pool[smallest] = slab;
+				}
+			}
+		}
+	}
+
+}
\ No newline at end of file
@@ -58,6 +58,12 @@ public interface IWebSocketClient {
 
 	void send(byte[] bytes);
 
+	/**
+	 * Sends len bytes starting at off as one binary frame, the bytes are copied
+	 * before this returns so the array can be reused right away
+	 */
+	void send(byte[] bytes, int off, int len);
+
 	String getCurrentURI();
 
 	void setEnableStringFrames(boolean enable);
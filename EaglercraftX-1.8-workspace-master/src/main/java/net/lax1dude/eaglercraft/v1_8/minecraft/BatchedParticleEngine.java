@@ -0,0 +1,731 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.minecraft;
+
+import net.lax1dude.eaglercraft.v1_8.EaglercraftRandom;
+import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockLiquid;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.particle.EntityFX;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.EnumParticleTypes;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.World;
+
+/**
+ * Simulates the most common vanilla particles (smoke, redstone dust, rain
+ * drops and splashes, explosions and block cracks) without an EntityFX per
+ * particle. Every property lives in a primitive array indexed by particle,
+ * ticking does not allocate, collision only looks at the block bounds of the
+ * voxel a particle moves into instead of gathering bounding boxes, and
+ * rendering streams the arrays straight into the accelerated particle
+ * renderer (or the tessellator, if instancing is not available).
+ * 
+ * The motion, lifetime, colors and textures follow the EntityFX classes they
+ * replace, EffectRenderer only sends particles here while the vanilla
+ * factory is registered for their id.
+ */
+public class BatchedParticleEngine {
+
+	/**
+	 * Particles kept at once, when full new particles replace existing ones
+	 * round robin
+	 */
+	public static final int MAX_PARTICLES = 12288;
+
+	private static final byte TYPE_SMOKE = 0;
+	private static final byte TYPE_REDDUST = 1;
+	private static final byte TYPE_RAIN = 2;
+	private static final byte TYPE_EXPLODE = 3;
+	private static final byte TYPE_DIGGING = 4;
+
+	private final boolean[] enabledIds = new boolean[64];
+
+	private int count = 0;
+	private int capacity = 0;
+	private int replaceCursor = 0;
+	private final int[] layerCounts = new int[8];
+
+	private byte[] type;
+	private byte[] layer;
+	private double[] posX;
+	private double[] posY;
+	private double[] posZ;
+	private double[] prevPosX;
+	private double[] prevPosY;
+	private double[] prevPosZ;
+	private double[] motionX;
+	private double[] motionY;
+	private double[] motionZ;
+	private boolean[] onGround;
+	private int[] age;
+	private int[] maxAge;
+	private float[] height;
+	private float[] scale;
+	private float[] gravity;
+	private float[] colorR;
+	private float[] colorG;
+	private float[] colorB;
+	private int[] texX;
+	private int[] texY;
+	private int[] texSize;
+	private float[] minU;
+	private float[] maxU;
+	private float[] minV;
+	private float[] maxV;
+	private int[] light;
+	private int[] fallbackLight;
+
+	private final EaglercraftRandom rand = new EaglercraftRandom();
+	private final BlockPos tmpPos = new BlockPos(0, 0, 0);
+
+	private double boundsMinX;
+	private double boundsMinY;
+	private double boundsMinZ;
+	private double boundsMaxX;
+	private double boundsMaxY;
+	private double boundsMaxZ;
+
+	public BatchedParticleEngine() {
+		grow(256);
+	}
+
+	public void enableVanillaTypes() {
+		setTypeEnabled(EnumParticleTypes.SMOKE_NORMAL.getParticleID(), true);
+		setTypeEnabled(EnumParticleTypes.REDSTONE.getParticleID(), true);
+		setTypeEnabled(EnumParticleTypes.WATER_DROP.getParticleID(), true);
+		setTypeEnabled(EnumParticleTypes.WATER_SPLASH.getParticleID(), true);
+		setTypeEnabled(EnumParticleTypes.EXPLOSION_NORMAL.getParticleID(), true);
+		setTypeEnabled(EnumParticleTypes.BLOCK_CRACK.getParticleID(), true);
+	}
+
+	public void setTypeEnabled(int particleId, boolean enabled) {
+		if(particleId >= 0 && particleId < enabledIds.length) {
+			enabledIds[particleId] = enabled;
+		}
+	}
+
+	public int size() {
+		return count;
+	}
+
+	public boolean hasParticles(int fxLayer, int alphaLayer) {
+		return layerCounts[fxLayer * 2 + alphaLayer] > 0;
+	}
+
+	public void clear() {
+		count = 0;
+		replaceCursor = 0;
+		for(int i = 0; i < layerCounts.length; ++i) {
+			layerCounts[i] = 0;
+		}
+	}
+
+	/**
+	 * Spawns a particle for the given id if this engine handles it, returns
+	 * false if the caller should create an EntityFX instead
+	 */
+	public boolean spawn(World world, int particleId, double x, double y, double z, double xSpeed, double ySpeed,
+			double zSpeed, int... params) {
+		if(particleId < 0 || particleId >= enabledIds.length || !enabledIds[particleId]) {
+			return false;
+		}
+		EnumParticleTypes particleType = EnumParticleTypes.getParticleFromId(particleId);
+		if(particleType == null) {
+			return false;
+		}
+		switch(particleType) {
+		case SMOKE_NORMAL:
+			spawnSmoke(x, y, z, xSpeed, ySpeed, zSpeed);
+			return true;
+		case REDSTONE:
+			spawnReddust(x, y, z, (float) xSpeed, (float) ySpeed, (float) zSpeed);
+			return true;
+		case WATER_DROP:
+			spawnRain(x, y, z, false, 0.0D, 0.0D, 0.0D);
+			return true;
+		case WATER_SPLASH:
+			spawnRain(x, y, z, true, xSpeed, ySpeed, zSpeed);
+			return true;
+		case EXPLOSION_NORMAL:
+			spawnExplode(x, y, z, xSpeed, ySpeed, zSpeed);
+			return true;
+		case BLOCK_CRACK:
+			if(params.length < 1) {
+				return false;
+			}
+			spawnDigging(world, x, y, z, xSpeed, ySpeed, zSpeed, Block.getStateById(params[0]), null, 1.0F, 1.0F);
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private void grow(int newCapacity) {
+		type = copyOf(type, newCapacity);
+		layer = copyOf(layer, newCapacity);
+		posX = copyOf(posX, newCapacity);
+		posY = copyOf(posY, newCapacity);
+		posZ = copyOf(posZ, newCapacity);
+		prevPosX = copyOf(prevPosX, newCapacity);
+		prevPosY = copyOf(prevPosY, newCapacity);
+		prevPosZ = copyOf(prevPosZ, newCapacity);
+		motionX = copyOf(motionX, newCapacity);
+		motionY = copyOf(motionY, newCapacity);
+		motionZ = copyOf(motionZ, newCapacity);
+		onGround = copyOf(onGround, newCapacity);
+		age = copyOf(age, newCapacity);
+		maxAge = copyOf(maxAge, newCapacity);
+		height = copyOf(height, newCapacity);
+		scale = copyOf(scale, newCapacity);
+		gravity = copyOf(gravity, newCapacity);
+		colorR = copyOf(colorR, newCapacity);
+		colorG = copyOf(colorG, newCapacity);
+		colorB = copyOf(colorB, newCapacity);
+		texX = copyOf(texX, newCapacity);
+		texY = copyOf(texY, newCapacity);
+		texSize = copyOf(texSize, newCapacity);
+		minU = copyOf(minU, newCapacity);
+		maxU = copyOf(maxU, newCapacity);
+		minV = copyOf(minV, newCapacity);
+		maxV = copyOf(maxV, newCapacity);
+		light = copyOf(light, newCapacity);
+		fallbackLight = copyOf(fallbackLight, newCapacity);
+		capacity = newCapacity;
+	}
+
+	private int allocate(byte typeIn, int layerIn, double x, double y, double z) {
+		int i;
+		if(count == capacity && capacity < MAX_PARTICLES) {
+			grow(Math.min(capacity << 1, MAX_PARTICLES));
+		}
+		if(count < capacity) {
+			i = count++;
+		}else {
+			if(replaceCursor >= count) {
+				replaceCursor = 0;
+			}
+			i = replaceCursor++;
+			--layerCounts[layer[i]];
+		}
+		++layerCounts[layerIn];
+		type[i] = typeIn;
+		layer[i] = (byte) layerIn;
+		posX[i] = prevPosX[i] = x;
+		posY[i] = prevPosY[i] = y;
+		posZ[i] = prevPosZ[i] = z;
+		motionX[i] = motionY[i] = motionZ[i] = 0.0D;
+		onGround[i] = false;
+		age[i] = 0;
+		height[i] = 0.2F;
+		gravity[i] = 0.0F;
+		colorR[i] = colorG[i] = colorB[i] = 1.0F;
+		texX[i] = texY[i] = 0;
+		texSize[i] = 16;
+		light[i] = 0;
+		fallbackLight[i] = 0;
+		scale[i] = (rand.nextFloat() * 0.5F + 0.5F) * 2.0F;
+		maxAge[i] = (int) (4.0F / (rand.nextFloat() * 0.9F + 0.1F));
+		return i;
+	}
+
+	/**
+	 * The random initial motion of the 7 argument EntityFX constructor
+	 */
+	private void randomMotion(int i, double xSpeed, double ySpeed, double zSpeed) {
+		double mx = xSpeed + (rand.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
+		double my = ySpeed + (rand.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
+		double mz = zSpeed + (rand.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
+		float f = (float) (rand.nextDouble() + rand.nextDouble() + 1.0D) * 0.15F;
+		float f1 = MathHelper.sqrt_double(mx * mx + my * my + mz * mz);
+		motionX[i] = mx / (double) f1 * (double) f * 0.4000000059604645D;
+		motionY[i] = my / (double) f1 * (double) f * 0.4000000059604645D + 0.10000000149011612D;
+		motionZ[i] = mz / (double) f1 * (double) f * 0.4000000059604645D;
+	}
+
+	public void spawnSmoke(double x, double y, double z, double xSpeed, double ySpeed, double zSpeed) {
+		int i = allocate(TYPE_SMOKE, 1, x, y, z);
+		randomMotion(i, 0.0D, 0.0D, 0.0D);
+		motionX[i] = motionX[i] * 0.10000000149011612D + xSpeed;
+		motionY[i] = motionY[i] * 0.10000000149011612D + ySpeed;
+		motionZ[i] = motionZ[i] * 0.10000000149011612D + zSpeed;
+		colorR[i] = colorG[i] = colorB[i] = (float) (rand.nextDouble() * 0.30000001192092896D);
+		scale[i] *= 0.75F;
+		maxAge[i] = (int) (8.0D / (rand.nextDouble() * 0.8D + 0.2D));
+	}
+
+	public void spawnReddust(double x, double y, double z, float red, float green, float blue) {
+		int i = allocate(TYPE_REDDUST, 1, x, y, z);
+		randomMotion(i, 0.0D, 0.0D, 0.0D);
+		motionX[i] *= 0.10000000149011612D;
+		motionY[i] *= 0.10000000149011612D;
+		motionZ[i] *= 0.10000000149011612D;
+		if(red == 0.0F) {
+			red = 1.0F;
+		}
+		float f = rand.nextFloat() * 0.4F + 0.6F;
+		colorR[i] = ((float) (rand.nextDouble() * 0.20000000298023224D) + 0.8F) * red * f;
+		colorG[i] = ((float) (rand.nextDouble() * 0.20000000298023224D) + 0.8F) * green * f;
+		colorB[i] = ((float) (rand.nextDouble() * 0.20000000298023224D) + 0.8F) * blue * f;
+		scale[i] *= 0.75F;
+		maxAge[i] = (int) (8.0D / (rand.nextDouble() * 0.8D + 0.2D));
+	}
+
+	public void spawnRain(double x, double y, double z, boolean splash, double xSpeed, double ySpeed,
+			double zSpeed) {
+		int i = allocate(TYPE_RAIN, 1, x, y, z);
+		randomMotion(i, 0.0D, 0.0D, 0.0D);
+		motionX[i] *= 0.30000001192092896D;
+		motionY[i] = rand.nextDouble() * 0.20000000298023224D + 0.10000000149011612D;
+		motionZ[i] *= 0.30000001192092896D;
+		int tex = 19 + rand.nextInt(4);
+		texX[i] = tex & 15;
+		texY[i] = tex >> 4;
+		height[i] = 0.01F;
+		gravity[i] = 0.06F;
+		maxAge[i] = (int) (8.0D / (rand.nextDouble() * 0.8D + 0.2D));
+		if(splash) {
+			gravity[i] = 0.04F;
+			++texX[i];
+			if(ySpeed == 0.0D && (xSpeed != 0.0D || zSpeed != 0.0D)) {
+				motionX[i] = xSpeed;
+				motionY[i] = ySpeed + 0.1D;
+				motionZ[i] = zSpeed;
+			}
+		}
+	}
+
+	public void spawnExplode(double x, double y, double z, double xSpeed, double ySpeed, double zSpeed) {
+		int i = allocate(TYPE_EXPLODE, 1, x, y, z);
+		motionX[i] = xSpeed + (rand.nextDouble() * 2.0D - 1.0D) * 0.05000000074505806D;
+		motionY[i] = ySpeed + (rand.nextDouble() * 2.0D - 1.0D) * 0.05000000074505806D;
+		motionZ[i] = zSpeed + (rand.nextDouble() * 2.0D - 1.0D) * 0.05000000074505806D;
+		colorR[i] = colorG[i] = colorB[i] = rand.nextFloat() * 0.3F + 0.7F;
+		scale[i] = rand.nextFloat() * rand.nextFloat() * 6.0F + 1.0F;
+		maxAge[i] = (int) (16.0D / ((double) rand.nextFloat() * 0.8D + 0.2D)) + 2;
+	}
+
+	/**
+	 * Spawns a block crack particle like EntityDiggingFX, with colorPos it is
+	 * tinted like func_174846_a (and lit by colorPos if its own position is
+	 * dark), without it like func_174845_l
+	 */
+	public void spawnDigging(World world, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed,
+			IBlockState state, BlockPos colorPos, float velocityMultiplier, float scaleMultiplier) {
+		Block block = state.getBlock();
+		EaglerTextureAtlasSprite icon = Minecraft.getMinecraft().getBlockRendererDispatcher().getBlockModelShapes()
+				.getTexture(state);
+		int i = allocate(TYPE_DIGGING, 3, x, y, z);
+		float jitterX = rand.nextFloat() * 3.0F;
+		float jitterY = rand.nextFloat() * 3.0F;
+		randomMotion(i, xSpeed, ySpeed, zSpeed);
+		gravity[i] = block.blockParticleGravity;
+		colorR[i] = colorG[i] = colorB[i] = 0.6F;
+		scale[i] /= 2.0F;
+		BlockPos lightPos;
+		if(colorPos != null) {
+			lightPos = colorPos;
+			if(block != Blocks.grass) {
+				tint(i, block.colorMultiplier(world, colorPos));
+			}
+		}else {
+			lightPos = new BlockPos(x, y, z);
+			if(block != Blocks.grass) {
+				tint(i, block.getRenderColor(state));
+			}
+		}
+		fallbackLight[i] = world.isBlockLoaded(lightPos) ? world.getCombinedLight(lightPos, 0) : 0;
+		if(velocityMultiplier != 1.0F) {
+			motionX[i] *= (double) velocityMultiplier;
+			motionY[i] = (motionY[i] - 0.10000000149011612D) * (double) velocityMultiplier + 0.10000000149011612D;
+			motionZ[i] *= (double) velocityMultiplier;
+		}
+		scale[i] *= scaleMultiplier;
+		height[i] = 0.2F * scaleMultiplier;
+		int w = icon.getIconWidth();
+		int h = icon.getIconHeight();
+		texX[i] = icon.getOriginX() + MathHelper.floor_float(w * jitterX * 4.0f * 0.0625f);
+		texY[i] = icon.getOriginY() + MathHelper.floor_float(h * jitterY * 4.0f * 0.0625f);
+		texSize[i] = Math.min(w, h) / 4;
+		minU[i] = icon.getInterpolatedU((double) (jitterX / 4.0F * 16.0F));
+		maxU[i] = icon.getInterpolatedU((double) ((jitterX + 1.0F) / 4.0F * 16.0F));
+		minV[i] = icon.getInterpolatedV((double) (jitterY / 4.0F * 16.0F));
+		maxV[i] = icon.getInterpolatedV((double) ((jitterY + 1.0F) / 4.0F * 16.0F));
+	}
+
+	private void tint(int i, int color) {
+		colorR[i] *= (float) (color >> 16 & 255) / 255.0F;
+		colorG[i] *= (float) (color >> 8 & 255) / 255.0F;
+		colorB[i] *= (float) (color & 255) / 255.0F;
+	}
+
+	public void update(World world) {
+		int i = 0;
+		while(i < count) {
+			if(tick(world, i)) {
+				++i;
+			}else {
+				remove(i);
+			}
+		}
+	}
+
+	private void remove(int i) {
+		--layerCounts[layer[i]];
+		int j = --count;
+		if(i != j) {
+			type[i] = type[j];
+			layer[i] = layer[j];
+			posX[i] = posX[j];
+			posY[i] = posY[j];
+			posZ[i] = posZ[j];
+			prevPosX[i] = prevPosX[j];
+			prevPosY[i] = prevPosY[j];
+			prevPosZ[i] = prevPosZ[j];
+			motionX[i] = motionX[j];
+			motionY[i] = motionY[j];
+			motionZ[i] = motionZ[j];
+			onGround[i] = onGround[j];
+			age[i] = age[j];
+			maxAge[i] = maxAge[j];
+			height[i] = height[j];
+			scale[i] = scale[j];
+			gravity[i] = gravity[j];
+			colorR[i] = colorR[j];
+			colorG[i] = colorG[j];
+			colorB[i] = colorB[j];
+			texX[i] = texX[j];
+			texY[i] = texY[j];
+			texSize[i] = texSize[j];
+			minU[i] = minU[j];
+			maxU[i] = maxU[j];
+			minV[i] = minV[j];
+			maxV[i] = maxV[j];
+			light[i] = light[j];
+			fallbackLight[i] = fallbackLight[j];
+		}
+	}
+
+	/**
+	 * Runs one tick of particle i, returns false if it died
+	 */
+	private boolean tick(World world, int i) {
+		prevPosX[i] = posX[i];
+		prevPosY[i] = posY[i];
+		prevPosZ[i] = posZ[i];
+		boolean alive = true;
+		byte t = type[i];
+		switch(t) {
+		case TYPE_SMOKE:
+		case TYPE_REDDUST:
+		case TYPE_EXPLODE:
+			if(age[i]++ >= maxAge[i]) {
+				alive = false;
+			}
+			texX[i] = 7 - age[i] * 8 / maxAge[i];
+			if(t != TYPE_REDDUST) {
+				motionY[i] += 0.004D;
+			}
+			move(world, i);
+			double f = t == TYPE_EXPLODE ? 0.8999999761581421D : 0.9599999785423279D;
+			if(t != TYPE_EXPLODE && posY[i] == prevPosY[i]) {
+				motionX[i] *= 1.1D;
+				motionZ[i] *= 1.1D;
+			}
+			motionX[i] *= f;
+			motionY[i] *= f;
+			motionZ[i] *= f;
+			if(onGround[i]) {
+				motionX[i] *= 0.699999988079071D;
+				motionZ[i] *= 0.699999988079071D;
+			}
+			break;
+		case TYPE_RAIN:
+			motionY[i] -= (double) gravity[i];
+			move(world, i);
+			motionX[i] *= 0.9800000190734863D;
+			motionY[i] *= 0.9800000190734863D;
+			motionZ[i] *= 0.9800000190734863D;
+			if(maxAge[i]-- <= 0) {
+				alive = false;
+			}
+			if(onGround[i]) {
+				if(rand.nextDouble() < 0.5D) {
+					alive = false;
+				}
+				motionX[i] *= 0.699999988079071D;
+				motionZ[i] *= 0.699999988079071D;
+			}
+			if(alive) {
+				tmpPos.func_181079_c(MathHelper.floor_double(posX[i]), MathHelper.floor_double(posY[i]),
+						MathHelper.floor_double(posZ[i]));
+				IBlockState iblockstate = world.getBlockState(tmpPos);
+				Block block = iblockstate.getBlock();
+				Material material = block.getMaterial();
+				if(material.isLiquid() || material.isSolid()) {
+					double d0;
+					if(block instanceof BlockLiquid) {
+						d0 = (double) (1.0F - BlockLiquid
+								.getLiquidHeightPercent(iblockstate.getValue(BlockLiquid.LEVEL).intValue()));
+					}else {
+						block.setBlockBoundsBasedOnState(world, tmpPos);
+						d0 = block.getBlockBoundsMaxY();
+					}
+					if(posY[i] < (double) tmpPos.getY() + d0) {
+						alive = false;
+					}
+				}
+			}
+			break;
+		case TYPE_DIGGING:
+		default:
+			if(age[i]++ >= maxAge[i]) {
+				alive = false;
+			}
+			motionY[i] -= 0.04D * (double) gravity[i];
+			move(world, i);
+			motionX[i] *= 0.9800000190734863D;
+			motionY[i] *= 0.9800000190734863D;
+			motionZ[i] *= 0.9800000190734863D;
+			if(onGround[i]) {
+				motionX[i] *= 0.699999988079071D;
+				motionZ[i] *= 0.699999988079071D;
+			}
+			break;
+		}
+		if(alive) {
+			tmpPos.func_181079_c(MathHelper.floor_double(posX[i]),
+					MathHelper.floor_double(posY[i] + (double) (height[i] * 0.85F)), MathHelper.floor_double(posZ[i]));
+			int l = world.isBlockLoaded(tmpPos) ? world.getCombinedLight(tmpPos, 0) : 0;
+			light[i] = (l == 0 && t == TYPE_DIGGING) ? fallbackLight[i] : l;
+		}
+		return alive;
+	}
+
+	/**
+	 * Moves particle i by its motion, treating it as a point with a height
+	 * that collides with the bounds of the blocks around it, one axis at a
+	 * time in the same order as Entity.moveEntity (Y, X, Z)
+	 */
+	private void move(World world, int i) {
+		double x = posX[i];
+		double y = posY[i];
+		double z = posZ[i];
+		double h = (double) height[i];
+		double ny = y + motionY[i];
+		boolean ground = false;
+		if(motionY[i] < 0.0D) {
+			int bx = MathHelper.floor_double(x);
+			int by = MathHelper.floor_double(ny);
+			int bz = MathHelper.floor_double(z);
+			if(loadBounds(world, bx, by, bz) && containsXZ(x - bx, z - bz)) {
+				double top = by + boundsMaxY;
+				if(ny < top && y >= top - 1.0E-7D) {
+					ny = top;
+					motionY[i] = 0.0D;
+					ground = true;
+				}
+			}
+		}else if(motionY[i] > 0.0D) {
+			int bx = MathHelper.floor_double(x);
+			int by = MathHelper.floor_double(ny + h);
+			int bz = MathHelper.floor_double(z);
+			if(loadBounds(world, bx, by, bz) && containsXZ(x - bx, z - bz)) {
+				double bottom = by + boundsMinY;
+				if(ny + h > bottom && y + h <= bottom + 1.0E-7D) {
+					ny = bottom - h;
+					motionY[i] = 0.0D;
+				}
+			}
+		}
+		double nx = x + motionX[i];
+		if(motionX[i] != 0.0D && isInside(world, nx, ny, z) && !isInside(world, x, ny, z)) {
+			nx = x;
+			motionX[i] = 0.0D;
+		}
+		double nz = z + motionZ[i];
+		if(motionZ[i] != 0.0D && isInside(world, nx, ny, nz) && !isInside(world, nx, ny, z)) {
+			nz = z;
+			motionZ[i] = 0.0D;
+		}
+		posX[i] = nx;
+		posY[i] = ny;
+		posZ[i] = nz;
+		onGround[i] = ground;
+	}
+
+	private boolean containsXZ(double fx, double fz) {
+		return fx >= boundsMinX && fx <= boundsMaxX && fz >= boundsMinZ && fz <= boundsMaxZ;
+	}
+
+	private boolean isInside(World world, double x, double y, double z) {
+		int bx = MathHelper.floor_double(x);
+		int by = MathHelper.floor_double(y);
+		int bz = MathHelper.floor_double(z);
+		if(!loadBounds(world, bx, by, bz)) {
+			return false;
+		}
+		double fy = y - by;
+		return containsXZ(x - bx, z - bz) && fy >= boundsMinY && fy < boundsMaxY;
+	}
+
+	/**
+	 * Loads the bounds of the block at the given position into the bounds
+	 * fields, returns false if the block does not block movement
+	 */
+	private boolean loadBounds(World world, int x, int y, int z) {
+		if(y < 0 || y >= 256) {
+			return false;
+		}
+		tmpPos.func_181079_c(x, y, z);
+		Block block = world.getBlockState(tmpPos).getBlock();
+		if(!block.getMaterial().blocksMovement()) {
+			return false;
+		}
+		if(block.isFullCube()) {
+			boundsMinX = boundsMinY = boundsMinZ = 0.0D;
+			boundsMaxX = boundsMaxY = boundsMaxZ = 1.0D;
+		}else {
+			block.setBlockBoundsBasedOnState(world, tmpPos);
+			boundsMinX = block.getBlockBoundsMinX();
+			boundsMinY = block.getBlockBoundsMinY();
+			boundsMinZ = block.getBlockBoundsMinZ();
+			boundsMaxX = block.getBlockBoundsMaxX();
+			boundsMaxY = block.getBlockBoundsMaxY();
+			boundsMaxZ = block.getBlockBoundsMaxZ();
+		}
+		return true;
+	}
+
+	/**
+	 * Draws the particles of the given EffectRenderer layer, with the
+	 * accelerated engine if it is not null, returns true if anything was added
+	 * to the WorldRenderer instead
+	 */
+	public boolean render(int fxLayer, int alphaLayer, IAcceleratedParticleEngine accelerator,
+			WorldRenderer worldrenderer, float partialTicks, float f1, float f2, float f3, float f4, float f5) {
+		int code = fxLayer * 2 + alphaLayer;
+		if(layerCounts[code] == 0) {
+			return false;
+		}
+		boolean legacy = false;
+		double ix = EntityFX.interpPosX;
+		double iy = EntityFX.interpPosY;
+		double iz = EntityFX.interpPosZ;
+		for(int i = 0; i < count; ++i) {
+			if(layer[i] != code) {
+				continue;
+			}
+			float px = (float) (prevPosX[i] + (posX[i] - prevPosX[i]) * (double) partialTicks - ix);
+			float py = (float) (prevPosY[i] + (posY[i] - prevPosY[i]) * (double) partialTicks - iy);
+			float pz = (float) (prevPosZ[i] + (posZ[i] - prevPosZ[i]) * (double) partialTicks - iz);
+			byte t = type[i];
+			float s = scale[i];
+			if(t == TYPE_SMOKE || t == TYPE_REDDUST) {
+				s *= MathHelper.clamp_float(((float) age[i] + partialTicks) / (float) maxAge[i] * 32.0F, 0.0F, 1.0F);
+			}
+			if(accelerator != null) {
+				if(t == TYPE_DIGGING) {
+					accelerator.drawParticle(px, py, pz, texX[i], texY[i], light[i], texSize[i], s * 0.1f, colorR[i],
+							colorG[i], colorB[i], 1.0f);
+				}else {
+					accelerator.drawParticle(px, py, pz, texX[i] * 16, texY[i] * 16, light[i], 16, s * 0.1f,
+							colorR[i], colorG[i], colorB[i], 1.0f);
+				}
+			}else {
+				// EntityDiggingFX mirrors the texture horizontally compared to EntityFX
+				float ua, ub, v0, v1;
+				if(t == TYPE_DIGGING) {
+					ua = minU[i];
+					ub = maxU[i];
+					v0 = minV[i];
+					v1 = maxV[i];
+				}else {
+					ub = (float) texX[i] / 16.0F;
+					ua = ub + 0.0624375F;
+					v0 = (float) texY[i] / 16.0F;
+					v1 = v0 + 0.0624375F;
+				}
+				float f10 = 0.1F * s;
+				int j = light[i] >> 16 & 0xFFFF;
+				int k = light[i] & 0xFFFF;
+				float r = colorR[i];
+				float g = colorG[i];
+				float b = colorB[i];
+				worldrenderer.pos((double) (px - f1 * f10 - f4 * f10), (double) (py - f2 * f10),
+						(double) (pz - f3 * f10 - f5 * f10)).tex((double) ua, (double) v1).color(r, g, b, 1.0F)
+						.lightmap(j, k).endVertex();
+				worldrenderer.pos((double) (px - f1 * f10 + f4 * f10), (double) (py + f2 * f10),
+						(double) (pz - f3 * f10 + f5 * f10)).tex((double) ua, (double) v0).color(r, g, b, 1.0F)
+						.lightmap(j, k).endVertex();
+				worldrenderer.pos((double) (px + f1 * f10 + f4 * f10), (double) (py + f2 * f10),
+						(double) (pz + f3 * f10 + f5 * f10)).tex((double) ub, (double) v0).color(r, g, b, 1.0F)
+						.lightmap(j, k).endVertex();
+				worldrenderer.pos((double) (px + f1 * f10 - f4 * f10), (double) (py - f2 * f10),
+						(double) (pz + f3 * f10 - f5 * f10)).tex((double) ub, (double) v1).color(r, g, b, 1.0F)
+						.lightmap(j, k).endVertex();
+				legacy = true;
+			}
+		}
+		return legacy;
+	}
+
+	private static byte[] copyOf(byte[] arr, int len) {
+		byte[] ret = new byte[len];
+		if(arr != null) {
+			System.arraycopy(arr, 0, ret, 0, Math.min(arr.length, len));
+		}
+		return ret;
+	}
+
+	private static boolean[] copyOf(boolean[] arr, int len) {
+		boolean[] ret = new boolean[len];
+		if(arr != null) {
+			System.arraycopy(arr, 0, ret, 0, Math.min(arr.length, len));
+		}
+		return ret;
+	}
+
+	private static int[] copyOf(int[] arr, int len) {
+		int[] ret = new int[len];
+		if(arr != null) {
+			System.arraycopy(arr, 0, ret, 0, Math.min(arr.length, len));
+		}
+		return ret;
+	}
+
+	private static float[] copyOf(float[] arr, int len) {
+		float[] ret = new float[len];
+		if(arr != null) {
+			System.arraycopy(arr, 0, ret, 0, Math.min(arr.length, len));
+		}
+		return ret;
+	}
+
+	private static double[] copyOf(double[] arr, int len) {
+		double[] ret = new double[len];
+		if(arr != null) {
+			System.arraycopy(arr, 0, ret, 0, Math.min(arr.length, len));
+		}
+		return ret;
+	}
+
+}
\ No newline at end of file
@@ -1,7 +1,9 @@
 package net.lax1dude.eaglercraft.v1_8.minecraft;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import net.lax1dude.eaglercraft.v1_8.EagRuntime;
 import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
@@ -14,14 +16,23 @@ import net.minecraft.client.renderer.chunk.ChunkCompileTaskGenerator;
 import net.minecraft.client.renderer.chunk.CompiledChunk;
 import net.minecraft.client.renderer.chunk.ListedRenderChunk;
 import net.minecraft.client.renderer.chunk.RenderChunk;
+import net.minecraft.client.renderer.culling.ICamera;
 import net.minecraft.entity.Entity;
+import net.minecraft.util.BlockPos;
 import net.minecraft.util.EnumWorldBlockLayer;
 
 public class ChunkUpdateManager {
 
 	private static final Logger LOGGER = LogManager.getLogger();
 
+	private static final int MAX_QUEUED_TASKS = 100;
+	private static final double OUTSIDE_FRUSTUM_WEIGHT = 16.0;
+	private static final long MIN_UPDATE_BUDGET_NANOS = 500000l;
+	private static final long MAX_UPDATE_BUDGET_NANOS = 8000000l;
+
 	private final RegionRenderCacheBuilder renderCache;
+	private final IChunkBuildExecutor buildExecutor;
+	private final int maxCompilingTasks;
 
 	private int chunkUpdatesTotal = 0;
 	private int chunkUpdatesTotalLast = 0;
@@ -31,10 +42,31 @@ public class ChunkUpdateManager {
 	private int chunkUpdatesQueuedLast = 0;
 	private long chunkUpdatesTotalLastUpdate = 0l;
 	
-	private final List<ChunkCompileTaskGenerator> queue = new LinkedList<>();
+	/**
+	 * Binary min-heap ordered by ChunkCompileTaskGenerator.queuePriority, every
+	 * queued task keeps its heap slot in queueIndex so it can be removed when it
+	 * is finished early. Only one task per RenderChunk is queued at a time
+	 */
+	private final ChunkCompileTaskGenerator[] queue = new ChunkCompileTaskGenerator[MAX_QUEUED_TASKS];
+	private int queueSize = 0;
+	private final Map<RenderChunk, ChunkCompileTaskGenerator> queuedChunks = new HashMap<>();
+	private final ChunkCompileTaskGenerator[] deferredTasks = new ChunkCompileTaskGenerator[MAX_QUEUED_TASKS];
+	private final List<ChunkCompileTaskGenerator> compilingTasks = new ArrayList<>();
+
+	private double viewX = 0.0;
+	private double viewY = 0.0;
+	private double viewZ = 0.0;
+	private ICamera viewFrustum = null;
+	private boolean priorityDirty = false;
+
+	private long lastUpdateNanos = 0l;
+	private long frameNanosAvg = 0l;
+	private long updateNanosAvg = 0l;
 
 	public ChunkUpdateManager() {
 		renderCache = new RegionRenderCacheBuilder();
+		buildExecutor = EagRuntime.createChunkBuildExecutor();
+		maxCompilingTasks = buildExecutor != null ? buildExecutor.getThreadCount() * 2 : 0;
 	}
 	
 	public static class EmptyBlockLayerException extends IllegalStateException {
@@ -68,16 +100,7 @@ public class ChunkUpdateManager {
 
 		final CompiledChunk compiledchunk = generator.getCompiledChunk();
 		if (chunkcompiletaskgenerator$type == ChunkCompileTaskGenerator.Type.REBUILD_CHUNK) {
-			EnumWorldBlockLayer[] en = EnumWorldBlockLayer._VALUES;
-			for (int i = 0; i < en.length; ++i) {
-				EnumWorldBlockLayer enumworldblocklayer = en[i];
-				if (!compiledchunk.isLayerEmpty(enumworldblocklayer)) {
-					this.uploadChunk(enumworldblocklayer,
-							generator.getRegionRenderCacheBuilder().getWorldRendererByLayer(enumworldblocklayer),
-							generator.getRenderChunk(), compiledchunk);
-					generator.setStatus(ChunkCompileTaskGenerator.Status.DONE);
-				}
-			}
+			uploadRebuiltChunk(generator);
 		} else if (chunkcompiletaskgenerator$type == ChunkCompileTaskGenerator.Type.RESORT_TRANSPARENCY) {
 			if(!compiledchunk.isLayerEmpty(EnumWorldBlockLayer.TRANSLUCENT)) {
 				this.uploadChunk(EnumWorldBlockLayer.TRANSLUCENT, generator.getRegionRenderCacheBuilder()
@@ -93,58 +116,159 @@ public class ChunkUpdateManager {
 		}
 	}
 	
+	private void uploadRebuiltChunk(ChunkCompileTaskGenerator generator) {
+		final CompiledChunk compiledchunk = generator.getCompiledChunk();
+		EnumWorldBlockLayer[] en = EnumWorldBlockLayer._VALUES;
+		for (int i = 0; i < en.length; ++i) {
+			EnumWorldBlockLayer enumworldblocklayer = en[i];
+			if (!compiledchunk.isLayerEmpty(enumworldblocklayer)) {
+				this.uploadChunk(enumworldblocklayer,
+						generator.getRegionRenderCacheBuilder().getWorldRendererByLayer(enumworldblocklayer),
+						generator.getRenderChunk(), compiledchunk);
+				generator.setStatus(ChunkCompileTaskGenerator.Status.DONE);
+			}
+		}
+		((ListedRenderChunk) generator.getRenderChunk()).flushEmptyDisplayLists(compiledchunk);
+	}
+
+	private void dispatchGenerator(ChunkCompileTaskGenerator generator, Entity entity) {
+		generator.setViewPosition((float) entity.posX, (float) entity.posY + entity.getEyeHeight(),
+				(float) entity.posZ);
+		generator.setStatus(ChunkCompileTaskGenerator.Status.COMPILING);
+		generator.getRenderChunk().prepareRebuildTask(generator);
+		compilingTasks.add(generator);
+		buildExecutor.submitTask(generator);
+	}
+
+	private boolean uploadCompiledTasks() {
+		boolean flag = false;
+		ChunkCompileTaskGenerator generator;
+		while((generator = buildExecutor.pollCompletedTask()) != null) {
+			compilingTasks.remove(generator);
+			RegionRenderCacheBuilder builder = generator.getRegionRenderCacheBuilder();
+			CompiledChunk compiledchunk = generator.getCompiledChunk();
+			if(generator.isFinished() || generator.getStatus() != ChunkCompileTaskGenerator.Status.UPLOADING) {
+				if(!generator.isFinished()) {
+					// the build thread failed, finish() flags the chunk for another rebuild
+					generator.finish();
+				}
+				compiledchunk.setState(null);
+				compiledchunk.setStateRealisticWater(null);
+			}else {
+				uploadRebuiltChunk(generator);
+				generator.getRenderChunk().finishRebuildTask(generator);
+				generator.setStatus(ChunkCompileTaskGenerator.Status.DONE);
+				++chunkUpdatesTotal;
+				flag = true;
+			}
+			buildExecutor.freeRenderBuilder(builder);
+		}
+		return flag;
+	}
+	
+	/**
+	 * Called by RenderGlobal whenever the camera moved or turned, the queue is
+	 * re-sorted on the next update so the chunks nearest to the camera and
+	 * inside the frustum are built first
+	 */
+	public void setViewPosition(double x, double y, double z, ICamera camera) {
+		viewX = x;
+		viewY = y;
+		viewZ = z;
+		viewFrustum = camera;
+		priorityDirty = true;
+	}
+
 	public boolean updateChunks(long timeout) {
 		Entity entity = Minecraft.getMinecraft().getRenderViewEntity();
 		if (entity == null) {
-			queue.clear();
+			clearQueue();
 			chunkUpdatesQueued = 0;
 			return false;
 		}else {
 			boolean flag = false;
+			long startNanos = EagRuntime.nanoTime();
+			long deadline = startNanos + Math.min(getUpdateBudget(startNanos),
+					Math.max(timeout - startNanos, MIN_UPDATE_BUDGET_NANOS));
+			if(buildExecutor != null) {
+				flag = uploadCompiledTasks();
+			}
+			if(priorityDirty) {
+				priorityDirty = false;
+				updateQueuePriorities();
+			}
 			long millis = EagRuntime.steadyTimeMillis();
-			List<ChunkCompileTaskGenerator> droppedUpdates = new LinkedList<>();
-			while(!queue.isEmpty()) {
-				ChunkCompileTaskGenerator generator = queue.remove(0);
+			int deferred = 0;
+			while(queueSize > 0) {
+				ChunkCompileTaskGenerator generator = pollQueue();
 				
 				if(!generator.canExecuteYet()) {
 					if(millis - generator.goddamnFuckingTimeout < 60000l) {
-						droppedUpdates.add(generator);
+						deferredTasks[deferred++] = generator;
+					}else {
+						queuedChunks.remove(generator.getRenderChunk());
 					}
 					continue;
 				}
 				
-				runGenerator(generator, entity);
-				flag = true;
-				
-				++chunkUpdatesTotal;
+				if(buildExecutor != null && generator.getType() == ChunkCompileTaskGenerator.Type.REBUILD_CHUNK) {
+					if(compilingTasks.size() >= maxCompilingTasks) {
+						deferredTasks[deferred++] = generator;
+						continue;
+					}
+					queuedChunks.remove(generator.getRenderChunk());
+					dispatchGenerator(generator, entity);
+				}else {
+					queuedChunks.remove(generator.getRenderChunk());
+					runGenerator(generator, entity);
+					flag = true;
+					
+					++chunkUpdatesTotal;
+				}
 				
-				if(timeout < EagRuntime.nanoTime()) {
+				if(deadline < EagRuntime.nanoTime()) {
 					break;
 				}
 			}
-			queue.addAll(droppedUpdates);
+			for(int i = 0; i < deferred; ++i) {
+				offerQueue(deferredTasks[i]);
+				deferredTasks[i] = null;
+			}
+			long updateNanos = EagRuntime.nanoTime() - startNanos;
+			updateNanosAvg += (updateNanos - updateNanosAvg) >> 3;
 			return flag;
 		}
 	}
 
+	/**
+	 * The time left for chunk updates this frame. It is a third of what the
+	 * rest of the frame took on average, so updates stay around a quarter of the
+	 * frame time no matter how fast the frames are
+	 */
+	private long getUpdateBudget(long now) {
+		if(lastUpdateNanos != 0l) {
+			long frameNanos = Math.min(now - lastUpdateNanos, 1000000000l);
+			frameNanosAvg += (frameNanos - frameNanosAvg) >> 3;
+		}
+		lastUpdateNanos = now;
+		long budget = (frameNanosAvg - updateNanosAvg) / 3l;
+		return Math.max(Math.min(budget, MAX_UPDATE_BUDGET_NANOS), MIN_UPDATE_BUDGET_NANOS);
+	}
+
 	public boolean updateChunkLater(RenderChunk chunkRenderer) {
+		ChunkCompileTaskGenerator queued = queuedChunks.get(chunkRenderer);
+		if (queued != null && queued.getType() == ChunkCompileTaskGenerator.Type.REBUILD_CHUNK) {
+			return true;
+		}
+		if (queued == null && queueSize >= MAX_QUEUED_TASKS) {
+			return false;
+		}
 		final ChunkCompileTaskGenerator chunkcompiletaskgenerator = chunkRenderer.makeCompileTaskChunk();
-		boolean flag = queue.size() < 100;
-		if (!flag) {
-			chunkcompiletaskgenerator.finish();
-		}else {
-			chunkcompiletaskgenerator.addFinishRunnable(new Runnable() {
-				@Override
-				public void run() {
-					if(queue.remove(chunkcompiletaskgenerator)) {
-						++chunkUpdatesTotal;
-					}
-				}
-			});
-			queue.add(chunkcompiletaskgenerator);
-			++chunkUpdatesQueued;
+		if (queued != null) {
+			removeQueued(queued);
 		}
-		return flag;
+		enqueue(chunkcompiletaskgenerator);
+		return true;
 	}
 
 	public boolean updateChunkNow(RenderChunk chunkRenderer) {
@@ -157,7 +281,7 @@ public class ChunkUpdateManager {
 	}
 
 	public void stopChunkUpdates() {
-		queue.clear();
+		clearQueue();
 		chunkUpdatesQueued = 0;
 	}
 
@@ -170,37 +294,169 @@ public class ChunkUpdateManager {
 			return true;
 		}
 		chunkcompiletaskgenerator.goddamnFuckingTimeout = EagRuntime.steadyTimeMillis();
-		if(queue.size() < 100) {
-			chunkcompiletaskgenerator.addFinishRunnable(new Runnable() {
-				@Override
-				public void run() {
-					if(queue.remove(chunkcompiletaskgenerator)) {
-						++chunkUpdatesTotal;
-					}
-				}
-			});
-			queue.add(chunkcompiletaskgenerator);
-			++chunkUpdatesQueued;
+		if(queueSize < MAX_QUEUED_TASKS) {
+			enqueue(chunkcompiletaskgenerator);
 			return true;
 		}else {
 			return false;
 		}
 	}
 
+	private void enqueue(final ChunkCompileTaskGenerator generator) {
+		generator.addFinishRunnable(new Runnable() {
+			@Override
+			public void run() {
+				if(removeQueued(generator)) {
+					++chunkUpdatesTotal;
+				}
+			}
+		});
+		queuedChunks.put(generator.getRenderChunk(), generator);
+		generator.queuePriority = getPriority(generator.getRenderChunk());
+		offerQueue(generator);
+		++chunkUpdatesQueued;
+	}
+
+	private double getPriority(RenderChunk chunk) {
+		BlockPos pos = chunk.getPosition();
+		double dx = pos.getX() + 8.0 - viewX;
+		double dy = pos.getY() + 8.0 - viewY;
+		double dz = pos.getZ() + 8.0 - viewZ;
+		double d = dx * dx + dy * dy + dz * dz;
+		if(viewFrustum != null && !viewFrustum.isBoundingBoxInFrustum(chunk.boundingBox)) {
+			d *= OUTSIDE_FRUSTUM_WEIGHT;
+		}
+		return d;
+	}
+
+	private void updateQueuePriorities() {
+		for(int i = 0; i < queueSize; ++i) {
+			ChunkCompileTaskGenerator generator = queue[i];
+			generator.queuePriority = getPriority(generator.getRenderChunk());
+		}
+		for(int i = (queueSize >> 1) - 1; i >= 0; --i) {
+			siftDown(i);
+		}
+	}
+
+	private void offerQueue(ChunkCompileTaskGenerator generator) {
+		int i = queueSize++;
+		queue[i] = generator;
+		generator.queueIndex = i;
+		siftUp(i);
+	}
+
+	private ChunkCompileTaskGenerator pollQueue() {
+		ChunkCompileTaskGenerator ret = queue[0];
+		removeAt(0);
+		return ret;
+	}
+
+	private boolean removeQueued(ChunkCompileTaskGenerator generator) {
+		int i = generator.queueIndex;
+		if(i < 0 || i >= queueSize || queue[i] != generator) {
+			return false;
+		}
+		removeAt(i);
+		if(queuedChunks.get(generator.getRenderChunk()) == generator) {
+			queuedChunks.remove(generator.getRenderChunk());
+		}
+		return true;
+	}
+
+	private void removeAt(int i) {
+		queue[i].queueIndex = -1;
+		int last = --queueSize;
+		if(i != last) {
+			ChunkCompileTaskGenerator moved = queue[last];
+			queue[i] = moved;
+			moved.queueIndex = i;
+			queue[last] = null;
+			siftDown(i);
+			if(queue[i] == moved) {
+				siftUp(i);
+			}
+		}else {
+			queue[last] = null;
+		}
+	}
+
+	private void siftUp(int i) {
+		ChunkCompileTaskGenerator generator = queue[i];
+		while(i > 0) {
+			int parent = (i - 1) >> 1;
+			ChunkCompileTaskGenerator p = queue[parent];
+			if(p.queuePriority <= generator.queuePriority) {
+				break;
+			}
+			queue[i] = p;
+			p.queueIndex = i;
+			i = parent;
+		}
+		queue[i] = generator;
+		generator.queueIndex = i;
+	}
+
+	private void siftDown(int i) {
+		ChunkCompileTaskGenerator generator = queue[i];
+		int half = queueSize >> 1;
+		while(i < half) {
+			int child = (i << 1) + 1;
+			ChunkCompileTaskGenerator c = queue[child];
+			int right = child + 1;
+			if(right < queueSize && queue[right].queuePriority < c.queuePriority) {
+				child = right;
+				c = queue[right];
+			}
+			if(generator.queuePriority <= c.queuePriority) {
+				break;
+			}
+			queue[i] = c;
+			c.queueIndex = i;
+			i = child;
+		}
+		queue[i] = generator;
+		generator.queueIndex = i;
+	}
+
+	private void clearQueue() {
+		for(int i = 0; i < queueSize; ++i) {
+			queue[i].queueIndex = -1;
+			queue[i] = null;
+		}
+		queueSize = 0;
+		queuedChunks.clear();
+	}
+
 	public void uploadChunk(final EnumWorldBlockLayer player, final WorldRenderer chunkRenderer,
 			final RenderChunk compiledChunkIn, final CompiledChunk parCompiledChunk) {
 		this.uploadDisplayList(chunkRenderer,
-				((ListedRenderChunk) compiledChunkIn).getDisplayList(player, parCompiledChunk), compiledChunkIn);
+				((ListedRenderChunk) compiledChunkIn).getDisplayList(player, parCompiledChunk), compiledChunkIn, player);
 		chunkRenderer.setTranslation(0.0D, 0.0D, 0.0D);
 	}
 
-	private void uploadDisplayList(WorldRenderer chunkRenderer, int parInt1, RenderChunk parRenderChunk) {
-		WorldVertexBufferUploader.uploadDisplayList(parInt1, chunkRenderer);
+	/**
+	 * Chunk vertices are built relative to the chunk, they are moved to be
+	 * relative to the chunk's region before uploading so RenderList can draw
+	 * all of the chunks in a region with the same modelview. Each region and
+	 * layer gets its own arena pages so the ranges that are drawn together
+	 * sit next to each other
+	 */
+	private void uploadDisplayList(WorldRenderer chunkRenderer, int parInt1, RenderChunk parRenderChunk,
+			EnumWorldBlockLayer layer) {
+		BlockPos pos = parRenderChunk.getPosition();
+		chunkRenderer.offsetVertexPositions(pos.getX() - parRenderChunk.regionX, pos.getY() - parRenderChunk.regionY,
+				pos.getZ() - parRenderChunk.regionZ);
+		WorldVertexBufferUploader.uploadDisplayListArena(parInt1, chunkRenderer,
+				(parRenderChunk.regionKey << 3) | layer.ordinal());
 	}
 
 	public boolean isAlreadyQueued(RenderChunk update) {
-		for(int i = 0, l = queue.size(); i < l; ++i) {
-			if(queue.get(i).getRenderChunk() == update) {
+		if(queuedChunks.containsKey(update)) {
+			return true;
+		}
+		for(int i = 0, l = compilingTasks.size(); i < l; ++i) {
+			if(compilingTasks.get(i).getRenderChunk() == update) {
 				return true;
 			}
 		}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.minecraft;
+
+import net.minecraft.client.renderer.RegionRenderCacheBuilder;
+import net.minecraft.client.renderer.chunk.ChunkCompileTaskGenerator;
+
+/**
+ * Compiles REBUILD_CHUNK tasks off the main thread, only provided by runtimes
+ * that have real threads. Tasks are prepared with RenderChunk.prepareRebuildTask
+ * before they are submitted and have to be uploaded on the main thread after
+ * they are polled, the RegionRenderCacheBuilder of a polled task must be handed
+ * back with freeRenderBuilder once its layers have been uploaded
+ */
+public interface IChunkBuildExecutor {
+
+	int getThreadCount();
+
+	void submitTask(ChunkCompileTaskGenerator generator);
+
+	ChunkCompileTaskGenerator pollCompletedTask();
+
+	void freeRenderBuilder(RegionRenderCacheBuilder builder);
+
+}
\ No newline at end of file
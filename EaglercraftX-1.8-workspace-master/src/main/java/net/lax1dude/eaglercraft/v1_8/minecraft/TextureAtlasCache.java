@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.minecraft;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.carrotsearch.hppc.IntIndexedContainer;
+
+import net.lax1dude.eaglercraft.v1_8.EaglerInputStream;
+import net.lax1dude.eaglercraft.v1_8.EaglerOutputStream;
+import net.lax1dude.eaglercraft.v1_8.crypto.SHA1Digest;
+import net.lax1dude.eaglercraft.v1_8.internal.vfs2.VFile2;
+import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
+import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
+import net.minecraft.client.resources.IResource;
+import net.minecraft.client.resources.IResourceManager;
+import net.minecraft.client.resources.data.TextureMetadataSection;
+import net.minecraft.util.ResourceLocation;
+
+/**
+ * Persistent cache of a fully stitched texture atlas, the mip chain exactly as
+ * it was uploaded to the GPU plus the sprite layout table. Entries are keyed by
+ * a SHA-1 of every sprite's source PNG, .mcmeta and explicit mip levels and the
+ * resource packs they came from, so a cache hit only has to read the raw
+ * resource bytes instead of decoding, mipmapping and stitching every sprite
+ * again.
+ */
+public class TextureAtlasCache {
+
+	private static final Logger logger = LogManager.getLogger("TextureAtlasCache");
+
+	public static final String CACHE_DIR = "texturecache";
+
+	private static final int CACHE_MAGIC = 0x45544143; // "ETAC"
+	private static final int CACHE_VERSION = 2;
+
+	/**
+	 * Atlases larger than this are not worth the storage and memory overhead
+	 */
+	private static final int MAX_CACHE_PIXELS = 2048 * 2048;
+
+	public static class SpriteEntry {
+
+		public final String name;
+		public final int width;
+		public final int height;
+		public final int originX;
+		public final int originY;
+		public final boolean rotated;
+		public final boolean animated;
+
+		protected SpriteEntry(String name, int width, int height, int originX, int originY, boolean rotated,
+				boolean animated) {
+			this.name = name;
+			this.width = width;
+			this.height = height;
+			this.originX = originX;
+			this.originY = originY;
+			this.rotated = rotated;
+			this.animated = animated;
+		}
+
+	}
+
+	public final int width;
+	public final int height;
+	public final int mipmapLevels;
+	public final List<SpriteEntry> sprites;
+	public int[][] levels;
+
+	protected TextureAtlasCache(int width, int height, int mipmapLevels, List<SpriteEntry> sprites, int[][] levels) {
+		this.width = width;
+		this.height = height;
+		this.mipmapLevels = mipmapLevels;
+		this.sprites = sprites;
+		this.levels = levels;
+	}
+
+	/**
+	 * Copies the level 0 pixels of a sprite back out of the cached atlas, which
+	 * is all that is still needed from a static sprite after it is on the GPU
+	 */
+	public int[] extractSpritePixels(SpriteEntry sprite) {
+		int[] level0 = levels[0];
+		int[] ret = new int[sprite.width * sprite.height];
+		for(int y = 0; y < sprite.height; ++y) {
+			System.arraycopy(level0, (sprite.originY + y) * width + sprite.originX, ret, y * sprite.width, sprite.width);
+		}
+		return ret;
+	}
+
+	public static boolean isSupported() {
+		return EaglerFolderResourcePack.isSupported();
+	}
+
+	public static boolean isAnimated(EaglerTextureAtlasSprite sprite) {
+		return sprite.hasAnimationMetadata() || sprite.getClass() != EaglerTextureAtlasSprite.class;
+	}
+
+	/**
+	 * Returns the location TextureMap loads the given mip level of a sprite from,
+	 * level 0 being the base texture
+	 */
+	public static interface SpriteLocationFunction {
+		ResourceLocation apply(EaglerTextureAtlasSprite sprite, int level);
+	}
+
+	/**
+	 * Hashes everything TextureMap reads to build the atlas, the base PNG, the
+	 * .mcmeta (animation and explicit mip list) and every explicit mip level
+	 * PNG it would load
+	 */
+	public static byte[] computeKey(IResourceManager resourceManager, String basePath,
+			Map<String, EaglerTextureAtlasSprite> sprites, SpriteLocationFunction locationFunc, int mipmapLevels,
+			int maxTextureSize) {
+		SHA1Digest digest = new SHA1Digest();
+		digestInt(digest, CACHE_VERSION);
+		digestString(digest, basePath);
+		digestInt(digest, mipmapLevels);
+		digestInt(digest, maxTextureSize);
+		List<String> names = new ArrayList<>(sprites.keySet());
+		Collections.sort(names);
+		for(int i = 0, l = names.size(); i < l; ++i) {
+			String name = names.get(i);
+			digestString(digest, name);
+			EaglerTextureAtlasSprite sprite = sprites.get(name);
+			IResource res = digestResource(digest, resourceManager, locationFunc.apply(sprite, 0));
+			if(res == null) {
+				continue;
+			}
+			TextureMetadataSection meta = null;
+			try {
+				byte[] mcmeta = res.getMetadataBytes();
+				if(mcmeta != null) {
+					digest.update((byte) 1);
+					digestInt(digest, mcmeta.length);
+					digest.update(mcmeta, 0, mcmeta.length);
+					meta = res.getMetadata("texture");
+				}else {
+					digest.update((byte) 0);
+				}
+			}catch(IOException | RuntimeException ex) {
+				digest.update((byte) 0xFF);
+			}
+			if(meta != null) {
+				IntIndexedContainer list = meta.getListMipmaps();
+				for(int j = 0, m = list.size(); j < m; ++j) {
+					int level = list.get(j);
+					if(level > 0 && level < mipmapLevels) {
+						digestInt(digest, level);
+						digestResource(digest, resourceManager, locationFunc.apply(sprite, level));
+					}
+				}
+			}
+		}
+		byte[] ret = new byte[20];
+		digest.doFinal(ret, 0);
+		return ret;
+	}
+
+	/**
+	 * Hashes the pack name and bytes of a resource and returns it, or hashes a
+	 * marker and returns null if it can't be read
+	 */
+	private static IResource digestResource(SHA1Digest digest, IResourceManager resourceManager,
+			ResourceLocation location) {
+		try {
+			IResource res = resourceManager.getResource(location);
+			digestString(digest, res.getResourcePackName());
+			byte[] data;
+			try(InputStream is = res.getInputStream()) {
+				data = EaglerInputStream.inputStreamToBytesNoClose(is);
+			}
+			digestInt(digest, data.length);
+			digest.update(data, 0, data.length);
+			return res;
+		}catch(IOException ex) {
+			digest.update((byte) 0xFF);
+			return null;
+		}
+	}
+
+	private static void digestInt(SHA1Digest digest, int i) {
+		digest.update((byte) (i >>> 24));
+		digest.update((byte) (i >>> 16));
+		digest.update((byte) (i >>> 8));
+		digest.update((byte) i);
+	}
+
+	private static void digestString(SHA1Digest digest, String str) {
+		byte[] b = str.getBytes(StandardCharsets.UTF_8);
+		digestInt(digest, b.length);
+		digest.update(b, 0, b.length);
+	}
+
+	private static VFile2 getCacheFile(String basePath) {
+		return new VFile2(CACHE_DIR, basePath.replace('/', '_') + ".bin");
+	}
+
+	public static TextureAtlasCache load(String basePath, byte[] key) {
+		VFile2 file = getCacheFile(basePath);
+		byte[] data;
+		try {
+			if(!file.exists()) {
+				return null;
+			}
+			data = file.getAllBytes();
+		}catch(Throwable t) {
+			logger.error("Failed to read texture atlas cache: {}", file);
+			logger.error(t);
+			return null;
+		}
+		if(data == null) {
+			return null;
+		}
+		try {
+			DataInputStream is = new DataInputStream(new EaglerInputStream(data));
+			if(is.readInt() != CACHE_MAGIC || is.readInt() != CACHE_VERSION) {
+				return null;
+			}
+			byte[] fileKey = new byte[20];
+			is.readFully(fileKey);
+			for(int i = 0; i < 20; ++i) {
+				if(fileKey[i] != key[i]) {
+					return null;
+				}
+			}
+			int w = is.readInt();
+			int h = is.readInt();
+			int mips = is.readInt();
+			int cnt = is.readInt();
+			List<SpriteEntry> sprites = new ArrayList<>(cnt);
+			for(int i = 0; i < cnt; ++i) {
+				String name = is.readUTF();
+				int sw = is.readUnsignedShort();
+				int sh = is.readUnsignedShort();
+				int ox = is.readInt();
+				int oy = is.readInt();
+				int flags = is.readUnsignedByte();
+				sprites.add(new SpriteEntry(name, sw, sh, ox, oy, (flags & 1) != 0, (flags & 2) != 0));
+			}
+			int[][] levels = new int[mips + 1][];
+			int off = data.length - is.available();
+			for(int i = 0; i <= mips; ++i) {
+				int[] lvl = new int[(w >> i) * (h >> i)];
+				if(off + (lvl.length << 2) > data.length) {
+					throw new IOException("Texture atlas cache is truncated");
+				}
+				for(int j = 0; j < lvl.length; ++j) {
+					lvl[j] = (data[off] & 0xFF) | ((data[off + 1] & 0xFF) << 8) | ((data[off + 2] & 0xFF) << 16)
+							| ((data[off + 3] & 0xFF) << 24);
+					off += 4;
+				}
+				levels[i] = lvl;
+			}
+			return new TextureAtlasCache(w, h, mips, sprites, levels);
+		}catch(IOException ex) {
+			logger.error("Texture atlas cache is corrupt: {}", file);
+			logger.error(ex);
+			return null;
+		}
+	}
+
+	public static void save(String basePath, byte[] key, int width, int height, int mipmapLevels,
+			List<EaglerTextureAtlasSprite> spriteList) {
+		if(width * height > MAX_CACHE_PIXELS) {
+			return;
+		}
+		int[][] levels = new int[mipmapLevels + 1][];
+		for(int i = 0; i <= mipmapLevels; ++i) {
+			levels[i] = new int[(width >> i) * (height >> i)];
+		}
+		int dataLen = 0;
+		for(int i = 0; i <= mipmapLevels; ++i) {
+			dataLen += levels[i].length << 2;
+		}
+		EaglerOutputStream bao = new EaglerOutputStream(dataLen + spriteList.size() * 64 + 64);
+		try {
+			DataOutputStream os = new DataOutputStream(bao);
+			os.writeInt(CACHE_MAGIC);
+			os.writeInt(CACHE_VERSION);
+			os.write(key);
+			os.writeInt(width);
+			os.writeInt(height);
+			os.writeInt(mipmapLevels);
+			os.writeInt(spriteList.size());
+			for(int i = 0, l = spriteList.size(); i < l; ++i) {
+				EaglerTextureAtlasSprite sprite = spriteList.get(i);
+				int sw = sprite.getIconWidth();
+				int sh = sprite.getIconHeight();
+				int ox = sprite.getOriginX();
+				int oy = sprite.getOriginY();
+				os.writeUTF(sprite.getIconName());
+				os.writeShort(sw);
+				os.writeShort(sh);
+				os.writeInt(ox);
+				os.writeInt(oy);
+				os.writeByte((sprite.rotated ? 1 : 0) | (isAnimated(sprite) ? 2 : 0));
+				int[][] frame = sprite.getFrameTextureData(0);
+				for(int j = 0; j <= mipmapLevels && j < frame.length; ++j) {
+					int[] src = frame[j];
+					if(src == null) {
+						continue;
+					}
+					int[] dst = levels[j];
+					int lw = width >> j;
+					int lsw = sw >> j;
+					int lsh = sh >> j;
+					int lox = ox >> j;
+					int loy = oy >> j;
+					for(int y = 0; y < lsh; ++y) {
+						System.arraycopy(src, y * lsw, dst, (loy + y) * lw + lox, lsw);
+					}
+				}
+			}
+			byte[] pixels = new byte[dataLen];
+			int off = 0;
+			for(int i = 0; i <= mipmapLevels; ++i) {
+				int[] lvl = levels[i];
+				for(int j = 0; j < lvl.length; ++j) {
+					int k = lvl[j];
+					pixels[off] = (byte) k;
+					pixels[off + 1] = (byte) (k >>> 8);
+					pixels[off + 2] = (byte) (k >>> 16);
+					pixels[off + 3] = (byte) (k >>> 24);
+					off += 4;
+				}
+			}
+			os.write(pixels);
+			getCacheFile(basePath).setAllBytes(bao.toByteArray());
+		}catch(Throwable t) {
+			logger.error("Failed to write texture atlas cache for \"{}\"", basePath);
+			logger.error(t);
+		}
+	}
+
+	public static void invalidate(String basePath) {
+		try {
+			getCacheFile(basePath).delete();
+		}catch(Throwable t) {
+		}
+	}
+
+}
\ No newline at end of file
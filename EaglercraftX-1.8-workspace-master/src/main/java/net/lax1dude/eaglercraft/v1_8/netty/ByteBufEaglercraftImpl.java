@@ -104,6 +104,16 @@ public class ByteBufEaglercraftImpl extends AbstractByteBuf {
 		return this;
 	}
 
+	/**
+	 * Points this buffer at another array without copying it, the reader index
+	 * is reset to 0 and the writer index is set to the length of the array
+	 */
+	public ByteBufEaglercraftImpl setArray(byte[] array) {
+		internal = ByteBuffer.wrap(array);
+		setIndex(0, array.length);
+		return this;
+	}
+
 	@Override
 	public ByteOrder order() {
 		return ByteOrder.BIG_ENDIAN;
@@ -28,5 +28,8 @@ class DisplayList {
 	int count = 0;
 	boolean bindQuad16 = false;
 	boolean bindQuad32 = false;
+	DisplayListArena arena = null;
+	int arenaOffset = -1;
+	int arenaIndex = -1;
 	
 }
\ No newline at end of file
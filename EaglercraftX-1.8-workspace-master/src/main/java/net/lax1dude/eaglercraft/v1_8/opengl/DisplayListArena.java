@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.opengl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import net.lax1dude.eaglercraft.v1_8.internal.IBufferGL;
+import net.lax1dude.eaglercraft.v1_8.internal.buffer.ByteBuffer;
+
+import static net.lax1dude.eaglercraft.v1_8.opengl.RealOpenGLEnums.*;
+import static net.lax1dude.eaglercraft.v1_8.internal.PlatformOpenGL.*;
+
+/**
+ * Shared vertex buffers that chunk display lists are sub-allocated from. Each
+ * page belongs to a group (the chunk region and layer the lists were uploaded
+ * for) and a vertex format, so the lists of a region end up next to each other
+ * in one buffer and drawBatch can draw runs of neighbouring ranges with a
+ * single draw call. Pages start small and double in size, freed ranges are
+ * coalesced, and on GLES 3.0 a page that has no hole large enough is compacted
+ * or grown up to PAGE_SIZE with glCopyBufferSubData before a new page is made
+ */
+class DisplayListArena {
+
+	static final int PAGE_SIZE = 0x800000;
+	static final int MIN_PAGE_SIZE = 0x10000;
+
+	private static final int GL_COPY_READ_BUFFER = 0x8F36;
+	private static final int GL_COPY_WRITE_BUFFER = 0x8F37;
+
+	private static final List<DisplayListArena> arenas = new ArrayList<>();
+	private static int nextId = 0;
+
+	private static final Comparator<DisplayList> rangeOrder = (a, b) -> a.arena != b.arena
+			? a.arena.id - b.arena.id : a.arenaOffset - b.arenaOffset;
+
+	private static int[] runCounts = new int[64];
+	private static int[] runOffsets = new int[64];
+
+	final DisplayList layout = new DisplayList();
+	final int id;
+	final int group;
+	final int stride;
+	int capacity;
+
+	private final List<DisplayList> lists = new ArrayList<>();
+	private int[] freeStart = new int[16];
+	private int[] freeLength = new int[16];
+	private int freeCount = 0;
+	private int freeTotal = 0;
+
+	private DisplayListArena(int attribs, int stride, int capacity, int group) {
+		this.id = nextId++;
+		this.group = group;
+		this.stride = stride;
+		this.capacity = capacity;
+		layout.attribs = attribs;
+		layout.mode = GL_QUADS;
+		layout.vertexArray = EaglercraftGPU.createGLVertexArray();
+		layout.vertexBuffer = EaglercraftGPU.createGLArrayBuffer();
+		EaglercraftGPU.bindVAOGLArrayBufferNow(layout.vertexBuffer);
+		_wglBufferData(GL_ARRAY_BUFFER, capacity * stride, GL_STATIC_DRAW);
+		FixedFunctionPipeline.setupDisplayList(layout);
+		freeStart[0] = 0;
+		freeLength[0] = capacity;
+		freeCount = 1;
+		freeTotal = capacity;
+	}
+
+	/**
+	 * Copies the vertices of a quad display list into a page of the group,
+	 * returns false if the list is too large for a page and needs its own buffer
+	 */
+	static boolean upload(DisplayList dp, ByteBuffer data, int attribs, int count, int group) {
+		if(count <= 0 || (count & 3) != 0) {
+			return false;
+		}
+		int stride = data.remaining() / count;
+		int maxCapacity = (PAGE_SIZE / stride) & 0xFFFFFFFC;
+		if(count > maxCapacity) {
+			return false;
+		}
+		DisplayListArena target = null;
+		int offset = -1;
+		int lastCapacity = 0;
+		for(int i = 0, l = arenas.size(); i < l; ++i) {
+			DisplayListArena a = arenas.get(i);
+			if(a.group == group && a.layout.attribs == attribs && a.stride == stride) {
+				lastCapacity = Math.max(lastCapacity, a.capacity);
+				offset = a.alloc(count);
+				if(offset != -1) {
+					target = a;
+					break;
+				}
+			}
+		}
+		if(target == null && EaglercraftGPU.checkOpenGLESVersion() >= 300) {
+			for(int i = 0, l = arenas.size(); i < l; ++i) {
+				DisplayListArena a = arenas.get(i);
+				int used = a.capacity - a.freeTotal;
+				if(a.group == group && a.layout.attribs == attribs && a.stride == stride
+						&& used + count <= maxCapacity) {
+					int newCapacity = a.capacity;
+					while(newCapacity - used < count) {
+						newCapacity <<= 1;
+					}
+					a.compact(Math.min(newCapacity, maxCapacity));
+					offset = a.alloc(count);
+					if(offset != -1) {
+						target = a;
+						break;
+					}
+				}
+			}
+		}
+		if(target == null) {
+			int newCapacity = Math.max(Math.max(count, (MIN_PAGE_SIZE / stride) & 0xFFFFFFFC), lastCapacity << 1);
+			target = new DisplayListArena(attribs, stride, Math.min(newCapacity, maxCapacity), group);
+			arenas.add(target);
+			offset = target.alloc(count);
+		}
+		EaglercraftGPU.bindVAOGLArrayBufferNow(target.layout.vertexBuffer);
+		_wglBufferSubData(GL_ARRAY_BUFFER, offset * stride, data);
+		dp.arena = target;
+		dp.arenaOffset = offset;
+		dp.arenaIndex = target.lists.size();
+		target.lists.add(dp);
+		dp.attribs = attribs;
+		dp.mode = GL_QUADS;
+		dp.count = count;
+		return true;
+	}
+
+	static void free(DisplayList dp) {
+		DisplayListArena a = dp.arena;
+		a.release(dp.arenaOffset, dp.count);
+		int last = a.lists.size() - 1;
+		if(dp.arenaIndex != last) {
+			DisplayList moved = a.lists.get(last);
+			a.lists.set(dp.arenaIndex, moved);
+			moved.arenaIndex = dp.arenaIndex;
+		}
+		a.lists.remove(last);
+		dp.arena = null;
+		dp.arenaOffset = -1;
+		dp.arenaIndex = -1;
+		dp.attribs = -1;
+		dp.count = 0;
+		if(a.lists.isEmpty()) {
+			arenas.remove(a);
+			a.destroy();
+		}
+	}
+
+	static void destroyAll() {
+		for(int i = 0, l = arenas.size(); i < l; ++i) {
+			arenas.get(i).destroy();
+		}
+		arenas.clear();
+	}
+
+	void draw(FixedFunctionPipeline p, DisplayList dp) {
+		bind();
+		int cnt = dp.count;
+		p.drawElements(GL_TRIANGLES, cnt + (cnt >> 1), GL_UNSIGNED_INT, dp.arenaOffset * 6);
+	}
+
+	/**
+	 * Draws arena lists that share the current modelview, ranges that follow
+	 * each other in a page are merged into one run and every page is drawn
+	 * with one multi draw call, or one draw call per run without multi draw.
+	 * If anyOrder is true the lists are sorted by page and offset first,
+	 * otherwise the given order is kept and only consecutive ranges merge
+	 */
+	static void drawBatch(DisplayList[] lists, int count, boolean anyOrder) {
+		if(anyOrder && count > 1) {
+			Arrays.sort(lists, 0, count, rangeOrder);
+		}
+		DisplayListArena page = null;
+		int runs = 0;
+		int runStart = 0;
+		int runEnd = 0;
+		for(int i = 0; i < count; ++i) {
+			DisplayList dp = lists[i];
+			if(dp.arena != page) {
+				if(page != null) {
+					runs = addRun(runs, runStart, runEnd);
+					page.drawRuns(runs);
+					runs = 0;
+				}
+				page = dp.arena;
+				runStart = dp.arenaOffset;
+				runEnd = runStart + dp.count;
+			}else if(dp.arenaOffset == runEnd) {
+				runEnd += dp.count;
+			}else {
+				runs = addRun(runs, runStart, runEnd);
+				runStart = dp.arenaOffset;
+				runEnd = runStart + dp.count;
+			}
+		}
+		if(page != null) {
+			runs = addRun(runs, runStart, runEnd);
+			page.drawRuns(runs);
+		}
+	}
+
+	private static int addRun(int runs, int start, int end) {
+		if(runs == runCounts.length) {
+			runCounts = Arrays.copyOf(runCounts, runs << 1);
+			runOffsets = Arrays.copyOf(runOffsets, runs << 1);
+		}
+		int cnt = end - start;
+		runCounts[runs] = cnt + (cnt >> 1);
+		runOffsets[runs] = start * 6;
+		return runs + 1;
+	}
+
+	private void drawRuns(int runs) {
+		FixedFunctionPipeline p = FixedFunctionPipeline.setupRenderDisplayList(layout.attribs).update();
+		bind();
+		if(runs == 1) {
+			p.drawElements(GL_TRIANGLES, runCounts[0], GL_UNSIGNED_INT, runOffsets[0]);
+		}else if(EaglercraftGPU.checkMultiDrawCapable()) {
+			p.multiDrawElements(GL_TRIANGLES, runCounts, GL_UNSIGNED_INT, runOffsets, runs);
+		}else {
+			for(int i = 0; i < runs; ++i) {
+				p.drawElements(GL_TRIANGLES, runCounts[i], GL_UNSIGNED_INT, runOffsets[i]);
+			}
+		}
+	}
+
+	private void bind() {
+		EaglercraftGPU.bindGLVertexArray(layout.vertexArray);
+		if(!layout.bindQuad32) {
+			layout.bindQuad32 = true;
+			EaglercraftGPU.attachQuad32EmulationBuffer(capacity, true);
+		}else {
+			EaglercraftGPU.attachQuad32EmulationBuffer(capacity, false);
+		}
+	}
+
+	private int alloc(int count) {
+		if(freeTotal < count) {
+			return -1;
+		}
+		for(int i = 0; i < freeCount; ++i) {
+			int len = freeLength[i];
+			if(len >= count) {
+				int ret = freeStart[i];
+				if(len == count) {
+					System.arraycopy(freeStart, i + 1, freeStart, i, freeCount - i - 1);
+					System.arraycopy(freeLength, i + 1, freeLength, i, freeCount - i - 1);
+					--freeCount;
+				}else {
+					freeStart[i] = ret + count;
+					freeLength[i] = len - count;
+				}
+				freeTotal -= count;
+				return ret;
+			}
+		}
+		return -1;
+	}
+
+	private void release(int start, int count) {
+		freeTotal += count;
+		int i = 0;
+		while(i < freeCount && freeStart[i] < start) {
+			++i;
+		}
+		boolean mergePrev = i > 0 && freeStart[i - 1] + freeLength[i - 1] == start;
+		boolean mergeNext = i < freeCount && start + count == freeStart[i];
+		if(mergePrev && mergeNext) {
+			freeLength[i - 1] += count + freeLength[i];
+			System.arraycopy(freeStart, i + 1, freeStart, i, freeCount - i - 1);
+			System.arraycopy(freeLength, i + 1, freeLength, i, freeCount - i - 1);
+			--freeCount;
+		}else if(mergePrev) {
+			freeLength[i - 1] += count;
+		}else if(mergeNext) {
+			freeStart[i] = start;
+			freeLength[i] += count;
+		}else {
+			if(freeCount == freeStart.length) {
+				int[] newStart = new int[freeCount << 1];
+				int[] newLength = new int[freeCount << 1];
+				System.arraycopy(freeStart, 0, newStart, 0, freeCount);
+				System.arraycopy(freeLength, 0, newLength, 0, freeCount);
+				freeStart = newStart;
+				freeLength = newLength;
+			}
+			System.arraycopy(freeStart, i, freeStart, i + 1, freeCount - i);
+			System.arraycopy(freeLength, i, freeLength, i + 1, freeCount - i);
+			freeStart[i] = start;
+			freeLength[i] = count;
+			++freeCount;
+		}
+	}
+
+	/**
+	 * Moves every live range to the start of a fresh buffer of newCapacity
+	 * vertices so all of the free space ends up in one hole at the end, this is
+	 * also how a page grows, requires GLES 3.0
+	 */
+	private void compact(int newCapacity) {
+		lists.sort((a, b) -> a.arenaOffset - b.arenaOffset);
+		IBufferGL oldBuffer = layout.vertexBuffer;
+		IBufferGL newBuffer = EaglercraftGPU.createGLArrayBuffer();
+		EaglercraftGPU.bindVAOGLArrayBufferNow(newBuffer);
+		_wglBufferData(GL_ARRAY_BUFFER, newCapacity * stride, GL_STATIC_DRAW);
+		_wglBindBuffer(GL_COPY_READ_BUFFER, oldBuffer);
+		_wglBindBuffer(GL_COPY_WRITE_BUFFER, newBuffer);
+		int pos = 0;
+		int runSrc = -1;
+		int runDst = 0;
+		int runLen = 0;
+		for(int i = 0, l = lists.size(); i < l; ++i) {
+			DisplayList dp = lists.get(i);
+			dp.arenaIndex = i;
+			if(runSrc != -1 && runSrc + runLen == dp.arenaOffset) {
+				runLen += dp.count;
+			}else {
+				if(runLen > 0) {
+					_wglCopyBufferSubData(GL_COPY_READ_BUFFER, GL_COPY_WRITE_BUFFER, runSrc * stride, runDst * stride, runLen * stride);
+				}
+				runSrc = dp.arenaOffset;
+				runDst = pos;
+				runLen = dp.count;
+			}
+			dp.arenaOffset = pos;
+			pos += dp.count;
+		}
+		if(runLen > 0) {
+			_wglCopyBufferSubData(GL_COPY_READ_BUFFER, GL_COPY_WRITE_BUFFER, runSrc * stride, runDst * stride, runLen * stride);
+		}
+		_wglBindBuffer(GL_COPY_READ_BUFFER, null);
+		_wglBindBuffer(GL_COPY_WRITE_BUFFER, null);
+		EaglercraftGPU.destroyGLArrayBuffer(oldBuffer);
+		layout.vertexBuffer = newBuffer;
+		FixedFunctionPipeline.setupDisplayList(layout);
+		capacity = newCapacity;
+		freeStart[0] = pos;
+		freeLength[0] = capacity - pos;
+		freeCount = pos < capacity ? 1 : 0;
+		freeTotal = capacity - pos;
+	}
+
+	private void destroy() {
+		for(int i = 0, l = lists.size(); i < l; ++i) {
+			DisplayList dp = lists.get(i);
+			dp.arena = null;
+			dp.arenaOffset = -1;
+			dp.arenaIndex = -1;
+			dp.attribs = -1;
+			dp.count = 0;
+		}
+		lists.clear();
+		EaglercraftGPU.destroyGLVertexArray(layout.vertexArray);
+		EaglercraftGPU.destroyGLArrayBuffer(layout.vertexBuffer);
+		layout.vertexArray = null;
+		layout.vertexBuffer = null;
+	}
+
+}
\ No newline at end of file
@@ -129,6 +129,9 @@ public class EaglercraftGPU {
 		if(dp == null) {
 			throw new IllegalArgumentException("Unknown display list: " + target);
 		}
+		if(dp.arena != null) {
+			DisplayListArena.free(dp);
+		}
 		if(dp.vertexArray != null && dp.attribs > 0) {
 			EaglercraftGPU.bindGLVertexArray(dp.vertexArray);
 			int c = 0;
@@ -203,6 +206,9 @@ public class EaglercraftGPU {
 		if(dp == null) {
 			throw new IllegalArgumentException("Unknown display list: " + target);
 		}
+		if(dp.arena != null) {
+			DisplayListArena.free(dp);
+		}
 		
 		if(dp.vertexArray != null && dp.attribs > 0) {
 			EaglercraftGPU.bindGLVertexArray(dp.vertexArray);
@@ -240,6 +246,35 @@ public class EaglercraftGPU {
 		dp.count = count;
 	}
 
+	/**
+	 * Like uploadListDirect, but quad lists are stored as a range of one of the
+	 * shared DisplayListArena pages instead of getting their own VAO, meant for
+	 * lists that are drawn many times per frame in a row like chunk layers.
+	 * Lists uploaded with the same group share pages, so lists that are drawn
+	 * together with glCallLists should use the same group
+	 */
+	public static void uploadListArena(int target, ByteBuffer buffer, int attrib, int mode, int count, int group) {
+		DisplayList dp = mapDisplayListsGL.get(target);
+		if(dp == null) {
+			throw new IllegalArgumentException("Unknown display list: " + target);
+		}
+		if(dp.arena != null) {
+			DisplayListArena.free(dp);
+		}
+		if(mode == GL_QUADS && DisplayListArena.upload(dp, buffer, attrib, count, group)) {
+			if(dp.vertexArray != null) {
+				destroyGLVertexArray(dp.vertexArray);
+				dp.vertexArray = null;
+			}
+			if(dp.vertexBuffer != null) {
+				destroyGLArrayBuffer(dp.vertexBuffer);
+				dp.vertexBuffer = null;
+			}
+		}else {
+			uploadListDirect(target, buffer, attrib, mode, count);
+		}
+	}
+
 	public static void glCallList(int displayList) {
 		DisplayList dp = mapDisplayListsGL.get(displayList);
 		if(dp == null) {
@@ -247,6 +282,10 @@ public class EaglercraftGPU {
 		}
 		if(dp.attribs != -1) {
 			FixedFunctionPipeline p = FixedFunctionPipeline.setupRenderDisplayList(dp.attribs).update();
+			if(dp.arena != null) {
+				dp.arena.draw(p, dp);
+				return;
+			}
 			bindGLVertexArray(dp.vertexArray);
 			if(dp.mode == GL_QUADS) {
 				int cnt = dp.count;
@@ -275,11 +314,52 @@ public class EaglercraftGPU {
 		}
 	}
 	
+	private static DisplayList[] batchLists = new DisplayList[64];
+
+	/**
+	 * Draws several display lists with the same modelview. Arena ranges that
+	 * sit next to each other in a page are merged into one draw call, and all
+	 * of the ranges in a page are sent as one multi draw call if the platform
+	 * supports it. If anyOrder is false the lists are drawn in the order given
+	 * and only consecutive ranges are merged, which is what translucent layers
+	 * that are sorted back to front need
+	 */
+	public static void glCallLists(int[] displayLists, int count, boolean anyOrder) {
+		if(batchLists.length < count) {
+			batchLists = new DisplayList[(count + 63) & 0xFFFFFFC0];
+		}
+		int n = 0;
+		for(int i = 0; i < count; ++i) {
+			DisplayList dp = mapDisplayListsGL.get(displayLists[i]);
+			if(dp == null) {
+				throw new NullPointerException("Tried to call a display list that does not exist: " + displayLists[i]);
+			}
+			if(dp.arena != null) {
+				batchLists[n++] = dp;
+			}else if(dp.attribs != -1) {
+				if(!anyOrder && n > 0) {
+					DisplayListArena.drawBatch(batchLists, n, false);
+					n = 0;
+				}
+				glCallList(displayLists[i]);
+			}
+		}
+		if(n > 0) {
+			DisplayListArena.drawBatch(batchLists, n, anyOrder);
+		}
+		for(int i = 0; i < count; ++i) {
+			batchLists[i] = null;
+		}
+	}
+
 	public static void flushDisplayList(int displayList) {
 		DisplayList dp = mapDisplayListsGL.get(displayList);
 		if(dp == null) {
 			throw new NullPointerException("Tried to flush a display list that does not exist: " + displayList);
 		}
+		if(dp.arena != null) {
+			DisplayListArena.free(dp);
+		}
 		dp.attribs = -1;
 		if(dp.vertexArray != null) {
 			EaglercraftGPU.destroyGLVertexArray(dp.vertexArray);
@@ -411,6 +491,9 @@ public class EaglercraftGPU {
 	public static void glDeleteLists(int id) {
 		DisplayList d = mapDisplayListsGL.free(id);
 		if(d != null) {
+			if(d.arena != null) {
+				DisplayListArena.free(d);
+			}
 			if(d.vertexArray != null) {
 				destroyGLVertexArray(d.vertexArray);
 			}
@@ -539,6 +622,17 @@ public class EaglercraftGPU {
 		_wglDrawElements(mode, count, type, offset);
 	}
 
+	public static void multiDrawElements(int mode, int[] counts, int type, int[] offsets, int drawCount) {
+		if(emulatedVAOs) {
+			if(currentVertexArray == null) {
+				logger.warn("Skipping multi draw call with emulated VAO because no known VAO is bound!");
+				return;
+			}
+			((SoftGLVertexArray)currentVertexArray).transitionToState(emulatedVAOState, true);
+		}
+		_wglMultiDrawElements(mode, counts, type, offsets, drawCount);
+	}
+
 	public static void drawArraysInstanced(int mode, int first, int count, int instances) {
 		if(emulatedVAOs) {
 			if(currentVertexArray == null) {
@@ -894,6 +988,7 @@ public class EaglercraftGPU {
 	static boolean fboRenderMipmapCapable = false;
 	static boolean vertexArrayCapable = false;
 	static boolean instancingCapable = false;
+	static boolean multiDrawCapable = false;
 	static boolean texStorageCapable = false;
 	static boolean textureLODCapable = false;
 	static boolean shader5Capable = false;
@@ -992,6 +1087,7 @@ public class EaglercraftGPU {
 		emulatedVAOs = !vertexArrayCapable;
 		fboRenderMipmapCapable = PlatformOpenGL.checkFBORenderMipmapCapable();
 		instancingCapable = PlatformOpenGL.checkInstancingCapable();
+		multiDrawCapable = PlatformOpenGL.checkMultiDrawCapable();
 		texStorageCapable = PlatformOpenGL.checkTexStorageCapable();
 		textureLODCapable = PlatformOpenGL.checkTextureLODCapable();
 		shader5Capable = PlatformOpenGL.checkOESGPUShader5Capable() || PlatformOpenGL.checkEXTGPUShader5Capable();
@@ -1056,12 +1152,14 @@ public class EaglercraftGPU {
 		TextureCopyUtil.destroy();
 		FixedFunctionPipeline.flushCache();
 		StreamBuffer.destroyPool();
+		DisplayListArena.destroyAll();
 		emulatedVAOs = false;
 		emulatedVAOState = null;
 		glesVers = -1;
 		fboRenderMipmapCapable = false;
 		vertexArrayCapable = false;
 		instancingCapable = false;
+		multiDrawCapable = false;
 		hasFramebufferHDR16FSupport = false;
 		hasFramebufferHDR32FSupport = false;
 		hasLinearHDR32FSupport = false;
@@ -1091,6 +1189,10 @@ public class EaglercraftGPU {
 		return texStorageCapable;
 	}
 
+	public static boolean checkMultiDrawCapable() {
+		return multiDrawCapable;
+	}
+
 	public static boolean checkTextureLODCapable() {
 		return textureLODCapable;
 	}
@@ -184,6 +184,11 @@ public class FixedFunctionPipeline {
 		EaglercraftGPU.drawElements(mode, count, type, offset);
 	}
 	
+	void multiDrawElements(int mode, int[] counts, int type, int[] offsets, int drawCount) {
+		EaglercraftGPU.bindGLShaderProgram(shaderProgram);
+		EaglercraftGPU.multiDrawElements(mode, counts, type, offsets, drawCount);
+	}
+	
 	private static IExtPipelineCompiler extensionProvider;
 	
 	public static void loadExtensionPipeline(IExtPipelineCompiler provider) {
@@ -46,7 +46,7 @@ public class InstancedParticleRenderer {
 	private static boolean particlesHasOverflowed = false;
 
 	private static final int BYTES_PER_PARTICLE = 24;
-	private static final int PARTICLE_LIMIT = 5461;
+	private static final int PARTICLE_LIMIT = 16384;
 
 	private static IProgramGL shaderProgram = null;
 	private static IUniformGL u_matrixTransform = null;
@@ -737,6 +737,8 @@ public class RealOpenGLEnums {
 	public static final int GL_CURRENT_QUERY = 34917;
 	public static final int GL_QUERY_RESULT = 34918;
 	public static final int GL_QUERY_RESULT_AVAILABLE = 34919;
+	public static final int GL_ANY_SAMPLES_PASSED = 35887;
+	public static final int GL_ANY_SAMPLES_PASSED_CONSERVATIVE = 36202;
 	public static final int GL_SHADING_LANGUAGE_VERSION = 35724;
 	public static final int GL_CURRENT_PROGRAM = 35725;
 	public static final int GL_SHADER_TYPE = 35663;
@@ -294,6 +294,22 @@ public class WorldRenderer {
 
 	}
 
+	/**
+	 * adds an offset to the position of every vertex in the buffer, used to move
+	 * finished chunk vertices into the coordinate space of their render region
+	 */
+	public void offsetVertexPositions(float x, float y, float z) {
+		int i = this.vertexFormat.attribStride >> 2;
+		int j = this.vertexCount * i;
+
+		for (int k = 0; k < j; k += i) {
+			this.floatBuffer.put(k, this.floatBuffer.get(k) + x);
+			this.floatBuffer.put(k + 1, this.floatBuffer.get(k + 1) + y);
+			this.floatBuffer.put(k + 2, this.floatBuffer.get(k + 2) + z);
+		}
+
+	}
+
 	/**
 	 * gets the color index of a vertex parInt1 indicies before the current vertex
 	 */
@@ -533,6 +549,10 @@ public class WorldRenderer {
 		}
 	}
 
+	public boolean isDrawing() {
+		return this.isDrawing;
+	}
+
 	public ByteBuffer getByteBuffer() {
 		return this.byteBuffer;
 	}
@@ -45,4 +45,17 @@ public class WorldVertexBufferUploader {
 		}
 	}
 
+	public static void uploadDisplayListArena(int displayList, WorldRenderer worldRenderer, int group) {
+		int cunt = worldRenderer.getVertexCount();
+		if (cunt > 0) {
+			VertexFormat fmt = worldRenderer.getVertexFormat();
+			ByteBuffer buf = worldRenderer.getByteBuffer();
+			buf.position(0).limit(cunt * fmt.attribStride);
+			EaglercraftGPU.uploadListArena(displayList, buf, fmt.eaglercraftAttribBits, worldRenderer.getDrawMode(), cunt, group);
+			worldRenderer.reset();
+		}else {
+			EaglercraftGPU.flushDisplayList(displayList);
+		}
+	}
+
 }
\ No newline at end of file
@@ -42,7 +42,7 @@ public class GBufferAcceleratedEffectRenderer extends AbstractAcceleratedEffectR
 	private boolean particlesHasOverflowed = false;
 
 	private static final int BYTES_PER_PARTICLE = 24;
-	private static final int PARTICLE_LIMIT = 5461;
+	private static final int PARTICLE_LIMIT = 16384;
 
 	private PipelineShaderAccelParticleGBuffer shaderProgram = null;
 
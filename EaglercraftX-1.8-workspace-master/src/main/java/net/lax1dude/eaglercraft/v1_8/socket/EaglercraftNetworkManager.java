@@ -17,6 +17,7 @@
 package net.lax1dude.eaglercraft.v1_8.socket;
 
 import java.io.IOException;
+import java.util.List;
 
 import net.lax1dude.eaglercraft.v1_8.internal.EnumEaglerConnectionState;
 import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
@@ -99,6 +100,12 @@ public abstract class EaglercraftNetworkManager {
 
 	public abstract boolean checkDisconnected();
 	
+	/**
+	 * Adds lines about the traffic on this connection to the debug overlay
+	 */
+	public void appendDebugInfo(List<String> lst) {
+	}
+	
 	protected boolean clientDisconnected = false;
 	
 	protected void doClientDisconnect(IChatComponent msg) {
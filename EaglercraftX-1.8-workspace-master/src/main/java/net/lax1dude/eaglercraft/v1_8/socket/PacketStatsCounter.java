@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.socket;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.lax1dude.eaglercraft.v1_8.EagRuntime;
+import net.minecraft.network.Packet;
+
+/**
+ * Counts the packets, bytes and the time spent decoding and handling them per
+ * packet class on one connection. The counters are rolled over every
+ * {@link #WINDOW_MILLIS} and the last full window is what the debug overlay
+ * shows, bytes are the frame sizes which is also what every frame allocates
+ */
+public class PacketStatsCounter {
+
+	public static final long WINDOW_MILLIS = 1000l;
+	public static final int REPORT_TYPES = 3;
+
+	private static final Comparator<Entry> sortByTime = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry o1, Entry o2) {
+			return Long.compare(o2.lastNanos, o1.lastNanos);
+		}
+	};
+
+	private final Map<Class<?>, Entry> entries = new HashMap<>();
+	private final List<Entry> entryList = new ArrayList<>();
+	private final List<Entry> sortTmp = new ArrayList<>();
+	private long windowStart = EagRuntime.steadyTimeMillis();
+
+	private int inboundCount = 0;
+	private int inboundBytes = 0;
+	private int outboundCount = 0;
+	private int outboundBytes = 0;
+	private int lastInboundCount = 0;
+	private int lastInboundBytes = 0;
+	private int lastOutboundCount = 0;
+	private int lastOutboundBytes = 0;
+
+	private static class Entry {
+
+		private final String name;
+		private int count = 0;
+		private int bytes = 0;
+		private long nanos = 0l;
+		private long maxNanos = 0l;
+		private int lastCount = 0;
+		private int lastBytes = 0;
+		private long lastNanos = 0l;
+		private long lastMaxNanos = 0l;
+
+		private Entry(String name) {
+			this.name = name;
+		}
+
+	}
+
+	public void recordInbound(Packet<?> pkt, int bytes, long nanos) {
+		Class<?> clazz = pkt.getClass();
+		Entry e = entries.get(clazz);
+		if(e == null) {
+			e = new Entry(clazz.getSimpleName());
+			entries.put(clazz, e);
+			entryList.add(e);
+		}
+		++e.count;
+		e.bytes += bytes;
+		e.nanos += nanos;
+		if(nanos > e.maxNanos) {
+			e.maxNanos = nanos;
+		}
+		++inboundCount;
+		inboundBytes += bytes;
+	}
+
+	public void recordOutbound(int bytes) {
+		++outboundCount;
+		outboundBytes += bytes;
+	}
+
+	/**
+	 * Rolls the counters over once the current window is complete, should be
+	 * called every tick
+	 */
+	public void update() {
+		long now = EagRuntime.steadyTimeMillis();
+		if(now - windowStart < WINDOW_MILLIS) {
+			return;
+		}
+		windowStart = now;
+		lastInboundCount = inboundCount;
+		lastInboundBytes = inboundBytes;
+		lastOutboundCount = outboundCount;
+		lastOutboundBytes = outboundBytes;
+		inboundCount = 0;
+		inboundBytes = 0;
+		outboundCount = 0;
+		outboundBytes = 0;
+		for(int i = 0, l = entryList.size(); i < l; ++i) {
+			Entry e = entryList.get(i);
+			e.lastCount = e.count;
+			e.lastBytes = e.bytes;
+			e.lastNanos = e.nanos;
+			e.lastMaxNanos = e.maxNanos;
+			e.count = 0;
+			e.bytes = 0;
+			e.nanos = 0l;
+			e.maxNanos = 0l;
+		}
+	}
+
+	/**
+	 * Appends the totals of the last window and the {@link #REPORT_TYPES} packet
+	 * types that took the most time, as "count (size) total/max ms"
+	 */
+	public void appendReport(List<String> lst) {
+		if(lastInboundCount == 0 && lastOutboundCount == 0) {
+			return;
+		}
+		lst.add("");
+		lst.add("Net/s: " + lastInboundCount + " in (" + formatKB(lastInboundBytes) + "), " + lastOutboundCount
+				+ " out (" + formatKB(lastOutboundBytes) + ")");
+		sortTmp.clear();
+		for(int i = 0, l = entryList.size(); i < l; ++i) {
+			Entry e = entryList.get(i);
+			if(e.lastCount > 0) {
+				sortTmp.add(e);
+			}
+		}
+		Collections.sort(sortTmp, sortByTime);
+		for(int i = 0, l = Math.min(sortTmp.size(), REPORT_TYPES); i < l; ++i) {
+			Entry e = sortTmp.get(i);
+			lst.add(e.name + ": " + e.lastCount + " (" + formatKB(e.lastBytes) + ") " + formatMillis(e.lastNanos)
+					+ "/" + formatMillis(e.lastMaxNanos) + " ms");
+		}
+		sortTmp.clear();
+	}
+
+	private static String formatKB(int bytes) {
+		return (bytes / 1024) + "." + ((bytes * 10 / 1024) % 10) + " KB";
+	}
+
+	private static String formatMillis(long nanos) {
+		long micros = nanos / 1000l;
+		return (micros / 1000l) + "." + ((micros / 100l) % 10l);
+	}
+
+}
\ No newline at end of file
@@ -17,13 +17,14 @@
 package net.lax1dude.eaglercraft.v1_8.socket;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 
+import net.lax1dude.eaglercraft.v1_8.EagRuntime;
 import net.lax1dude.eaglercraft.v1_8.internal.EnumEaglerConnectionState;
 import net.lax1dude.eaglercraft.v1_8.internal.IWebSocketClient;
 import net.lax1dude.eaglercraft.v1_8.internal.IWebSocketFrame;
-import net.lax1dude.eaglercraft.v1_8.netty.ByteBuf;
-import net.lax1dude.eaglercraft.v1_8.netty.Unpooled;
+import net.lax1dude.eaglercraft.v1_8.netty.ByteBufEaglercraftImpl;
 import net.minecraft.network.EnumPacketDirection;
 import net.minecraft.network.Packet;
 import net.minecraft.network.PacketBuffer;
@@ -32,11 +33,18 @@ import net.minecraft.util.IChatComponent;
 
 public class WebSocketNetworkManager extends EaglercraftNetworkManager {
 
+	private static final byte[] EMPTY_FRAME = new byte[0];
+
 	protected final IWebSocketClient webSocketClient;
+	protected final ByteBufEaglercraftImpl receiveView;
+	protected final PacketBuffer receiveBuffer;
+	protected final PacketStatsCounter packetStats = new PacketStatsCounter();
 
 	public WebSocketNetworkManager(IWebSocketClient webSocketClient) {
 		super(webSocketClient.getCurrentURI());
 		this.webSocketClient = webSocketClient;
+		this.receiveView = new ByteBufEaglercraftImpl(ByteBuffer.wrap(EMPTY_FRAME), Integer.MAX_VALUE);
+		this.receiveBuffer = new PacketBuffer(receiveView);
 	}
 
 	public void connect() {
@@ -54,7 +62,14 @@ public class WebSocketNetworkManager extends EaglercraftNetworkManager {
 		clientDisconnected = true;
 	}
 
+	/**
+	 * receiveBuffer is pointed at each frame's array in place and decoded from
+	 * there, so frames are never copied. Packets copy what they keep out of
+	 * their input, and the view is released after the last frame so it doesn't
+	 * hold on to a large frame until the next one arrives
+	 */
 	public void processReceivedPackets() throws IOException {
+		packetStats.update();
 		if(nethandler == null) return;
 		if(webSocketClient.availableStringFrames() > 0) {
 			logger.warn("discarding {} string frames recieved on a binary connection", webSocketClient.availableStringFrames());
@@ -71,9 +86,9 @@ public class WebSocketNetworkManager extends EaglercraftNetworkManager {
 			++debugPacketCounter;
 			try {
 				byte[] asByteArray = next.getByteArray();
-				ByteBuf nettyBuffer = Unpooled.buffer(asByteArray, asByteArray.length);
-				nettyBuffer.writerIndex(asByteArray.length);
-				PacketBuffer input = new PacketBuffer(nettyBuffer);
+				long start = EagRuntime.nanoTime();
+				receiveView.setArray(asByteArray);
+				PacketBuffer input = receiveBuffer;
 				int pktId = input.readVarIntFromBuffer();
 				
 				Packet pkt;
@@ -100,11 +115,13 @@ public class WebSocketNetworkManager extends EaglercraftNetworkManager {
 					logger.error(t);
 				}
 				
+				packetStats.recordInbound(pkt, asByteArray.length, EagRuntime.nanoTime() - start);
 			}catch(Throwable t) {
 				logger.error("Failed to process websocket frame {}! It'll be skipped for debug purposes.", debugPacketCounter);
 				logger.error(t);
 			}
 		}
+		receiveView.setArray(EMPTY_FRAME);
 	}
 
 	public void sendPacket(Packet pkt) {
@@ -131,10 +148,12 @@ public class WebSocketNetworkManager extends EaglercraftNetworkManager {
 		}
 		
 		int len = temporaryBuffer.writerIndex();
-		byte[] bytes = new byte[len];
-		temporaryBuffer.getBytes(0, bytes);
-		
-		webSocketClient.send(bytes);
+		webSocketClient.send(temporaryBuffer.array(), temporaryBuffer.arrayOffset(), len);
+		packetStats.recordOutbound(len);
+	}
+
+	public void appendDebugInfo(List<String> lst) {
+		packetStats.appendReport(lst);
 	}
 
 	public boolean checkDisconnected() {
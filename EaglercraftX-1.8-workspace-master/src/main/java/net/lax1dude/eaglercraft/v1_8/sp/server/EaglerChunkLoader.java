@@ -16,25 +16,59 @@
 
 package net.lax1dude.eaglercraft.v1_8.sp.server;
 
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
+import com.carrotsearch.hppc.LongArrayDeque;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.LongObjectMap;
+import com.carrotsearch.hppc.cursors.LongObjectCursor;
+import com.carrotsearch.hppc.cursors.ObjectCursor;
+
+import net.lax1dude.eaglercraft.v1_8.EagRuntime;
+import net.lax1dude.eaglercraft.v1_8.EaglerInputStream;
+import net.lax1dude.eaglercraft.v1_8.EaglerZLIB;
 import net.lax1dude.eaglercraft.v1_8.internal.vfs2.VFile2;
 import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
 import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
+import net.lax1dude.eaglercraft.v1_8.sp.server.export.RandomAccessMemoryFile;
 import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.storage.AnvilChunkLoader;
-import net.minecraft.nbt.CompressedStreamTools;
-import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.nbt.NBTTagList;
 
 public class EaglerChunkLoader extends AnvilChunkLoader {
 
 	private static final String hex = "0123456789ABCDEF";
 	private static final Logger logger = LogManager.getLogger("EaglerChunkLoader");
 
+	/**
+	 * Regions are kept in memory and only written back to the VFS as a whole, this
+	 * is the number of regions that can be open before the least recently used one
+	 * is flushed and closed
+	 */
+	private static final int MAX_OPEN_REGIONS = 32;
+
+	/**
+	 * Number of chunkTick calls a region is allowed to stay dirty before it is
+	 * written back, so unloaded chunks still reach storage between autosaves
+	 */
+	private static final int REGION_WRITE_DELAY = 600;
+
+	/**
+	 * Limits on how many queued chunks chunkTick will compress and write into their
+	 * regions each tick, the rest stay queued until the next tick
+	 */
+	private static final int MAX_CHUNK_WRITES_PER_TICK = 32;
+	private static final long CHUNK_WRITE_BUDGET_NANOS = 3000000l;
+
 	public static String getChunkPath(int x, int z) {
 		int unsignedX = x + 1900000;
 		int unsignedZ = z + 1900000;
@@ -63,41 +97,370 @@ public class EaglerChunkLoader extends AnvilChunkLoader {
 		return new ChunkCoordIntPair(retX - 1900000, retZ - 1900000);
 	}
 
+	/**
+	 * Returns true if the filename is a chunk from before worlds were stored in
+	 * regions, in the format "XXXXXXZZZZZZ.dat"
+	 */
+	public static boolean isLegacyChunkFile(String filename) {
+		if(filename.length() != 16 || !filename.endsWith(".dat")) {
+			return false;
+		}
+		for(int i = 0; i < 12; ++i) {
+			if(hex.indexOf(filename.charAt(i)) == -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Uses the same naming scheme as vanilla, so the files can be exported as MCA
+	 * without being converted
+	 */
+	public static String getRegionPath(int regionX, int regionZ) {
+		return "r." + regionX + "." + regionZ + ".mca";
+	}
+
+	public static RegionFile createRegionFile(byte[] data) {
+		return data != null ? new RegionFile(new RandomAccessMemoryFile(data, data.length))
+				: new RegionFile(new RandomAccessMemoryFile(new byte[8192], 0));
+	}
+
 	public final VFile2 chunkDirectory;
 
+	private final LongObjectMap<RegionEntry> openRegions = new LongObjectHashMap<>();
+	private final LongObjectMap<byte[]> pendingChunks = new LongObjectHashMap<>();
+	private final LongArrayDeque pendingChunksQueue = new LongArrayDeque();
+	private int tickCounter = 0;
+	private long accessCounter = 0l;
+
+	private final NBTStreamWriter chunkWriter = new NBTStreamWriter(131072);
+	private final NBTStreamReader chunkReader = new NBTStreamReader(131072);
+	private byte[] compressBuffer = new byte[65536];
+
 	public EaglerChunkLoader(VFile2 chunkDirectory) {
 		this.chunkDirectory = chunkDirectory;
+		convertLegacyChunks();
 	}
 
 	@Override
 	public Chunk loadChunk(World var1, int var2, int var3) throws IOException {
-		VFile2 file = WorldsDB.newVFile(chunkDirectory, getChunkPath(var2, var3) + ".dat");
-		if(!file.exists()) {
-			return null;
-		}
+		long k = ChunkCoordIntPair.chunkXZ2Int(var2, var3);
+		byte[] pending = pendingChunks.get(k);
 		try {
-			NBTTagCompound nbt;
-			try(InputStream is = file.getInputStream()) {
-				nbt = CompressedStreamTools.readCompressed(is);
+			if(pending != null) {
+				chunkReader.wrap(pending, 0, pending.length);
+			}else {
+				RegionFile region = getRegion(var2 >> 5, var3 >> 5, false);
+				if(region == null || !region.isChunkSaved(var2 & 31, var3 & 31)) {
+					return null;
+				}
+				try(InputStream is = region.getChunkInputStreamReusable(var2 & 31, var3 & 31)) {
+					if(is == null) {
+						logger.error("Chunk {}, {} is corrupt, it will be regenerated", var2, var3);
+						return null;
+					}
+					chunkReader.load(is);
+				}
 			}
-			return checkedReadChunkFromNBT(var1, var2, var3, nbt);
+			return readChunkFromStream(var1, var2, var3, chunkReader);
 		}catch(Throwable t) {
-			
+			logger.error("Could not read chunk {}, {}", var2, var3);
+			logger.error(t);
 		}
 		return null;
 	}
 
 	@Override
 	public void saveChunk(World var1, Chunk var2) throws IOException {
-		var1.alfheim$getLightingEngine().processLightUpdates();
-		NBTTagCompound chunkData = new NBTTagCompound();
-		this.writeChunkToNBT(var2, var1, chunkData);
-		NBTTagCompound fileData = new NBTTagCompound();
-		fileData.setTag("Level", chunkData);
-		VFile2 file = WorldsDB.newVFile(chunkDirectory, getChunkPath(var2.xPosition, var2.zPosition) + ".dat");
-		try(OutputStream os = file.getOutputStream()) {
-			CompressedStreamTools.writeCompressed(fileData, os);
+		var1.alfheim$getLightingEngine().processLightUpdatesForChunk(var2.xPosition, var2.zPosition);
+		chunkWriter.reset();
+		writeChunkToStream(var2, var1, chunkWriter);
+		long k = ChunkCoordIntPair.chunkXZ2Int(var2.xPosition, var2.zPosition);
+		if(pendingChunks.put(k, chunkWriter.toByteArray()) == null) {
+			pendingChunksQueue.addLast(k);
+		}
+	}
+
+	private void writeChunkNBT(int x, int z, byte[] fileData) throws IOException {
+		RegionFile region = getRegion(x >> 5, z >> 5, true);
+		int bound = fileData.length + (fileData.length >> 8) + 64;
+		if(compressBuffer.length < bound) {
+			compressBuffer = new byte[bound];
+		}
+		int len = EaglerZLIB.deflateFull(fileData, 0, fileData.length, compressBuffer, 0, compressBuffer.length);
+		region.writeCompressedChunk(x & 31, z & 31, compressBuffer, len);
+		markRegionDirty(x >> 5, z >> 5);
+	}
+
+	/**
+	 * Serializes the chunk in the same layout as
+	 * {@link AnvilChunkLoader#writeChunkToNBT}, but straight into the writer's
+	 * buffer instead of building a tree of tags first. Entities, tile entities
+	 * and tile ticks are still built as tags since that is how they serialize
+	 * themselves
+	 */
+	private void writeChunkToStream(Chunk chunkIn, World worldIn, NBTStreamWriter out) throws IOException {
+		out.beginCompound("");
+		out.beginCompound("Level");
+		NBTTagList lightChecks = alfheim$writeNeighborLightChecks(chunkIn);
+		if(lightChecks != null) {
+			out.writeTag(NEIGHBOR_LIGHT_CHECKS_KEY, lightChecks);
+		}
+		out.writeByteTag("V", 1);
+		out.writeIntTag("xPos", chunkIn.xPosition);
+		out.writeIntTag("zPos", chunkIn.zPosition);
+		out.writeLongTag("LastUpdate", worldIn.getTotalWorldTime());
+		out.writeIntArrayTag("HeightMap", chunkIn.getHeightMap());
+		out.writeBooleanTag("TerrainPopulated", chunkIn.isTerrainPopulated());
+		out.writeBooleanTag("LightPopulated", chunkIn.isLightPopulated());
+		out.writeLongTag("InhabitedTime", chunkIn.getInhabitedTime());
+		ExtendedBlockStorage[] storageArrays = chunkIn.getBlockStorageArray();
+		int sectionCount = 0;
+		for(int i = 0; i < storageArrays.length; ++i) {
+			if(storageArrays[i] != null) {
+				++sectionCount;
+			}
 		}
+		boolean hasSky = !worldIn.provider.getHasNoSky();
+		out.beginList("Sections", NBTStreamWriter.TAG_COMPOUND, sectionCount);
+		for(int i = 0; i < storageArrays.length; ++i) {
+			ExtendedBlockStorage storage = storageArrays[i];
+			if(storage == null) {
+				continue;
+			}
+			out.writeByteTag("Y", storage.getYLocation() >> 4 & 255);
+			char[] data = storage.getData();
+			boolean hasAdd = false;
+			for(int j = 0; j < data.length; ++j) {
+				if(data[j] >> 12 != 0) {
+					hasAdd = true;
+					break;
+				}
+			}
+			int blocksOffset = out.reserveByteArrayTag("Blocks", data.length);
+			int dataOffset = out.reserveByteArrayTag("Data", data.length >> 1);
+			int addOffset = hasAdd ? out.reserveByteArrayTag("Add", data.length >> 1) : -1;
+			byte[] buf = out.getBuffer();
+			for(int j = 0; j < data.length; j += 2) {
+				char c0 = data[j];
+				char c1 = data[j + 1];
+				buf[blocksOffset + j] = (byte) (c0 >> 4);
+				buf[blocksOffset + j + 1] = (byte) (c1 >> 4);
+				buf[dataOffset + (j >> 1)] = (byte) ((c0 & 15) | (c1 & 15) << 4);
+				if(addOffset != -1) {
+					buf[addOffset + (j >> 1)] = (byte) ((c0 >> 12) | (c1 >> 12) << 4);
+				}
+			}
+			out.writeByteArrayTag("BlockLight", storage.getBlocklightArray().getData());
+			if(hasSky) {
+				out.writeByteArrayTag("SkyLight", storage.getSkylightArray().getData());
+			}else {
+				int skyOffset = out.reserveByteArrayTag("SkyLight", 2048);
+				Arrays.fill(out.getBuffer(), skyOffset, skyOffset + 2048, (byte) 0);
+			}
+			out.endCompound();
+		}
+		out.writeByteArrayTag("Biomes", chunkIn.getBiomeArray());
+		out.writeTag("Entities", writeEntitiesToNBT(chunkIn));
+		out.writeTag("TileEntities", writeTileEntitiesToNBT(chunkIn));
+		NBTTagList tileTicks = writeTileTicksToNBT(chunkIn, worldIn);
+		if(tileTicks != null) {
+			out.writeTag("TileTicks", tileTicks);
+		}
+		out.endCompound();
+		out.endCompound();
+	}
+
+	/**
+	 * Counterpart of {@link #writeChunkToStream}, decodes the sections directly
+	 * from the reader's buffer into the arrays of the new chunk and skips any tags
+	 * it doesn't know
+	 */
+	private Chunk readChunkFromStream(World worldIn, int x, int z, NBTStreamReader in) throws IOException {
+		if(in.readTagType() != NBTStreamWriter.TAG_COMPOUND) {
+			throw new IOException("Root tag must be a named compound tag");
+		}
+		in.readName();
+		int t;
+		while((t = in.readTagType()) != NBTStreamWriter.TAG_END) {
+			String name = in.readName();
+			if(t == NBTStreamWriter.TAG_COMPOUND && "Level".equals(name)) {
+				return readLevelFromStream(worldIn, x, z, in);
+			}
+			in.skipPayload(t);
+		}
+		logger.error("Chunk file at {}, {} is missing level data, skipping", x, z);
+		return null;
+	}
+
+	private Chunk readLevelFromStream(World worldIn, int x, int z, NBTStreamReader in) throws IOException {
+		Chunk chunk = new Chunk(worldIn, x, z);
+		boolean hasSky = !worldIn.provider.getHasNoSky();
+		boolean hasSections = false;
+		boolean lightPopulated = false;
+		NBTTagList entities = null;
+		NBTTagList tileEntities = null;
+		NBTTagList tileTicks = null;
+		NBTTagList lightChecks = null;
+		int t;
+		while((t = in.readTagType()) != NBTStreamWriter.TAG_END) {
+			String name = in.readName();
+			switch(t) {
+			case NBTStreamWriter.TAG_INT:
+				if("xPos".equals(name) || "zPos".equals(name)) {
+					int i = in.readInt();
+					if(i != ("xPos".equals(name) ? x : z)) {
+						logger.error("Chunk file at {}, {} is in the wrong location; relocating. ({} is {})", x, z,
+								name, i);
+					}
+					continue;
+				}
+				break;
+			case NBTStreamWriter.TAG_BYTE:
+				if("TerrainPopulated".equals(name)) {
+					chunk.setTerrainPopulated(in.readBoolean());
+					continue;
+				}else if("LightPopulated".equals(name)) {
+					lightPopulated = in.readBoolean();
+					chunk.setLightPopulated(lightPopulated);
+					continue;
+				}
+				break;
+			case NBTStreamWriter.TAG_LONG:
+				if("InhabitedTime".equals(name)) {
+					chunk.setInhabitedTime(in.readLong());
+					continue;
+				}
+				break;
+			case NBTStreamWriter.TAG_INT_ARRAY:
+				if("HeightMap".equals(name)) {
+					in.readIntArrayInto(chunk.getHeightMap());
+					continue;
+				}
+				break;
+			case NBTStreamWriter.TAG_BYTE_ARRAY:
+				if("Biomes".equals(name)) {
+					in.readByteArrayInto(chunk.getBiomeArray());
+					continue;
+				}
+				break;
+			case NBTStreamWriter.TAG_LIST:
+				if("Sections".equals(name)) {
+					readSectionsFromStream(chunk.getBlockStorageArray(), hasSky, in);
+					hasSections = true;
+					continue;
+				}else if("Entities".equals(name)) {
+					entities = (NBTTagList) in.readPayload(t);
+					continue;
+				}else if("TileEntities".equals(name)) {
+					tileEntities = (NBTTagList) in.readPayload(t);
+					continue;
+				}else if("TileTicks".equals(name)) {
+					tileTicks = (NBTTagList) in.readPayload(t);
+					continue;
+				}else if(NEIGHBOR_LIGHT_CHECKS_KEY.equals(name)) {
+					lightChecks = (NBTTagList) in.readPayload(t);
+					continue;
+				}
+				break;
+			}
+			in.skipPayload(t);
+		}
+		if(!hasSections) {
+			logger.error("Chunk file at {}, {} is missing block data, skipping", x, z);
+			return null;
+		}
+		readEntitiesFromNBT(chunk, worldIn, entities);
+		readTileEntitiesFromNBT(chunk, tileEntities);
+		readTileTicksFromNBT(worldIn, tileTicks);
+		if(lightChecks != null) {
+			alfheim$readNeighborLightChecks(chunk, lightChecks);
+		}
+		chunk.alfheim$setLightInitialized(lightPopulated);
+		return chunk;
+	}
+
+	private static void readSectionsFromStream(ExtendedBlockStorage[] storageArrays, boolean hasSky,
+			NBTStreamReader in) throws IOException {
+		int elementType = in.readTagType();
+		int count = in.readInt();
+		if(elementType != NBTStreamWriter.TAG_COMPOUND) {
+			for(int i = 0; i < count; ++i) {
+				in.skipPayload(elementType);
+			}
+			return;
+		}
+		for(int i = 0; i < count; ++i) {
+			int y = -1;
+			int blocksOffset = -1;
+			int dataOffset = -1;
+			int addOffset = -1;
+			int blockLightOffset = -1;
+			int skyLightOffset = -1;
+			int t;
+			while((t = in.readTagType()) != NBTStreamWriter.TAG_END) {
+				String name = in.readName();
+				if(t == NBTStreamWriter.TAG_BYTE && "Y".equals(name)) {
+					y = in.readByte();
+				}else if(t == NBTStreamWriter.TAG_BYTE_ARRAY) {
+					if("Blocks".equals(name)) {
+						blocksOffset = in.readByteArrayInPlace(4096);
+					}else if("Data".equals(name)) {
+						dataOffset = in.readByteArrayInPlace(2048);
+					}else if("Add".equals(name)) {
+						addOffset = in.readByteArrayInPlace(2048);
+					}else if("BlockLight".equals(name)) {
+						blockLightOffset = in.readByteArrayInPlace(2048);
+					}else if("SkyLight".equals(name)) {
+						skyLightOffset = in.readByteArrayInPlace(2048);
+					}else {
+						in.skipPayload(t);
+					}
+				}else {
+					in.skipPayload(t);
+				}
+			}
+			if(y < 0 || y >= storageArrays.length || blocksOffset == -1 || dataOffset == -1) {
+				throw new IOException("Chunk section " + i + " is missing block data");
+			}
+			ExtendedBlockStorage storage = new ExtendedBlockStorage(y << 4, hasSky);
+			byte[] buf = in.getBuffer();
+			char[] data = storage.getData();
+			for(int j = 0; j < data.length; ++j) {
+				int shift = (j & 1) << 2;
+				int add = addOffset != -1 ? buf[addOffset + (j >> 1)] >> shift & 15 : 0;
+				data[j] = (char) (add << 12 | (buf[blocksOffset + j] & 255) << 4
+						| (buf[dataOffset + (j >> 1)] >> shift & 15));
+			}
+			if(blockLightOffset != -1) {
+				System.arraycopy(buf, blockLightOffset, storage.getBlocklightArray().getData(), 0, 2048);
+			}
+			if(hasSky && skyLightOffset != -1) {
+				System.arraycopy(buf, skyLightOffset, storage.getSkylightArray().getData(), 0, 2048);
+			}
+			storage.removeInvalidBlocks();
+			storageArrays[y] = storage;
+		}
+	}
+
+	private boolean writeNextPendingChunk() {
+		while(!pendingChunksQueue.isEmpty()) {
+			long k = pendingChunksQueue.removeFirst();
+			byte[] fileData = pendingChunks.remove(k);
+			if(fileData != null) {
+				int x = (int) k;
+				int z = (int) (k >> 32);
+				try {
+					writeChunkNBT(x, z, fileData);
+				}catch(IOException ex) {
+					logger.error("Could not save chunk {}, {}", x, z);
+					logger.error(ex);
+				}
+				return true;
+			}
+		}
+		return false;
 	}
 
 	@Override
@@ -107,12 +470,148 @@ public class EaglerChunkLoader extends AnvilChunkLoader {
 
 	@Override
 	public void chunkTick() {
-		// ?
+		++tickCounter;
+		if(!pendingChunksQueue.isEmpty()) {
+			long start = EagRuntime.nanoTime();
+			for(int i = 0; i < MAX_CHUNK_WRITES_PER_TICK; ++i) {
+				if(!writeNextPendingChunk() || EagRuntime.nanoTime() - start > CHUNK_WRITE_BUDGET_NANOS) {
+					break;
+				}
+			}
+		}
+		RegionEntry oldest = null;
+		for(ObjectCursor<RegionEntry> etr : openRegions.values()) {
+			RegionEntry e = etr.value;
+			if(e.dirty && tickCounter - e.dirtySince > REGION_WRITE_DELAY
+					&& (oldest == null || e.dirtySince < oldest.dirtySince)) {
+				oldest = e;
+			}
+		}
+		if(oldest != null) {
+			oldest.flush();
+		}
 	}
 
 	@Override
 	public void saveExtraData() {
-		// ?
+		while(writeNextPendingChunk());
+		for(ObjectCursor<RegionEntry> etr : openRegions.values()) {
+			etr.value.flush();
+		}
+	}
+
+	/**
+	 * Writes all queued chunks and dirty regions and closes them
+	 */
+	public void flush() {
+		saveExtraData();
+		openRegions.clear();
+	}
+
+	private RegionFile getRegion(int regionX, int regionZ, boolean create) {
+		long k = ChunkCoordIntPair.chunkXZ2Int(regionX, regionZ);
+		RegionEntry etr = openRegions.get(k);
+		if(etr == null) {
+			if(openRegions.size() >= MAX_OPEN_REGIONS) {
+				closeLeastRecentlyUsed();
+			}
+			VFile2 file = WorldsDB.newVFile(chunkDirectory, getRegionPath(regionX, regionZ));
+			byte[] data = file.getAllBytes();
+			etr = new RegionEntry(file, data != null ? createRegionFile(data) : null);
+			openRegions.put(k, etr);
+		}
+		etr.lastAccess = ++accessCounter;
+		if(etr.region == null && create) {
+			etr.region = createRegionFile(null);
+		}
+		return etr.region;
+	}
+
+	private void markRegionDirty(int regionX, int regionZ) {
+		RegionEntry etr = openRegions.get(ChunkCoordIntPair.chunkXZ2Int(regionX, regionZ));
+		if(etr != null && !etr.dirty) {
+			etr.dirty = true;
+			etr.dirtySince = tickCounter;
+		}
+	}
+
+	private void closeLeastRecentlyUsed() {
+		long oldestKey = 0l;
+		RegionEntry oldest = null;
+		for(LongObjectCursor<RegionEntry> etr : openRegions) {
+			if(oldest == null || etr.value.lastAccess < oldest.lastAccess) {
+				oldestKey = etr.key;
+				oldest = etr.value;
+			}
+		}
+		if(oldest != null) {
+			oldest.flush();
+			openRegions.remove(oldestKey);
+		}
+	}
+
+	private void convertLegacyChunks() {
+		List<String> legacyFiles = new ArrayList<>();
+		for(String path : chunkDirectory.listFilenames(false)) {
+			if(isLegacyChunkFile(VFile2.getNameFromPath(path))) {
+				legacyFiles.add(path);
+			}
+		}
+		if(legacyFiles.isEmpty()) {
+			return;
+		}
+		logger.info("Converting {} chunks in \"{}\" to region files...", legacyFiles.size(), chunkDirectory.getPath());
+		List<VFile2> convertedFiles = new ArrayList<>(legacyFiles.size());
+		for(int i = 0, l = legacyFiles.size(); i < l; ++i) {
+			VFile2 legacyFile = WorldsDB.newVFile(legacyFiles.get(i));
+			ChunkCoordIntPair pos = getChunkCoords(legacyFile.getName());
+			byte[] data = legacyFile.getAllBytes();
+			if(data == null) {
+				continue;
+			}
+			RegionFile region = getRegion(pos.chunkXPos >> 5, pos.chunkZPos >> 5, true);
+			try(InputStream is = EaglerZLIB.newGZIPInputStream(new EaglerInputStream(data));
+					DataOutputStream os = region.getChunkDataOutputStream(pos.chunkXPos & 31, pos.chunkZPos & 31)) {
+				byte[] copyBuffer = new byte[4096];
+				int j;
+				while((j = is.read(copyBuffer)) != -1) {
+					os.write(copyBuffer, 0, j);
+				}
+			}catch(IOException ex) {
+				logger.error("Could not convert chunk file: {}", legacyFile.getPath());
+				logger.error(ex);
+				continue;
+			}
+			markRegionDirty(pos.chunkXPos >> 5, pos.chunkZPos >> 5);
+			convertedFiles.add(legacyFile);
+		}
+		flush();
+		for(int i = 0, l = convertedFiles.size(); i < l; ++i) {
+			convertedFiles.get(i).delete();
+		}
+		logger.info("Converted {} chunks successfully", convertedFiles.size());
+	}
+
+	private static class RegionEntry {
+
+		private final VFile2 file;
+		private RegionFile region;
+		private boolean dirty = false;
+		private int dirtySince = 0;
+		private long lastAccess = 0l;
+
+		private RegionEntry(VFile2 file, RegionFile region) {
+			this.file = file;
+			this.region = region;
+		}
+
+		private void flush() {
+			if(dirty) {
+				file.setAllBytes(region.getFile().getByteArray());
+				dirty = false;
+			}
+		}
+
 	}
 
 }
\ No newline at end of file
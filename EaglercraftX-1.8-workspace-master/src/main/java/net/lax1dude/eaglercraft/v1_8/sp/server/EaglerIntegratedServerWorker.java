@@ -92,6 +92,7 @@ public class EaglerIntegratedServerWorker {
 			logger.info("Autosaving worlds because the tab is about to close!");
 			currentProcess.getConfigurationManager().saveAllPlayerData();
 			currentProcess.saveAllWorlds(false);
+			currentProcess.flushAllWorlds();
 		}
 	}
 
@@ -102,6 +103,14 @@ public class EaglerIntegratedServerWorker {
 		}
 	}
 
+	private static void flushPlayerChannels() {
+		if(!openChannels.isEmpty()) {
+			for(IntegratedServerPlayerNetworkManager netManager : openChannels.values()) {
+				netManager.flushPackets();
+			}
+		}
+	}
+
 	public static EaglerMinecraftServer getServer() {
 		return currentProcess;
 	}
@@ -391,6 +400,7 @@ public class EaglerIntegratedServerWorker {
 				if(!isServerStopped()) {
 					currentProcess.getConfigurationManager().saveAllPlayerData();
 					currentProcess.saveAllWorlds(false);
+					currentProcess.flushAllWorlds();
 					sendIPCPacket(new IPCPacketFFProcessKeepAlive(IPCPacket19Autosave.ID));
 				}else {
 					logger.error("Client tried to autosave while server was stopped");
@@ -467,6 +477,9 @@ public class EaglerIntegratedServerWorker {
 		if(currentProcess != null) {
 			if(currentProcess.isServerRunning()) {
 				currentProcess.mainLoop(singleThreadMode);
+				long l = ServerTickProfiler.begin();
+				flushPlayerChannels();
+				ServerTickProfiler.end(ServerTickProfiler.SECTION_NETWORK, l);
 			}
 			if(!currentProcess.isServerRunning()) {
 				currentProcess.stopServer();
@@ -78,6 +78,7 @@ public class EaglerMinecraftServer extends MinecraftServer {
 		this.setConfigManager(new EaglerPlayerList(this, viewDistance));
 		this.newWorldSettings = currentWorldSettings;
 		this.paused = false;
+		ServerTickProfiler.reset();
 	}
 
 	public IntegratedSkinService getSkinService() {
@@ -170,6 +171,21 @@ public class EaglerMinecraftServer extends MinecraftServer {
 		}
 	}
 
+	/**
+	 * Writes out chunks that are still queued by the chunk loaders after a save,
+	 * for when the data needs to be in the database before continuing
+	 */
+	public void flushAllWorlds() {
+		if(this.worldServers != null) {
+			for(int i = 0; i < this.worldServers.length; ++i) {
+				WorldServer worldserver = this.worldServers[i];
+				if(worldserver != null) {
+					worldserver.saveChunkData();
+				}
+			}
+		}
+	}
+
 	public void updateTimeLightAndEntities() {
 		this.skinService.flushCache();
 		super.updateTimeLightAndEntities();
@@ -190,6 +206,7 @@ public class EaglerMinecraftServer extends MinecraftServer {
 				if(players > 1) {
 					lst.add("Players: " + players);
 				}
+				ServerTickProfiler.appendReport(lst);
 				counterTicksPerSecond = counterChunkRead = counterChunkGenerate = 0;
 				counterChunkWrite = counterTileUpdate = counterLightUpdate = 0;
 				EaglerIntegratedServerWorker.reportTPS(lst);
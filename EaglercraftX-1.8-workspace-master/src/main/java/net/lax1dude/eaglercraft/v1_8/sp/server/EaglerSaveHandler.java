@@ -16,6 +16,9 @@
 
 package net.lax1dude.eaglercraft.v1_8.sp.server;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import net.lax1dude.eaglercraft.v1_8.internal.vfs2.VFile2;
 import net.minecraft.world.WorldProvider;
 import net.minecraft.world.chunk.storage.IChunkLoader;
@@ -25,12 +28,22 @@ import net.minecraft.nbt.NBTTagCompound;
 
 public class EaglerSaveHandler extends SaveHandler {
 
+	private final List<EaglerChunkLoader> chunkLoaders = new ArrayList<>();
+
 	public EaglerSaveHandler(VFile2 savesDirectory, String directoryName) {
 		super(savesDirectory, directoryName);
 	}
 
 	public IChunkLoader getChunkLoader(WorldProvider provider) {
-		return new EaglerChunkLoader(WorldsDB.newVFile(this.getWorldDirectory(), "level" + provider.getDimensionId()));
+		EaglerChunkLoader loader = new EaglerChunkLoader(WorldsDB.newVFile(this.getWorldDirectory(), "level" + provider.getDimensionId()));
+		chunkLoaders.add(loader);
+		return loader;
+	}
+
+	public void flush() {
+		for(int i = 0, l = chunkLoaders.size(); i < l; ++i) {
+			chunkLoaders.get(i).flush();
+		}
 	}
 
 	public void saveWorldInfoWithPlayer(WorldInfo worldInformation, NBTTagCompound tagCompound) {
@@ -18,7 +18,6 @@ package net.lax1dude.eaglercraft.v1_8.sp.server;
 
 import net.minecraft.world.biome.BiomeGenBase;
 import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.IntCache;
 
 public class GenLayerEaglerRivers extends GenLayer {
 
@@ -59,7 +58,7 @@ public class GenLayerEaglerRivers extends GenLayer {
 	@Override
 	public int[] getInts(int x, int y, int w, int h) {
 		int[] aint = this.parent.getInts(x, y, w, h);
-		int[] aint1 = IntCache.getIntCache(w * h);
+		int[] aint1 = this.intCache.getIntCache(w * h);
 
 		long a = worldGenSeed * 6364136223846793005L + 1442695040888963407L;
 		long b = ((a & 112104l) == 0) ? (((a & 534l) == 0) ? 1l : 15l) : 746l;
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.sp.server;
+
+import java.io.DataInput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UTFDataFormatException;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTBase;
+
+/**
+ * Reads binary NBT from a reusable buffer without building a tree of NBTBase
+ * objects, the caller walks the tags with {@link #readTagType()} and
+ * {@link #readName()} and either reads the payloads it knows, accesses byte
+ * arrays in place with {@link #readByteArrayInPlace(int)}, or skips them with
+ * {@link #skipPayload(int)}
+ */
+public class NBTStreamReader implements DataInput {
+
+	private byte[] loadBuffer;
+	private byte[] buf;
+	private int pos;
+	private int limit;
+
+	public NBTStreamReader(int initialSize) {
+		this.loadBuffer = this.buf = new byte[initialSize];
+		this.pos = 0;
+		this.limit = 0;
+	}
+
+	/**
+	 * Reads the whole stream into the buffer, which is grown as needed and kept
+	 * for the next use, the stream is not closed
+	 */
+	public void load(InputStream is) throws IOException {
+		byte[] b = loadBuffer;
+		int len = 0;
+		int i;
+		while((i = is.read(b, len, b.length - len)) != -1) {
+			len += i;
+			if(len == b.length) {
+				byte[] newBuf = new byte[b.length << 1];
+				System.arraycopy(b, 0, newBuf, 0, len);
+				loadBuffer = b = newBuf;
+			}
+		}
+		buf = b;
+		pos = 0;
+		limit = len;
+	}
+
+	/**
+	 * Reads from the given array instead of the internal buffer until the next
+	 * call to {@link #load(InputStream)}, the array is not copied
+	 */
+	public void wrap(byte[] data, int off, int len) {
+		buf = data;
+		pos = off;
+		limit = off + len;
+	}
+
+	public byte[] getBuffer() {
+		return buf;
+	}
+
+	public int getPosition() {
+		return pos;
+	}
+
+	private void require(int len) throws EOFException {
+		if(limit - pos < len) {
+			throw new EOFException();
+		}
+	}
+
+	public int readTagType() throws IOException {
+		require(1);
+		return buf[pos++];
+	}
+
+	public String readName() throws IOException {
+		return readUTF();
+	}
+
+	private void readArrayLength(int expected) throws IOException {
+		int len = readInt();
+		if(len != expected) {
+			throw new IOException("Expected array of length " + expected + ", got " + len);
+		}
+	}
+
+	/**
+	 * Skips over a byte array payload of the given length, its contents stay
+	 * readable in {@link #getBuffer()} at the returned offset until the buffer is
+	 * reused
+	 */
+	public int readByteArrayInPlace(int length) throws IOException {
+		readArrayLength(length);
+		require(length);
+		int ret = pos;
+		pos += length;
+		return ret;
+	}
+
+	/**
+	 * Reads a byte array payload into dest, the length must match
+	 */
+	public void readByteArrayInto(byte[] dest) throws IOException {
+		readArrayLength(dest.length);
+		readFully(dest, 0, dest.length);
+	}
+
+	/**
+	 * Reads an int array payload into dest, the length must match
+	 */
+	public void readIntArrayInto(int[] dest) throws IOException {
+		readArrayLength(dest.length);
+		require(dest.length << 2);
+		for(int i = 0; i < dest.length; ++i) {
+			dest[i] = readInt();
+		}
+	}
+
+	public NBTBase readPayload(int type) throws IOException {
+		return CompressedStreamTools.readTagPayload((byte) type, this);
+	}
+
+	public void skipPayload(int type) throws IOException {
+		switch(type) {
+		case NBTStreamWriter.TAG_END:
+			break;
+		case NBTStreamWriter.TAG_BYTE:
+			skip(1);
+			break;
+		case NBTStreamWriter.TAG_SHORT:
+			skip(2);
+			break;
+		case NBTStreamWriter.TAG_INT:
+		case NBTStreamWriter.TAG_FLOAT:
+			skip(4);
+			break;
+		case NBTStreamWriter.TAG_LONG:
+		case NBTStreamWriter.TAG_DOUBLE:
+			skip(8);
+			break;
+		case NBTStreamWriter.TAG_BYTE_ARRAY:
+			skip(readInt());
+			break;
+		case NBTStreamWriter.TAG_STRING:
+			skip(readUnsignedShort());
+			break;
+		case NBTStreamWriter.TAG_LIST:
+			int elementType = readTagType();
+			int len = readInt();
+			for(int i = 0; i < len; ++i) {
+				skipPayload(elementType);
+			}
+			break;
+		case NBTStreamWriter.TAG_COMPOUND:
+			int t;
+			while((t = readTagType()) != NBTStreamWriter.TAG_END) {
+				skip(readUnsignedShort());
+				skipPayload(t);
+			}
+			break;
+		case NBTStreamWriter.TAG_INT_ARRAY:
+			skip(readInt() << 2);
+			break;
+		default:
+			throw new IOException("Unknown NBT tag type: " + type);
+		}
+	}
+
+	private void skip(int len) throws IOException {
+		if(len < 0) {
+			throw new IOException("Negative length: " + len);
+		}
+		require(len);
+		pos += len;
+	}
+
+	@Override
+	public void readFully(byte[] b) throws IOException {
+		readFully(b, 0, b.length);
+	}
+
+	@Override
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		require(len);
+		System.arraycopy(buf, pos, b, off, len);
+		pos += len;
+	}
+
+	@Override
+	public int skipBytes(int n) {
+		n = Math.max(Math.min(n, limit - pos), 0);
+		pos += n;
+		return n;
+	}
+
+	@Override
+	public boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	@Override
+	public byte readByte() throws IOException {
+		require(1);
+		return buf[pos++];
+	}
+
+	@Override
+	public int readUnsignedByte() throws IOException {
+		require(1);
+		return buf[pos++] & 0xFF;
+	}
+
+	@Override
+	public short readShort() throws IOException {
+		require(2);
+		return (short) (((buf[pos++] & 0xFF) << 8) | (buf[pos++] & 0xFF));
+	}
+
+	@Override
+	public int readUnsignedShort() throws IOException {
+		require(2);
+		return ((buf[pos++] & 0xFF) << 8) | (buf[pos++] & 0xFF);
+	}
+
+	@Override
+	public char readChar() throws IOException {
+		return (char) readUnsignedShort();
+	}
+
+	@Override
+	public int readInt() throws IOException {
+		require(4);
+		return ((buf[pos++] & 0xFF) << 24) | ((buf[pos++] & 0xFF) << 16) | ((buf[pos++] & 0xFF) << 8)
+				| (buf[pos++] & 0xFF);
+	}
+
+	@Override
+	public long readLong() throws IOException {
+		return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFl);
+	}
+
+	@Override
+	public float readFloat() throws IOException {
+		return Float.intBitsToFloat(readInt());
+	}
+
+	@Override
+	public double readDouble() throws IOException {
+		return Double.longBitsToDouble(readLong());
+	}
+
+	/**
+	 * Same as DataInputStream.readLine, bytes are read as latin-1 up to a "\n",
+	 * "\r" or "\r\n" and null is returned at the end of the buffer
+	 */
+	@Override
+	public String readLine() throws IOException {
+		if(pos >= limit) {
+			return null;
+		}
+		int start = pos;
+		while(pos < limit) {
+			byte b = buf[pos];
+			if(b == '\n' || b == '\r') {
+				break;
+			}
+			++pos;
+		}
+		int end = pos;
+		if(pos < limit) {
+			if(buf[pos++] == '\r' && pos < limit && buf[pos] == '\n') {
+				++pos;
+			}
+		}
+		char[] chars = new char[end - start];
+		for(int i = 0; i < chars.length; ++i) {
+			chars[i] = (char) (buf[start + i] & 0xFF);
+		}
+		return new String(chars);
+	}
+
+	@Override
+	public String readUTF() throws IOException {
+		int utflen = readUnsignedShort();
+		require(utflen);
+		int end = pos + utflen;
+		char[] chars = new char[utflen];
+		int len = 0;
+		while(pos < end) {
+			int c = buf[pos] & 0xFF;
+			if(c < 0x80) {
+				++pos;
+				chars[len++] = (char) c;
+			}else if((c & 0xE0) == 0xC0) {
+				if(pos + 2 > end) {
+					throw new UTFDataFormatException("Malformed input: partial character at end");
+				}
+				chars[len++] = (char) (((c & 0x1F) << 6) | (buf[pos + 1] & 0x3F));
+				pos += 2;
+			}else if((c & 0xF0) == 0xE0) {
+				if(pos + 3 > end) {
+					throw new UTFDataFormatException("Malformed input: partial character at end");
+				}
+				chars[len++] = (char) (((c & 0x0F) << 12) | ((buf[pos + 1] & 0x3F) << 6) | (buf[pos + 2] & 0x3F));
+				pos += 3;
+			}else {
+				throw new UTFDataFormatException("Malformed input around byte " + pos);
+			}
+		}
+		return new String(chars, 0, len);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.sp.server;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTBase;
+
+/**
+ * Writes binary NBT directly into a reusable growable buffer, the structure is
+ * emitted by the caller tag by tag instead of building a tree of NBTBase
+ * objects first. Existing NBTBase objects can still be written with
+ * {@link #writeTag(String, NBTBase)}
+ */
+public class NBTStreamWriter implements DataOutput {
+
+	public static final int TAG_END = 0;
+	public static final int TAG_BYTE = 1;
+	public static final int TAG_SHORT = 2;
+	public static final int TAG_INT = 3;
+	public static final int TAG_LONG = 4;
+	public static final int TAG_FLOAT = 5;
+	public static final int TAG_DOUBLE = 6;
+	public static final int TAG_BYTE_ARRAY = 7;
+	public static final int TAG_STRING = 8;
+	public static final int TAG_LIST = 9;
+	public static final int TAG_COMPOUND = 10;
+	public static final int TAG_INT_ARRAY = 11;
+
+	private byte[] buf;
+	private int count;
+
+	public NBTStreamWriter(int initialSize) {
+		this.buf = new byte[initialSize];
+		this.count = 0;
+	}
+
+	/**
+	 * Discards the contents, the buffer is kept for the next use
+	 */
+	public void reset() {
+		count = 0;
+	}
+
+	public byte[] getBuffer() {
+		return buf;
+	}
+
+	public int size() {
+		return count;
+	}
+
+	public byte[] toByteArray() {
+		byte[] ret = new byte[count];
+		System.arraycopy(buf, 0, ret, 0, count);
+		return ret;
+	}
+
+	private void ensureCapacity(int len) {
+		int newCount = count + len;
+		if(newCount > buf.length) {
+			byte[] newBuf = new byte[Math.max(newCount, buf.length << 1)];
+			System.arraycopy(buf, 0, newBuf, 0, count);
+			buf = newBuf;
+		}
+	}
+
+	public void writeTagHeader(int type, String name) throws IOException {
+		writeByte(type);
+		writeUTF(name);
+	}
+
+	public void beginCompound(String name) throws IOException {
+		writeTagHeader(TAG_COMPOUND, name);
+	}
+
+	public void endCompound() {
+		write(TAG_END);
+	}
+
+	/**
+	 * Begins a list, the caller must write exactly {@code length} payloads of
+	 * {@code elementType} after this
+	 */
+	public void beginList(String name, int elementType, int length) throws IOException {
+		writeTagHeader(TAG_LIST, name);
+		writeByte(length > 0 ? elementType : TAG_END);
+		writeInt(length);
+	}
+
+	public void writeByteTag(String name, int value) throws IOException {
+		writeTagHeader(TAG_BYTE, name);
+		writeByte(value);
+	}
+
+	public void writeBooleanTag(String name, boolean value) throws IOException {
+		writeByteTag(name, value ? 1 : 0);
+	}
+
+	public void writeIntTag(String name, int value) throws IOException {
+		writeTagHeader(TAG_INT, name);
+		writeInt(value);
+	}
+
+	public void writeLongTag(String name, long value) throws IOException {
+		writeTagHeader(TAG_LONG, name);
+		writeLong(value);
+	}
+
+	public void writeByteArrayTag(String name, byte[] value) throws IOException {
+		writeTagHeader(TAG_BYTE_ARRAY, name);
+		writeInt(value.length);
+		write(value, 0, value.length);
+	}
+
+	/**
+	 * Writes the header of a byte array tag and reserves {@code length} bytes for
+	 * its contents, which the caller fills in directly in {@link #getBuffer()}
+	 * starting at the returned offset
+	 */
+	public int reserveByteArrayTag(String name, int length) throws IOException {
+		writeTagHeader(TAG_BYTE_ARRAY, name);
+		writeInt(length);
+		ensureCapacity(length);
+		int ret = count;
+		count += length;
+		return ret;
+	}
+
+	public void writeIntArrayTag(String name, int[] value) throws IOException {
+		writeTagHeader(TAG_INT_ARRAY, name);
+		writeInt(value.length);
+		ensureCapacity(value.length << 2);
+		for(int i = 0; i < value.length; ++i) {
+			writeInt(value[i]);
+		}
+	}
+
+	public void writeTag(String name, NBTBase tag) throws IOException {
+		writeTagHeader(tag.getId(), name);
+		CompressedStreamTools.writeTagPayload(tag, this);
+	}
+
+	@Override
+	public void write(int b) {
+		if(count == buf.length) {
+			ensureCapacity(1);
+		}
+		buf[count++] = (byte) b;
+	}
+
+	@Override
+	public void write(byte[] b) {
+		write(b, 0, b.length);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) {
+		ensureCapacity(len);
+		System.arraycopy(b, off, buf, count, len);
+		count += len;
+	}
+
+	@Override
+	public void writeBoolean(boolean v) {
+		write(v ? 1 : 0);
+	}
+
+	@Override
+	public void writeByte(int v) {
+		write(v);
+	}
+
+	@Override
+	public void writeShort(int v) {
+		ensureCapacity(2);
+		buf[count++] = (byte) (v >>> 8);
+		buf[count++] = (byte) v;
+	}
+
+	@Override
+	public void writeChar(int v) {
+		writeShort(v);
+	}
+
+	@Override
+	public void writeInt(int v) {
+		ensureCapacity(4);
+		buf[count++] = (byte) (v >>> 24);
+		buf[count++] = (byte) (v >>> 16);
+		buf[count++] = (byte) (v >>> 8);
+		buf[count++] = (byte) v;
+	}
+
+	@Override
+	public void writeLong(long v) {
+		writeInt((int) (v >>> 32));
+		writeInt((int) v);
+	}
+
+	@Override
+	public void writeFloat(float v) {
+		writeInt(Float.floatToIntBits(v));
+	}
+
+	@Override
+	public void writeDouble(double v) {
+		writeLong(Double.doubleToLongBits(v));
+	}
+
+	@Override
+	public void writeBytes(String s) {
+		int len = s.length();
+		ensureCapacity(len);
+		for(int i = 0; i < len; ++i) {
+			buf[count++] = (byte) s.charAt(i);
+		}
+	}
+
+	@Override
+	public void writeChars(String s) {
+		int len = s.length();
+		ensureCapacity(len << 1);
+		for(int i = 0; i < len; ++i) {
+			char c = s.charAt(i);
+			buf[count++] = (byte) (c >>> 8);
+			buf[count++] = (byte) c;
+		}
+	}
+
+	@Override
+	public void writeUTF(String s) throws IOException {
+		int strlen = s.length();
+		int utflen = strlen;
+		for(int i = 0; i < strlen; ++i) {
+			char c = s.charAt(i);
+			if(c >= 0x80 || c == 0) {
+				utflen += (c >= 0x800) ? 2 : 1;
+			}
+		}
+		if(utflen > 65535) {
+			throw new UTFDataFormatException("Encoded string is too long: " + utflen + " bytes");
+		}
+		ensureCapacity(utflen + 2);
+		buf[count++] = (byte) (utflen >>> 8);
+		buf[count++] = (byte) utflen;
+		for(int i = 0; i < strlen; ++i) {
+			char c = s.charAt(i);
+			if(c < 0x80 && c != 0) {
+				buf[count++] = (byte) c;
+			}else if(c >= 0x800) {
+				buf[count++] = (byte) (0xE0 | ((c >> 12) & 0x0F));
+				buf[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				buf[count++] = (byte) (0x80 | (c & 0x3F));
+			}else {
+				buf[count++] = (byte) (0xC0 | ((c >> 6) & 0x1F));
+				buf[count++] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+	}
+
+}
\ No newline at end of file
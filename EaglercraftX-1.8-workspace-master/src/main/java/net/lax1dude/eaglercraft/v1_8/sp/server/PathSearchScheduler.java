@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.sp.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.LongObjectMap;
+import com.carrotsearch.hppc.cursors.LongObjectCursor;
+
+import net.minecraft.pathfinding.PathEntity;
+import net.minecraft.pathfinding.PathNavigate;
+
+/**
+ * Shares the pathfinding work of all the mobs in a WorldServer. It limits how
+ * many points all searches together may expand in a tick, searches that run
+ * out are queued here and continued at the start of every tick until they are
+ * done, and it remembers the paths found during the last second so mobs
+ * standing next to each other that are chasing the same target can reuse a
+ * single search.
+ */
+public class PathSearchScheduler {
+
+	/**
+	 * Points all searches in the world may expand in one tick
+	 */
+	public static final int NODES_PER_TICK = 4096;
+
+	/**
+	 * Points every search is allowed to expand per tick even when the budget is
+	 * gone, so every search finishes eventually
+	 */
+	public static final int MIN_NODES_PER_SEARCH = 64;
+
+	/**
+	 * Ticks a path stays in the cache
+	 */
+	public static final int CACHE_TICKS = 20;
+
+	private static final int MAX_PATHS_PER_GOAL = 8;
+
+	private static class CachedPath {
+
+		private final Class<?> processorType;
+		private final int settings;
+		private final float distance;
+		private final int startX;
+		private final int startY;
+		private final int startZ;
+		private final long expires;
+		private final PathEntity path;
+
+		private CachedPath(Class<?> processorType, int settings, float distance, int startX, int startY, int startZ,
+				long expires, PathEntity path) {
+			this.processorType = processorType;
+			this.settings = settings;
+			this.distance = distance;
+			this.startX = startX;
+			this.startY = startY;
+			this.startZ = startZ;
+			this.expires = expires;
+			this.path = path;
+		}
+
+	}
+
+	private final LongObjectMap<List<CachedPath>> pathCache = new LongObjectHashMap<>();
+	private List<PathNavigate> pendingSearches = new ArrayList<>();
+	private List<PathNavigate> pendingSearchesSwap = new ArrayList<>();
+	private int nodesRemaining = NODES_PER_TICK;
+	private long currentTick;
+
+	public void tick(long totalWorldTime) {
+		this.currentTick = totalWorldTime;
+		this.nodesRemaining = NODES_PER_TICK;
+		if(!pendingSearches.isEmpty()) {
+			continuePendingSearches();
+		}
+		if(!pathCache.isEmpty() && (totalWorldTime % CACHE_TICKS) == 0l) {
+			List<Long> expired = null;
+			for(LongObjectCursor<List<CachedPath>> cur : pathCache) {
+				List<CachedPath> lst = cur.value;
+				for(int i = lst.size() - 1; i >= 0; --i) {
+					if(lst.get(i).expires <= totalWorldTime) {
+						lst.remove(i);
+					}
+				}
+				if(lst.isEmpty()) {
+					if(expired == null) {
+						expired = new ArrayList<>();
+					}
+					expired.add(cur.key);
+				}
+			}
+			if(expired != null) {
+				for(int i = 0, l = expired.size(); i < l; ++i) {
+					pathCache.remove(expired.get(i));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Continues the queued searches, the ones that only got the minimum
+	 * allowance this time go first on the next tick
+	 */
+	private void continuePendingSearches() {
+		List<PathNavigate> lst = pendingSearches;
+		List<PathNavigate> starved = pendingSearchesSwap;
+		pendingSearches = starved;
+		pendingSearchesSwap = lst;
+		int fed = 0;
+		for(int i = 0, l = lst.size(); i < l; ++i) {
+			PathNavigate nav = lst.get(i);
+			boolean budget = nodesRemaining > MIN_NODES_PER_SEARCH;
+			if(nav.continuePendingSearch(this)) {
+				if(budget) {
+					lst.set(fed++, nav);
+				}else {
+					starved.add(nav);
+				}
+			}
+		}
+		for(int i = 0; i < fed; ++i) {
+			starved.add(lst.get(i));
+		}
+		lst.clear();
+	}
+
+	/**
+	 * Queues a search that ran out of points to be continued on the following
+	 * ticks, the navigator is called until it returns false
+	 */
+	public void queueSearch(PathNavigate navigator) {
+		pendingSearches.add(navigator);
+	}
+
+	public int getPendingSearchCount() {
+		return pendingSearches.size();
+	}
+
+	/**
+	 * Returns how many points a search may expand right now
+	 */
+	public int getNodeAllowance() {
+		return Math.max(nodesRemaining, MIN_NODES_PER_SEARCH);
+	}
+
+	public void consumeNodes(int nodes) {
+		nodesRemaining -= nodes;
+	}
+
+	/**
+	 * Returns a copy of a recent path to the same goal cell found with the same
+	 * settings and search distance from the same start cell or one of its
+	 * horizontal neighbours, or null
+	 */
+	public PathEntity getCachedPath(Class<?> processorType, int settings, float distance, int startX, int startY,
+			int startZ, int goalX, int goalY, int goalZ) {
+		List<CachedPath> lst = pathCache.get(goalKey(goalX, goalY, goalZ));
+		if(lst != null) {
+			for(int i = 0, l = lst.size(); i < l; ++i) {
+				CachedPath path = lst.get(i);
+				if(path.expires > currentTick && path.processorType == processorType && path.settings == settings
+						&& path.distance == distance && path.startY == startY
+						&& Math.abs(path.startX - startX) <= 1 && Math.abs(path.startZ - startZ) <= 1) {
+					return path.path.copyPath();
+				}
+			}
+		}
+		return null;
+	}
+
+	public void cachePath(Class<?> processorType, int settings, float distance, int startX, int startY, int startZ,
+			int goalX, int goalY, int goalZ, PathEntity path) {
+		long key = goalKey(goalX, goalY, goalZ);
+		List<CachedPath> lst = pathCache.get(key);
+		if(lst == null) {
+			lst = new ArrayList<>(2);
+			pathCache.put(key, lst);
+		}else if(lst.size() >= MAX_PATHS_PER_GOAL) {
+			lst.remove(0);
+		}
+		lst.add(new CachedPath(processorType, settings, distance, startX, startY, startZ, currentTick + CACHE_TICKS,
+				path.copyPath()));
+	}
+
+	private static long goalKey(int x, int y, int z) {
+		return ((long) x & 0x3FFFFFFl) << 38 | ((long) y & 0xFFFl) << 26 | ((long) z & 0x3FFFFFFl);
+	}
+
+}
\ No newline at end of file
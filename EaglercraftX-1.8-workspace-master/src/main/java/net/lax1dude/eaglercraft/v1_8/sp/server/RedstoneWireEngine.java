@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.sp.server;
+
+import java.util.Arrays;
+
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongIntHashMap;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockRedstoneWire;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.world.World;
+
+/**
+ * Breadth-first redstone wire power propagation for a WorldServer, used in
+ * place of the recursive vanilla update when the fastRedstoneWire game rule is
+ * set. The vanilla wire only recalculates itself and then notifies all of its
+ * neighbors, which recalculate and notify theirs, so a wire losing power makes
+ * the whole line step down one level at a time with a storm of block updates
+ * at every step. This finds every wire whose power can change, gives each of
+ * them its final power in one pass and then notifies each neighboring block
+ * once, the result is the same stable state the vanilla updates settle in.
+ */
+public class RedstoneWireEngine {
+
+	private final World world;
+
+	private final LongIntHashMap nodeIndex = new LongIntHashMap();
+	private int[] nodeX = new int[64];
+	private int[] nodeY = new int[64];
+	private int[] nodeZ = new int[64];
+	private int[] nodeOldPower = new int[64];
+	private int[] nodePower = new int[64];
+	private int nodeCount = 0;
+
+	/**
+	 * Nodes waiting to spread their power, one list per power level
+	 */
+	private final IntArrayList[] powerQueues = new IntArrayList[16];
+	private final IntArrayList searchQueue = new IntArrayList();
+	private final LongHashSet notifySet = new LongHashSet();
+	private final LongArrayList notifyOrder = new LongArrayList();
+
+	private final BlockPos tmp = new BlockPos(0, 0, 0);
+	private final int[] neighborTmp = new int[24];
+
+	public RedstoneWireEngine(World world) {
+		this.world = world;
+		for (int i = 0; i < this.powerQueues.length; ++i) {
+			this.powerQueues[i] = new IntArrayList();
+		}
+	}
+
+	/**
+	 * Replacement for BlockRedstoneWire.updateSurroundingRedstone, the wire at
+	 * pos (or the wire that was just removed from it) had its surroundings
+	 * changed and had the power in the state
+	 */
+	public IBlockState updateSurroundingRedstone(BlockRedstoneWire wire, BlockPos pos, IBlockState state) {
+		int oldPower = state.getValue(BlockRedstoneWire.POWER).intValue();
+		boolean present = this.world.getBlockState(pos) == state;
+		int newPower = 0;
+		if (present) {
+			newPower = this.calculatePower(wire, pos.x, pos.y, pos.z);
+			if (newPower == oldPower) {
+				return state;
+			}
+		} else if (oldPower == 0) {
+			return state;
+		}
+
+		try {
+			int origin = -1;
+			if (present) {
+				origin = this.addNode(pos.x, pos.y, pos.z, oldPower);
+			}
+
+			if (!present || newPower < oldPower) {
+				// every wire that could have been powered through the origin is recalculated from scratch
+				this.collectDependentWires(wire, pos.x, pos.y, pos.z, oldPower);
+				for (int i = 0; i < this.nodeCount; ++i) {
+					this.nodePower[i] = this.calculatePower(wire, this.nodeX[i], this.nodeY[i], this.nodeZ[i]);
+				}
+			} else {
+				this.nodePower[origin] = newPower;
+			}
+
+			for (int i = 0; i < this.nodeCount; ++i) {
+				this.powerQueues[this.nodePower[i]].add(i);
+			}
+
+			this.spreadPower(wire);
+
+			if (origin != -1) {
+				state = state.withProperty(BlockRedstoneWire.POWER, Integer.valueOf(this.nodePower[origin]));
+			}
+
+			this.applyPower(wire);
+			if (!present) {
+				this.addNotify(pos.x, pos.y, pos.z);
+			}
+		} finally {
+			this.clearNodes();
+		}
+
+		if (!this.notifyOrder.isEmpty()) {
+			// blocks that react to the update can move or place wires, which reenters the engine
+			long[] notify = this.notifyOrder.toArray();
+			this.notifyOrder.clear();
+			this.notifySet.clear();
+			for (int i = 0; i < notify.length; ++i) {
+				this.world.notifyBlockOfStateChange(BlockPos.fromLong(notify[i]), wire);
+			}
+		}
+
+		return state;
+	}
+
+	/**
+	 * Power the wire at the position gets from other blocks and from the
+	 * neighboring wires, the wires that are nodes are treated as unpowered
+	 * because they are being recalculated
+	 */
+	private int calculatePower(BlockRedstoneWire wire, int x, int y, int z) {
+		int power = wire.getPowerFromNonWires(this.world, this.tmp.func_181079_c(x, y, z));
+		int[] neighbors = this.neighborTmp;
+		int cnt = this.findConnectedWires(wire, x, y, z, neighbors);
+		for (int i = 0; i < cnt; i += 3) {
+			int nx = neighbors[i];
+			int ny = neighbors[i + 1];
+			int nz = neighbors[i + 2];
+			if (!this.nodeIndex.containsKey(BlockPos.toLong(nx, ny, nz))) {
+				int k = this.getWirePower(nx, ny, nz) - 1;
+				if (k > power) {
+					power = k;
+				}
+			}
+		}
+		return power;
+	}
+
+	private int getWirePower(int x, int y, int z) {
+		return this.world.getBlockState(this.tmp.func_181079_c(x, y, z)).getValue(BlockRedstoneWire.POWER)
+				.intValue();
+	}
+
+	/**
+	 * Walks from the origin to the neighboring wires with less power than the
+	 * wire before them, those are the wires that may have been getting their
+	 * power through the origin
+	 */
+	private void collectDependentWires(BlockRedstoneWire wire, int x, int y, int z, int originPower) {
+		IntArrayList queue = this.searchQueue;
+		this.addDependentWires(wire, x, y, z, originPower);
+		for (int m = 0; m < queue.size(); ++m) {
+			int node = queue.get(m);
+			this.addDependentWires(wire, this.nodeX[node], this.nodeY[node], this.nodeZ[node],
+					this.nodeOldPower[node]);
+		}
+		queue.clear();
+	}
+
+	private void addDependentWires(BlockRedstoneWire wire, int x, int y, int z, int fromPower) {
+		int[] neighbors = this.neighborTmp;
+		int cnt = this.findConnectedWires(wire, x, y, z, neighbors);
+		for (int i = 0; i < cnt; i += 3) {
+			int nx = neighbors[i];
+			int ny = neighbors[i + 1];
+			int nz = neighbors[i + 2];
+			if (this.nodeIndex.containsKey(BlockPos.toLong(nx, ny, nz))) {
+				continue;
+			}
+			int power = this.getWirePower(nx, ny, nz);
+			if (power > 0 && power < fromPower) {
+				this.searchQueue.add(this.addNode(nx, ny, nz, power));
+			}
+		}
+	}
+
+	/**
+	 * Spreads the power of the queued nodes to the connected wires, from the
+	 * strongest level down so every wire is only raised to its final power
+	 */
+	private void spreadPower(BlockRedstoneWire wire) {
+		int[] neighbors = this.neighborTmp;
+		for (int level = 15; level > 1; --level) {
+			IntArrayList queue = this.powerQueues[level];
+			for (int m = 0; m < queue.size(); ++m) {
+				int node = queue.get(m);
+				if (this.nodePower[node] != level) {
+					continue;
+				}
+				int cnt = this.findConnectedWires(wire, this.nodeX[node], this.nodeY[node], this.nodeZ[node],
+						neighbors);
+				for (int i = 0; i < cnt; i += 3) {
+					int nx = neighbors[i];
+					int ny = neighbors[i + 1];
+					int nz = neighbors[i + 2];
+					int j = this.nodeIndex.getOrDefault(BlockPos.toLong(nx, ny, nz), -1);
+					if (j == -1) {
+						int power = this.getWirePower(nx, ny, nz);
+						if (power >= level - 1) {
+							continue;
+						}
+						j = this.addNode(nx, ny, nz, power);
+					} else if (this.nodePower[j] >= level - 1) {
+						continue;
+					}
+					this.nodePower[j] = level - 1;
+					this.powerQueues[level - 1].add(j);
+				}
+			}
+			queue.clear();
+		}
+		this.powerQueues[1].clear();
+		this.powerQueues[0].clear();
+	}
+
+	/**
+	 * Writes the new power of the nodes that changed into the world without
+	 * block updates and queues the blocks around them to be notified, the
+	 * same blocks the vanilla update would have notified
+	 */
+	private void applyPower(BlockRedstoneWire wire) {
+		for (int i = 0; i < this.nodeCount; ++i) {
+			int power = this.nodePower[i];
+			if (power == this.nodeOldPower[i]) {
+				continue;
+			}
+			int x = this.nodeX[i];
+			int y = this.nodeY[i];
+			int z = this.nodeZ[i];
+			BlockPos pos = new BlockPos(x, y, z);
+			IBlockState iblockstate = this.world.getBlockState(pos);
+			if (iblockstate.getBlock() == wire) {
+				this.world.setBlockState(pos, iblockstate.withProperty(BlockRedstoneWire.POWER, Integer.valueOf(power)),
+						2);
+			}
+			this.addNotify(x, y, z);
+		}
+	}
+
+	/**
+	 * Queues the neighbors of the position and of each of its neighbors, the
+	 * wires that are part of the update are already in their final state
+	 */
+	private void addNotify(int x, int y, int z) {
+		EnumFacing[] facings = EnumFacing._VALUES;
+		for (int i = -1; i < facings.length; ++i) {
+			int x1 = x, y1 = y, z1 = z;
+			if (i != -1) {
+				x1 += facings[i].getFrontOffsetX();
+				y1 += facings[i].getFrontOffsetY();
+				z1 += facings[i].getFrontOffsetZ();
+			}
+			for (int j = 0; j < facings.length; ++j) {
+				EnumFacing facing = facings[j];
+				long l = BlockPos.toLong(x1 + facing.getFrontOffsetX(), y1 + facing.getFrontOffsetY(),
+						z1 + facing.getFrontOffsetZ());
+				if (!this.nodeIndex.containsKey(l) && this.notifySet.add(l)) {
+					this.notifyOrder.add(l);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the wires the wire at the position exchanges power with, the same
+	 * ones BlockRedstoneWire.calculateCurrentChanges looks at, and stores
+	 * their coordinates in the array. Returns the number of ints stored
+	 */
+	private int findConnectedWires(BlockRedstoneWire wire, int x, int y, int z, int[] out) {
+		int cnt = 0;
+		BlockPos pos = this.tmp;
+		boolean upNormal = this.world.getBlockState(pos.func_181079_c(x, y + 1, z)).getBlock().isNormalCube();
+		EnumFacing[] facings = EnumFacing.Plane.HORIZONTAL.facingsArray;
+		for (int i = 0; i < facings.length; ++i) {
+			EnumFacing facing = facings[i];
+			int nx = x + facing.getFrontOffsetX();
+			int nz = z + facing.getFrontOffsetZ();
+			Block block = this.world.getBlockState(pos.func_181079_c(nx, y, nz)).getBlock();
+			if (block == wire) {
+				out[cnt++] = nx;
+				out[cnt++] = y;
+				out[cnt++] = nz;
+			}
+			if (block.isNormalCube()) {
+				if (!upNormal && this.world.getBlockState(pos.func_181079_c(nx, y + 1, nz)).getBlock() == wire) {
+					out[cnt++] = nx;
+					out[cnt++] = y + 1;
+					out[cnt++] = nz;
+				}
+			} else if (this.world.getBlockState(pos.func_181079_c(nx, y - 1, nz)).getBlock() == wire) {
+				out[cnt++] = nx;
+				out[cnt++] = y - 1;
+				out[cnt++] = nz;
+			}
+		}
+		return cnt;
+	}
+
+	private int addNode(int x, int y, int z, int power) {
+		int i = this.nodeCount;
+		if (i == this.nodeX.length) {
+			int j = i << 1;
+			this.nodeX = Arrays.copyOf(this.nodeX, j);
+			this.nodeY = Arrays.copyOf(this.nodeY, j);
+			this.nodeZ = Arrays.copyOf(this.nodeZ, j);
+			this.nodeOldPower = Arrays.copyOf(this.nodeOldPower, j);
+			this.nodePower = Arrays.copyOf(this.nodePower, j);
+		}
+		this.nodeX[i] = x;
+		this.nodeY[i] = y;
+		this.nodeZ[i] = z;
+		this.nodeOldPower[i] = power;
+		this.nodePower[i] = power;
+		this.nodeIndex.put(BlockPos.toLong(x, y, z), i);
+		this.nodeCount = i + 1;
+		return i;
+	}
+
+	private void clearNodes() {
+		this.nodeIndex.clear();
+		this.nodeCount = 0;
+		this.searchQueue.clear();
+		for (int i = 0; i < this.powerQueues.length; ++i) {
+			this.powerQueues[i].clear();
+		}
+	}
+}
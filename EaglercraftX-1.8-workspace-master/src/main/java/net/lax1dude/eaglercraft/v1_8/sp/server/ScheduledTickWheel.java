@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.sp.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.LongObjectMap;
+
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.NextTickListEntry;
+
+/**
+ * Holds the scheduled block updates of a WorldServer in a two level timing
+ * wheel. The first level has a bucket for every tick of the current 256 tick
+ * block, the second level a bucket for each of the following 63 blocks, and
+ * anything further out waits in an overflow list that is redistributed every
+ * 64 blocks. Entries are only sorted once, when their tick comes up.
+ * 
+ * Entries are also indexed by chunk for saving, and by position and block
+ * (NextTickListEntry.equals) to reject duplicates. Each entry remembers its
+ * slot in its chunk's list so it can be swap-removed without a search.
+ * Removing an entry only drops it from those two indexes, the buckets skip
+ * entries that are no longer the live instance for their key when they are
+ * drained.
+ */
+public class ScheduledTickWheel {
+
+	private static final int NEAR_BITS = 8;
+	private static final int NEAR_SIZE = 1 << NEAR_BITS;
+	private static final int NEAR_MASK = NEAR_SIZE - 1;
+	private static final int FAR_SIZE = 64;
+	private static final int FAR_MASK = FAR_SIZE - 1;
+
+	private final Map<NextTickListEntry, NextTickListEntry> pending = new HashMap<>();
+	private final LongObjectMap<List<NextTickListEntry>> byChunk = new LongObjectHashMap<>();
+	private final List<NextTickListEntry>[] near = newBuckets(NEAR_SIZE);
+	private final List<NextTickListEntry>[] far = newBuckets(FAR_SIZE);
+	private List<NextTickListEntry> overflow = new ArrayList<>();
+
+	/**
+	 * Entries that are due, in NextTickListEntry order starting at readyStart
+	 */
+	private final List<NextTickListEntry> ready = new ArrayList<>();
+	private int readyStart = 0;
+
+	/**
+	 * Every bucket up to and including this tick has been moved into ready
+	 */
+	private long cursor = 0l;
+	private boolean cursorValid = false;
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static List<NextTickListEntry>[] newBuckets(int count) {
+		List<NextTickListEntry>[] ret = new List[count];
+		for(int i = 0; i < count; ++i) {
+			ret[i] = new ArrayList<>();
+		}
+		return ret;
+	}
+
+	public int size() {
+		return pending.size();
+	}
+
+	public boolean isEmpty() {
+		return pending.isEmpty();
+	}
+
+	/**
+	 * Adds the entry unless an equal one is already scheduled, now is the
+	 * current total world time
+	 */
+	public boolean add(NextTickListEntry entry, long now) {
+		if(pending.containsKey(entry)) {
+			return false;
+		}
+		if(!cursorValid) {
+			cursor = now;
+			cursorValid = true;
+		}
+		pending.put(entry, entry);
+		BlockPos pos = entry.position;
+		long key = ChunkCoordIntPair.chunkXZ2Int(pos.getX() >> 4, pos.getZ() >> 4);
+		List<NextTickListEntry> lst = byChunk.get(key);
+		if(lst == null) {
+			lst = new ArrayList<>(4);
+			byChunk.put(key, lst);
+		}
+		entry.chunkListIndex = lst.size();
+		lst.add(entry);
+		insert(entry);
+		return true;
+	}
+
+	private void insert(NextTickListEntry entry) {
+		long t = entry.scheduledTime;
+		if(t <= cursor) {
+			int i = Collections.binarySearch(ready.subList(readyStart, ready.size()), entry);
+			ready.add(readyStart + (i < 0 ? -i - 1 : i), entry);
+		}else {
+			long block = t >> NEAR_BITS;
+			long cursorBlock = cursor >> NEAR_BITS;
+			if(block == cursorBlock) {
+				near[(int)t & NEAR_MASK].add(entry);
+			}else if(block - cursorBlock < FAR_SIZE) {
+				far[(int)block & FAR_MASK].add(entry);
+			}else {
+				overflow.add(entry);
+			}
+		}
+	}
+
+	private boolean isLive(NextTickListEntry entry) {
+		return pending.get(entry) == entry;
+	}
+
+	private void remove(NextTickListEntry entry) {
+		pending.remove(entry);
+		BlockPos pos = entry.position;
+		long key = ChunkCoordIntPair.chunkXZ2Int(pos.getX() >> 4, pos.getZ() >> 4);
+		List<NextTickListEntry> lst = byChunk.get(key);
+		int i = entry.chunkListIndex;
+		entry.chunkListIndex = -1;
+		if(lst != null && i >= 0 && i < lst.size() && lst.get(i) == entry) {
+			NextTickListEntry last = lst.remove(lst.size() - 1);
+			if(last != entry) {
+				lst.set(i, last);
+				last.chunkListIndex = i;
+			}
+			if(lst.isEmpty()) {
+				byChunk.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Moves every bucket up to now into the ready list
+	 */
+	private void advance(long now) {
+		if(!cursorValid) {
+			cursor = now;
+			cursorValid = true;
+			return;
+		}
+		if(now - cursor > (long)NEAR_SIZE * FAR_SIZE) {
+			rebuild(now);
+			return;
+		}
+		while(cursor < now) {
+			++cursor;
+			int slot = (int)cursor & NEAR_MASK;
+			if(slot == 0) {
+				long block = cursor >> NEAR_BITS;
+				if(((int)block & FAR_MASK) == 0 && !overflow.isEmpty()) {
+					List<NextTickListEntry> lst = overflow;
+					overflow = new ArrayList<>();
+					for(int i = 0, l = lst.size(); i < l; ++i) {
+						NextTickListEntry entry = lst.get(i);
+						if(isLive(entry)) {
+							insert(entry);
+						}
+					}
+				}
+				List<NextTickListEntry> lst = far[(int)block & FAR_MASK];
+				for(int i = 0, l = lst.size(); i < l; ++i) {
+					NextTickListEntry entry = lst.get(i);
+					if(isLive(entry)) {
+						near[(int)entry.scheduledTime & NEAR_MASK].add(entry);
+					}
+				}
+				lst.clear();
+			}
+			List<NextTickListEntry> bucket = near[slot];
+			if(!bucket.isEmpty()) {
+				int start = ready.size();
+				for(int i = 0, l = bucket.size(); i < l; ++i) {
+					NextTickListEntry entry = bucket.get(i);
+					if(isLive(entry)) {
+						ready.add(entry);
+					}
+				}
+				bucket.clear();
+				if(ready.size() - start > 1) {
+					Collections.sort(ready.subList(start, ready.size()));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Puts everything back into the buckets relative to a new cursor, for when
+	 * the world time jumps further than the wheel reaches
+	 */
+	private void rebuild(long now) {
+		List<NextTickListEntry> all = new ArrayList<>(pending.values());
+		ready.clear();
+		readyStart = 0;
+		for(int i = 0; i < NEAR_SIZE; ++i) {
+			near[i].clear();
+		}
+		for(int i = 0; i < FAR_SIZE; ++i) {
+			far[i].clear();
+		}
+		overflow.clear();
+		cursor = now;
+		Collections.sort(all);
+		for(int i = 0, l = all.size(); i < l; ++i) {
+			insert(all.get(i));
+		}
+	}
+
+	/**
+	 * Removes up to max entries that are due at now and adds them to out in
+	 * NextTickListEntry order, with ignoreTime the earliest entries are taken
+	 * even if they are not due yet
+	 */
+	public void drain(long now, int max, boolean ignoreTime, List<NextTickListEntry> out) {
+		advance(now);
+		if(ignoreTime && pending.size() > 0) {
+			rebuild(Long.MAX_VALUE >> 1);
+			cursor = now;
+		}
+		int i = readyStart;
+		int l = ready.size();
+		int n = 0;
+		while(i < l && n < max) {
+			NextTickListEntry entry = ready.get(i);
+			if(!ignoreTime && entry.scheduledTime > now) {
+				break;
+			}
+			++i;
+			if(isLive(entry)) {
+				remove(entry);
+				out.add(entry);
+				++n;
+			}
+		}
+		readyStart = i;
+		if(ignoreTime) {
+			List<NextTickListEntry> rest = new ArrayList<>(ready.subList(readyStart, l));
+			ready.clear();
+			readyStart = 0;
+			for(int j = 0, m = rest.size(); j < m; ++j) {
+				insert(rest.get(j));
+			}
+		}else if(readyStart == ready.size()) {
+			ready.clear();
+			readyStart = 0;
+		}else if(readyStart > 256) {
+			ready.subList(0, readyStart).clear();
+			readyStart = 0;
+		}
+	}
+
+	/**
+	 * Adds the entries within the given block x and z range (max exclusive) to
+	 * out, sorted in NextTickListEntry order, only looking at the chunks that
+	 * overlap the range. With remove they are unscheduled too
+	 */
+	public void getEntriesInBox(int minX, int minZ, int maxX, int maxZ, boolean remove,
+			List<NextTickListEntry> out) {
+		int start = out.size();
+		for(int cx = minX >> 4, cx2 = (maxX - 1) >> 4; cx <= cx2; ++cx) {
+			for(int cz = minZ >> 4, cz2 = (maxZ - 1) >> 4; cz <= cz2; ++cz) {
+				List<NextTickListEntry> lst = byChunk.get(ChunkCoordIntPair.chunkXZ2Int(cx, cz));
+				if(lst != null) {
+					for(int i = 0, l = lst.size(); i < l; ++i) {
+						NextTickListEntry entry = lst.get(i);
+						BlockPos pos = entry.position;
+						if(pos.getX() >= minX && pos.getX() < maxX && pos.getZ() >= minZ && pos.getZ() < maxZ) {
+							out.add(entry);
+						}
+					}
+				}
+			}
+		}
+		if(out.size() - start > 1) {
+			Collections.sort(out.subList(start, out.size()));
+		}
+		if(remove) {
+			for(int i = start, l = out.size(); i < l; ++i) {
+				remove(out.get(i));
+			}
+		}
+	}
+
+}
\ No newline at end of file
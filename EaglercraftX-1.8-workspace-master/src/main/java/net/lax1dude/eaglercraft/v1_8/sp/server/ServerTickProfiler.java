@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.v1_8.sp.server;
+
+import java.util.Arrays;
+import java.util.List;
+
+import net.lax1dude.eaglercraft.v1_8.EagRuntime;
+
+/**
+ * Accumulates the time the integrated server spends in a few interesting parts
+ * of each tick, and keeps the last {@link #HISTORY_LENGTH} ticks of it so the
+ * TPS overlay can show a p50/p99 per section. Sections are measured inclusively,
+ * a chunk generated from inside entity ticking counts towards both
+ */
+public class ServerTickProfiler {
+
+	public static final int SECTION_ENTITIES = 0;
+	public static final int SECTION_TILE_ENTITIES = 1;
+	public static final int SECTION_CHUNK_GEN = 2;
+	public static final int SECTION_LIGHTING = 3;
+	public static final int SECTION_TRACKER = 4;
+	public static final int SECTION_NETWORK = 5;
+	public static final int SECTION_SAVING = 6;
+	public static final int SECTION_COUNT = 7;
+
+	private static final String[] sectionNames = new String[] { "Entity", "TileEnt", "ChunkGen", "Light", "Tracker",
+			"Net", "Save" };
+
+	public static final int HISTORY_LENGTH = 100;
+
+	private static final long[] currentTick = new long[SECTION_COUNT];
+	private static final int[][] history = new int[SECTION_COUNT][HISTORY_LENGTH];
+	private static final int[] sortTmp = new int[HISTORY_LENGTH];
+	private static int historyPos = 0;
+	private static int historyCount = 0;
+
+	public static long begin() {
+		return EagRuntime.nanoTime();
+	}
+
+	public static void end(int section, long beginNanos) {
+		currentTick[section] += EagRuntime.nanoTime() - beginNanos;
+	}
+
+	/**
+	 * Moves the time accumulated since the last call into the history, as
+	 * microseconds
+	 */
+	public static void endTick() {
+		for(int i = 0; i < SECTION_COUNT; ++i) {
+			long l = currentTick[i] / 1000l;
+			history[i][historyPos] = l > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int)l;
+			currentTick[i] = 0l;
+		}
+		historyPos = (historyPos + 1) % HISTORY_LENGTH;
+		if(historyCount < HISTORY_LENGTH) {
+			++historyCount;
+		}
+	}
+
+	public static void reset() {
+		Arrays.fill(currentTick, 0l);
+		for(int i = 0; i < SECTION_COUNT; ++i) {
+			Arrays.fill(history[i], 0);
+		}
+		historyPos = 0;
+		historyCount = 0;
+	}
+
+	/**
+	 * Appends one "name: p50/p99" line (in milliseconds) for every section that
+	 * took any measurable time during the recorded ticks
+	 */
+	public static void appendReport(List<String> lst) {
+		if(historyCount == 0) {
+			return;
+		}
+		boolean header = false;
+		for(int i = 0; i < SECTION_COUNT; ++i) {
+			System.arraycopy(history[i], 0, sortTmp, 0, historyCount);
+			Arrays.sort(sortTmp, 0, historyCount);
+			int p99 = sortTmp[(historyCount - 1) * 99 / 100];
+			if(p99 < 50) {
+				continue;
+			}
+			if(!header) {
+				lst.add("Tick p50/p99 ms:");
+				header = true;
+			}
+			int p50 = sortTmp[(historyCount - 1) / 2];
+			lst.add(sectionNames[i] + ": " + formatMillis(p50) + "/" + formatMillis(p99));
+		}
+	}
+
+	private static String formatMillis(int micros) {
+		return (micros / 1000) + "." + ((micros / 100) % 10);
+	}
+
+}
\ No newline at end of file
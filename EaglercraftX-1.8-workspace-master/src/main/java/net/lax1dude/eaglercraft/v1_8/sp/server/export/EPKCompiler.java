@@ -26,11 +26,29 @@ import java.util.zip.CRC32;
 import net.lax1dude.eaglercraft.v1_8.EaglerOutputStream;
 import net.lax1dude.eaglercraft.v1_8.EaglerZLIB;
 
+/**
+ * Writes EPK v2 files, which are one compressed stream that has to be read
+ * sequentially, or EPK v3 files, where every entry is compressed on its own
+ * and located through a central directory at the end of the file so that
+ * readers can inflate single entries on demand.
+ * 
+ * <p>EPK v3 layout, all integers are big endian:</p>
+ * <pre>
+ * "EAGPKG$$", [6]"ver3.0", [1]file name, [2]comment, [8]date, [4]entry count
+ * entry data, stored or zlib compressed
+ * for each entry: [1]'H' or 'F', [1]'0' or 'Z', [2]name (UTF-8),
+ *     [4]offset, [4]stored length, [4]length, [4]crc32 of the uncompressed data
+ * [4]directory offset, ":::YEE:>"
+ * </pre>
+ */
 public class EPKCompiler {
 
 	private final EaglerOutputStream os;
 	private final OutputStream dos;
+	private final boolean v3;
+	private final EaglerOutputStream directory;
 	private final CRC32 checkSum = new CRC32();
+	private byte[] compressBuffer = null;
 	private int lengthIntegerOffset = 0;
 	private int totalFileCount = 0;
 
@@ -39,18 +57,39 @@ public class EPKCompiler {
 	}
 
 	public EPKCompiler(String name, String owner, String type, boolean gzip, boolean world, String commentStr) {
+		this(name, owner, type, gzip, world, commentStr, false);
+	}
+
+	/**
+	 * @param v3 write the EPK v3 format, gzip is ignored and every entry is
+	 *           compressed on its own when it makes it smaller
+	 */
+	public EPKCompiler(String name, String owner, String type, boolean gzip, boolean world, String commentStr,
+			boolean v3) {
+		this(name, owner, type, gzip, world, commentStr, v3, new Date());
+	}
+
+	/**
+	 * @param d the date stored in the header and used in the world comment
+	 */
+	public EPKCompiler(String name, String owner, String type, boolean gzip, boolean world, String commentStr,
+			boolean v3, Date d) {
 		os = new EaglerOutputStream(0x200000);
+		this.v3 = v3;
+		directory = v3 ? new EaglerOutputStream(0x4000) : null;
 		try {
 			
 			os.write(new byte[]{(byte)69,(byte)65,(byte)71,(byte)80,(byte)75,(byte)71,(byte)36,(byte)36}); // EAGPKG$$
-			os.write(new byte[]{(byte)6,(byte)118,(byte)101,(byte)114,(byte)50,(byte)46,(byte)48}); // 6 + ver2.0
-			Date d = new Date();
-			
+			if(v3) {
+				os.write(new byte[]{(byte)6,(byte)118,(byte)101,(byte)114,(byte)51,(byte)46,(byte)48}); // 6 + ver3.0
+			}else {
+				os.write(new byte[]{(byte)6,(byte)118,(byte)101,(byte)114,(byte)50,(byte)46,(byte)48}); // 6 + ver2.0
+			}
 			byte[] filename = (name + ".epk").getBytes(StandardCharsets.UTF_8);
 			os.write(filename.length);
 			os.write(filename);
 			
-			byte[] comment = (world ? ("\n\n #  Eagler EPK v2.0 (c) "
+			byte[] comment = (world ? ("\n\n #  Eagler EPK " + (v3 ? "v3.0" : "v2.0") + " (c) "
 					+ (new SimpleDateFormat("yyyy")).format(d) + " " + owner
 					+ "\n #  export: on " + (new SimpleDateFormat("MM/dd/yyyy")).format(d)
 					+ " at " + (new SimpleDateFormat("hh:mm:ss aa")).format(d)
@@ -65,6 +104,18 @@ public class EPKCompiler {
 			lengthIntegerOffset = os.size();
 			os.write(new byte[]{(byte)255,(byte)255,(byte)255,(byte)255}); // this will be replaced with the file count
 			
+			if(v3) {
+				dos = null;
+				appendV3('H', "file-type", type.getBytes(StandardCharsets.UTF_8));
+				if(world) {
+					appendV3('H', "world-name", name.getBytes(StandardCharsets.UTF_8));
+					if(owner != null) {
+						appendV3('H', "world-owner", owner.getBytes(StandardCharsets.UTF_8));
+					}
+				}
+				return;
+			}
+			
 			if(gzip) {
 				os.write('G'); // compression type: gzip
 				dos = EaglerZLIB.newGZIPOutputStream(os);
@@ -118,6 +169,11 @@ public class EPKCompiler {
 	public void append(String name, byte[] dat) {
 		try {
 			
+			if(v3) {
+				appendV3('F', name, dat);
+				return;
+			}
+			
 			checkSum.reset();
 			checkSum.update(dat, 0, dat.length);
 			long sum = checkSum.getValue();
@@ -143,10 +199,56 @@ public class EPKCompiler {
 		}
 	}
 	
+	private void appendV3(char kind, String name, byte[] dat) throws IOException {
+		checkSum.reset();
+		checkSum.update(dat, 0, dat.length);
+		int sum = (int)checkSum.getValue();
+		
+		int offset = os.size();
+		int storedLength = dat.length;
+		char compression = '0';
+		
+		if(dat.length > 64) {
+			int bound = dat.length + (dat.length >> 8) + 64;
+			if(compressBuffer == null || compressBuffer.length < bound) {
+				compressBuffer = new byte[bound];
+			}
+			int len = EaglerZLIB.deflateFull(dat, 0, dat.length, compressBuffer, 0, compressBuffer.length);
+			if(len < dat.length - (dat.length >> 5)) { // only keep it compressed if it saves at least 3%
+				compression = 'Z';
+				storedLength = len;
+				os.write(compressBuffer, 0, len);
+			}
+		}
+		
+		if(compression == '0') {
+			os.write(dat);
+		}
+		
+		byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+		directory.write(kind);
+		directory.write(compression);
+		directory.write((nameBytes.length >>> 8) & 255);
+		directory.write(nameBytes.length & 255);
+		directory.write(nameBytes);
+		writeInt(offset, directory);
+		writeInt(storedLength, directory);
+		writeInt(dat.length, directory);
+		writeInt(sum, directory);
+		
+		++totalFileCount;
+	}
+	
 	public byte[] complete() {
 		try {
-			dos.write(new byte[]{(byte)69,(byte)78,(byte)68,(byte)36}); // END$
-			dos.close();
+			if(v3) {
+				int directoryOffset = os.size();
+				directory.writeTo(os);
+				writeInt(directoryOffset, os);
+			}else {
+				dos.write(new byte[]{(byte)69,(byte)78,(byte)68,(byte)36}); // END$
+				dos.close();
+			}
 			
 			os.write(new byte[]{(byte)58,(byte)58,(byte)58,(byte)89,(byte)69,(byte)69,(byte)58,(byte)62}); // :::YEE:>
 			
@@ -20,6 +20,7 @@ import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.zip.CRC32;
 
@@ -39,11 +40,37 @@ public class EPKDecompiler implements Closeable {
 		}
 	}
 	
+	/**
+	 * An entry in the central directory of an EPK v3 file
+	 */
+	public static class DirectoryEntry {
+		public final String type;
+		public final String name;
+		public final boolean compressed;
+		public final int offset;
+		public final int storedLength;
+		public final int length;
+		public final int crc;
+		protected DirectoryEntry(String type, String name, boolean compressed, int offset, int storedLength,
+				int length, int crc) {
+			this.type = type;
+			this.name = name;
+			this.compressed = compressed;
+			this.offset = offset;
+			this.storedLength = storedLength;
+			this.length = length;
+			this.crc = crc;
+		}
+	}
+	
 	private ByteArrayInputStream in2;
 	private InputStream zis;
 	private CRC32 crc32;
 	private int numFiles;
 	private boolean isFinished = false;
+	private byte[] v3Data = null;
+	private DirectoryEntry[] v3Directory = null;
+	private int v3NextEntry = 0;
 	
 	public EPKDecompiler(byte[] data) throws IOException {
 		in2 = new ByteArrayInputStream(data);
@@ -63,7 +90,8 @@ public class EPKDecompiler implements Closeable {
 			InputStream is = in2;
 			
 			String vers = readASCII(is);
-			if(!vers.startsWith("ver2.")) {
+			boolean v3 = vers.startsWith("ver3.");
+			if(!v3 && !vers.startsWith("ver2.")) {
 				throw new IOException("Unknown or invalid EPK version: " + vers);
 			}
 
@@ -73,6 +101,13 @@ public class EPKDecompiler implements Closeable {
 			
 			numFiles = loadInt(is);
 			
+			if(v3) {
+				v3Data = data;
+				v3Directory = readDirectory(data, numFiles);
+				crc32 = new CRC32();
+				return;
+			}
+			
 			char compressionType = (char)is.read();
 			
 			switch(compressionType) {
@@ -98,11 +133,81 @@ public class EPKDecompiler implements Closeable {
 		
 	}
 
+	/**
+	 * Parses the central directory of an EPK v3 file, the header must already
+	 * have been validated
+	 */
+	public static DirectoryEntry[] readDirectory(byte[] data, int numFiles) throws IOException {
+		int directoryEnd = data.length - 12;
+		int directoryOffset = loadInt(new ByteArrayInputStream(data, directoryEnd, 4));
+		if(directoryOffset < 0 || directoryOffset > directoryEnd) {
+			throw new IOException("EPK directory offset is out of bounds");
+		}
+		ByteArrayInputStream is = new ByteArrayInputStream(data, directoryOffset, directoryEnd - directoryOffset);
+		DirectoryEntry[] ret = new DirectoryEntry[numFiles];
+		for(int i = 0; i < numFiles; ++i) {
+			int kind = is.read();
+			int compression = is.read();
+			byte[] nameBytes = new byte[loadShort(is)];
+			IOUtils.readFully(is, nameBytes);
+			int offset = loadInt(is);
+			int storedLength = loadInt(is);
+			int length = loadInt(is);
+			int crc = loadInt(is);
+			String name = new String(nameBytes, StandardCharsets.UTF_8);
+			if(kind != 'F' && kind != 'H') {
+				throw new IOException("Entry '" + name + "' has an unknown type: " + kind);
+			}
+			if(compression != '0' && compression != 'Z') {
+				throw new IOException("Entry '" + name + "' has an unknown compression: " + compression);
+			}
+			if(offset < 0 || storedLength < 0 || length < 0 || offset + storedLength > directoryOffset) {
+				throw new IOException("Entry '" + name + "' is out of bounds");
+			}
+			ret[i] = new DirectoryEntry(kind == 'F' ? "FILE" : "HEAD", name, compression == 'Z', offset,
+					storedLength, length, crc);
+		}
+		return ret;
+	}
+	
+	/**
+	 * Decodes a single entry of an EPK v3 file
+	 */
+	public static byte[] readEntry(byte[] data, DirectoryEntry entry, CRC32 crc32) throws IOException {
+		byte[] ret = new byte[entry.length];
+		if(entry.compressed) {
+			if(entry.length > 0 && EaglerZLIB.inflateFull(data, entry.offset, entry.storedLength, ret, 0,
+					ret.length) != ret.length) {
+				throw new IOException("File '" + entry.name + "' is incomplete");
+			}
+		}else {
+			if(entry.storedLength != entry.length) {
+				throw new IOException("File '" + entry.name + "' is incomplete");
+			}
+			System.arraycopy(data, entry.offset, ret, 0, ret.length);
+		}
+		crc32.reset();
+		crc32.update(ret, 0, ret.length);
+		if((int)crc32.getValue() != entry.crc) {
+			throw new IOException("File '" + entry.name + "' has an invalid checksum");
+		}
+		return ret;
+	}
+	
 	public FileEntry readFile() throws IOException {
 		if(isFinished) {
 			return null;
 		}
 		
+		if(v3Directory != null) {
+			if(v3NextEntry == v3Directory.length) {
+				isFinished = true;
+				return null;
+			}
+			DirectoryEntry entry = v3Directory[v3NextEntry++];
+			return new FileEntry(entry.type, entry.name, readEntry(v3Data, entry, crc32));
+		}
+		
 		byte[] typeBytes = new byte[4];
 		IOUtils.readFully(zis, typeBytes);
 		String type = readASCII(typeBytes);
@@ -182,7 +287,9 @@ public class EPKDecompiler implements Closeable {
 
 	@Override
 	public void close() throws IOException {
-		zis.close();
+		if(zis != null) {
+			zis.close();
+		}
 	}
 
 }
\ No newline at end of file
@@ -53,6 +53,7 @@ public class WorldConverterMCA {
 			folderName += "_";
 			worldDir = EaglerIntegratedServerWorker.saveFormat.getSaveLoader(folderName, false).getWorldDirectory();
 		}
+		Map<String,RegionFile> regionFiles = new HashMap<>();
 		List<char[]> fileNames = new ArrayList<>();
 		try(ZipInputStream zis = new ZipInputStream(new EaglerInputStream(archiveContents))) {
 			ZipEntry folderNameFile = null;
@@ -110,7 +111,7 @@ public class WorldConverterMCA {
 					ff.setAllBytes(b);
 					prog += b.length;
 				} else if ((fileName.endsWith(".mcr") || fileName.endsWith(".mca")) && (fileName.startsWith("region/") || fileName.startsWith("DIM1/region/") || fileName.startsWith("DIM-1/region/"))) {
-					VFile2 chunkFolder = WorldsDB.newVFile(worldDir, fileName.startsWith("DIM1") ? "level1" : (fileName.startsWith("DIM-1") ? "level-1" : "level0"));
+					String chunkFolder = fileName.startsWith("DIM1") ? "level1" : (fileName.startsWith("DIM-1") ? "level-1" : "level0");
 					RegionFile mca = new RegionFile(new RandomAccessMemoryFile(b, b.length));
 					int loadChunksCount = 0;
 					for(int j = 0; j < 32; ++j) {
@@ -131,16 +132,20 @@ public class WorldConverterMCA {
 								}
 								int chunkX = chunkLevel.getInteger("xPos");
 								int chunkZ = chunkLevel.getInteger("zPos");
-								VFile2 chunkOut = WorldsDB.newVFile(chunkFolder, EaglerChunkLoader.getChunkPath(chunkX, chunkZ) + ".dat");
-								if(chunkOut.exists()) {
-									logger.error("{}: Chunk already exists: {}", fileName, chunkOut.getPath());
+								String regionPath = chunkFolder + "/" + EaglerChunkLoader.getRegionPath(chunkX >> 5, chunkZ >> 5);
+								RegionFile rf = regionFiles.get(regionPath);
+								if(rf == null) {
+									rf = EaglerChunkLoader.createRegionFile(null);
+									regionFiles.put(regionPath, rf);
+								}else if(rf.isChunkSaved(chunkX & 31, chunkZ & 31)) {
+									logger.error("{}: Chunk already exists: {}, {}", fileName, chunkX, chunkZ);
 									continue;
 								}
-								EaglerOutputStream bao = new EaglerOutputStream();
-								CompressedStreamTools.writeCompressed(chunkNBT, bao);
-								b = bao.toByteArray();
-								chunkOut.setAllBytes(b);
-								prog += b.length;
+								int regionLen = rf.getFile().getLength();
+								try(DataOutputStream dos = rf.getChunkDataOutputStream(chunkX & 31, chunkZ & 31)) {
+									CompressedStreamTools.write(chunkNBT, dos);
+								}
+								prog += rf.getFile().getLength() - regionLen;
 								if (prog - lastProgUpdate > 25000) {
 									lastProgUpdate = prog;
 									EaglerIntegratedServerWorker.sendProgress("singleplayer.busy.importing.2", prog);
@@ -165,6 +170,9 @@ public class WorldConverterMCA {
 				}
 			}
 		}
+		for(Entry<String,RegionFile> etr : regionFiles.entrySet()) {
+			WorldsDB.newVFile(worldDir, etr.getKey()).setAllBytes(etr.getValue().getFile().getByteArray());
+		}
 		logger.info("MCA was successfully extracted into directory \"{}\"", worldDir.getPath());
 		String[] worldsTxt = EaglerSaveFormat.worldsList.getAllLines();
 		if(worldsTxt == null || worldsTxt.length <= 0 || (worldsTxt.length == 1 && worldsTxt[0].trim().length() <= 0)) {
@@ -218,8 +226,24 @@ public class WorldConverterMCA {
 				String regionFolder = folderName + dstFolderNames[i];
 				logger.info("Converting chunks in \"{}\" as MCA to \"{}\"...", vf.getPath(), regionFolder);
 				Map<String,RegionFile> regionFiles = new HashMap<>();
+				for(int k = 0, l = fileList.size(); k < l; ++k) {
+					VFile2 regionFile = fileList.get(k);
+					String regionFileName = regionFile.getName();
+					if(regionFileName.startsWith("r.") && regionFileName.endsWith(".mca")) {
+						b = regionFile.getAllBytes();
+						regionFiles.put(regionFileName, EaglerChunkLoader.createRegionFile(b));
+						prog += b.length;
+						if (prog - lastProgUpdate > 25000) {
+							lastProgUpdate = prog;
+							EaglerIntegratedServerWorker.sendProgress("singleplayer.busy.exporting.2", prog);
+						}
+					}
+				}
 				for(int k = 0, l = fileList.size(); k < l; ++k) {
 					VFile2 chunkFile = fileList.get(k);
+					if(!EaglerChunkLoader.isLegacyChunkFile(chunkFile.getName())) {
+						continue;
+					}
 					NBTTagCompound chunkNBT;
 					NBTTagCompound chunkLevel;
 					try {
@@ -236,7 +260,7 @@ public class WorldConverterMCA {
 					}
 					int chunkX = chunkLevel.getInteger("xPos");
 					int chunkZ = chunkLevel.getInteger("zPos");
-					String regionFileName = "r." + (chunkX >> 5) + "." + (chunkZ >> 5) + ".mca";
+					String regionFileName = EaglerChunkLoader.getRegionPath(chunkX >> 5, chunkZ >> 5);
 					RegionFile rf = regionFiles.get(regionFileName);
 					if(rf == null) {
 						rf = new RegionFile(new RandomAccessMemoryFile(new byte[65536], 0));
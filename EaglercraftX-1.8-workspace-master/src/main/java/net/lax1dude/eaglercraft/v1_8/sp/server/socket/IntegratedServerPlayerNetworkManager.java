@@ -25,6 +25,7 @@ import java.util.List;
 import net.lax1dude.eaglercraft.v1_8.EaglerOutputStream;
 import net.lax1dude.eaglercraft.v1_8.EaglerZLIB;
 import net.lax1dude.eaglercraft.v1_8.internal.EnumEaglerConnectionState;
+import net.lax1dude.eaglercraft.v1_8.internal.IPCBufferPool;
 import net.lax1dude.eaglercraft.v1_8.internal.IPCPacketData;
 import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
 import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
@@ -38,6 +39,7 @@ import net.minecraft.network.EnumPacketDirection;
 import net.minecraft.network.INetHandler;
 import net.minecraft.network.Packet;
 import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.S21PacketChunkData;
 import net.minecraft.util.ChatComponentText;
 import net.minecraft.util.IChatComponent;
 import net.minecraft.util.ITickable;
@@ -57,9 +59,20 @@ public class IntegratedServerPlayerNetworkManager {
 	private boolean firstPacket = true;
 
 	private List<byte[]> fragmentedPacket = new ArrayList<>();
+	private byte[] fragmentReassemblyBuffer = null;
+
+	private PacketBuffer sendBatch = null;
 
 	public static final int fragmentSize = 0xFF00;
 	public static final int compressionThreshold = 1024;
+
+	/**
+	 * The local player channel doesn't need to be split into messages that fit
+	 * in an RTC data channel, so packets sent on it are written straight into a
+	 * pooled slab and flushed once per server loop as a single IPC message:
+	 * [int batch length] followed by repeated [int frame length][packet]
+	 */
+	public static final int maxBatchSize = 0x200000;
 	
 	public static final Logger logger = LogManager.getLogger("NetworkManager");
 
@@ -81,6 +94,7 @@ public class IntegratedServerPlayerNetworkManager {
 	}
 	
 	public void closeChannel(IChatComponent reason) {
+		flushPackets();
 		EaglerIntegratedServerWorker.closeChannel(playerChannel);
 		if(nethandler != null) {
 			nethandler.onDisconnect(reason);
@@ -101,6 +115,8 @@ public class IntegratedServerPlayerNetworkManager {
 		while(!recievedPacketBuffer.isEmpty()) {
 			byte[] data = recievedPacketBuffer.remove(0);
 			byte[] fullData;
+			int fullDataOffset;
+			int fullDataLength;
 
 			if(enableSendCompression) {
 				if(firstPacket) {
@@ -128,8 +144,9 @@ public class IntegratedServerPlayerNetworkManager {
 				}
 				if (data[0] == 0) {
 					if(fragmentedPacket.isEmpty()) {
-						fullData = new byte[data.length - 1];
-						System.arraycopy(data, 1, fullData, 0, fullData.length);
+						fullData = data;
+						fullDataOffset = 1;
+						fullDataLength = data.length - 1;
 					}else {
 						fragmentedPacket.add(data);
 						int len = 0;
@@ -137,7 +154,12 @@ public class IntegratedServerPlayerNetworkManager {
 						for(int j = 0; j < fragCount; ++j) {
 							len += fragmentedPacket.get(j).length - 1;
 						}
-						fullData = new byte[len];
+						if(fragmentReassemblyBuffer == null || fragmentReassemblyBuffer.length < len) {
+							fragmentReassemblyBuffer = new byte[len];
+						}
+						fullData = fragmentReassemblyBuffer;
+						fullDataOffset = 0;
+						fullDataLength = len;
 						len = 0;
 						for(int j = 0; j < fragCount; ++j) {
 							byte[] f = fragmentedPacket.get(j);
@@ -156,12 +178,14 @@ public class IntegratedServerPlayerNetworkManager {
 				
 			}else {
 				fullData = data;
+				fullDataOffset = 0;
+				fullDataLength = data.length;
 			}
 			
 			++debugPacketCounter;
 			try {
 				ByteBuf nettyBuffer = Unpooled.buffer(fullData, fullData.length);
-				nettyBuffer.writerIndex(fullData.length);
+				nettyBuffer.setIndex(fullDataOffset, fullDataOffset + fullDataLength);
 				PacketBuffer input = new PacketBuffer(nettyBuffer);
 				int pktId = input.readVarIntFromBuffer();
 				
@@ -209,6 +233,21 @@ public class IntegratedServerPlayerNetworkManager {
 			return;
 		}
 		
+		if(!enableSendCompression) {
+			writeBatchedPacket(i, pkt);
+			return;
+		}
+		
+		S21PacketChunkData sharedChunkData = null;
+		if(pkt instanceof S21PacketChunkData) {
+			sharedChunkData = (S21PacketChunkData)pkt;
+			byte[] cached = sharedChunkData.getCompressedEncodingCache();
+			if(cached != null) {
+				sendCompressedPacket(cached, cached.length);
+				return;
+			}
+		}
+		
 		temporaryBuffer.clear();
 		temporaryBuffer.writeVarIntToBuffer(i);
 		try {
@@ -219,60 +258,109 @@ public class IntegratedServerPlayerNetworkManager {
 		}
 		
 		int len = temporaryBuffer.readableBytes();
-		if(enableSendCompression) {
-			if(len > compressionThreshold) {
-				if(compressedPacketTmp == null || compressedPacketTmp.length < len) {
-					compressedPacketTmp = new byte[len];
-				}
-				int cmpLen;
-				try {
-					cmpLen = EaglerZLIB.deflateFull(temporaryBuffer.array(), 0, len, compressedPacketTmp, 0, compressedPacketTmp.length);
-				}catch(IOException ex) {
-					logger.error("Failed to compress packet {}!", pkt.getClass().getSimpleName());
-					logger.error(ex);
-					return;
-				}
-				byte[] compressedData = new byte[5 + cmpLen];
-				compressedData[0] = (byte)2;
-				compressedData[1] = (byte)((len >>> 24) & 0xFF);
-				compressedData[2] = (byte)((len >>> 16) & 0xFF);
-				compressedData[3] = (byte)((len >>> 8) & 0xFF);
-				compressedData[4] = (byte)(len & 0xFF);
-				System.arraycopy(compressedPacketTmp, 0, compressedData, 5, cmpLen);
-				if(compressedData.length > fragmentSize) {
-					int fragmentSizeN1 = fragmentSize - 1;
-					for (int j = 1; j < compressedData.length; j += fragmentSizeN1) {
-						byte[] fragData = new byte[((j + fragmentSizeN1 > (compressedData.length - 1)) ? ((compressedData.length - 1) % fragmentSizeN1) : fragmentSizeN1) + 1];
-						System.arraycopy(compressedData, j, fragData, 1, fragData.length - 1);
-						fragData[0] = (j + fragmentSizeN1 < compressedData.length) ? (byte) 1 : (byte) 2;
-						ServerPlatformSingleplayer.sendPacket(new IPCPacketData(playerChannel, fragData));
-					}
-				}else {
-					ServerPlatformSingleplayer.sendPacket(new IPCPacketData(playerChannel, compressedData));
-				}
+		if(len > compressionThreshold) {
+			if(compressedPacketTmp == null || compressedPacketTmp.length < len + 5) {
+				compressedPacketTmp = new byte[len + 5];
+			}
+			int cmpLen;
+			try {
+				cmpLen = EaglerZLIB.deflateFull(temporaryBuffer.array(), 0, len, compressedPacketTmp, 5, compressedPacketTmp.length - 5);
+			}catch(IOException ex) {
+				logger.error("Failed to compress packet {}!", pkt.getClass().getSimpleName());
+				logger.error(ex);
+				return;
+			}
+			compressedPacketTmp[0] = (byte)2;
+			compressedPacketTmp[1] = (byte)((len >>> 24) & 0xFF);
+			compressedPacketTmp[2] = (byte)((len >>> 16) & 0xFF);
+			compressedPacketTmp[3] = (byte)((len >>> 8) & 0xFF);
+			compressedPacketTmp[4] = (byte)(len & 0xFF);
+			int compressedLen = 5 + cmpLen;
+			if(sharedChunkData != null) {
+				byte[] cached = new byte[compressedLen];
+				System.arraycopy(compressedPacketTmp, 0, cached, 0, compressedLen);
+				sharedChunkData.setCompressedEncodingCache(cached);
+			}
+			sendCompressedPacket(compressedPacketTmp, compressedLen);
+		}else {
+			int fragmentSizeN1 = fragmentSize - 1;
+			if(len > fragmentSizeN1) {
+				do {
+					int readLen = len > fragmentSizeN1 ? fragmentSizeN1 : len;
+					byte[] frag = new byte[readLen + 1];
+					temporaryBuffer.readBytes(frag, 1, readLen);
+					frag[0] = temporaryBuffer.readableBytes() == 0 ? (byte)0 : (byte)1;
+					ServerPlatformSingleplayer.sendPacket(new IPCPacketData(playerChannel, frag));
+				}while((len = temporaryBuffer.readableBytes()) > 0);
 			}else {
-				int fragmentSizeN1 = fragmentSize - 1;
-				if(len > fragmentSizeN1) {
-					do {
-						int readLen = len > fragmentSizeN1 ? fragmentSizeN1 : len;
-						byte[] frag = new byte[readLen + 1];
-						temporaryBuffer.readBytes(frag, 1, readLen);
-						frag[0] = temporaryBuffer.readableBytes() == 0 ? (byte)0 : (byte)1;
-						ServerPlatformSingleplayer.sendPacket(new IPCPacketData(playerChannel, frag));
-					}while((len = temporaryBuffer.readableBytes()) > 0);
-				}else {
-					byte[] bytes = new byte[len + 1];
-					bytes[0] = 0;
-					temporaryBuffer.readBytes(bytes, 1, len);
-					ServerPlatformSingleplayer.sendPacket(new IPCPacketData(playerChannel, bytes));
-				}
+				byte[] bytes = new byte[len + 1];
+				bytes[0] = 0;
+				temporaryBuffer.readBytes(bytes, 1, len);
+				ServerPlatformSingleplayer.sendPacket(new IPCPacketData(playerChannel, bytes));
+			}
+		}
+	}
+
+	/**
+	 * Arrays passed to ServerPlatformSingleplayer can be transferred to the
+	 * main thread, so the compressed data is always copied out of the source
+	 */
+	private void sendCompressedPacket(byte[] compressedData, int compressedLen) {
+		if(compressedLen > fragmentSize) {
+			int fragmentSizeN1 = fragmentSize - 1;
+			for (int j = 1; j < compressedLen; j += fragmentSizeN1) {
+				byte[] fragData = new byte[((j + fragmentSizeN1 > (compressedLen - 1)) ? ((compressedLen - 1) % fragmentSizeN1) : fragmentSizeN1) + 1];
+				System.arraycopy(compressedData, j, fragData, 1, fragData.length - 1);
+				fragData[0] = (j + fragmentSizeN1 < compressedLen) ? (byte) 1 : (byte) 2;
+				ServerPlatformSingleplayer.sendPacket(new IPCPacketData(playerChannel, fragData));
 			}
 		}else {
-			byte[] bytes = new byte[len];
-			temporaryBuffer.readBytes(bytes, 0, len);
+			byte[] bytes = new byte[compressedLen];
+			System.arraycopy(compressedData, 0, bytes, 0, compressedLen);
 			ServerPlatformSingleplayer.sendPacket(new IPCPacketData(playerChannel, bytes));
 		}
 	}
+
+	private void writeBatchedPacket(int id, Packet pkt) {
+		if(sendBatch == null) {
+			sendBatch = new PacketBuffer(Unpooled.buffer(IPCBufferPool.acquire(IPCBufferPool.DEFAULT_SLAB_SIZE), Integer.MAX_VALUE));
+			sendBatch.writerIndex(4);
+		}
+		int frameStart = sendBatch.writerIndex();
+		sendBatch.writeInt(0);
+		sendBatch.writeVarIntToBuffer(id);
+		try {
+			pkt.writePacketData(sendBatch);
+		}catch(IOException ex) {
+			sendBatch.writerIndex(frameStart);
+			logger.error("Failed to write packet {}!", pkt.getClass().getSimpleName());
+			return;
+		}catch(RuntimeException ex) {
+			sendBatch.writerIndex(frameStart);
+			throw ex;
+		}
+		int frameEnd = sendBatch.writerIndex();
+		sendBatch.setInt(frameStart, frameEnd - frameStart - 4);
+		if(frameEnd >= maxBatchSize) {
+			flushPackets();
+		}
+	}
+
+	/**
+	 * Sends the packets batched on the local player channel since the last
+	 * flush, the slab belongs to the receiving side after this returns
+	 */
+	public void flushPackets() {
+		if(sendBatch != null) {
+			int len = sendBatch.writerIndex();
+			if(len > 4) {
+				sendBatch.setInt(0, len);
+				byte[] slab = sendBatch.array();
+				sendBatch = null;
+				ServerPlatformSingleplayer.sendPacket(new IPCPacketData(playerChannel, slab));
+			}
+		}
+	}
 	
 	public void setNetHandler(INetHandler nethandler) {
 		this.nethandler = nethandler;
@@ -281,6 +369,15 @@ public class IntegratedServerPlayerNetworkManager {
 	public boolean isLocalChannel() {
 		return false;
 	}
+
+	/**
+	 * LAN connections compress each packet, EntityPlayerMP sends them the
+	 * shared per-chunk packets instead of a bulk packet so the compressed
+	 * chunk data can be reused between players
+	 */
+	public boolean isSendCompressed() {
+		return enableSendCompression;
+	}
 	
 	public boolean isChannelOpen() {
 		return getConnectStatus() == EnumEaglerConnectionState.CONNECTED;
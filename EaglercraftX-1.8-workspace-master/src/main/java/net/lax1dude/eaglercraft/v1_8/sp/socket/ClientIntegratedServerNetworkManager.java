@@ -21,6 +21,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 import net.lax1dude.eaglercraft.v1_8.internal.EnumEaglerConnectionState;
+import net.lax1dude.eaglercraft.v1_8.internal.IPCBufferPool;
 import net.lax1dude.eaglercraft.v1_8.internal.IPCPacketData;
 import net.lax1dude.eaglercraft.v1_8.netty.ByteBuf;
 import net.lax1dude.eaglercraft.v1_8.netty.Unpooled;
@@ -38,6 +39,10 @@ public class ClientIntegratedServerNetworkManager extends EaglercraftNetworkMana
 
 	private int debugPacketCounter = 0;
 	private final List<byte[]> recievedPacketBuffer = new LinkedList<>();
+	private byte[] currentBatch = null;
+	private PacketBuffer currentBatchInput = null;
+	private int currentBatchPos = 0;
+	private int currentBatchEnd = 0;
 	public boolean isPlayerChannelOpen = false;
 
 	public ClientIntegratedServerNetworkManager(String channel) {
@@ -70,17 +75,54 @@ public class ClientIntegratedServerNetworkManager extends EaglercraftNetworkMana
 		recievedPacketBuffer.add(next);
 	}
 
+	/**
+	 * Each message on the local player channel is a batch of packets written
+	 * into one slab by IntegratedServerPlayerNetworkManager, the packets are
+	 * read in place and the slab is returned to the pool once it's drained
+	 */
 	@Override
 	public void processReceivedPackets() throws IOException {
 		if(nethandler == null) return;
 
-		while(!recievedPacketBuffer.isEmpty()) {
-			byte[] next = recievedPacketBuffer.remove(0);
+		while(true) {
+			if(currentBatch == null) {
+				if(recievedPacketBuffer.isEmpty()) {
+					break;
+				}
+				byte[] next = recievedPacketBuffer.remove(0);
+				if(next.length < 4) {
+					logger.error("Recieved invalid {} byte packet batch", next.length);
+					continue;
+				}
+				currentBatch = next;
+				currentBatchInput = new PacketBuffer(Unpooled.buffer(next, next.length));
+				currentBatchPos = 4;
+				currentBatchEnd = currentBatchInput.getInt(0);
+				if(currentBatchEnd < 4 || currentBatchEnd > next.length) {
+					logger.error("Recieved packet batch with invalid length {}", currentBatchEnd);
+					releaseCurrentBatch();
+					continue;
+				}
+			}
+			
+			if(currentBatchPos + 4 > currentBatchEnd) {
+				releaseCurrentBatch();
+				continue;
+			}
+			
+			int frameLen = currentBatchInput.getInt(currentBatchPos);
+			int frameStart = currentBatchPos + 4;
+			if(frameLen < 0 || frameStart + frameLen > currentBatchEnd) {
+				logger.error("Recieved packet batch with invalid frame length {}", frameLen);
+				releaseCurrentBatch();
+				continue;
+			}
+			currentBatchPos = frameStart + frameLen;
+			
 			++debugPacketCounter;
 			try {
-				ByteBuf nettyBuffer = Unpooled.buffer(next, next.length);
-				nettyBuffer.writerIndex(next.length);
-				PacketBuffer input = new PacketBuffer(nettyBuffer);
+				PacketBuffer input = currentBatchInput;
+				input.setIndex(frameStart, frameStart + frameLen);
 				int pktId = input.readVarIntFromBuffer();
 				
 				Packet pkt;
@@ -114,6 +156,16 @@ public class ClientIntegratedServerNetworkManager extends EaglercraftNetworkMana
 		}
 	}
 
+	private void releaseCurrentBatch() {
+		if(currentBatch != null) {
+			if(ClientPlatformSingleplayer.canRecycleIPCBuffers()) {
+				IPCBufferPool.release(currentBatch);
+			}
+			currentBatch = null;
+			currentBatchInput = null;
+		}
+	}
+
 	@Override
 	public void sendPacket(Packet pkt) {
 		if(!isChannelOpen()) {
@@ -167,5 +219,6 @@ public class ClientIntegratedServerNetworkManager extends EaglercraftNetworkMana
 
 	public void clearRecieveQueue() {
 		recievedPacketBuffer.clear();
+		releaseCurrentBatch();
 	}
 }
\ No newline at end of file
@@ -27,6 +27,8 @@ public class RenderEnv {
 	private float[] quadBounds = new float[EnumFacing._VALUES.length * 2];
 	private BitSet boundsFlags = new BitSet(3);
 	private BlockModelRenderer.AmbientOcclusionFace aoFace = new BlockModelRenderer.AmbientOcclusionFace();
+	private BlockPos[] quadBlockPos = new BlockPos[] { new BlockPos(0, 0, 0), new BlockPos(0, 0, 0),
+			new BlockPos(0, 0, 0), new BlockPos(0, 0, 0), new BlockPos(0, 0, 0), new BlockPos(0, 0, 0) };
 	private BlockPos colorizerBlockPosM = null;
 	private boolean[] borderFlags = null;
 	private boolean[] borderFlags2 = null;
@@ -100,6 +102,10 @@ public class RenderEnv {
 		return this.aoFace;
 	}
 
+	public BlockPos[] getQuadBlockPos() {
+		return this.quadBlockPos;
+	}
+
 	public boolean isBreakingAnimation(List listQuads) {
 		if (this.breakingAnimation == -1 && listQuads.size() > 0) {
 			if (listQuads.get(0) instanceof BreakingFour) {
@@ -16,8 +16,11 @@
 
 package net.lax1dude.eaglercraft.v1_8.internal;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.teavm.interop.Async;
@@ -36,17 +39,69 @@ import org.teavm.jso.typedarrays.Uint8ClampedArray;
 
 import net.lax1dude.eaglercraft.v1_8.EaglerInputStream;
 import net.lax1dude.eaglercraft.v1_8.internal.teavm.ClientMain;
+import net.lax1dude.eaglercraft.v1_8.internal.teavm.EPKLoader;
 import net.lax1dude.eaglercraft.v1_8.internal.teavm.TeaVMBlobURLHandle;
 import net.lax1dude.eaglercraft.v1_8.internal.teavm.TeaVMBlobURLManager;
 import net.lax1dude.eaglercraft.v1_8.internal.teavm.TeaVMUtils;
+import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
+import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
 import net.lax1dude.eaglercraft.v1_8.opengl.ImageData;
 
 public class PlatformAssets {
 	
+	private static final Logger logger = LogManager.getLogger("PlatformAssets");
+
 	private static final byte[] MISSING_FILE = new byte[0];
 
 	static Map<String,byte[]> assets = new HashMap<>();
 
+	/**
+	 * Files of EPK v3 archives, compressed ones are inflated on demand and kept in
+	 * lazyAssetsCache until they are evicted to stay within the budget
+	 */
+	static Map<String,EPKLoader.LazyEntry> lazyAssets = new HashMap<>();
+
+	private static final int LAZY_ASSETS_CACHE_BUDGET = 32 * 1024 * 1024;
+	private static final Map<String,byte[]> lazyAssetsCache = new LinkedHashMap<>(256, 0.75f, true);
+	private static int lazyAssetsCacheSize = 0;
+
+	private static byte[] getLazyResourceBytes(String path) {
+		EPKLoader.LazyEntry etr = lazyAssets.get(path);
+		if(etr == null) {
+			return null;
+		}
+		if(!etr.isCompressed()) {
+			try {
+				return etr.decode();
+			}catch(IOException ex) {
+				logger.error("Could not load resource \"{}\" from EPK", path);
+				logger.error(ex);
+				return null;
+			}
+		}
+		byte[] ret = lazyAssetsCache.get(path);
+		if(ret != null) {
+			return ret;
+		}
+		try {
+			ret = etr.decode();
+		}catch(IOException ex) {
+			logger.error("Could not load resource \"{}\" from EPK", path);
+			logger.error(ex);
+			return null;
+		}
+		if(ret.length <= (LAZY_ASSETS_CACHE_BUDGET >> 2)) {
+			lazyAssetsCacheSize += ret.length;
+			Iterator<byte[]> itr = lazyAssetsCache.values().iterator();
+			while(lazyAssetsCacheSize > LAZY_ASSETS_CACHE_BUDGET && itr.hasNext()) {
+				lazyAssetsCacheSize -= itr.next().length;
+				itr.remove();
+			}
+			lazyAssetsCache.put(path, ret);
+		}
+		return ret;
+	}
+
 	public static boolean getResourceExists(String path) {
 		if(path.startsWith("/")) {
 			path = path.substring(1);
@@ -54,6 +109,8 @@ public class PlatformAssets {
 		byte[] ret = assets.get(path);
 		if(ret != null && ret != MISSING_FILE) {
 			return true;
+		}else if(lazyAssets.containsKey(path)) {
+			return true;
 		}else {
 			if(path.startsWith("assets/minecraft/lang/") && !path.endsWith(".mcmeta")) {
 				ArrayBuffer file = PlatformRuntime.downloadRemoteURI(
@@ -76,6 +133,9 @@ public class PlatformAssets {
 			path = path.substring(1);
 		}
 		byte[] data = assets.get(path);
+		if(data == null && (data = getLazyResourceBytes(path)) != null) {
+			return data;
+		}
 		if(data == null && path.startsWith("assets/minecraft/lang/") && !path.endsWith(".mcmeta")) {
 			ArrayBuffer file = PlatformRuntime.downloadRemoteURI(
 					ClientMain.configLocalesFolder + "/" + path.substring(22));
@@ -171,5 +231,8 @@ public class PlatformAssets {
 
 	public static void freeAssetRepoTeaVM() {
 		assets = new HashMap<>();
+		lazyAssets = new HashMap<>();
+		lazyAssetsCache.clear();
+		lazyAssetsCacheSize = 0;
 	}
 }
\ No newline at end of file
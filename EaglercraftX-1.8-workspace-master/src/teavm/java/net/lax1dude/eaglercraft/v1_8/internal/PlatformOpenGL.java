@@ -19,6 +19,7 @@ package net.lax1dude.eaglercraft.v1_8.internal;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.teavm.jso.JSBody;
 import org.teavm.jso.webgl.WebGLUniformLocation;
 
 import net.lax1dude.eaglercraft.v1_8.internal.buffer.ByteBuffer;
@@ -29,7 +30,9 @@ import net.lax1dude.eaglercraft.v1_8.internal.teavm.TeaVMClientConfigAdapter;
 import net.lax1dude.eaglercraft.v1_8.internal.teavm.WebGL2RenderingContext;
 import net.lax1dude.eaglercraft.v1_8.internal.teavm.WebGLANGLEInstancedArrays;
 import net.lax1dude.eaglercraft.v1_8.internal.teavm.WebGLBackBuffer;
+import net.lax1dude.eaglercraft.v1_8.internal.teavm.WebGLMultiDraw;
 import net.lax1dude.eaglercraft.v1_8.internal.teavm.WebGLOESVertexArrayObject;
+import net.lax1dude.eaglercraft.v1_8.internal.teavm.WebGLQuery;
 import net.lax1dude.eaglercraft.v1_8.internal.teavm.WebGLVertexArray;
 import net.lax1dude.eaglercraft.v1_8.log4j.Level;
 import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
@@ -55,9 +58,11 @@ public class PlatformOpenGL {
 	static boolean hasOESTextureHalfFloatLinear = false;
 	static boolean hasEXTTextureFilterAnisotropic = false;
 	static boolean hasWEBGLDebugRendererInfo = false;
+	static boolean hasWEBGLMultiDraw = false;
 
 	static WebGLANGLEInstancedArrays ANGLEInstancedArrays = null;
 	static WebGLOESVertexArrayObject OESVertexArrayObject = null;
+	static WebGLMultiDraw WEBGLMultiDraw = null;
 
 	static boolean hasFBO16FSupport = false;
 	static boolean hasFBO32FSupport = false;
@@ -94,6 +99,8 @@ public class PlatformOpenGL {
 				hasOESTextureHalfFloat = glesVersIn == 200 && ctx.getExtension("OES_texture_half_float") != null;
 				hasOESTextureHalfFloatLinear = glesVersIn == 200 && ctx.getExtension("OES_texture_half_float_linear") != null;
 				hasEXTTextureFilterAnisotropic = ctx.getExtension("EXT_texture_filter_anisotropic") != null;
+				WEBGLMultiDraw = (WebGLMultiDraw) ctx.getExtension("WEBGL_multi_draw");
+				hasWEBGLMultiDraw = WEBGLMultiDraw != null;
 			}else {
 				hasANGLEInstancedArrays = false;
 				hasEXTColorBufferFloat = false;
@@ -106,6 +113,8 @@ public class PlatformOpenGL {
 				hasOESTextureHalfFloat = false;
 				hasOESTextureHalfFloatLinear = false;
 				hasEXTTextureFilterAnisotropic = false;
+				hasWEBGLMultiDraw = false;
+				WEBGLMultiDraw = null;
 			}
 			hasWEBGLDebugRendererInfo = ctx.getExtension("WEBGL_debug_renderer_info") != null;
 			
@@ -140,8 +149,10 @@ public class PlatformOpenGL {
 			hasOESTextureHalfFloatLinear = false;
 			hasEXTTextureFilterAnisotropic = false;
 			hasWEBGLDebugRendererInfo = false;
+			hasWEBGLMultiDraw = false;
 			ANGLEInstancedArrays = null;
 			OESVertexArrayObject = null;
+			WEBGLMultiDraw = null;
 			hasFBO16FSupport = false;
 			hasFBO32FSupport = false;
 			hasLinearHDR16FSupport = false;
@@ -163,6 +174,7 @@ public class PlatformOpenGL {
 		if(hasOESTextureHalfFloatLinear) exts.add("OES_texture_half_float_linear");
 		if(hasEXTTextureFilterAnisotropic) exts.add("EXT_texture_filter_anisotropic");
 		if(hasWEBGLDebugRendererInfo) exts.add("WEBGL_debug_renderer_info");
+		if(hasWEBGLMultiDraw) exts.add("WEBGL_multi_draw");
 		return exts;
 	}
 
@@ -352,6 +364,21 @@ public class PlatformOpenGL {
 		ctx.deleteQuery(((OpenGLObjects.QueryGL)obj).ptr);
 	}
 	
+	public static void _wglBeginQuery(int target, IQueryGL obj) {
+		ctx.beginQuery(target, ((OpenGLObjects.QueryGL)obj).ptr);
+	}
+	
+	public static void _wglEndQuery(int target) {
+		ctx.endQuery(target);
+	}
+	
+	public static int _wglGetQueryObjecti(IQueryGL obj, int param) {
+		return getQueryParameter0(ctx, ((OpenGLObjects.QueryGL)obj).ptr, param);
+	}
+	
+	@JSBody(params = { "ctx", "obj", "param" }, script = "return +ctx.getQueryParameter(obj, param);")
+	private static native int getQueryParameter0(WebGL2RenderingContext ctx, WebGLQuery obj, int param);
+	
 	public static void _wglBindBuffer(int target, IBufferGL obj) {
 		ctx.bindBuffer(target, obj != null ? ((OpenGLObjects.BufferGL)obj).ptr : null);
 	}
@@ -372,6 +399,10 @@ public class PlatformOpenGL {
 		ctx.bufferData(target, size, usage);
 	}
 	
+	public static void _wglCopyBufferSubData(int readTarget, int writeTarget, int readOffset, int writeOffset, int size) {
+		ctx.copyBufferSubData(readTarget, writeTarget, readOffset, writeOffset, size);
+	}
+	
 	public static void _wglBufferSubData(int target, int offset, ByteBuffer data) {
 		ctx.bufferSubData(target, offset, EaglerArrayBufferAllocator.getDataView8(data));
 	}
@@ -589,6 +620,14 @@ public class PlatformOpenGL {
 		//checkErr("_wglDrawElements(" + mode + ", " + count + ", " + type + ", " + offset + ");");
 	}
 	
+	public static void _wglMultiDrawElements(int mode, int[] counts, int type, int[] offsets, int drawCount) {
+		if(!hasWEBGLMultiDraw) {
+			throw new UnsupportedOperationException();
+		}
+		WEBGLMultiDraw.multiDrawElementsWEBGL(mode, counts, 0, type, offsets, 0, drawCount);
+		//checkErr("_wglMultiDrawElements(" + mode + ", " + type + ", " + drawCount + ");");
+	}
+	
 	public static void _wglDrawElementsInstanced(int mode, int count, int type, int offset, int instances) {
 		switch(instancingImpl) {
 		case INSTANCE_IMPL_CORE:
@@ -790,6 +829,10 @@ public class PlatformOpenGL {
 	public static boolean checkInstancingCapable() {
 		return instancingImpl != INSTANCE_IMPL_NONE;
 	}
+
+	public static boolean checkMultiDrawCapable() {
+		return hasWEBGLMultiDraw;
+	}
 	
 	public static boolean checkTexStorageCapable() {
 		return glesVers >= 300;
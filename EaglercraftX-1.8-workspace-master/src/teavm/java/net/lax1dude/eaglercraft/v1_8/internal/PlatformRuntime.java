@@ -21,7 +21,6 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -93,6 +92,7 @@ import net.lax1dude.eaglercraft.v1_8.internal.vfs2.VFile2;
 import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
 import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
 import net.lax1dude.eaglercraft.v1_8.minecraft.EaglerFolderResourcePack;
+import net.lax1dude.eaglercraft.v1_8.minecraft.IChunkBuildExecutor;
 import net.lax1dude.eaglercraft.v1_8.opengl.EaglercraftGPU;
 import net.lax1dude.eaglercraft.v1_8.opengl.RealOpenGLEnums;
 import net.lax1dude.eaglercraft.v1_8.sp.SingleplayerServerController;
@@ -432,15 +432,15 @@ public class PlatformRuntime {
 		
 		EarlyLoadScreen.paintScreen(glesVer, PlatformOpenGL.checkVAOCapable(), allowBootMenu);
 		
-		if(PlatformAssets.assets == null || !PlatformAssets.assets.isEmpty()) {
-			PlatformAssets.assets = new HashMap<>();
+		if(PlatformAssets.assets == null || !PlatformAssets.assets.isEmpty() || !PlatformAssets.lazyAssets.isEmpty()) {
+			PlatformAssets.freeAssetRepoTeaVM();
 		}
 
 		EPKDownloadHelper.downloadEPKFilesOfVersion(ClientMain.configEPKFiles,
 				teavmCfg.isEnableEPKVersionCheckTeaVM() ? EaglercraftVersion.EPKVersionIdentifier : null,
-				PlatformAssets.assets);
+				PlatformAssets.assets, PlatformAssets.lazyAssets);
 
-		logger.info("Loaded {} resources from EPKs", PlatformAssets.assets.size());
+		logger.info("Loaded {} resources from EPKs", PlatformAssets.assets.size() + PlatformAssets.lazyAssets.size());
 
 		if(allowBootMenu && BootMenuEntryPoint.checkShouldLaunchFlag(win)) {
 			logger.info("Boot menu enable flag is set, entering boot menu...");
@@ -783,6 +783,10 @@ public class PlatformRuntime {
 		return immediateContinueSupport;
 	}
 
+	public static IChunkBuildExecutor createChunkBuildExecutor() {
+		return null;
+	}
+
 	@Async
 	private static native void immediateContinueTeaVM0();
 
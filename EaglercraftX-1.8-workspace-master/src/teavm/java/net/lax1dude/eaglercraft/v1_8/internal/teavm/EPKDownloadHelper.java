@@ -16,6 +16,7 @@
 
 package net.lax1dude.eaglercraft.v1_8.internal.teavm;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Map;
@@ -36,13 +37,14 @@ public class EPKDownloadHelper {
 	private static final Logger logger = LogManager.getLogger("BrowserRuntime");
 
 	public static void downloadEPKFilesOfVersion(EPKFileEntry[] epkFiles, String expectedVersionIdentifier,
-			Map<String, byte[]> loadedFiles) {
+			Map<String, byte[]> loadedFiles, Map<String, EPKLoader.LazyEntry> lazyFiles) {
 		byte[] bTrue = Base64.decodeBase64("true");
 		boolean oldEPKInvalidFlag = Arrays.equals(bTrue, PlatformApplication.getLocalStorage("epkInvalidFlag", false));
 		boolean epkInvalidFlag = oldEPKInvalidFlag;
 		attempt_loop: for(int a = 0; a < 3; ++a) {
 			if(a == 1 && !PlatformRuntime.hasFetchSupportTeaVM()) continue;
 			loadedFiles.clear();
+			lazyFiles.clear();
 			boolean canBeInvalid = expectedVersionIdentifier != null;
 			for(int i = 0; i < epkFiles.length; ++i) {
 				boolean noCache = false;
@@ -86,7 +88,7 @@ public class EPKDownloadHelper {
 				logger.info("Decompressing: {}", logURL);
 				
 				try {
-					EPKLoader.loadEPK(epkFileData, epkFiles[i].path, loadedFiles);
+					EPKLoader.loadEPK(epkFileData, epkFiles[i].path, loadedFiles, lazyFiles);
 				}catch(Throwable t) {
 					if(a < 2 && canBeCorrupt) {
 						logger.error("Could not extract EPK file \"{}\"", logURL);
@@ -98,6 +100,17 @@ public class EPKDownloadHelper {
 			}
 			if(canBeInvalid) {
 				byte[] dat = loadedFiles.get("EPKVersionIdentifier.txt");
+				if(dat == null) {
+					EPKLoader.LazyEntry etr = lazyFiles.get("EPKVersionIdentifier.txt");
+					if(etr != null) {
+						try {
+							dat = etr.decode();
+						}catch(IOException ex) {
+							logger.error("Could not read the version identifier file from the EPK");
+							logger.error(ex);
+						}
+					}
+				}
 				if(dat != null) {
 					String epkStr = (new String(dat, StandardCharsets.UTF_8)).trim();
 					if(expectedVersionIdentifier.equals(epkStr)) {
@@ -21,19 +21,76 @@ import java.io.InputStream;
 import java.util.Map;
 
 import org.teavm.jso.typedarrays.ArrayBuffer;
+import org.teavm.jso.typedarrays.Int8Array;
 import org.teavm.jso.typedarrays.Uint8Array;
 
 import com.jcraft.jzlib.CRC32;
 import com.jcraft.jzlib.GZIPInputStream;
 import com.jcraft.jzlib.InflaterInputStream;
 
+import net.lax1dude.eaglercraft.v1_8.sp.server.export.EPKDecompiler;
+
 public class EPKLoader {
 
-	public static final void loadEPK(ArrayBuffer epkFile, Map<String, byte[]> loadedFiles) throws IOException {
-		loadEPK(epkFile, "", loadedFiles);
+	/**
+	 * A file in an EPK v3 that is only decoded when it is requested, stored
+	 * files are returned as a view of the downloaded EPK without being copied
+	 */
+	public static class LazyEntry {
+
+		private static final java.util.zip.CRC32 crc32 = new java.util.zip.CRC32();
+
+		private final ArrayBuffer epkFile;
+		private final byte[] epkData;
+		private final EPKDecompiler.DirectoryEntry entry;
+		private byte[] storedView = null;
+
+		protected LazyEntry(ArrayBuffer epkFile, byte[] epkData, EPKDecompiler.DirectoryEntry entry) {
+			this.epkFile = epkFile;
+			this.epkData = epkData;
+			this.entry = entry;
+		}
+
+		public boolean isCompressed() {
+			return entry.compressed;
+		}
+
+		public int getLength() {
+			return entry.length;
+		}
+
+		public byte[] decode() throws IOException {
+			if(entry.compressed) {
+				return EPKDecompiler.readEntry(epkData, entry, crc32);
+			}
+			if(storedView == null) {
+				if(entry.storedLength != entry.length) {
+					throw new IOException("File '" + entry.name + "' is incomplete");
+				}
+				byte[] view = TeaVMUtils.wrapByteArrayBufferView(Int8Array.create(epkFile, entry.offset, entry.length));
+				crc32.reset();
+				crc32.update(view, 0, view.length);
+				if((int)crc32.getValue() != entry.crc) {
+					throw new IOException("File '" + entry.name + "' has an invalid checksum");
+				}
+				storedView = view;
+			}
+			return storedView;
+		}
+
+	}
+
+	public static final void loadEPK(ArrayBuffer epkFile, Map<String, byte[]> loadedFiles,
+			Map<String, LazyEntry> lazyFiles) throws IOException {
+		loadEPK(epkFile, "", loadedFiles, lazyFiles);
 	}
 
-	public static final void loadEPK(ArrayBuffer epkFile, String path, Map<String, byte[]> loadedFiles) throws IOException {
+	/**
+	 * EPK v2 files are extracted completely into loadedFiles, the files of EPK v3
+	 * files are only indexed into lazyFiles
+	 */
+	public static final void loadEPK(ArrayBuffer epkFile, String path, Map<String, byte[]> loadedFiles,
+			Map<String, LazyEntry> lazyFiles) throws IOException {
 		int byteLength = epkFile.getByteLength();
 		int l = byteLength - 16;
 		if(l < 1) {
@@ -61,7 +118,8 @@ public class EPKLoader {
 		}
 		
 		String vers = readASCII(is);
-		if(!vers.startsWith("ver2.")) {
+		boolean v3 = vers.startsWith("ver3.");
+		if(!v3 && !vers.startsWith("ver2.")) {
 			throw new IOException("Unknown or invalid EPK version: " + vers);
 		}
 		
@@ -71,6 +129,15 @@ public class EPKLoader {
 		
 		int numFiles = loadInt(is);
 		
+		if(path.length() > 0 && !path.endsWith("/")) {
+			path = path + "/";
+		}
+		
+		if(v3) {
+			loadEPKv3(epkFile, numFiles, path, loadedFiles, lazyFiles);
+			return;
+		}
+		
 		char compressionType = (char)is.read();
 		
 		InputStream zis;
@@ -92,10 +159,6 @@ public class EPKLoader {
 		int blockEnd = ('E' << 24) | ('N' << 16) | ('D' << 8) | '$';
 		int blockHead = ('H' << 24) | ('E' << 16) | ('A' << 8) | 'D';
 		
-		if(path.length() > 0 && !path.endsWith("/")) {
-			path = path + "/";
-		}
-		
 		CRC32 crc32 = new CRC32();
 		int blockType;
 		for(int i = 0; i < numFiles; ++i) {
@@ -148,6 +211,7 @@ public class EPKLoader {
 				}
 				
 				loadedFiles.put(path + name, load);
+				lazyFiles.remove(path + name);
 			}else {
 				zis.skip(len);
 			}
@@ -164,6 +228,28 @@ public class EPKLoader {
 		zis.close();
 	}
 	
+	private static final void loadEPKv3(ArrayBuffer epkFile, int numFiles, String path,
+			Map<String, byte[]> loadedFiles, Map<String, LazyEntry> lazyFiles) throws IOException {
+		byte[] epkData = TeaVMUtils.wrapByteArrayBuffer(epkFile);
+		EPKDecompiler.DirectoryEntry[] directory = EPKDecompiler.readDirectory(epkData, numFiles);
+		
+		if(directory.length == 0 || !"HEAD".equals(directory[0].type) || !"file-type".equals(directory[0].name)) {
+			throw new IOException("EPK did not have a file-type block as the first entry in the file");
+		}
+		
+		if(!"epk/resources".equals(readASCII(new LazyEntry(epkFile, epkData, directory[0]).decode()))) {
+			throw new IOException("EPK is not of file-type 'epk/resources'!");
+		}
+		
+		for(int i = 1; i < directory.length; ++i) {
+			EPKDecompiler.DirectoryEntry entry = directory[i];
+			if("FILE".equals(entry.type)) {
+				lazyFiles.put(path + entry.name, new LazyEntry(epkFile, epkData, entry));
+				loadedFiles.remove(path + entry.name);
+			}
+		}
+	}
+	
 	private static final int loadShort(InputStream is) throws IOException {
 		return (is.read() << 8) | is.read();
 	}
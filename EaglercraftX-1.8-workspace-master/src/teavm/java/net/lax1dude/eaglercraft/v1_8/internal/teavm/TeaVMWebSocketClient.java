@@ -16,9 +16,11 @@
 
 package net.lax1dude.eaglercraft.v1_8.internal.teavm;
 
+import org.teavm.jso.JSBody;
 import org.teavm.jso.dom.events.Event;
 import org.teavm.jso.dom.events.EventListener;
 import org.teavm.jso.dom.events.MessageEvent;
+import org.teavm.jso.typedarrays.Int8Array;
 import org.teavm.jso.websocket.WebSocket;
 
 import net.lax1dude.eaglercraft.v1_8.EagUtils;
@@ -118,4 +120,14 @@ public class TeaVMWebSocketClient extends AbstractWebSocketClient {
 		}
 	}
 
+	@JSBody(params = { "sock", "buf", "off", "len" }, script = "sock.send(buf.subarray(off, off + len));")
+	private static native void sendSubarray(WebSocket sock, Int8Array buf, int off, int len);
+
+	@Override
+	public void send(byte[] bytes, int off, int len) {
+		if(sockIsConnected) {
+			sendSubarray(sock, TeaVMUtils.unwrapByteArray(bytes), off, len);
+		}
+	}
+
 }
\ No newline at end of file
@@ -76,6 +76,8 @@ public interface WebGL2RenderingContext extends WebGLRenderingContext {
 
 	void bindBufferRange(int p1, int p2, WebGLBuffer p3, int p4, int p5);
 
+	void copyBufferSubData(int readTarget, int writeTarget, int readOffset, int writeOffset, int size);
+
 	void uniformBlockBinding(WebGLProgram p1, int p2, int p3);
 
 	void uniformMatrix3x2fv(WebGLUniformLocation location, boolean transpose, Float32Array value);
@@ -328,6 +328,10 @@ public class ClientPlatformSingleplayer {
 		return true;
 	}
 
+	public static boolean canRecycleIPCBuffers() {
+		return isSingleThreadMode;
+	}
+
 	public static void updateSingleThreadMode() {
 		if(isSingleThreadMode) {
 			SingleThreadWorker.singleThreadUpdate();
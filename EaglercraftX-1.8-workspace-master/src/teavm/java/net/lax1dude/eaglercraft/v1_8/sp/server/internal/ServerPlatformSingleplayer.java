@@ -153,7 +153,11 @@ public class ServerPlatformSingleplayer {
 		}
 	}
 
-	@JSBody(params = { "ch", "dat" }, script = "postMessage({ ch: ch, dat : dat });")
+	/**
+	 * The buffer is transferred to the main thread rather than copied, so the
+	 * array passed to sendPacket must not be touched by the worker afterwards
+	 */
+	@JSBody(params = { "ch", "dat" }, script = "postMessage({ ch: ch, dat : dat }, [ dat ]);")
 	public static native void sendPacketTeaVM(String channel, ArrayBuffer arr);
 
 	public static void sendPacket(IPCPacketData packet) {